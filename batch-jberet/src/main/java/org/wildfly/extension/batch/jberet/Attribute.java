@@ -31,7 +31,10 @@ import java.util.Map;
 public enum Attribute {
 
     UNKNOWN(null),
+    CHECKPOINT_WRITE_INTERVAL("checkpoint-write-interval"),
     DATA_SOURCE("data-source"),
+    MAX_AGE("max-age"),
+    MAX_EXECUTIONS("max-executions"),
     NAME("name"),
     VALUE("value");
 
@@ -126,7 +126,7 @@ public class BatchSubsystemDefinition extends SimpleResourceDefinition {
     @Override
     public void registerChildren(final ManagementResourceRegistration resourceRegistration) {
         super.registerChildren(resourceRegistration);
-        resourceRegistration.registerSubModel(new InMemoryJobRepositoryDefinition());
+        resourceRegistration.registerSubModel(new InMemoryJobRepositoryDefinition(registerRuntimeOnly));
         resourceRegistration.registerSubModel(new JdbcJobRepositoryDefinition());
         // thread-pool resource
         resourceRegistration.registerSubModel(new BatchThreadPoolResourceDefinition(registerRuntimeOnly));
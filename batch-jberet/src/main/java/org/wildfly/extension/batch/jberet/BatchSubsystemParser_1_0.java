@@ -124,12 +124,13 @@ public class BatchSubsystemParser_1_0 implements XMLStreamConstants, XMLElementR
             final String localName = reader.getLocalName();
             final Element element = Element.forName(localName);
             if (element == Element.IN_MEMORY) {
-                ops.add(Util.createAddOperation(subsystemAddress.append(InMemoryJobRepositoryDefinition.NAME, name)));
+                final ModelNode op = Util.createAddOperation(subsystemAddress.append(InMemoryJobRepositoryDefinition.NAME, name));
+                parseInMemoryAttributes(reader, op);
+                ops.add(op);
                 ParseUtils.requireNoContent(reader);
             } else if (element == Element.JDBC) {
-                final Map<Attribute, String> attributes = AttributeParsers.readRequiredAttributes(reader, EnumSet.of(Attribute.DATA_SOURCE));
                 final ModelNode op = Util.createAddOperation(subsystemAddress.append(JdbcJobRepositoryDefinition.NAME, name));
-                JdbcJobRepositoryDefinition.DATA_SOURCE.parseAndSetParameter(attributes.get(Attribute.DATA_SOURCE), op, reader);
+                parseJdbcAttributes(reader, op);
                 ops.add(op);
                 ParseUtils.requireNoContent(reader);
             } else {
@@ -137,4 +138,29 @@ public class BatchSubsystemParser_1_0 implements XMLStreamConstants, XMLElementR
             }
         }
     }
+
+    /**
+     * Parses the attributes of a {@code jdbc} job repository element.
+     *
+     * @param reader    the reader positioned on the {@code jdbc} element
+     * @param operation the add operation for the job repository
+     *
+     * @throws XMLStreamException if an XML processing error occurs
+     */
+    void parseJdbcAttributes(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+        final Map<Attribute, String> attributes = AttributeParsers.readRequiredAttributes(reader, EnumSet.of(Attribute.DATA_SOURCE));
+        JdbcJobRepositoryDefinition.DATA_SOURCE.parseAndSetParameter(attributes.get(Attribute.DATA_SOURCE), operation, reader);
+    }
+
+    /**
+     * Parses the attributes of an {@code in-memory} job repository element. Earlier versions of the schema do not
+     * define any.
+     *
+     * @param reader    the reader positioned on the {@code in-memory} element
+     * @param operation the add operation for the job repository
+     *
+     * @throws XMLStreamException if an XML processing error occurs
+     */
+    void parseInMemoryAttributes(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.parsing.ParseUtils;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.wildfly.extension.batch.jberet.job.repository.InMemoryJobRepositoryDefinition;
+import org.wildfly.extension.batch.jberet.job.repository.JdbcJobRepositoryDefinition;
+
+/**
+ * Adds the retention limits of the {@code in-memory} job repository and the checkpoint write interval of the
+ * {@code jdbc} job repository.
+ */
+class BatchSubsystemParser_3_0 extends BatchSubsystemParser_2_0 {
+
+    @Override
+    void parseJdbcAttributes(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+        boolean dataSource = false;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String value = reader.getAttributeValue(i);
+            switch (Attribute.forName(reader.getAttributeLocalName(i))) {
+                case DATA_SOURCE:
+                    JdbcJobRepositoryDefinition.DATA_SOURCE.parseAndSetParameter(value, operation, reader);
+                    dataSource = true;
+                    break;
+                case CHECKPOINT_WRITE_INTERVAL:
+                    JdbcJobRepositoryDefinition.CHECKPOINT_WRITE_INTERVAL.parseAndSetParameter(value, operation, reader);
+                    break;
+                default:
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+            }
+        }
+        if (!dataSource) {
+            throw ParseUtils.missingRequired(reader, Attribute.DATA_SOURCE.getLocalName());
+        }
+    }
+
+    @Override
+    void parseInMemoryAttributes(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String value = reader.getAttributeValue(i);
+            switch (Attribute.forName(reader.getAttributeLocalName(i))) {
+                case MAX_EXECUTIONS:
+                    InMemoryJobRepositoryDefinition.MAX_EXECUTIONS.parseAndSetParameter(value, operation, reader);
+                    break;
+                case MAX_AGE:
+                    InMemoryJobRepositoryDefinition.MAX_AGE.parseAndSetParameter(value, operation, reader);
+                    break;
+                default:
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+            }
+        }
+    }
+}
@@ -56,7 +56,10 @@ public class BatchSubsystemWriter implements XMLElementWriter<SubsystemMarshalli
             for (Property property : repositories) {
                 writer.writeStartElement(Element.JOB_REPOSITORY.getLocalName());
                 writeNameAttribute(writer, property.getName());
-                writer.writeEmptyElement(Element.IN_MEMORY.getLocalName());
+                writer.writeStartElement(Element.IN_MEMORY.getLocalName());
+                InMemoryJobRepositoryDefinition.MAX_EXECUTIONS.marshallAsAttribute(property.getValue(), writer);
+                InMemoryJobRepositoryDefinition.MAX_AGE.marshallAsAttribute(property.getValue(), writer);
+                writer.writeEndElement();
                 writer.writeEndElement(); // end job-repository
             }
         }
@@ -69,6 +72,7 @@ public class BatchSubsystemWriter implements XMLElementWriter<SubsystemMarshalli
                 writeNameAttribute(writer, property.getName());
                 writer.writeStartElement(Element.JDBC.getLocalName());
                 JdbcJobRepositoryDefinition.DATA_SOURCE.marshallAsAttribute(property.getValue(), writer);
+                JdbcJobRepositoryDefinition.CHECKPOINT_WRITE_INTERVAL.marshallAsAttribute(property.getValue(), writer);
                 writer.writeEndElement();
                 writer.writeEndElement(); // end job-repository
             }
@@ -215,4 +215,24 @@ public interface BatchLogger extends BasicLogger {
      */
     @Message(id = 20, value = "Permission denied. User %s does not have %s permissions.")
     JobSecurityException unauthorized(String user, Permission permission);
+
+    /**
+     * Logs a warning message indicating the buffered step execution data could not be written to the job repository.
+     *
+     * @param cause the cause of the error
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 21, value = "Failed to write buffered step execution data to the job repository. Restarting the affected jobs may repeat already processed work.")
+    void failedToWriteStepExecutions(@Cause Throwable cause);
+
+    /**
+     * Creates an exception indicating the state of a step or partition execution could not be copied for a deferred write.
+     *
+     * @param cause     the cause of the error
+     * @param stepName  the name of the step
+     *
+     * @return a {@link BatchRuntimeException} for the error
+     */
+    @Message(id = 22, value = "Failed to copy the checkpoint data of step %s")
+    BatchRuntimeException failedToCopyStepExecution(@Cause Throwable cause, String stepName);
 }
@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.JobExecution;
+
+import org.jberet.repository.JobRepository;
+import org.jberet.runtime.AbstractStepExecution;
+import org.jberet.runtime.JobExecutionImpl;
+import org.wildfly.extension.batch.jberet._private.BatchLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Buffers the checkpoint data of step and partition executions and writes it to a job repository in groups.
+ * <p>
+ * Only the latest data of each step or partition execution is written, so successive checkpoints of the same execution
+ * within the write interval result in a single write. The buffered data is written once the oldest buffered checkpoint is
+ * older than the write interval, or whenever {@link #flush()} is invoked.
+ * </p>
+ * <p>
+ * The step or partition execution keeps changing while the job runs, so a serialized copy of it is buffered at the time
+ * of the checkpoint, and only that copy is written.
+ * </p>
+ */
+class BatchedStepExecutionWriter {
+
+    private final JobRepository repository;
+    private final long interval;
+    private final Object flushLock = new Object();
+    // Guarded by this
+    private Map<AbstractStepExecution, PendingWrite> pending = new IdentityHashMap<>();
+    private long oldestPendingTime;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param repository the job repository to write to
+     * @param interval   the time, in nanoseconds, after which buffered checkpoint data is written along with the next
+     *                   checkpoint; data buffered without any subsequent checkpoint is only written by {@link #flush()}
+     */
+    BatchedStepExecutionWriter(final JobRepository repository, final long interval) {
+        this.repository = repository;
+        this.interval = interval;
+    }
+
+    /**
+     * Buffers the checkpoint data of the step or partition execution.
+     *
+     * @param jobExecution      the job execution
+     * @param stepExecution     the step or partition execution
+     * @param unlessJobStopping {@code true} if the data should not be written if the job is being stopped
+     */
+    void write(final JobExecution jobExecution, final AbstractStepExecution stepExecution, final boolean unlessJobStopping) {
+        // Taken by the thread of the step, before the step execution changes again
+        final Snapshot snapshot = new Snapshot(stepExecution);
+        final boolean due;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            if (pending.isEmpty()) {
+                oldestPendingTime = now;
+            }
+            final PendingWrite previous = pending.get(stepExecution);
+            pending.put(stepExecution, new PendingWrite(jobExecution, snapshot, unlessJobStopping || (previous != null && previous.unlessJobStopping)));
+            due = now - oldestPendingTime >= interval;
+        }
+        if (due) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all buffered checkpoint data to the job repository.
+     * If a write fails, the data not yet written is buffered again and the failure is propagated.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            final Map<AbstractStepExecution, PendingWrite> writes;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                writes = pending;
+                pending = new IdentityHashMap<>();
+            }
+            final Iterator<PendingWrite> iterator = writes.values().iterator();
+            try {
+                while (iterator.hasNext()) {
+                    iterator.next().apply(repository);
+                    iterator.remove();
+                }
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        oldestPendingTime = System.nanoTime();
+                    }
+                    // Do not replace data buffered in the meantime, which is more recent
+                    for (Map.Entry<AbstractStepExecution, PendingWrite> entry : writes.entrySet()) {
+                        pending.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static class PendingWrite {
+        private final JobExecution jobExecution;
+        private final Snapshot snapshot;
+        private final boolean unlessJobStopping;
+
+        PendingWrite(final JobExecution jobExecution, final Snapshot snapshot, final boolean unlessJobStopping) {
+            this.jobExecution = jobExecution;
+            this.snapshot = snapshot;
+            this.unlessJobStopping = unlessJobStopping;
+        }
+
+        void apply(final JobRepository repository) {
+            final AbstractStepExecution stepExecution = snapshot.restore();
+            if (unlessJobStopping) {
+                // Nothing is written if the job is being stopped, e.g. from another server sharing the repository
+                if (repository.savePersistentDataIfNotStopping(jobExecution, stepExecution) == 0 && jobExecution instanceof JobExecutionImpl) {
+                    ((JobExecutionImpl) jobExecution).setBatchStatus(BatchStatus.STOPPING);
+                }
+            } else {
+                repository.savePersistentData(jobExecution, stepExecution);
+            }
+        }
+    }
+
+    /**
+     * The serialized state of a step or partition execution, i.e. its checkpoint data, persistent user data and metrics.
+     */
+    private static class Snapshot {
+        private final byte[] bytes;
+        // Resolves the classes of the persistent user data and checkpoint data, which are those of the deployment
+        private final ClassLoader classLoader;
+        private final String stepName;
+
+        Snapshot(final AbstractStepExecution stepExecution) {
+            this.classLoader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+            this.stepName = stepExecution.getStepName();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(output)) {
+                out.writeObject(stepExecution);
+            } catch (IOException e) {
+                throw BatchLogger.LOGGER.failedToCopyStepExecution(e, stepName);
+            }
+            this.bytes = output.toByteArray();
+        }
+
+        AbstractStepExecution restore() {
+            try (ObjectInputStream in = new ClassLoaderObjectInputStream(new ByteArrayInputStream(bytes), classLoader)) {
+                return (AbstractStepExecution) in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw BatchLogger.LOGGER.failedToCopyStepExecution(e, stepName);
+            }
+        }
+    }
+
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        ClassLoaderObjectInputStream(final InputStream in, final ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fall back to the class loader of the job repository, e.g. for the classes of JBeret
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
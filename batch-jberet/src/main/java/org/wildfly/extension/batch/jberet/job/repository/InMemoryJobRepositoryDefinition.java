@@ -22,19 +22,36 @@
 
 package org.wildfly.extension.batch.jberet.job.repository;
 
+import java.util.concurrent.TimeUnit;
+
 import org.jberet.repository.JobRepository;
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 import org.wildfly.extension.batch.jberet.BatchResourceDescriptionResolver;
 import org.wildfly.extension.batch.jberet._private.Capabilities;
 
 /**
  * Represents an in-memory job repository.
+ * <p>
+ * The optional {@code max-executions} and {@code max-age} attributes bound the number of retained job executions and
+ * the time finished executions are retained.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
@@ -43,26 +60,94 @@ public class InMemoryJobRepositoryDefinition extends SimpleResourceDefinition {
     public static final String NAME = "in-memory-job-repository";
     static final PathElement PATH = PathElement.pathElement(NAME);
 
-    public InMemoryJobRepositoryDefinition() {
+    /**
+     * The maximum number of job executions retained by the repository.
+     */
+    public static final SimpleAttributeDefinition MAX_EXECUTIONS = SimpleAttributeDefinitionBuilder.create("max-executions", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setRestartAllServices()
+            .build();
+
+    /**
+     * The maximum time finished job executions are retained by the repository.
+     */
+    public static final SimpleAttributeDefinition MAX_AGE = SimpleAttributeDefinitionBuilder.create("max-age", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setMeasurementUnit(MeasurementUnit.MINUTES)
+            .setValidator(new LongRangeValidator(1L, true, true))
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition RETAINED_EXECUTIONS = SimpleAttributeDefinitionBuilder.create("retained-executions", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
+
+    static final SimpleAttributeDefinition EVICTED_EXECUTIONS = SimpleAttributeDefinitionBuilder.create("evicted-executions", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
+
+    private final boolean registerRuntimeOnly;
+
+    public InMemoryJobRepositoryDefinition(final boolean registerRuntimeOnly) {
         super(
                 new Parameters(PATH, BatchResourceDescriptionResolver.getResourceDescriptionResolver(NAME))
                         .setAddHandler(new InMemoryAddHandler())
                         .setRemoveHandler(new ReloadRequiredRemoveStepHandler(Capabilities.JOB_REPOSITORY_CAPABILITY))
                         .setCapabilities(Capabilities.JOB_REPOSITORY_CAPABILITY)
         );
+        this.registerRuntimeOnly = registerRuntimeOnly;
+    }
+
+    @Override
+    public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        final ReloadRequiredWriteAttributeHandler writeHandler = new ReloadRequiredWriteAttributeHandler(MAX_EXECUTIONS, MAX_AGE);
+        resourceRegistration.registerReadWriteAttribute(MAX_EXECUTIONS, null, writeHandler);
+        resourceRegistration.registerReadWriteAttribute(MAX_AGE, null, writeHandler);
+        if (registerRuntimeOnly) {
+            resourceRegistration.registerMetric(RETAINED_EXECUTIONS, RetentionMetricHandler.INSTANCE);
+            resourceRegistration.registerMetric(EVICTED_EXECUTIONS, RetentionMetricHandler.INSTANCE);
+        }
     }
 
     private static class InMemoryAddHandler extends AbstractAddStepHandler {
         InMemoryAddHandler() {
-            super(Capabilities.JOB_REPOSITORY_CAPABILITY);
+            super(Capabilities.JOB_REPOSITORY_CAPABILITY, MAX_EXECUTIONS, MAX_AGE);
         }
 
         @Override
         protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
             super.performRuntime(context, operation, model);
             final String name = context.getCurrentAddressValue();
+            final ModelNode maxExecutions = MAX_EXECUTIONS.resolveModelAttribute(context, model);
+            final ModelNode maxAge = MAX_AGE.resolveModelAttribute(context, model);
+            final InMemoryJobRepositoryService service = new InMemoryJobRepositoryService(
+                    maxExecutions.isDefined() ? maxExecutions.asInt() : 0,
+                    maxAge.isDefined() ? TimeUnit.MINUTES.toMillis(maxAge.asLong()) : 0L);
             context.getServiceTarget().addService(context.getCapabilityServiceName(Capabilities.JOB_REPOSITORY_CAPABILITY.getName(), name, JobRepository.class),
-                    new InMemoryJobRepositoryService()).install();
+                    service).install();
+        }
+    }
+
+    private static class RetentionMetricHandler extends AbstractRuntimeOnlyHandler {
+        static final RetentionMetricHandler INSTANCE = new RetentionMetricHandler();
+
+        @Override
+        protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final ServiceController<?> controller = context.getServiceRegistry(false)
+                    .getService(context.getCapabilityServiceName(Capabilities.JOB_REPOSITORY_CAPABILITY.getName(), context.getCurrentAddressValue(), JobRepository.class));
+            if (controller != null && controller.getState() == ServiceController.State.UP) {
+                final InMemoryJobRepositoryService service = (InMemoryJobRepositoryService) controller.getService();
+                final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+                if (RETAINED_EXECUTIONS.getName().equals(attributeName)) {
+                    context.getResult().set(service.getRetainedExecutionCount());
+                } else if (EVICTED_EXECUTIONS.getName().equals(attributeName)) {
+                    context.getResult().set(service.getEvictedExecutionCount());
+                }
+            }
         }
     }
 }
@@ -22,8 +22,22 @@
 
 package org.wildfly.extension.batch.jberet.job.repository;
 
+import java.util.Collection;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.JobExecution;
+import javax.batch.runtime.context.JobContext;
+import javax.batch.runtime.context.StepContext;
+
 import org.jberet.repository.InMemoryRepository;
+import org.jberet.repository.JobExecutionSelector;
 import org.jberet.repository.JobRepository;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -31,20 +45,60 @@ import org.jboss.msc.service.StopContext;
 
 /**
  * A service which provides an in-memory job repository.
+ * <p>
+ * Finished job executions are evicted according to the configured maximum number of executions and maximum age.
+ * Eviction happens whenever an execution is created or finishes and, if a maximum age is configured, periodically
+ * in the background, so that expired executions are also removed from an idle repository.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 public class InMemoryJobRepositoryService extends JobRepositoryService implements Service<JobRepository> {
 
+    private static final long EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1L);
+
+    private final int maxExecutions;
+    private final long maxAge;
     private volatile InMemoryRepository repository;
+    private volatile JobExecutionRetention retention;
+    private volatile ScheduledExecutorService evictionExecutor;
+
+    /**
+     * Creates a new in-memory job repository service.
+     *
+     * @param maxExecutions the maximum number of retained job executions, or 0 for no limit
+     * @param maxAge        the maximum time, in milliseconds, finished job executions are retained, or 0 for no limit
+     */
+    public InMemoryJobRepositoryService(final int maxExecutions, final long maxAge) {
+        this.maxExecutions = maxExecutions;
+        this.maxAge = maxAge;
+    }
 
     @Override
     public void startJobRepository(final StartContext context) throws StartException {
+        retention = new JobExecutionRetention(maxExecutions, maxAge);
         repository = new InMemoryRepository();
+        if (maxAge > 0) {
+            // Check at least once per minute, the granularity of the max-age attribute
+            final long interval = Math.min(maxAge, EVICTION_INTERVAL);
+            final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+                final Thread thread = new Thread(task, "in-memory-job-repository-eviction");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(null);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(() -> evict(retention), interval, interval, TimeUnit.MILLISECONDS);
+            evictionExecutor = executor;
+        }
     }
 
     @Override
     public void stopJobRepository(final StopContext context) {
+        final ScheduledExecutorService executor = evictionExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            evictionExecutor = null;
+        }
         repository = null;
     }
 
@@ -52,4 +106,89 @@ public class InMemoryJobRepositoryService extends JobRepositoryService implement
     protected JobRepository getDelegate() {
         return repository;
     }
+
+    @Override
+    public JobExecutionImpl createJobExecution(final JobInstanceImpl jobInstance, final Properties jobParameters) {
+        final JobExecutionImpl jobExecution = super.createJobExecution(jobInstance, jobParameters);
+        final JobExecutionRetention retention = this.retention;
+        retention.created(jobInstance.getInstanceId(), jobExecution.getExecutionId());
+        evict(retention);
+        return jobExecution;
+    }
+
+    @Override
+    public void updateJobExecution(final JobExecutionImpl jobExecution, final boolean fullUpdate, final boolean saveJobParameters) {
+        super.updateJobExecution(jobExecution, fullUpdate, saveJobParameters);
+        if (isFinished(jobExecution.getBatchStatus())) {
+            final JobExecutionRetention retention = this.retention;
+            retention.finished(jobExecution.getJobInstance().getInstanceId(), jobExecution.getExecutionId(), System.currentTimeMillis());
+            evict(retention);
+        }
+    }
+
+    /**
+     * @return the number of job executions currently retained by this repository
+     */
+    long getRetainedExecutionCount() {
+        final JobExecutionRetention retention = this.retention;
+        return (retention != null) ? retention.getRetainedCount() : 0L;
+    }
+
+    /**
+     * @return the number of job executions evicted from this repository since it was started
+     */
+    long getEvictedExecutionCount() {
+        final JobExecutionRetention retention = this.retention;
+        return (retention != null) ? retention.getEvictedCount() : 0L;
+    }
+
+    private void evict(final JobExecutionRetention retention) {
+        final JobExecutionRetention.Evictions evictions = retention.evict(System.currentTimeMillis());
+        final JobRepository repository = this.repository;
+        if (!evictions.isEmpty() && repository != null) {
+            repository.removeJobExecutions(new EvictedJobExecutionSelector(evictions.getExecutionIds()));
+            for (Long instanceId : evictions.getInstanceIds()) {
+                repository.removeJobInstance(instanceId);
+            }
+        }
+    }
+
+    private static boolean isFinished(final BatchStatus status) {
+        return status == BatchStatus.COMPLETED || status == BatchStatus.FAILED || status == BatchStatus.STOPPED || status == BatchStatus.ABANDONED;
+    }
+
+    private static class EvictedJobExecutionSelector implements JobExecutionSelector {
+        private final Set<Long> executionIds;
+        private volatile JobContext jobContext;
+        private volatile StepContext stepContext;
+
+        EvictedJobExecutionSelector(final Set<Long> executionIds) {
+            this.executionIds = executionIds;
+        }
+
+        @Override
+        public boolean select(final JobExecution jobExecution, final Collection<Long> allJobExecutionIds) {
+            return executionIds.contains(jobExecution.getExecutionId());
+        }
+
+        @Override
+        public JobContext getJobContext() {
+            return jobContext;
+        }
+
+        @Override
+        public void setJobContext(final JobContext jobContext) {
+            this.jobContext = jobContext;
+        }
+
+        @Override
+        public StepContext getStepContext() {
+            return stepContext;
+        }
+
+        @Override
+        public void setStepContext(final StepContext stepContext) {
+            this.stepContext = stepContext;
+        }
+    }
 }
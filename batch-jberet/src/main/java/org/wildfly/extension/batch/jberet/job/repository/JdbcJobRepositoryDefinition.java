@@ -34,6 +34,8 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.server.Services;
 import org.jboss.dmr.ModelNode;
@@ -60,6 +62,16 @@ public class JdbcJobRepositoryDefinition extends SimpleResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    /**
+     * The maximum time the checkpoint data of step and partition executions is buffered before being written in a group.
+     */
+    public static final SimpleAttributeDefinition CHECKPOINT_WRITE_INTERVAL = SimpleAttributeDefinitionBuilder.create("checkpoint-write-interval", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(1L, true, true))
+            .setRestartAllServices()
+            .build();
+
     public JdbcJobRepositoryDefinition() {
         super(
                 new Parameters(PATH, BatchResourceDescriptionResolver.getResourceDescriptionResolver(NAME))
@@ -72,13 +84,15 @@ public class JdbcJobRepositoryDefinition extends SimpleResourceDefinition {
     @Override
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
         super.registerAttributes(resourceRegistration);
-        resourceRegistration.registerReadWriteAttribute(DATA_SOURCE, null, new ReloadRequiredWriteAttributeHandler(DATA_SOURCE));
+        final ReloadRequiredWriteAttributeHandler writeHandler = new ReloadRequiredWriteAttributeHandler(DATA_SOURCE, CHECKPOINT_WRITE_INTERVAL);
+        resourceRegistration.registerReadWriteAttribute(DATA_SOURCE, null, writeHandler);
+        resourceRegistration.registerReadWriteAttribute(CHECKPOINT_WRITE_INTERVAL, null, writeHandler);
     }
 
     private static class JdbcRepositoryAddHandler extends AbstractAddStepHandler {
 
         JdbcRepositoryAddHandler() {
-            super(Capabilities.JOB_REPOSITORY_CAPABILITY, DATA_SOURCE);
+            super(Capabilities.JOB_REPOSITORY_CAPABILITY, DATA_SOURCE, CHECKPOINT_WRITE_INTERVAL);
         }
 
         @Override
@@ -86,8 +100,9 @@ public class JdbcJobRepositoryDefinition extends SimpleResourceDefinition {
             super.performRuntime(context, operation, model);
             final String name = context.getCurrentAddressValue();
             final String dsName = DATA_SOURCE.resolveModelAttribute(context, model).asString();
+            final ModelNode writeInterval = CHECKPOINT_WRITE_INTERVAL.resolveModelAttribute(context, model);
             final ServiceTarget target = context.getServiceTarget();
-            final JdbcJobRepositoryService service = new JdbcJobRepositoryService();
+            final JdbcJobRepositoryService service = new JdbcJobRepositoryService(writeInterval.isDefined() ? writeInterval.asLong() : 0L);
             Services.addServerExecutorDependency(
                     target.addService(context.getCapabilityServiceName(Capabilities.JOB_REPOSITORY_CAPABILITY.getName(), name, JobRepository.class), service),
                     service.getExecutorServiceInjector())
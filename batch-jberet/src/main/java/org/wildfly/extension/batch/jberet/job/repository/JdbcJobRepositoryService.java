@@ -22,12 +22,24 @@
 
 package org.wildfly.extension.batch.jberet.job.repository;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.JobExecution;
+import javax.batch.runtime.StepExecution;
 import javax.sql.DataSource;
 
 import org.jberet.repository.JdbcRepository;
+import org.jberet.repository.JobExecutionSelector;
 import org.jberet.repository.JobRepository;
+import org.jberet.runtime.AbstractStepExecution;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.PartitionExecutionImpl;
+import org.jberet.runtime.StepExecutionImpl;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -45,7 +57,24 @@ public class JdbcJobRepositoryService extends JobRepositoryService implements Se
 
     private final InjectedValue<DataSource> dataSourceValue = new InjectedValue<>();
     private final InjectedValue<ExecutorService> executor = new InjectedValue<>();
+    private final long writeInterval;
     private volatile JdbcRepository jobRepository;
+    private volatile BatchedStepExecutionWriter writer;
+    private volatile ScheduledExecutorService flushExecutor;
+
+    public JdbcJobRepositoryService() {
+        this(0L);
+    }
+
+    /**
+     * Creates a new JDBC job repository service.
+     *
+     * @param writeInterval the interval, in milliseconds, at which the buffered checkpoint data of step and partition
+     *                      executions is written in a group, or 0 to write it immediately
+     */
+    public JdbcJobRepositoryService(final long writeInterval) {
+        this.writeInterval = writeInterval;
+    }
 
     @Override
     public void startJobRepository(final StartContext context) throws StartException {
@@ -53,7 +82,29 @@ public class JdbcJobRepositoryService extends JobRepositoryService implements Se
         final Runnable task = () -> {
             try {
                 // Currently in jBeret tables are created in the constructor which is why this is done asynchronously
-                jobRepository = new JdbcRepository(dataSourceValue.getValue());
+                final JdbcRepository repository = new JdbcRepository(dataSourceValue.getValue());
+                if (writeInterval > 0L) {
+                    final BatchedStepExecutionWriter writer = new BatchedStepExecutionWriter(repository, TimeUnit.MILLISECONDS.toNanos(writeInterval));
+                    // Write buffered checkpoint data even if the job produces no further checkpoints, e.g. while a chunk is slow
+                    final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                        final Thread thread = new Thread(r, "jdbc-job-repository-checkpoint-writer");
+                        thread.setDaemon(true);
+                        thread.setContextClassLoader(null);
+                        return thread;
+                    });
+                    flushExecutor.scheduleWithFixedDelay(() -> {
+                        try {
+                            writer.flush();
+                        } catch (RuntimeException e) {
+                            BatchLogger.LOGGER.failedToWriteStepExecutions(e);
+                        }
+                    }, writeInterval, writeInterval, TimeUnit.MILLISECONDS);
+                    this.writer = writer;
+                    this.flushExecutor = flushExecutor;
+                } else {
+                    writer = null;
+                }
+                jobRepository = repository;
                 context.complete();
             } catch (Exception e) {
                 context.failed(BatchLogger.LOGGER.failedToCreateJobRepository(e, "JDBC"));
@@ -70,6 +121,20 @@ public class JdbcJobRepositoryService extends JobRepositoryService implements Se
 
     @Override
     public void stopJobRepository(final StopContext context) {
+        final ScheduledExecutorService flushExecutor = this.flushExecutor;
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            this.flushExecutor = null;
+        }
+        final BatchedStepExecutionWriter writer = this.writer;
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (RuntimeException e) {
+                BatchLogger.LOGGER.failedToWriteStepExecutions(e);
+            }
+        }
+        this.writer = null;
         jobRepository = null;
     }
 
@@ -78,6 +143,85 @@ public class JdbcJobRepositoryService extends JobRepositoryService implements Se
         return jobRepository;
     }
 
+    @Override
+    public void savePersistentData(final JobExecution jobExecution, final AbstractStepExecution stepOrPartitionExecution) {
+        final BatchedStepExecutionWriter writer = this.writer;
+        if (writer != null) {
+            writer.write(jobExecution, stepOrPartitionExecution, false);
+        } else {
+            super.savePersistentData(jobExecution, stepOrPartitionExecution);
+        }
+    }
+
+    @Override
+    public int savePersistentDataIfNotStopping(final JobExecution jobExecution, final AbstractStepExecution abstractStepExecution) {
+        final BatchedStepExecutionWriter writer = this.writer;
+        if (writer != null && jobExecution.getBatchStatus() != BatchStatus.STOPPING) {
+            writer.write(jobExecution, abstractStepExecution, true);
+            return 1;
+        }
+        flush();
+        return super.savePersistentDataIfNotStopping(jobExecution, abstractStepExecution);
+    }
+
+    @Override
+    public void updateStepExecution(final StepExecution stepExecution) {
+        flush();
+        super.updateStepExecution(stepExecution);
+    }
+
+    @Override
+    public void updateJobExecution(final JobExecutionImpl jobExecution, final boolean fullUpdate, final boolean saveJobParameters) {
+        flush();
+        super.updateJobExecution(jobExecution, fullUpdate, saveJobParameters);
+    }
+
+    @Override
+    public void stopJobExecution(final JobExecutionImpl jobExecution) {
+        flush();
+        super.stopJobExecution(jobExecution);
+    }
+
+    @Override
+    public void removeJobExecutions(final JobExecutionSelector jobExecutionSelector) {
+        flush();
+        super.removeJobExecutions(jobExecutionSelector);
+    }
+
+    @Override
+    public List<StepExecution> getStepExecutions(final long jobExecutionId, final ClassLoader classLoader) {
+        flush();
+        return super.getStepExecutions(jobExecutionId, classLoader);
+    }
+
+    @Override
+    public StepExecutionImpl findOriginalStepExecutionForRestart(final String stepName, final JobExecutionImpl jobExecutionToRestart, final ClassLoader classLoader) {
+        flush();
+        return super.findOriginalStepExecutionForRestart(stepName, jobExecutionToRestart, classLoader);
+    }
+
+    @Override
+    public int countStepStartTimes(final String stepName, final long jobInstanceId) {
+        flush();
+        return super.countStepStartTimes(stepName, jobInstanceId);
+    }
+
+    @Override
+    public List<PartitionExecutionImpl> getPartitionExecutions(final long stepExecutionId, final StepExecutionImpl stepExecution, final boolean notCompletedOnly, final ClassLoader classLoader) {
+        flush();
+        return super.getPartitionExecutions(stepExecutionId, stepExecution, notCompletedOnly, classLoader);
+    }
+
+    /**
+     * Writes any buffered checkpoint data, so that it is visible to subsequent reads and consistent with subsequent updates.
+     */
+    private void flush() {
+        final BatchedStepExecutionWriter writer = this.writer;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
     public InjectedValue<DataSource> getDataSourceInjector() {
         return dataSourceValue;
     }
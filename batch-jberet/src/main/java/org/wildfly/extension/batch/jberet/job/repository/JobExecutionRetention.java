@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the job executions retained by an in-memory job repository and decides which of them to evict.
+ * <p>
+ * Only finished executions are ever evicted, oldest first, once either the number of retained executions exceeds the
+ * configured maximum or the time since they finished exceeds the configured maximum age. A job instance is evicted along
+ * with the last of its executions.
+ * </p>
+ */
+class JobExecutionRetention {
+
+    private final int maxExecutions;
+    private final long maxAge;
+    private final Queue<FinishedExecution> finished = new ConcurrentLinkedQueue<>();
+    private final Set<Long> finishedExecutionIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> instanceExecutions = new ConcurrentHashMap<>();
+    private final AtomicLong retained = new AtomicLong();
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * Creates a new retention policy.
+     *
+     * @param maxExecutions the maximum number of retained executions, or 0 for no limit
+     * @param maxAge        the maximum time, in milliseconds, finished executions are retained, or 0 for no limit
+     */
+    JobExecutionRetention(final int maxExecutions, final long maxAge) {
+        this.maxExecutions = maxExecutions;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Records that a job execution was created.
+     *
+     * @param instanceId  the id of the job instance of the execution
+     * @param executionId the id of the execution
+     */
+    void created(final long instanceId, final long executionId) {
+        retained.incrementAndGet();
+        instanceExecutions.merge(instanceId, 1, Integer::sum);
+    }
+
+    /**
+     * Records that a job execution reached a final status. Subsequent calls for the same execution are ignored.
+     *
+     * @param instanceId  the id of the job instance of the execution
+     * @param executionId the id of the execution
+     * @param time        the time, in milliseconds, the execution finished
+     */
+    void finished(final long instanceId, final long executionId, final long time) {
+        if (finishedExecutionIds.add(executionId)) {
+            finished.add(new FinishedExecution(instanceId, executionId, time));
+        }
+    }
+
+    /**
+     * Removes the finished executions that exceed the limits of this policy.
+     *
+     * @param now the current time in milliseconds
+     *
+     * @return the executions and instances to remove from the job repository
+     */
+    synchronized Evictions evict(final long now) {
+        Evictions evictions = null;
+        FinishedExecution execution = finished.peek();
+        while (execution != null && isEvictable(execution, now)) {
+            finished.poll();
+            finishedExecutionIds.remove(execution.executionId);
+            retained.decrementAndGet();
+            evicted.increment();
+            if (evictions == null) {
+                evictions = new Evictions();
+            }
+            evictions.executionIds.add(execution.executionId);
+            if (instanceExecutions.computeIfPresent(execution.instanceId, (id, count) -> (count > 1) ? count - 1 : null) == null) {
+                evictions.instanceIds.add(execution.instanceId);
+            }
+            execution = finished.peek();
+        }
+        return (evictions != null) ? evictions : Evictions.NONE;
+    }
+
+    private boolean isEvictable(final FinishedExecution execution, final long now) {
+        return (maxExecutions > 0 && retained.get() > maxExecutions) || (maxAge > 0 && now - execution.time > maxAge);
+    }
+
+    /**
+     * @return the number of job executions currently retained
+     */
+    long getRetainedCount() {
+        return retained.get();
+    }
+
+    /**
+     * @return the number of job executions evicted so far
+     */
+    long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * The job executions and job instances to remove from the job repository.
+     */
+    static class Evictions {
+        static final Evictions NONE = new Evictions(Collections.emptySet(), Collections.emptySet());
+
+        private final Set<Long> executionIds;
+        private final Set<Long> instanceIds;
+
+        private Evictions() {
+            this(new HashSet<>(), new HashSet<>());
+        }
+
+        private Evictions(final Set<Long> executionIds, final Set<Long> instanceIds) {
+            this.executionIds = executionIds;
+            this.instanceIds = instanceIds;
+        }
+
+        boolean isEmpty() {
+            return executionIds.isEmpty();
+        }
+
+        Set<Long> getExecutionIds() {
+            return executionIds;
+        }
+
+        Set<Long> getInstanceIds() {
+            return instanceIds;
+        }
+    }
+
+    private static class FinishedExecution {
+        final long instanceId;
+        final long executionId;
+        final long time;
+
+        FinishedExecution(final long instanceId, final long executionId, final long time) {
+            this.instanceId = instanceId;
+            this.executionId = executionId;
+            this.time = time;
+        }
+    }
+}
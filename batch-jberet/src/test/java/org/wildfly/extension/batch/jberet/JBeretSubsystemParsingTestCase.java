@@ -59,7 +59,7 @@ public class JBeretSubsystemParsingTestCase extends AbstractBatchTestCase {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-batch-jberet_2_0.xsd";
+        return "schema/wildfly-batch-jberet_3_0.xsd";
     }
 
     @Test
@@ -95,6 +95,17 @@ public class JBeretSubsystemParsingTestCase extends AbstractBatchTestCase {
         assertEquals("Expecting restart-jobs-on-resume " + expectedRestartOnResume + ", but got " + restartOnResume,
                 expectedRestartOnResume, restartOnResume);
 
+        final ModelNode inMemoryJobRepository = batchModel.get("in-memory-job-repository", "in-memory");
+        final int expectedMaxExecutions = 1000;
+        final int maxExecutions = inMemoryJobRepository.get("max-executions").resolve().asInt();
+        assertEquals("Expecting max-executions " + expectedMaxExecutions + ", but got " + maxExecutions,
+                expectedMaxExecutions, maxExecutions);
+
+        final long expectedMaxAge = 60L;
+        final long maxAge = inMemoryJobRepository.get("max-age").resolve().asLong();
+        assertEquals("Expecting max-age " + expectedMaxAge + ", but got " + maxAge,
+                expectedMaxAge, maxAge);
+
         final ModelNode threadPool = batchModel.get("thread-pool").asProperty().getValue();
         final int expectedMaxThreads = 10;
         final int maxThreads = threadPool.get("max-threads").resolve().asInt();
@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistry;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.helpers.Operations.CompositeOperationBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
@@ -35,6 +36,7 @@ import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.SubsystemOperations;
 import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.extension.batch.jberet.job.repository.InMemoryJobRepositoryDefinition;
 
@@ -105,6 +107,40 @@ public class SubsystemOperationsTestCase extends AbstractBatchTestCase {
         executeOperation(kernelServices, compositeOp.build());
     }
 
+    @Test
+    public void testInMemoryJobRepositoryRetention() throws Exception {
+        final KernelServices kernelServices = boot();
+
+        final ModelNode address = createAddress(InMemoryJobRepositoryDefinition.NAME, "bounded");
+        final ModelNode addOp = SubsystemOperations.createAddOperation(address);
+        addOp.get("max-executions").set(10);
+        addOp.get("max-age").set(5L);
+        executeOperation(kernelServices, addOp);
+
+        ModelNode result = executeOperation(kernelServices, SubsystemOperations.createReadAttributeOperation(address, "max-executions"));
+        Assert.assertEquals(10, SubsystemOperations.readResult(result).asInt());
+        result = executeOperation(kernelServices, SubsystemOperations.createReadAttributeOperation(address, "max-age"));
+        Assert.assertEquals(5L, SubsystemOperations.readResult(result).asLong());
+
+        // Changes only take effect once the repository is restarted
+        result = executeOperation(kernelServices, SubsystemOperations.createWriteAttributeOperation(address, "max-executions", 20));
+        Assert.assertTrue(result.get(ModelDescriptionConstants.RESPONSE_HEADERS, ModelDescriptionConstants.OPERATION_REQUIRES_RELOAD).asBoolean(false));
+        result = executeOperation(kernelServices, SubsystemOperations.createReadAttributeOperation(address, "max-executions"));
+        Assert.assertEquals(20, SubsystemOperations.readResult(result).asInt());
+
+        // The limits must be positive
+        result = kernelServices.executeOperation(SubsystemOperations.createWriteAttributeOperation(address, "max-age", 0L));
+        Assert.assertFalse(SubsystemOperations.isSuccessfulOutcome(result));
+        final ModelNode invalidAddOp = SubsystemOperations.createAddOperation(createAddress(InMemoryJobRepositoryDefinition.NAME, "invalid"));
+        invalidAddOp.get("max-executions").set(0);
+        result = kernelServices.executeOperation(invalidAddOp);
+        Assert.assertFalse(SubsystemOperations.isSuccessfulOutcome(result));
+
+        executeOperation(kernelServices, SubsystemOperations.createUndefineAttributeOperation(address, "max-age"));
+        result = executeOperation(kernelServices, SubsystemOperations.createReadAttributeOperation(address, "max-age"));
+        Assert.assertFalse(SubsystemOperations.readResult(result).isDefined());
+    }
+
     @Test
     public void testAddRemoveThreadPool() throws Exception {
         final KernelServices kernelServices = boot(getSubsystemXml("/minimal-subsystem.xml"));
@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
 import org.jboss.as.model.test.ModelTestUtils;
@@ -33,6 +34,8 @@ import org.jboss.as.subsystem.test.KernelServicesBuilder;
 import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
+import org.wildfly.extension.batch.jberet.job.repository.InMemoryJobRepositoryDefinition;
+import org.wildfly.extension.batch.jberet.job.repository.JdbcJobRepositoryDefinition;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -104,6 +107,37 @@ public class SubsystemTransformerTestCase extends AbstractBatchTestCase {
                 new FailedOperationTransformationConfig()
                         .addFailedAttribute(PathAddress.pathAddress(BatchSubsystemDefinition.SUBSYSTEM_PATH),
                                 new FailedOperationTransformationConfig.NewAttributesConfig(BatchSubsystemDefinition.SECURITY_DOMAIN))
+                        .addFailedAttribute(PathAddress.pathAddress(BatchSubsystemDefinition.SUBSYSTEM_PATH, PathElement.pathElement(InMemoryJobRepositoryDefinition.NAME, "in-memory")),
+                                new FailedOperationTransformationConfig.NewAttributesConfig(InMemoryJobRepositoryDefinition.MAX_EXECUTIONS, InMemoryJobRepositoryDefinition.MAX_AGE))
+        );
+    }
+
+    @Test
+    public void testFailedJdbcTransformersEAP700() throws Exception {
+        final AdditionalInitialization additionalInitialization = AdditionalInitialization.withCapabilities(
+                "org.wildfly.data-source.ExampleDS",
+                "org.wildfly.transactions.global-default-local-provider");
+        final KernelServicesBuilder builder = createKernelServicesBuilder(additionalInitialization);
+        final ModelVersion legacyVersion = ModelVersion.create(1, 1, 0);
+
+        final ModelTestControllerVersion controllerVersion = ModelTestControllerVersion.EAP_7_0_0;
+        // Add legacy subsystems
+        builder.createLegacyKernelServicesBuilder(AdditionalInitialization.MANAGEMENT, controllerVersion, legacyVersion)
+                .addMavenResourceURL(controllerVersion.getMavenGroupId() + ":wildfly-batch-jberet:" + controllerVersion.getMavenGavVersion())
+                .addMavenResourceURL(controllerVersion.getCoreMavenGroupId() + ":wildfly-threads:" + controllerVersion.getCoreVersion());
+
+        final KernelServices mainServices = builder.build();
+        final KernelServices legacyServices = mainServices.getLegacyServices(legacyVersion);
+
+        Assert.assertNotNull(legacyServices);
+        Assert.assertTrue("main services did not boot", mainServices.isSuccessfulBoot());
+        Assert.assertTrue(legacyServices.isSuccessfulBoot());
+
+        final List<ModelNode> ops = builder.parseXmlResource("/jdbc-default-subsystem.xml");
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, legacyVersion, ops,
+                new FailedOperationTransformationConfig()
+                        .addFailedAttribute(PathAddress.pathAddress(BatchSubsystemDefinition.SUBSYSTEM_PATH, PathElement.pathElement(JdbcJobRepositoryDefinition.NAME, "jdbc")),
+                                new FailedOperationTransformationConfig.NewAttributesConfig(JdbcJobRepositoryDefinition.CHECKPOINT_WRITE_INTERVAL))
         );
     }
 }
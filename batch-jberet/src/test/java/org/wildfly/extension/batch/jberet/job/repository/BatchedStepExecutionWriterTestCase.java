@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.StepExecution;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jberet.job.model.Job;
+import org.jberet.repository.JdbcRepository;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
+import org.jberet.runtime.StepExecutionImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that the checkpoint data buffered by {@link BatchedStepExecutionWriter} is what a restarted job reads from an
+ * H2 backed JDBC job repository.
+ */
+public class BatchedStepExecutionWriterTestCase {
+
+    private static final String STEP_NAME = "step";
+
+    private JdbcDataSource dataSource;
+    private JdbcRepository repository;
+    private JobExecutionImpl jobExecution;
+    private StepExecutionImpl stepExecution;
+
+    @Before
+    public void setup() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        repository = new JdbcRepository(dataSource);
+        final JobInstanceImpl jobInstance = repository.createJobInstance(new Job("batched"), "test", getClass().getClassLoader());
+        jobExecution = repository.createJobExecution(jobInstance, new Properties());
+        stepExecution = repository.createStepExecution(STEP_NAME);
+        stepExecution.setBatchStatus(BatchStatus.STARTED);
+        repository.addStepExecution(jobExecution, stepExecution);
+    }
+
+    @Test
+    public void testRestartAfterFlush() {
+        final BatchedStepExecutionWriter writer = new BatchedStepExecutionWriter(repository, TimeUnit.HOURS.toNanos(1L));
+        for (int i = 1; i <= 10; i++) {
+            stepExecution.setReaderCheckpointInfo(i);
+            stepExecution.setWriterCheckpointInfo(i);
+            writer.write(jobExecution, stepExecution, false);
+        }
+        // Nothing was written yet
+        assertNull(readStoredStepExecution().getReaderCheckpointInfo());
+
+        writer.flush();
+        final StepExecutionImpl stored = readStoredStepExecution();
+        assertEquals(10, stored.getReaderCheckpointInfo());
+        assertEquals(10, stored.getWriterCheckpointInfo());
+    }
+
+    @Test
+    public void testSnapshot() {
+        final BatchedStepExecutionWriter writer = new BatchedStepExecutionWriter(repository, TimeUnit.HOURS.toNanos(1L));
+        stepExecution.setReaderCheckpointInfo(1);
+        stepExecution.setWriterCheckpointInfo(1);
+        stepExecution.setPersistentUserData("checkpoint 1");
+        writer.write(jobExecution, stepExecution, false);
+        // The step carries on with the next chunk before the buffered data is written
+        stepExecution.setReaderCheckpointInfo(2);
+        stepExecution.setPersistentUserData("chunk 2");
+
+        writer.flush();
+        final StepExecutionImpl stored = readStoredStepExecution();
+        assertEquals(1, stored.getReaderCheckpointInfo());
+        assertEquals(1, stored.getWriterCheckpointInfo());
+        assertEquals("checkpoint 1", stored.getPersistentUserData());
+    }
+
+    @Test
+    public void testWriteInterval() {
+        final BatchedStepExecutionWriter writer = new BatchedStepExecutionWriter(repository, 0L);
+        stepExecution.setReaderCheckpointInfo(1);
+        writer.write(jobExecution, stepExecution, true);
+        // Every write is due immediately
+        assertEquals(1, readStoredStepExecution().getReaderCheckpointInfo());
+        assertEquals(BatchStatus.STARTING, jobExecution.getBatchStatus());
+    }
+
+    @Test
+    public void testStoppingJob() {
+        final BatchedStepExecutionWriter writer = new BatchedStepExecutionWriter(repository, TimeUnit.HOURS.toNanos(1L));
+        stepExecution.setReaderCheckpointInfo(1);
+        writer.write(jobExecution, stepExecution, true);
+        // Simulate a stop request from another server sharing the repository
+        final JobExecutionImpl stopped = (JobExecutionImpl) new JdbcRepository(dataSource).getJobExecution(jobExecution.getExecutionId());
+        stopped.setBatchStatus(BatchStatus.STOPPING);
+        new JdbcRepository(dataSource).updateJobExecution(stopped, false, false);
+
+        writer.flush();
+        assertNull(readStoredStepExecution().getReaderCheckpointInfo());
+        assertEquals(BatchStatus.STOPPING, jobExecution.getBatchStatus());
+    }
+
+    /**
+     * Reads the step execution as a restarted job would, i.e. from a job repository without any cached state.
+     */
+    private StepExecutionImpl readStoredStepExecution() {
+        final List<StepExecution> stepExecutions = new JdbcRepository(dataSource).getStepExecutions(jobExecution.getExecutionId(), getClass().getClassLoader());
+        assertEquals(1, stepExecutions.size());
+        return (StepExecutionImpl) stepExecutions.get(0);
+    }
+}
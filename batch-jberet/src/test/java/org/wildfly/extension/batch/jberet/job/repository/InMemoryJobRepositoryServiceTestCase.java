@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import javax.batch.runtime.BatchStatus;
+
+import org.jberet.job.model.Job;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the eviction of job executions from an {@link InMemoryJobRepositoryService}.
+ */
+public class InMemoryJobRepositoryServiceTestCase {
+
+    private InMemoryJobRepositoryService service;
+
+    @After
+    public void stop() {
+        if (service != null) {
+            service.stop(null);
+        }
+    }
+
+    @Test
+    public void testMaxExecutions() throws Exception {
+        service = start(2, 0L);
+        final JobInstanceImpl jobInstance = createJobInstance();
+        final JobExecutionImpl first = service.createJobExecution(jobInstance, new Properties());
+        finish(first);
+        final JobExecutionImpl second = service.createJobExecution(jobInstance, new Properties());
+        assertEquals(2L, service.getRetainedExecutionCount());
+
+        // Running executions are never evicted
+        final JobInstanceImpl otherJobInstance = createJobInstance();
+        final JobExecutionImpl third = service.createJobExecution(otherJobInstance, new Properties());
+        assertNull(service.getJobExecution(first.getExecutionId()));
+        assertNotNull(service.getJobExecution(second.getExecutionId()));
+        assertNotNull(service.getJobExecution(third.getExecutionId()));
+        // The job instance still has an execution
+        assertNotNull(service.getJobInstance(jobInstance.getInstanceId()));
+        assertEquals(2L, service.getRetainedExecutionCount());
+        assertEquals(1L, service.getEvictedExecutionCount());
+
+        final JobExecutionImpl fourth = service.createJobExecution(otherJobInstance, new Properties());
+        assertEquals(3L, service.getRetainedExecutionCount());
+        finish(second);
+        assertNull(service.getJobExecution(second.getExecutionId()));
+        assertNull(service.getJobInstance(jobInstance.getInstanceId()));
+        assertNotNull(service.getJobExecution(fourth.getExecutionId()));
+        assertEquals(2L, service.getRetainedExecutionCount());
+        assertEquals(2L, service.getEvictedExecutionCount());
+    }
+
+    @Test
+    public void testMaxAge() throws Exception {
+        service = start(0, 50L);
+        final JobInstanceImpl jobInstance = createJobInstance();
+        final JobExecutionImpl running = service.createJobExecution(jobInstance, new Properties());
+        final JobExecutionImpl finished = service.createJobExecution(createJobInstance(), new Properties());
+        finish(finished);
+
+        // Expired executions are evicted without any further repository activity
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (service.getEvictedExecutionCount() == 0L && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(1L, service.getEvictedExecutionCount());
+        assertNull(service.getJobExecution(finished.getExecutionId()));
+        assertNull(service.getJobInstance(finished.getJobInstance().getInstanceId()));
+        assertNotNull(service.getJobExecution(running.getExecutionId()));
+        assertEquals(1L, service.getRetainedExecutionCount());
+    }
+
+    @Test
+    public void testUnbounded() throws Exception {
+        service = start(0, 0L);
+        final JobInstanceImpl jobInstance = createJobInstance();
+        for (int i = 0; i < 100; i++) {
+            finish(service.createJobExecution(jobInstance, new Properties()));
+        }
+        assertEquals(100L, service.getRetainedExecutionCount());
+        assertEquals(0L, service.getEvictedExecutionCount());
+        assertNotNull(service.getJobInstance(jobInstance.getInstanceId()));
+    }
+
+    private static InMemoryJobRepositoryService start(final int maxExecutions, final long maxAge) throws Exception {
+        final InMemoryJobRepositoryService service = new InMemoryJobRepositoryService(maxExecutions, maxAge);
+        service.start(null);
+        return service;
+    }
+
+    private JobInstanceImpl createJobInstance() {
+        return service.createJobInstance(new Job("retention"), "test", getClass().getClassLoader());
+    }
+
+    private void finish(final JobExecutionImpl jobExecution) {
+        jobExecution.setBatchStatus(BatchStatus.COMPLETED);
+        service.updateJobExecution(jobExecution, false, false);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.StepExecution;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jberet.job.model.Job;
+import org.jberet.repository.JdbcRepository;
+import org.jberet.runtime.JobExecutionImpl;
+import org.jberet.runtime.JobInstanceImpl;
+import org.jberet.runtime.StepExecutionImpl;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Verifies that a {@link JdbcJobRepositoryService} with a checkpoint write interval writes the buffered checkpoint data
+ * before it is read, and that a restarted job resumes from the latest checkpoint.
+ */
+public class JdbcJobRepositoryServiceTestCase {
+
+    private static final String STEP_NAME = "step";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private JdbcDataSource dataSource;
+
+    @Before
+    public void setup() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @After
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFlushBeforeRead() {
+        final JdbcJobRepositoryService service = start(TimeUnit.HOURS.toMillis(1L));
+        try {
+            final JobExecutionImpl jobExecution = createJobExecution(service);
+            final StepExecutionImpl stepExecution = createStepExecution(service, jobExecution);
+
+            checkpoint(service, jobExecution, stepExecution, 1);
+            assertNull(readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+            service.getStepExecutions(jobExecution.getExecutionId(), getClass().getClassLoader());
+            assertEquals(1, readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+
+            checkpoint(service, jobExecution, stepExecution, 2);
+            assertEquals(1, readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+            service.countStepStartTimes(STEP_NAME, jobExecution.getJobInstance().getInstanceId());
+            assertEquals(2, readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+
+            checkpoint(service, jobExecution, stepExecution, 3);
+            service.findOriginalStepExecutionForRestart(STEP_NAME, jobExecution, getClass().getClassLoader());
+            assertEquals(3, readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+
+            // An update must not be followed by the write of older buffered data
+            checkpoint(service, jobExecution, stepExecution, 4);
+            stepExecution.setBatchStatus(BatchStatus.COMPLETED);
+            service.updateStepExecution(stepExecution);
+            final StepExecutionImpl stored = readStoredStepExecution(jobExecution);
+            assertEquals(4, stored.getReaderCheckpointInfo());
+            assertEquals(BatchStatus.COMPLETED, stored.getBatchStatus());
+        } finally {
+            stop(service);
+        }
+    }
+
+    @Test
+    public void testRestart() {
+        JdbcJobRepositoryService service = start(TimeUnit.HOURS.toMillis(1L));
+        final long jobExecutionId;
+        try {
+            final JobExecutionImpl jobExecution = createJobExecution(service);
+            final StepExecutionImpl stepExecution = createStepExecution(service, jobExecution);
+            for (int i = 1; i <= 5; i++) {
+                checkpoint(service, jobExecution, stepExecution, i);
+            }
+            jobExecution.setBatchStatus(BatchStatus.STOPPED);
+            service.updateJobExecution(jobExecution, false, false);
+            jobExecutionId = jobExecution.getExecutionId();
+        } finally {
+            // The repository service stops with the server
+            stop(service);
+        }
+
+        // Restart the job from a new repository, as after a server restart
+        service = start(TimeUnit.HOURS.toMillis(1L));
+        try {
+            final JobExecutionImpl jobExecutionToRestart = (JobExecutionImpl) service.getJobExecution(jobExecutionId);
+            assertEquals(BatchStatus.STOPPED, jobExecutionToRestart.getBatchStatus());
+            final StepExecutionImpl original = service.findOriginalStepExecutionForRestart(STEP_NAME, jobExecutionToRestart, getClass().getClassLoader());
+            assertNotNull(original);
+            assertEquals(5, original.getReaderCheckpointInfo());
+            assertEquals(5, original.getWriterCheckpointInfo());
+        } finally {
+            stop(service);
+        }
+    }
+
+    @Test
+    public void testRestartAfterCrash() {
+        final JdbcJobRepositoryService crashed = start(TimeUnit.HOURS.toMillis(1L));
+        final JobExecutionImpl jobExecution = createJobExecution(crashed);
+        final StepExecutionImpl stepExecution = createStepExecution(crashed, jobExecution);
+        for (int i = 1; i <= 3; i++) {
+            checkpoint(crashed, jobExecution, stepExecution, i);
+        }
+        // The step carries on with the next chunk while the buffered checkpoint is written
+        stepExecution.setReaderCheckpointInfo(4);
+        stepExecution.setWriterCheckpointInfo(4);
+        crashed.getStepExecutions(jobExecution.getExecutionId(), getClass().getClassLoader());
+        // Buffered, but never written, since the server crashes before the next write
+        checkpoint(crashed, jobExecution, stepExecution, 5);
+
+        // Restart the job from a new repository, without stopping the crashed one
+        final JdbcJobRepositoryService service = start(TimeUnit.HOURS.toMillis(1L));
+        try {
+            final JobExecutionImpl jobExecutionToRestart = (JobExecutionImpl) service.getJobExecution(jobExecution.getExecutionId());
+            final StepExecutionImpl original = service.findOriginalStepExecutionForRestart(STEP_NAME, jobExecutionToRestart, getClass().getClassLoader());
+            assertNotNull(original);
+            // Resumes from the last written checkpoint, rather than from data of a chunk that was never committed
+            assertEquals(3, original.getReaderCheckpointInfo());
+            assertEquals(3, original.getWriterCheckpointInfo());
+        } finally {
+            stop(service);
+        }
+    }
+
+    @Test
+    public void testStopFlushes() {
+        final JdbcJobRepositoryService service = start(TimeUnit.HOURS.toMillis(1L));
+        final JobExecutionImpl jobExecution;
+        try {
+            jobExecution = createJobExecution(service);
+            final StepExecutionImpl stepExecution = createStepExecution(service, jobExecution);
+            checkpoint(service, jobExecution, stepExecution, 1);
+            assertNull(readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+        } finally {
+            stop(service);
+        }
+        assertEquals(1, readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+    }
+
+    @Test
+    public void testScheduledFlush() throws InterruptedException {
+        final JdbcJobRepositoryService service = start(50L);
+        try {
+            final JobExecutionImpl jobExecution = createJobExecution(service);
+            final StepExecutionImpl stepExecution = createStepExecution(service, jobExecution);
+            checkpoint(service, jobExecution, stepExecution, 1);
+
+            // Written without any further checkpoint or repository access
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+            while (readStoredStepExecution(jobExecution).getReaderCheckpointInfo() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertEquals(1, readStoredStepExecution(jobExecution).getReaderCheckpointInfo());
+        } finally {
+            stop(service);
+        }
+    }
+
+    private JdbcJobRepositoryService start(final long writeInterval) {
+        final JdbcJobRepositoryService service = new JdbcJobRepositoryService(writeInterval);
+        service.getDataSourceInjector().inject(dataSource);
+        service.getExecutorServiceInjector().inject(executor);
+        final StartContext context = Mockito.mock(StartContext.class);
+        try {
+            service.start(context);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        // The repository is created asynchronously
+        Mockito.verify(context, Mockito.timeout(TimeUnit.SECONDS.toMillis(10L))).complete();
+        return service;
+    }
+
+    private static void stop(final JdbcJobRepositoryService service) {
+        service.stop(Mockito.mock(StopContext.class));
+    }
+
+    private JobExecutionImpl createJobExecution(final JdbcJobRepositoryService service) {
+        final JobInstanceImpl jobInstance = service.createJobInstance(new Job("batched"), "test", getClass().getClassLoader());
+        return service.createJobExecution(jobInstance, new Properties());
+    }
+
+    private static StepExecutionImpl createStepExecution(final JdbcJobRepositoryService service, final JobExecutionImpl jobExecution) {
+        final StepExecutionImpl stepExecution = service.createStepExecution(STEP_NAME);
+        stepExecution.setBatchStatus(BatchStatus.STARTED);
+        service.addStepExecution(jobExecution, stepExecution);
+        return stepExecution;
+    }
+
+    private static void checkpoint(final JdbcJobRepositoryService service, final JobExecutionImpl jobExecution, final StepExecutionImpl stepExecution, final int checkpoint) {
+        stepExecution.setReaderCheckpointInfo(checkpoint);
+        stepExecution.setWriterCheckpointInfo(checkpoint);
+        service.savePersistentDataIfNotStopping(jobExecution, stepExecution);
+    }
+
+    /**
+     * Reads the step execution from a job repository without any cached state.
+     */
+    private StepExecutionImpl readStoredStepExecution(final JobExecutionImpl jobExecution) {
+        final List<StepExecution> stepExecutions = new JdbcRepository(dataSource).getStepExecutions(jobExecution.getExecutionId(), getClass().getClassLoader());
+        assertEquals(1, stepExecutions.size());
+        return (StepExecutionImpl) stepExecutions.get(0);
+    }
+}
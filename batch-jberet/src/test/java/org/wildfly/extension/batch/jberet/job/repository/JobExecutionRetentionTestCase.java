@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.job.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+/**
+ * Tests the eviction decisions of {@link JobExecutionRetention}.
+ */
+public class JobExecutionRetentionTestCase {
+
+    @Test
+    public void testMaxExecutions() {
+        final JobExecutionRetention retention = new JobExecutionRetention(2, 0L);
+        retention.created(1L, 1L);
+        retention.created(1L, 2L);
+        retention.created(2L, 3L);
+        assertTrue(retention.evict(0L).isEmpty());
+
+        // Running executions are never evicted
+        retention.finished(2L, 3L, 0L);
+        JobExecutionRetention.Evictions evictions = retention.evict(0L);
+        assertEquals(Collections.singleton(3L), evictions.getExecutionIds());
+        assertEquals(Collections.singleton(2L), evictions.getInstanceIds());
+        assertEquals(2L, retention.getRetainedCount());
+        assertEquals(1L, retention.getEvictedCount());
+
+        // Instances are only evicted with their last execution
+        retention.created(1L, 4L);
+        retention.finished(1L, 1L, 0L);
+        retention.finished(1L, 1L, 0L);
+        retention.finished(1L, 2L, 0L);
+        evictions = retention.evict(0L);
+        assertEquals(Collections.singleton(1L), evictions.getExecutionIds());
+        assertTrue(evictions.getInstanceIds().isEmpty());
+        assertTrue(retention.evict(0L).isEmpty());
+
+        retention.finished(1L, 4L, 0L);
+        retention.created(3L, 5L);
+        evictions = retention.evict(0L);
+        assertEquals(Collections.singleton(2L), evictions.getExecutionIds());
+        assertTrue(evictions.getInstanceIds().isEmpty());
+        assertEquals(2L, retention.getRetainedCount());
+        assertEquals(3L, retention.getEvictedCount());
+    }
+
+    @Test
+    public void testMaxAge() {
+        final JobExecutionRetention retention = new JobExecutionRetention(0, 100L);
+        retention.created(1L, 1L);
+        retention.created(2L, 2L);
+        retention.created(3L, 3L);
+        retention.finished(1L, 1L, 0L);
+        retention.finished(2L, 2L, 50L);
+        assertTrue(retention.evict(100L).isEmpty());
+
+        final JobExecutionRetention.Evictions evictions = retention.evict(151L);
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), evictions.getExecutionIds());
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), evictions.getInstanceIds());
+        assertEquals(1L, retention.getRetainedCount());
+        assertEquals(2L, retention.getEvictedCount());
+    }
+
+    @Test
+    public void testUnbounded() {
+        final JobExecutionRetention retention = new JobExecutionRetention(0, 0L);
+        for (long i = 0; i < 100; ++i) {
+            retention.created(i, i);
+            retention.finished(i, i, 0L);
+        }
+        assertTrue(retention.evict(Long.MAX_VALUE).isEmpty());
+        assertEquals(100L, retention.getRetainedCount());
+        assertEquals(0L, retention.getEvictedCount());
+    }
+}
@@ -23,11 +23,11 @@
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
 import java.util.Iterator;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.Key;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
@@ -38,7 +38,7 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  * @param <I> identifier type
  * @param <K> cache key type
  */
-public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Locality, Locality> {
+public class ScheduleLocalKeysTask<I, K extends Key<I>> implements ScheduleLocalTask {
     private final Cache<K, ?> cache;
     private final Predicate<? super K> filter;
     private final Scheduler<I, ?> scheduler;
@@ -51,8 +51,21 @@ public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Lo
 
     @Override
     public void accept(Locality oldLocality, Locality newLocality) {
+        this.schedule(oldLocality, newLocality, this.stream());
+    }
+
+    @Override
+    public void schedule(Locality oldLocality, Locality newLocality, IntSet segments) {
+        this.schedule(oldLocality, newLocality, this.stream().filterKeySegments(segments));
+    }
+
+    private CacheStream<K> stream() {
         // Iterate over local keys, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<K> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream().filter(this.filter)) {
+        return this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream();
+    }
+
+    private void schedule(Locality oldLocality, Locality newLocality, CacheStream<K> keyStream) {
+        try (CacheStream<K> stream = keyStream.filter(this.filter)) {
             Iterator<K> keys = stream.iterator();
             while (keys.hasNext()) {
                 if (Thread.currentThread().isInterrupted()) break;
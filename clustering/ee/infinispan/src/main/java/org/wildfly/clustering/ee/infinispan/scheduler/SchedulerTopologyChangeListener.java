@@ -22,21 +22,24 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import org.infinispan.Cache;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
 import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
@@ -57,24 +60,35 @@ public class SchedulerTopologyChangeListener<I, K extends Key<I>, V> implements
 
     private final Cache<K, V> cache;
     private final ExecutorService executor = Executors.newSingleThreadExecutor(new DefaultThreadFactory(SchedulerTopologyChangeListener.class));
-    private final AtomicReference<Future<?>> scheduleTaskFuture = new AtomicReference<>();
+    private final ExecutorService scheduleExecutor;
+    private final int parallelism;
+    private final AtomicReference<List<Future<?>>> scheduleTaskFutures = new AtomicReference<>();
     private final Consumer<Locality> cancelTask;
-    private final BiConsumer<Locality, Locality> scheduleTask;
+    private final ScheduleLocalTask scheduleTask;
 
-    public SchedulerTopologyChangeListener(Cache<K, V> cache, Scheduler<I, ?> scheduler, BiConsumer<Locality, Locality> scheduleTask) {
+    public SchedulerTopologyChangeListener(Cache<K, V> cache, Scheduler<I, ?> scheduler, ScheduleLocalTask scheduleTask) {
         this(cache, scheduler::cancel, scheduleTask);
     }
 
-    public SchedulerTopologyChangeListener(Cache<K, V> cache, Consumer<Locality> cancelTask, BiConsumer<Locality, Locality> scheduleTask) {
+    public SchedulerTopologyChangeListener(Cache<K, V> cache, Consumer<Locality> cancelTask, ScheduleLocalTask scheduleTask) {
+        this(cache, cancelTask, scheduleTask, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SchedulerTopologyChangeListener(Cache<K, V> cache, Consumer<Locality> cancelTask, ScheduleLocalTask scheduleTask, int parallelism) {
         this.cache = cache;
         this.cancelTask = cancelTask;
         this.scheduleTask = scheduleTask;
+        this.parallelism = parallelism;
+        // Schedule newly owned segments using the blocking thread pool of the cache container
+        this.scheduleExecutor = cache.getAdvancedCache().getComponentRegistry().getComponent(ExecutorService.class, KnownComponentNames.BLOCKING_EXECUTOR);
         this.cache.addListener(this);
     }
 
     @Override
     public void close() {
         this.cache.removeListener(this);
+        // The schedule executor is shared, so only cancel our own tasks
+        cancel(this.scheduleTaskFutures.getAndSet(null));
         WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
         try {
             this.executor.awaitTermination(this.cache.getCacheConfiguration().transaction().cacheStopTimeout(), TimeUnit.MILLISECONDS);
@@ -94,27 +108,39 @@ public class SchedulerTopologyChangeListener<I, K extends Key<I>, V> implements
         if (event.isPre()) {
             // If there are segments that we no longer own, then run cancellation task
             if (!newSegments.containsAll(oldSegments)) {
-                Future<?> future = this.scheduleTaskFuture.getAndSet(null);
-                if (future != null) {
-                    future.cancel(true);
-                }
+                cancel(this.scheduleTaskFutures.getAndSet(null));
                 return CompletableFuture.runAsync(() -> this.cancelTask.accept(new ConsistentHashLocality(cache, newHash)), this.executor);
             }
         } else {
-            // If we have newly owned segments, then run schedule task
-            if (!oldSegments.containsAll(newSegments)) {
+            // If we have newly owned segments, then schedule only these segments, in parallel
+            List<Integer> segments = new ArrayList<>(newSegments);
+            segments.removeAll(oldSegments);
+            if (!segments.isEmpty()) {
                 Locality oldLocality = new ConsistentHashLocality(cache, oldHash);
                 Locality newLocality = new ConsistentHashLocality(cache, newHash);
-                try {
-                    Future<?> future = this.scheduleTaskFuture.getAndSet(this.executor.submit(() -> this.scheduleTask.accept(oldLocality, newLocality)));
-                    if (future != null) {
-                        future.cancel(true);
+                // Distribute newly owned segments across tasks
+                List<IntSet> partitions = new ArrayList<>(this.parallelism);
+                for (int i = 0; i < segments.size(); ++i) {
+                    if (i < this.parallelism) {
+                        partitions.add(IntSets.mutableEmptySet(newHash.getNumSegments()));
                     }
-                } catch (RejectedExecutionException e) {
-                    // Executor was shutdown
+                    partitions.get(i % this.parallelism).set(segments.get(i));
+                }
+                List<Future<?>> futures = new ArrayList<>(partitions.size());
+                for (IntSet partition : partitions) {
+                    futures.add(this.scheduleExecutor.submit(() -> this.scheduleTask.schedule(oldLocality, newLocality, partition)));
                 }
+                cancel(this.scheduleTaskFutures.getAndSet(futures));
             }
         }
         return CompletableFutures.completedNull();
     }
+
+    private static void cancel(List<Future<?>> futures) {
+        if (futures != null) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
 }
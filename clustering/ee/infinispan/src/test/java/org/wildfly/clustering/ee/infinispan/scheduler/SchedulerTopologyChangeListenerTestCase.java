@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.remoting.transport.Address;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Key;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Unit test for {@link SchedulerTopologyChangeListener}.
+ */
+public class SchedulerTopologyChangeListenerTestCase {
+    private static final int SEGMENTS = 8;
+
+    private final Cache<Key<String>, Object> cache = mock(Cache.class);
+    private final ConsistentHash oldHash = mock(ConsistentHash.class);
+    private final ConsistentHash newHash = mock(ConsistentHash.class);
+    private final KeyPartitioner partitioner = mock(KeyPartitioner.class);
+    private final Address localAddress = mock(Address.class);
+    private final Address remoteAddress = mock(Address.class);
+    private final Consumer<Locality> cancelTask = mock(Consumer.class);
+    private final ScheduleLocalTask scheduleTask = mock(ScheduleLocalTask.class);
+    private final ExecutorService scheduleExecutor = Executors.newFixedThreadPool(2);
+
+    private SchedulerTopologyChangeListener<String, Key<String>, Object> listener;
+
+    @Before
+    public void init() {
+        AdvancedCache<Key<String>, Object> advancedCache = mock(AdvancedCache.class);
+        EmbeddedCacheManager manager = mock(EmbeddedCacheManager.class);
+        ComponentRegistry components = mock(ComponentRegistry.class);
+        DistributionManager distribution = mock(DistributionManager.class);
+        LocalizedCacheTopology topology = mock(LocalizedCacheTopology.class);
+
+        when(this.cache.getAdvancedCache()).thenReturn(advancedCache);
+        when(this.cache.getCacheManager()).thenReturn(manager);
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().build());
+        when(manager.getAddress()).thenReturn(this.localAddress);
+        when(advancedCache.getComponentRegistry()).thenReturn(components);
+        when(components.getLocalComponent(KeyPartitioner.class)).thenReturn(this.partitioner);
+        when(components.getComponent(ExecutorService.class, KnownComponentNames.BLOCKING_EXECUTOR)).thenReturn(this.scheduleExecutor);
+        when(advancedCache.getDistributionManager()).thenReturn(distribution);
+        when(distribution.getCacheTopology()).thenReturn(topology);
+        when(topology.getLocalAddress()).thenReturn(this.localAddress);
+
+        List<Address> members = Arrays.asList(this.localAddress, this.remoteAddress);
+        when(this.oldHash.getMembers()).thenReturn(members);
+        when(this.newHash.getMembers()).thenReturn(members);
+        when(this.oldHash.getNumSegments()).thenReturn(SEGMENTS);
+        when(this.newHash.getNumSegments()).thenReturn(SEGMENTS);
+
+        this.listener = new SchedulerTopologyChangeListener<>(this.cache, this.cancelTask, this.scheduleTask, 2);
+        verify(this.cache).addListener(this.listener);
+    }
+
+    @After
+    public void destroy() {
+        this.listener.close();
+        verify(this.cache).removeListener(this.listener);
+        this.scheduleExecutor.shutdownNow();
+    }
+
+    @Test
+    public void newlyOwnedSegments() throws InterruptedException {
+        // Segments 2, 3 and 4 move from the remote member to the local member
+        when(this.oldHash.getPrimarySegmentsForOwner(this.localAddress)).thenReturn(Set.of(0, 1));
+        when(this.newHash.getPrimarySegmentsForOwner(this.localAddress)).thenReturn(Set.of(0, 1, 2, 3, 4));
+        for (int segment = 0; segment < SEGMENTS; ++segment) {
+            when(this.oldHash.locatePrimaryOwnerForSegment(segment)).thenReturn((segment < 2) ? this.localAddress : this.remoteAddress);
+            when(this.newHash.locatePrimaryOwnerForSegment(segment)).thenReturn((segment < 5) ? this.localAddress : this.remoteAddress);
+        }
+        Key<String> key = new Key<String>() {
+            @Override
+            public String getId() {
+                return "key";
+            }
+        };
+        when(this.partitioner.getSegment(key)).thenReturn(3);
+
+        List<IntSet> scheduledSegments = new CopyOnWriteArrayList<>();
+        Set<Boolean> newlyLocal = ConcurrentHashMap.newKeySet();
+        CountDownLatch scheduled = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            Locality oldLocality = invocation.getArgument(0);
+            Locality newLocality = invocation.getArgument(1);
+            scheduledSegments.add(invocation.getArgument(2));
+            newlyLocal.add(!oldLocality.isLocal(key) && newLocality.isLocal(key));
+            scheduled.countDown();
+            return null;
+        }).when(this.scheduleTask).schedule(any(), any(), any());
+
+        assertTrue(this.listener.topologyChanged(this.createEvent(true)).toCompletableFuture().isDone());
+        // Gaining segments does not cancel anything
+        verify(this.cancelTask, never()).accept(any());
+
+        this.listener.topologyChanged(this.createEvent(false));
+
+        // Newly owned segments are split across 2 tasks
+        assertTrue(scheduled.await(10, TimeUnit.SECONDS));
+        assertEquals(2, scheduledSegments.size());
+        Set<Integer> segments = new TreeSet<>();
+        for (IntSet partition : scheduledSegments) {
+            assertFalse(partition.isEmpty());
+            segments.addAll(partition);
+        }
+        // Partitions are disjoint and cover only the newly owned segments
+        assertEquals(3, scheduledSegments.get(0).size() + scheduledSegments.get(1).size());
+        assertEquals(Set.of(2, 3, 4), segments);
+        // The localities reflect the topology change
+        assertEquals(Set.of(Boolean.TRUE), newlyLocal);
+    }
+
+    @Test
+    public void noNewlyOwnedSegments() {
+        // The local member loses segment 1
+        when(this.oldHash.getPrimarySegmentsForOwner(this.localAddress)).thenReturn(Set.of(0, 1));
+        when(this.newHash.getPrimarySegmentsForOwner(this.localAddress)).thenReturn(Set.of(0));
+
+        this.listener.topologyChanged(this.createEvent(true)).toCompletableFuture().join();
+        verify(this.cancelTask).accept(any());
+
+        this.listener.topologyChanged(this.createEvent(false));
+        verifyNoInteractions(this.scheduleTask);
+    }
+
+    private TopologyChangedEvent<Key<String>, Object> createEvent(boolean pre) {
+        TopologyChangedEvent<Key<String>, Object> event = mock(TopologyChangedEvent.class);
+        when(event.getCache()).thenReturn(this.cache);
+        when(event.isPre()).thenReturn(pre);
+        when(event.getWriteConsistentHashAtStart()).thenReturn(this.oldHash);
+        when(event.getWriteConsistentHashAtEnd()).thenReturn(this.newHash);
+        return event;
+    }
+}
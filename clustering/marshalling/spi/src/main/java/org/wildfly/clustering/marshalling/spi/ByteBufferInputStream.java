@@ -31,6 +31,6 @@ import java.nio.ByteBuffer;
 public class ByteBufferInputStream extends ByteArrayInputStream {
 
     public ByteBufferInputStream(ByteBuffer buffer) {
-        super(buffer.array(), buffer.arrayOffset(), buffer.limit() - buffer.arrayOffset());
+        super(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
     }
 }
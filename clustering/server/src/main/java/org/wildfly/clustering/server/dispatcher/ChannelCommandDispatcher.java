@@ -24,8 +24,10 @@ package org.wildfly.clustering.server.dispatcher;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +38,7 @@ import java.util.function.BiConsumer;
 
 import org.jgroups.Address;
 import org.jgroups.Message;
+import org.jgroups.View;
 import org.jgroups.blocks.MessageDispatcher;
 import org.jgroups.blocks.RequestOptions;
 import org.jgroups.blocks.ResponseMode;
@@ -76,8 +79,14 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     private final Runnable closeTask;
     private final Address localAddress;
     private final RequestOptions options;
+    private final RequestOptions multicastOptions;
+    private final RequestOptions anycastOptions;
 
     public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
+        this(dispatcher, marshaller, context, group, timeout, false, localDispatcher, closeTask);
+    }
+
+    public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, boolean bundling, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
         this.dispatcher = dispatcher;
         this.marshaller = marshaller;
         this.context = context;
@@ -86,7 +95,13 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         this.localDispatcher = localDispatcher;
         this.closeTask = closeTask;
         this.localAddress = dispatcher.getChannel().getAddress();
-        this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
+        // Unless bundling is enabled, requests to specific members are sent immediately, rather than bundled with concurrent messages to the same destination
+        Message.Flag[] flags = bundling ? new Message.Flag[] { Message.Flag.OOB } : new Message.Flag[] { Message.Flag.DONT_BUNDLE, Message.Flag.OOB };
+        this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, flags);
+        // A group request is sent as a single message, which may be bundled with concurrent messages to the same destination
+        // The local member executes commands directly, so it must not receive its own multicast
+        this.multicastOptions = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, null, Message.Flag.OOB).transientFlags(Message.TransientFlag.DONT_LOOPBACK);
+        this.anycastOptions = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), true, null, flags);
     }
 
     @Override
@@ -115,28 +130,34 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
         Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
         Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
-        Buffer buffer = this.createBuffer(command);
+        Map<Address, Node> targets = new HashMap<>();
+        Node localMember = null;
         for (Node member : this.group.getMembership().getMembers()) {
             if (!excluded.contains(member)) {
                 Address address = this.group.getAddress(member);
                 if (this.localAddress.equals(address)) {
-                    results.put(member, this.localDispatcher.executeOnMember(command, member));
+                    localMember = member;
                 } else {
-                    try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-                        CompletionStage<R> future = request.send(buffer);
-                        results.put(member, future);
-                        future.whenComplete(new PruneCancellationTask<>(results, member));
-                    } catch (CommandDispatcherException e) {
-                        // Cancel previously dispatched messages
-                        for (CompletionStage<R> result : results.values()) {
-                            result.toCompletableFuture().cancel(true);
-                        }
-                        throw e;
-                    }
+                    targets.put(address, member);
                 }
             }
         }
+        if (!targets.isEmpty()) {
+            Buffer buffer = this.createBuffer(command);
+            // Send a single request, multicast if every other member is a target, anycast otherwise
+            View view = this.dispatcher.getChannel().getView();
+            boolean multicast = (view != null) && view.containsMember(this.localAddress) && (view.size() == targets.size() + 1) && targets.keySet().stream().allMatch(view::containsMember);
+            ServiceGroupRequest<R, MC> request = new ServiceGroupRequest<>(this.dispatcher.getCorrelator(), new ArrayList<>(targets.keySet()), multicast ? this.multicastOptions : this.anycastOptions, this.context);
+            for (Map.Entry<Address, CompletionStage<R>> entry : request.send(buffer).entrySet()) {
+                Node member = targets.get(entry.getKey());
+                CompletionStage<R> future = entry.getValue();
+                results.put(member, future);
+                future.whenComplete(new PruneCancellationTask<>(results, member));
+            }
+        }
+        if (localMember != null) {
+            results.put(localMember, this.localDispatcher.executeOnMember(command, localMember));
+        }
         return results;
     }
 
@@ -94,6 +94,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private final ByteBufferMarshaller marshaller;
     private final MessageDispatcher dispatcher;
     private final Duration timeout;
+    private final boolean bundling;
     private final Function<ClassLoader, ByteBufferMarshaller> marshallerFactory;
     private final Function<ClassLoader, Contextualizer> contextualizerFactory;
 
@@ -101,6 +102,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     public ChannelCommandDispatcherFactory(ChannelCommandDispatcherFactoryConfiguration config) {
         this.marshaller = config.getMarshaller();
         this.timeout = config.getTimeout();
+        this.bundling = config.isBundlingEnabled();
         this.marshallerFactory = config.getMarshallerFactory();
         this.contextualizerFactory = config.getContextualizerFactory();
         JChannel channel = config.getChannel();
@@ -224,7 +226,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         }
         CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, factory);
         CommandDispatcher<C> localDispatcher = new LocalCommandDispatcher<>(this.getLocalMember(), commandContext);
-        return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, localDispatcher, () -> {
+        return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, this.bundling, localDispatcher, () -> {
             localDispatcher.close();
             this.contexts.remove(id);
         });
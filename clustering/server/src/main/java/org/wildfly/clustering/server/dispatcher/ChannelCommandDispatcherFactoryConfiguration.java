@@ -39,6 +39,12 @@ public interface ChannelCommandDispatcherFactoryConfiguration {
     JChannel getChannel();
     ByteBufferMarshaller getMarshaller();
     Duration getTimeout();
+    /**
+     * Indicates whether requests to specific members may be bundled with concurrent messages to the same destination.
+     * This trades latency for throughput. Requests to all members are always eligible for bundling.
+     * @return true, if bundling is enabled, false otherwise
+     */
+    boolean isBundlingEnabled();
     Function<ClassLoader, ByteBufferMarshaller> getMarshallerFactory();
     Function<ClassLoader, Contextualizer> getContextualizerFactory();
 }
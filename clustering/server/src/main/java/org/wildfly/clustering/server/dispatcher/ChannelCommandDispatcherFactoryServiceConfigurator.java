@@ -101,6 +101,7 @@ public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleSe
     private volatile SupplierDependency<Module> module;
     private volatile Supplier<ModuleLoader> loader;
     private volatile Duration timeout = Duration.ofMinutes(1);
+    private volatile boolean bundling = false;
 
     public ChannelCommandDispatcherFactoryServiceConfigurator(ServiceName name, String group) {
         super(name);
@@ -134,6 +135,11 @@ public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleSe
         return this;
     }
 
+    public ChannelCommandDispatcherFactoryServiceConfigurator bundling(boolean bundling) {
+        this.bundling = bundling;
+        return this;
+    }
+
     @Override
     public Function<ClassLoader, ByteBufferMarshaller> getMarshallerFactory() {
         return this;
@@ -169,6 +175,11 @@ public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleSe
         return this.timeout;
     }
 
+    @Override
+    public boolean isBundlingEnabled() {
+        return this.bundling;
+    }
+
     @Override
     public Predicate<ByteBuffer> getUnknownForkPredicate() {
         return this;
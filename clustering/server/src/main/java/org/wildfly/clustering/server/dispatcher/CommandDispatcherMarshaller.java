@@ -28,6 +28,7 @@ import java.util.AbstractMap;
 import java.util.Map;
 
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
@@ -51,6 +52,14 @@ public class CommandDispatcherMarshaller<C, MC> implements CommandMarshaller<C>
     public <R> ByteBuffer marshal(Command<R, ? super C> command) throws IOException {
         MarshalledValue<Command<R, ? super C>, MC> value = this.factory.createMarshalledValue(command);
         Map.Entry<Object, MarshalledValue<Command<R, ? super C>, MC>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
-        return this.marshaller.write(entry);
+        ByteBufferOutputStream output = OutputStreamPool.acquire();
+        try {
+            this.marshaller.writeTo(output, entry);
+        } catch (IOException | RuntimeException | Error e) {
+            OutputStreamPool.release(output);
+            throw e;
+        }
+        // The channel retains the sent buffer until delivery is acknowledged, so the stream cannot be reused
+        return OutputStreamPool.detach(output);
     }
 }
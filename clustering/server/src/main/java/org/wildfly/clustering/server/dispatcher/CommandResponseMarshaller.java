@@ -27,6 +27,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.function.Predicate;
 
+import org.jgroups.util.ByteArrayDataInputStream;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
 import org.wildfly.clustering.marshalling.spi.IndexSerializer;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 
@@ -45,19 +47,33 @@ public class CommandResponseMarshaller implements org.jgroups.blocks.Marshaller
 
     @Override
     public void objectToStream(Object object, DataOutput stream) throws IOException {
-        ByteBuffer buffer = this.marshaller.write(object);
+        ByteBufferOutputStream output = OutputStreamPool.acquire();
+        try {
+            this.marshaller.writeTo(output, object);
+            ByteBuffer buffer = output.getBuffer();
 
-        int length = buffer.limit() - buffer.arrayOffset();
-        IndexSerializer.VARIABLE.writeInt(stream, length);
-        stream.write(buffer.array(), buffer.arrayOffset(), length);
+            int length = buffer.limit() - buffer.arrayOffset();
+            IndexSerializer.VARIABLE.writeInt(stream, length);
+            stream.write(buffer.array(), buffer.arrayOffset(), length);
+        } finally {
+            OutputStreamPool.release(output);
+        }
     }
 
     @Override
     public Object objectFromStream(DataInput stream) throws IOException {
         int size = IndexSerializer.VARIABLE.readInt(stream);
-        byte[] bytes = new byte[size];
-        stream.readFully(bytes);
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        ByteBuffer buffer;
+        if (stream instanceof ByteArrayDataInputStream) {
+            // Read directly from the payload of the received message
+            ByteArrayDataInputStream input = (ByteArrayDataInputStream) stream;
+            buffer = ByteBuffer.wrap(input.buffer(), input.position(), size);
+            input.skipBytes(size);
+        } else {
+            byte[] bytes = new byte[size];
+            stream.readFully(bytes);
+            buffer = ByteBuffer.wrap(bytes);
+        }
         return this.unknownForkPredicate.test(buffer) ? NoSuchService.INSTANCE : this.marshaller.read(buffer);
     }
 }
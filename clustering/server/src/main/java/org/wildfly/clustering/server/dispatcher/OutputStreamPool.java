@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.nio.ByteBuffer;
+
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+
+/**
+ * Pool of reusable output streams into which commands and responses are marshalled, avoiding the reallocation of a buffer per message.
+ * Each thread retains a single output stream, unless it grew beyond {@link #MAX_RETAINED_SIZE}.
+ */
+final class OutputStreamPool {
+
+    static final int INITIAL_SIZE = 512;
+    static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<ByteBufferOutputStream> STREAMS = new ThreadLocal<>();
+
+    private OutputStreamPool() {
+        // Hide
+    }
+
+    /**
+     * Returns an empty output stream, for exclusive use by the calling thread until {@link #release(ByteBufferOutputStream)}.
+     * @return an empty output stream
+     */
+    static ByteBufferOutputStream acquire() {
+        ByteBufferOutputStream output = STREAMS.get();
+        if (output == null) {
+            return new ByteBufferOutputStream(INITIAL_SIZE);
+        }
+        // Guard against reentrant use by the same thread
+        STREAMS.remove();
+        output.reset();
+        return output;
+    }
+
+    /**
+     * Returns the specified output stream to the pool. The contents of the stream must no longer be referenced.
+     * @param output an output stream obtained via {@link #acquire()}
+     */
+    static void release(ByteBufferOutputStream output) {
+        if (output.size() <= MAX_RETAINED_SIZE) {
+            STREAMS.set(output);
+        }
+    }
+
+    /**
+     * Hands over the contents of the specified output stream without copying them, for use beyond the lifetime of the stream.
+     * The stream is not returned to the pool. Instead, the pool retains a new stream with a buffer of similar size.
+     * @param output an output stream obtained via {@link #acquire()}
+     * @return a buffer wrapping the contents of the output stream
+     */
+    static ByteBuffer detach(ByteBufferOutputStream output) {
+        int size = output.size();
+        if (size <= MAX_RETAINED_SIZE) {
+            STREAMS.set(new ByteBufferOutputStream(Math.max(INITIAL_SIZE, size)));
+        }
+        return output.getBuffer();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.jgroups.Address;
+import org.jgroups.SuspectedException;
+import org.jgroups.View;
+import org.jgroups.blocks.GroupRequest;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.jgroups.util.RspList;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+
+/**
+ * Sends a single request to a group of members, exposing the response of each member as a separate {@link CompletionStage}.
+ * Translates a {@link NoSuchService} response, or the suspicion of a member, to a {@link CancellationException}.
+ * The request is removed from the correlator once every member responded, left the group, or its response was cancelled.
+ */
+public class ServiceGroupRequest<T, C> extends GroupRequest<Object> {
+
+    private final C context;
+    private final Map<Address, MemberResponse<T>> responses = new HashMap<>();
+    private final AtomicInteger pending;
+
+    public ServiceGroupRequest(RequestCorrelator correlator, Collection<Address> targets, RequestOptions options, C context) {
+        super(correlator, targets, options);
+        this.context = context;
+        for (Address target : targets) {
+            MemberResponse<T> response = new MemberResponse<>(options.timeout());
+            this.responses.put(target, response);
+        }
+        this.pending = new AtomicInteger(this.responses.size());
+        BiConsumer<T, Throwable> completionTask = new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T result, Throwable exception) {
+                // Stop tracking this request once no one is waiting for a response
+                if (ServiceGroupRequest.this.pending.decrementAndGet() == 0) {
+                    ServiceGroupRequest.this.cancel(true);
+                }
+            }
+        };
+        for (MemberResponse<T> response : this.responses.values()) {
+            response.whenComplete(completionTask);
+        }
+        // Any response not received by the time this request completes (e.g. due to a view change or closed transport) will never arrive
+        this.whenComplete(new BiConsumer<RspList<Object>, Throwable>() {
+            @Override
+            public void accept(RspList<Object> result, Throwable exception) {
+                for (MemberResponse<T> response : ServiceGroupRequest.this.responses.values()) {
+                    if ((exception != null) && !(exception instanceof CancellationException)) {
+                        response.completeExceptionally(exception);
+                    } else {
+                        response.completeExceptionally(new CancellationException());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends this request to all target members.
+     * @param data the marshalled command
+     * @return the pending response of each target member
+     * @throws CommandDispatcherException if the request could not be sent
+     */
+    public Map<Address, CompletionStage<T>> send(Buffer data) throws CommandDispatcherException {
+        try {
+            this.sendRequest(data);
+            return Collections.unmodifiableMap(this.responses);
+        } catch (Exception e) {
+            throw new CommandDispatcherException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void receiveResponse(Object value, Address sender, boolean exceptional) {
+        MemberResponse<T> response = this.responses.get(sender);
+        if (response != null) {
+            if (exceptional) {
+                response.completeExceptionally((Throwable) value);
+            } else if (value instanceof NoSuchService) {
+                response.completeExceptionally(new CancellationException());
+            } else {
+                MarshalledValue<T, C> marshalledValue = (MarshalledValue<T, C>) value;
+                try {
+                    response.complete(marshalledValue.get(this.context));
+                } catch (IOException e) {
+                    response.completeExceptionally(e);
+                }
+            }
+        }
+        super.receiveResponse(value, sender, exceptional);
+    }
+
+    @Override
+    public void viewChange(View view) {
+        super.viewChange(view);
+        if (view != null) {
+            // Complete the response of each member that left the group right away, rather than once the remaining members responded
+            for (Map.Entry<Address, MemberResponse<T>> entry : this.responses.entrySet()) {
+                if (!view.containsMember(entry.getKey())) {
+                    entry.getValue().completeExceptionally(new SuspectedException(entry.getKey()));
+                }
+            }
+        }
+    }
+
+    private static class MemberResponse<T> extends CompletableFuture<T> {
+        private final long timeout;
+
+        MemberResponse(long timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable exception) {
+            return super.completeExceptionally((exception instanceof SuspectedException) ? new CancellationException() : exception);
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            try {
+                // Wait at most for the configured timeout
+                // If the message was dropped by the receiver, this would otherwise block forever
+                return super.get(this.timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Auto-cancel on timeout
+                this.cancel(true);
+                throw new CancellationException(e.getLocalizedMessage());
+            }
+        }
+
+        @Override
+        public T join() {
+            try {
+                return this.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+}
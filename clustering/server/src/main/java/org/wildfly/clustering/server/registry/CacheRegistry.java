@@ -37,9 +37,11 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.context.Flag;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.metadata.Metadata;
@@ -91,6 +93,8 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
     private final Runnable closeTask;
     private final Map.Entry<K, V> entry;
     private final Invoker invoker;
+    // Null if this member is not notified of every registry modification, e.g. for a distributed cache
+    private volatile RegistrySnapshot<Address, K, V> snapshot;
 
     public CacheRegistry(CacheRegistryConfiguration<K, V> config, Map.Entry<K, V> entry, Runnable closeTask) {
         this.cache = config.getCache();
@@ -100,7 +104,12 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
         this.entry = new AbstractMap.SimpleImmutableEntry<>(entry);
         this.invoker = new RetryingInvoker(this.cache);
         this.invoker.invoke(this);
+        CacheMode mode = this.cache.getCacheConfiguration().clustering().cacheMode();
+        this.snapshot = !mode.isClustered() || mode.isReplicated() ? new RegistrySnapshot<>() : null;
         this.cache.addListener(this, CacheRegistryFilter.INSTANCE, null);
+        if (this.snapshot != null) {
+            this.refreshSnapshot();
+        }
     }
 
     @Override
@@ -165,23 +174,62 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
 
     @Override
     public Map<K, V> getEntries() {
+        RegistrySnapshot<Address, K, V> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return snapshot.getEntries();
+        }
+        Map<K, V> result = new HashMap<>();
+        for (Map.Entry<K, V> entry : this.readEntries().values()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public Map.Entry<K, V> getEntry(Node node) {
+        Address address = this.group.getAddress(node);
+        RegistrySnapshot<Address, K, V> snapshot = this.snapshot;
+        return (snapshot != null) ? snapshot.getEntry(address) : this.cache.get(address);
+    }
+
+    private Map<Address, Map.Entry<K, V>> readEntries() {
         Set<Address> addresses = new TreeSet<>();
         for (Node member : this.group.getMembership().getMembers()) {
             addresses.add(this.group.getAddress(member));
         }
-        Map<K, V> result = new HashMap<>();
-        for (Map.Entry<K, V> entry : this.cache.getAdvancedCache().getAll(addresses).values()) {
-            if (entry != null) {
+        Map<Address, Map.Entry<K, V>> result = new HashMap<>();
+        for (Map.Entry<Address, Map.Entry<K, V>> entry : this.cache.getAdvancedCache().getAll(addresses).entrySet()) {
+            if (entry.getValue() != null) {
                 result.put(entry.getKey(), entry.getValue());
             }
         }
         return result;
     }
 
-    @Override
-    public Map.Entry<K, V> getEntry(Node node) {
-        Address address = this.group.getAddress(node);
-        return this.cache.get(address);
+    /**
+     * Rebuilds the snapshot of registry entries from the cache.
+     * Entries received via state transfer, e.g. following a merge, do not generate cache events.
+     */
+    private void refreshSnapshot() {
+        // Retry if the snapshot was modified by a concurrent cache event while reading, since the entries read may be stale
+        while (true) {
+            long version = this.snapshot.getVersion();
+            Map<Address, Map.Entry<K, V>> entries = this.readEntries();
+            synchronized (this) {
+                RegistrySnapshot<Address, K, V> snapshot = this.snapshot;
+                if (snapshot.getVersion() == version) {
+                    this.snapshot = new RegistrySnapshot<>(version + 1, entries);
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void updateSnapshot(UnaryOperator<RegistrySnapshot<Address, K, V>> update) {
+        RegistrySnapshot<Address, K, V> snapshot = this.snapshot;
+        if (snapshot != null) {
+            this.snapshot = update.apply(snapshot);
+        }
     }
 
     @TopologyChanged
@@ -193,6 +241,8 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
             List<Address> members = hash.getMembers();
 
             if (!members.equals(previousMembers)) {
+                // Entries of members that left are excluded immediately, rather than waiting for their removal by the new primary owner
+                this.updateSnapshot(snapshot -> snapshot.retain(members));
                 Cache<Address, Map.Entry<K, V>> cache = event.getCache().getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS);
                 Address localAddress = cache.getCacheManager().getAddress();
 
@@ -249,6 +299,14 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
                         // Executor was shutdown
                     }
                 }
+
+                if (this.snapshot != null) {
+                    try {
+                        this.topologyChangeExecutor.submit(this::refreshSnapshot);
+                    } catch (RejectedExecutionException e) {
+                        // Executor was shutdown
+                    }
+                }
             }
         }
         return CompletableFutures.completedNull();
@@ -257,10 +315,13 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
     @CacheEntryCreated
     @CacheEntryModified
     public CompletionStage<Void> event(CacheEntryEvent<Address, Map.Entry<K, V>> event) {
-        if (!event.isOriginLocal() && !event.isPre()) {
+        if (!event.isPre()) {
             Map.Entry<K, V> entry = event.getValue();
             if (entry != null) {
-                this.notifyListeners(event.getType(), entry);
+                this.updateSnapshot(snapshot -> snapshot.put(event.getKey(), entry));
+                if (!event.isOriginLocal()) {
+                    this.notifyListeners(event.getType(), entry);
+                }
             }
         }
         return CompletableFutures.completedNull();
@@ -268,10 +329,11 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
 
     @CacheEntryRemoved
     public CompletionStage<Void> removed(CacheEntryRemovedEvent<Address, Map.Entry<K, V>> event) {
-        if (!event.isOriginLocal() && !event.isPre()) {
+        if (!event.isPre()) {
+            this.updateSnapshot(snapshot -> snapshot.remove(event.getKey()));
             Map.Entry<K, V> entry = event.getOldValue();
             // WFLY-4938 For some reason, the old value can be null
-            if (entry != null) {
+            if (!event.isOriginLocal() && (entry != null)) {
                 this.notifyListeners(event.getType(), entry);
             }
         }
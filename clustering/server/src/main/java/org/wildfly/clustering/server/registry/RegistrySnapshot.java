@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.registry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, versioned snapshot of the entries of a registry, keyed by the address of the member that registered them.
+ * Each modification yields a new snapshot with an incremented version.
+ * @param <A> the address type
+ * @param <K> the registry key type
+ * @param <V> the registry value type
+ */
+class RegistrySnapshot<A, K, V> {
+
+    private final long version;
+    private final Map<A, Map.Entry<K, V>> members;
+    private final Map<K, V> entries;
+
+    RegistrySnapshot() {
+        this(0L, Collections.emptyMap());
+    }
+
+    RegistrySnapshot(long version, Map<A, Map.Entry<K, V>> members) {
+        this.version = version;
+        this.members = members;
+        Map<K, V> entries = new HashMap<>();
+        for (Map.Entry<K, V> entry : members.values()) {
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    long getVersion() {
+        return this.version;
+    }
+
+    Map<K, V> getEntries() {
+        return this.entries;
+    }
+
+    Map.Entry<K, V> getEntry(A address) {
+        return this.members.get(address);
+    }
+
+    /**
+     * Returns a snapshot containing the specified entry of the specified member.
+     * @param address the address of a member
+     * @param entry a registry entry
+     * @return a new snapshot
+     */
+    RegistrySnapshot<A, K, V> put(A address, Map.Entry<K, V> entry) {
+        Map<A, Map.Entry<K, V>> members = new HashMap<>(this.members);
+        members.put(address, entry);
+        return new RegistrySnapshot<>(this.version + 1, members);
+    }
+
+    /**
+     * Returns a snapshot without the entry of the specified member.
+     * @param address the address of a member
+     * @return a new snapshot, or this snapshot if it does not contain an entry for the specified member
+     */
+    RegistrySnapshot<A, K, V> remove(A address) {
+        if (!this.members.containsKey(address)) return this;
+        Map<A, Map.Entry<K, V>> members = new HashMap<>(this.members);
+        members.remove(address);
+        return new RegistrySnapshot<>(this.version + 1, members);
+    }
+
+    /**
+     * Returns a snapshot containing only the entries of the specified members.
+     * @param addresses the addresses of the current members
+     * @return a new snapshot, or this snapshot if it does not contain an entry for any other member
+     */
+    RegistrySnapshot<A, K, V> retain(Collection<A> addresses) {
+        if (addresses.containsAll(this.members.keySet())) return this;
+        Map<A, Map.Entry<K, V>> members = new HashMap<>(this.members);
+        members.keySet().retainAll(addresses);
+        return new RegistrySnapshot<>(this.version + 1, members);
+    }
+}
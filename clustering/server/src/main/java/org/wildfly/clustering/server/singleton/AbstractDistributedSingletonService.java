@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.server.singleton;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +32,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -50,6 +52,7 @@ import org.wildfly.clustering.provider.ServiceProviderRegistry;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 import org.wildfly.clustering.singleton.SingletonElectionListener;
 import org.wildfly.clustering.singleton.SingletonElectionPolicy;
+import org.wildfly.clustering.singleton.SingletonStatistics;
 import org.wildfly.clustering.singleton.service.SingletonService;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -58,7 +61,7 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * Logic common to current and legacy {@link SingletonService} implementations.
  * @author Paul Ferraro
  */
-public abstract class AbstractDistributedSingletonService<C extends SingletonContext> implements SingletonService, SingletonContext, Listener, Supplier<C> {
+public abstract class AbstractDistributedSingletonService<C extends SingletonContext> implements SingletonService, SingletonContext, SingletonStatistics, Listener, Supplier<C> {
 
     private final ServiceName name;
     private final Supplier<ServiceProviderRegistry<ServiceName>> registry;
@@ -69,6 +72,11 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
     private final Function<ServiceTarget, Lifecycle> primaryLifecycleFactory;
 
     private final AtomicBoolean primary = new AtomicBoolean(false);
+    private final LongAdder elections = new LongAdder();
+    private final LongAdder transitions = new LongAdder();
+
+    private volatile Duration lastElectionDuration = Duration.ZERO;
+    private volatile Duration lastTimeToPrimary = Duration.ZERO;
 
     private volatile Lifecycle primaryLifecycle;
     private volatile CommandDispatcher<C> dispatcher;
@@ -108,6 +116,7 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
 
         // Only run election on a single node
         if (candidates.isEmpty() || candidates.get(0).equals(group.getLocalMember())) {
+            long start = System.nanoTime();
             // First validate that quorum was met
             int size = candidates.size();
             boolean quorumMet = size >= this.quorum;
@@ -139,6 +148,7 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
                     // Start service on elected node
                     try {
                         this.dispatcher.executeOnMember(new StartCommand(), elected).toCompletableFuture().join();
+                        this.lastTimeToPrimary = Duration.ofNanos(System.nanoTime() - start);
                     } catch (CancellationException e) {
                         ClusteringServerLogger.ROOT_LOGGER.debugf("Singleton service %s could not be started on the elected primary singleton provider (%s) because it left the cluster.  A new primary provider election will take place.", this.name.getCanonicalName(), elected.getName());
                     } catch (CompletionException e) {
@@ -182,6 +192,9 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
                 }
             } catch (CommandDispatcherException e) {
                 throw new IllegalStateException(e);
+            } finally {
+                this.elections.increment();
+                this.lastElectionDuration = Duration.ofNanos(System.nanoTime() - start);
             }
         }
     }
@@ -191,6 +204,7 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
         // If we were not already the primary node
         if (this.primary.compareAndSet(false, true)) {
             this.primaryLifecycle.start();
+            this.transitions.increment();
         }
     }
 
@@ -199,6 +213,7 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
         // If we were the previous the primary node
         if (this.primary.compareAndSet(true, false)) {
             this.primaryLifecycle.stop();
+            this.transitions.increment();
         }
     }
 
@@ -245,6 +260,26 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
         return this.registration.getProviders();
     }
 
+    @Override
+    public long getElectionCount() {
+        return this.elections.sum();
+    }
+
+    @Override
+    public Duration getLastElectionDuration() {
+        return this.lastElectionDuration;
+    }
+
+    @Override
+    public Duration getLastTimeToPrimary() {
+        return this.lastTimeToPrimary;
+    }
+
+    @Override
+    public long getPrimaryTransitionCount() {
+        return this.transitions.sum();
+    }
+
     int getQuorum() {
         return this.quorum;
     }
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jgroups.util.ByteArrayDataInputStream;
+import org.jgroups.util.ByteArrayDataOutputStream;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.JavaByteBufferMarshaller;
+
+/**
+ * Unit test for {@link CommandResponseMarshaller}.
+ */
+public class CommandResponseMarshallerTestCase {
+
+    @Test
+    public void test() throws IOException {
+        ChannelCommandDispatcherFactoryConfiguration config = mock(ChannelCommandDispatcherFactoryConfiguration.class);
+        Predicate<ByteBuffer> unknownForkPredicate = buffer -> false;
+        when(config.getMarshaller()).thenReturn(JavaByteBufferMarshaller.INSTANCE);
+        when(config.getUnknownForkPredicate()).thenReturn(unknownForkPredicate);
+
+        CommandResponseMarshaller marshaller = new CommandResponseMarshaller(config);
+        List<String> response = Arrays.asList("foo", "bar");
+
+        ByteArrayDataOutputStream output = new ByteArrayDataOutputStream();
+        // Responses need not start at the beginning of the message payload
+        output.writeByte(Byte.MAX_VALUE);
+        marshaller.objectToStream(response, output);
+        marshaller.objectToStream("baz", output);
+        byte[] bytes = Arrays.copyOf(output.buffer(), output.position());
+
+        ByteArrayDataInputStream input = new ByteArrayDataInputStream(bytes);
+        assertEquals(Byte.MAX_VALUE, input.readByte());
+        assertEquals(response, marshaller.objectFromStream(input));
+        assertEquals("baz", marshaller.objectFromStream(input));
+
+        DataInputStream stream = new DataInputStream(new ByteArrayInputStream(bytes));
+        assertEquals(Byte.MAX_VALUE, stream.readByte());
+        assertEquals(response, marshaller.objectFromStream(stream));
+        assertEquals("baz", marshaller.objectFromStream(stream));
+    }
+
+    @Test
+    public void unknownFork() throws IOException {
+        ChannelCommandDispatcherFactoryConfiguration config = mock(ChannelCommandDispatcherFactoryConfiguration.class);
+        Predicate<ByteBuffer> unknownForkPredicate = buffer -> true;
+        when(config.getMarshaller()).thenReturn(JavaByteBufferMarshaller.INSTANCE);
+        when(config.getUnknownForkPredicate()).thenReturn(unknownForkPredicate);
+
+        CommandResponseMarshaller marshaller = new CommandResponseMarshaller(config);
+
+        ByteArrayDataOutputStream output = new ByteArrayDataOutputStream();
+        marshaller.objectToStream("foo", output);
+
+        assertSame(NoSuchService.INSTANCE, marshaller.objectFromStream(new ByteArrayDataInputStream(output.buffer(), 0, output.position())));
+    }
+}
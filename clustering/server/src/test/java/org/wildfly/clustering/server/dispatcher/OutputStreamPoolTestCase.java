@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+
+/**
+ * Unit test for {@link OutputStreamPool}.
+ */
+public class OutputStreamPoolTestCase {
+
+    @Test
+    public void release() {
+        ByteBufferOutputStream output = OutputStreamPool.acquire();
+        output.write(1);
+        OutputStreamPool.release(output);
+
+        // A released stream is reused, once reset
+        ByteBufferOutputStream reused = OutputStreamPool.acquire();
+        assertSame(output, reused);
+        assertEquals(0, reused.size());
+        // Until released, the stream is not acquired again
+        assertNotSame(reused, OutputStreamPool.acquire());
+        OutputStreamPool.release(reused);
+    }
+
+    @Test
+    public void detach() {
+        ByteBufferOutputStream output = OutputStreamPool.acquire();
+        byte[] bytes = new byte[OutputStreamPool.INITIAL_SIZE * 2];
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) i;
+        }
+        output.write(bytes, 0, bytes.length);
+        ByteBuffer buffer = OutputStreamPool.detach(output);
+        assertEquals(bytes.length, buffer.remaining());
+
+        // The detached contents are not overwritten by subsequent use of the pool
+        ByteBufferOutputStream next = OutputStreamPool.acquire();
+        assertNotSame(output, next);
+        next.write(new byte[bytes.length], 0, bytes.length);
+        OutputStreamPool.release(next);
+
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        assertArrayEquals(bytes, result);
+    }
+}
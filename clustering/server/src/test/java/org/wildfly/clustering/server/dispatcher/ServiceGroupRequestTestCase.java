@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.jgroups.util.UUID;
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+
+/**
+ * Unit test for {@link ServiceGroupRequest}.
+ */
+public class ServiceGroupRequestTestCase {
+
+    private final RequestCorrelator correlator = mock(RequestCorrelator.class);
+    private final RequestOptions options = RequestOptions.SYNC().timeout(1000L);
+    private final Object context = new Object();
+    private final Address local = UUID.randomUUID();
+    private final Address member1 = UUID.randomUUID();
+    private final Address member2 = UUID.randomUUID();
+    private final Address member3 = UUID.randomUUID();
+    private final List<Address> targets = Arrays.asList(this.member1, this.member2, this.member3);
+
+    @Test
+    public void responses() throws CommandDispatcherException, IOException {
+        ServiceGroupRequest<String, Object> request = new ServiceGroupRequest<>(this.correlator, this.targets, this.options, this.context);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        assertEquals(3, responses.size());
+
+        MarshalledValue<String, Object> value = mock(MarshalledValue.class);
+        when(value.get(this.context)).thenReturn("result");
+        Exception exception = new Exception();
+
+        request.receiveResponse(value, this.member1, false);
+        request.receiveResponse(NoSuchService.INSTANCE, this.member2, false);
+
+        assertEquals("result", responses.get(this.member1).toCompletableFuture().join());
+        assertCancelled(responses.get(this.member2));
+        assertFalse(responses.get(this.member3).toCompletableFuture().isDone());
+        assertFalse(request.isDone());
+
+        request.receiveResponse(exception, this.member3, true);
+
+        try {
+            responses.get(this.member3).toCompletableFuture().join();
+            fail("Response should have completed exceptionally");
+        } catch (CompletionException e) {
+            assertSame(exception, e.getCause());
+        }
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void viewChange() throws CommandDispatcherException, IOException {
+        ServiceGroupRequest<String, Object> request = new ServiceGroupRequest<>(this.correlator, this.targets, this.options, this.context);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        MarshalledValue<String, Object> value = mock(MarshalledValue.class);
+        when(value.get(this.context)).thenReturn("result");
+
+        request.receiveResponse(value, this.member1, false);
+        request.viewChange(View.create(this.local, 2L, this.local, this.member1));
+
+        // Responses of members that left the group will never arrive
+        assertTrue(request.isDone());
+        assertEquals("result", responses.get(this.member1).toCompletableFuture().join());
+        assertCancelled(responses.get(this.member2));
+        assertCancelled(responses.get(this.member3));
+    }
+
+    @Test
+    public void suspect() throws CommandDispatcherException, IOException {
+        ServiceGroupRequest<String, Object> request = new ServiceGroupRequest<>(this.correlator, this.targets, this.options, this.context);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        request.viewChange(View.create(this.local, 2L, this.local, this.member1, this.member3));
+
+        // The response of a suspected member completes immediately, while other members are still pending
+        assertCancelled(responses.get(this.member2));
+        assertFalse(responses.get(this.member1).toCompletableFuture().isDone());
+        assertFalse(responses.get(this.member3).toCompletableFuture().isDone());
+        assertFalse(request.isDone());
+
+        MarshalledValue<String, Object> value = mock(MarshalledValue.class);
+        when(value.get(this.context)).thenReturn("result");
+
+        request.receiveResponse(value, this.member1, false);
+        request.viewChange(View.create(this.local, 3L, this.local, this.member1));
+
+        assertCancelled(responses.get(this.member3));
+        assertEquals("result", responses.get(this.member1).toCompletableFuture().join());
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void cancel() throws CommandDispatcherException {
+        ServiceGroupRequest<String, Object> request = new ServiceGroupRequest<>(this.correlator, this.targets, this.options, this.context);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        responses.get(this.member1).toCompletableFuture().cancel(true);
+        responses.get(this.member2).toCompletableFuture().cancel(true);
+
+        assertFalse(request.isDone());
+
+        // Request is no longer tracked once no response is pending
+        responses.get(this.member3).toCompletableFuture().cancel(true);
+
+        assertTrue(request.isCancelled());
+    }
+
+    private static void assertCancelled(CompletionStage<String> response) {
+        CompletableFuture<String> future = response.toCompletableFuture();
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.join();
+            fail("Response should have been cancelled");
+        } catch (CancellationException e) {
+            // Expected
+        }
+    }
+}
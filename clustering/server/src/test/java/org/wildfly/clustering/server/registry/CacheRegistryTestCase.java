@@ -0,0 +1,256 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.registry;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.notifications.cachelistener.event.Event;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.jgroups.JGroupsAddress;
+import org.jgroups.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.group.Membership;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.registry.RegistryListener;
+import org.wildfly.clustering.spi.group.Group;
+
+/**
+ * Unit test for {@link CacheRegistry}, verifying that the snapshot of registry entries of a replicated cache follows cache entry and topology events.
+ */
+public class CacheRegistryTestCase {
+
+    private final AdvancedCache<Address, Map.Entry<String, String>> cache = mock(AdvancedCache.class, RETURNS_SELF);
+    private final Group<Address> group = mock(Group.class);
+    private final Membership membership = mock(Membership.class);
+    private final Runnable closeTask = mock(Runnable.class);
+    // The members of the group and the content of the cache
+    private final Map<Address, Node> members = new ConcurrentHashMap<>();
+    private final Map<Address, Map.Entry<String, String>> contents = new ConcurrentHashMap<>();
+    private final Address localAddress = createAddress();
+    private final Address address1 = createAddress();
+    private final Address address2 = createAddress();
+    private final Map.Entry<String, String> localEntry = new AbstractMap.SimpleImmutableEntry<>("local", "0");
+    private final Map.Entry<String, String> entry1 = new AbstractMap.SimpleImmutableEntry<>("member1", "1");
+    private final Map.Entry<String, String> entry2 = new AbstractMap.SimpleImmutableEntry<>("member2", "2");
+
+    private CacheRegistry<String, String> registry;
+
+    @Before
+    public void init() {
+        CacheRegistryConfiguration<String, String> config = mock(CacheRegistryConfiguration.class);
+        Batcher<Batch> batcher = mock(Batcher.class);
+        EmbeddedCacheManager manager = mock(EmbeddedCacheManager.class);
+
+        when(config.getCache()).thenReturn(this.cache);
+        doReturn(batcher).when(config).getBatcher();
+        when(config.getGroup()).thenReturn(this.group);
+        when(batcher.createBatch()).thenReturn(mock(Batch.class));
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.REPL_SYNC).build());
+        when(this.cache.getCacheManager()).thenReturn(manager);
+        when(manager.getAddress()).thenReturn(this.localAddress);
+        when(this.cache.getAll(anySet())).thenAnswer(invocation -> {
+            Map<Address, Map.Entry<String, String>> result = new HashMap<>();
+            for (Object key : invocation.<Set<?>>getArgument(0)) {
+                result.put((Address) key, this.contents.get(key));
+            }
+            return result;
+        });
+        when(this.group.getMembership()).thenReturn(this.membership);
+        when(this.membership.getMembers()).thenAnswer(invocation -> new ArrayList<>(this.members.values()));
+        when(this.group.getAddress(any())).thenAnswer(invocation -> {
+            for (Map.Entry<Address, Node> member : this.members.entrySet()) {
+                if (member.getValue() == invocation.getArgument(0)) {
+                    return member.getKey();
+                }
+            }
+            return null;
+        });
+
+        this.join(this.localAddress, this.localEntry);
+        this.join(this.address1, this.entry1);
+        when(this.group.getLocalMember()).thenReturn(this.members.get(this.localAddress));
+
+        this.registry = new CacheRegistry<>(config, this.localEntry, this.closeTask);
+    }
+
+    @After
+    public void destroy() {
+        this.registry.close();
+        verify(this.closeTask).run();
+    }
+
+    @Test
+    public void snapshot() {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("local", "0");
+        expected.put("member1", "1");
+        assertEquals(expected, this.registry.getEntries());
+        assertEquals(this.entry1, this.registry.getEntry(this.members.get(this.address1)));
+
+        // Reads are served by the snapshot
+        verify(this.cache, times(1)).getAll(anySet());
+        verify(this.cache, never()).get(any());
+    }
+
+    @Test
+    public void entryEvents() {
+        RegistryListener<String, String> listener = mock(RegistryListener.class);
+        this.registry.register(listener);
+
+        this.join(this.address2, this.entry2);
+        this.registry.event(createEntryEvent(Event.Type.CACHE_ENTRY_CREATED, this.address2, this.entry2));
+
+        assertEquals("2", this.registry.getEntries().get("member2"));
+        verify(listener, timeout(1000L)).addedEntries(Collections.singletonMap("member2", "2"));
+
+        Map.Entry<String, String> updatedEntry = new AbstractMap.SimpleImmutableEntry<>("member2", "3");
+        this.contents.put(this.address2, updatedEntry);
+        this.registry.event(createEntryEvent(Event.Type.CACHE_ENTRY_MODIFIED, this.address2, updatedEntry));
+
+        assertEquals("3", this.registry.getEntries().get("member2"));
+        verify(listener, timeout(1000L)).updatedEntries(Collections.singletonMap("member2", "3"));
+
+        this.contents.remove(this.address2);
+        CacheEntryRemovedEvent<Address, Map.Entry<String, String>> removedEvent = mock(CacheEntryRemovedEvent.class);
+        when(removedEvent.isPre()).thenReturn(false);
+        when(removedEvent.isOriginLocal()).thenReturn(false);
+        when(removedEvent.getType()).thenReturn(Event.Type.CACHE_ENTRY_REMOVED);
+        when(removedEvent.getKey()).thenReturn(this.address2);
+        when(removedEvent.getOldValue()).thenReturn(updatedEntry);
+        this.registry.removed(removedEvent);
+
+        assertFalse(this.registry.getEntries().containsKey("member2"));
+        assertNull(this.registry.getEntry(this.members.get(this.address2)));
+        verify(listener, timeout(1000L)).removedEntries(Collections.singletonMap("member2", "3"));
+
+        // Snapshot was maintained without reading the cache again
+        verify(this.cache, times(1)).getAll(anySet());
+    }
+
+    @Test
+    public void topologyChangeRefreshesSnapshot() throws InterruptedException {
+        // Entries received via state transfer, e.g. following a merge, do not generate cache events
+        this.join(this.address2, this.entry2);
+        this.registry.topologyChanged(createTopologyChangedEvent(Arrays.asList(this.localAddress, this.address1), Arrays.asList(this.localAddress, this.address1, this.address2)));
+
+        awaitEntry("member2", () -> this.registry.getEntries());
+        assertEquals(3, this.registry.getEntries().size());
+    }
+
+    @Test
+    public void topologyChangeExcludesLeftMembers() {
+        RegistryListener<String, String> listener = mock(RegistryListener.class);
+        this.registry.register(listener);
+
+        // This member is the primary owner of the entry of the member that left
+        KeyPartitioner partitioner = mock(KeyPartitioner.class);
+        ComponentRegistry components = mock(ComponentRegistry.class);
+        DistributionManager distribution = mock(DistributionManager.class);
+        LocalizedCacheTopology topology = mock(LocalizedCacheTopology.class);
+        when(this.cache.getComponentRegistry()).thenReturn(components);
+        when(components.getLocalComponent(KeyPartitioner.class)).thenReturn(partitioner);
+        when(this.cache.getDistributionManager()).thenReturn(distribution);
+        when(distribution.getCacheTopology()).thenReturn(topology);
+        when(topology.getLocalAddress()).thenReturn(this.localAddress);
+        when(this.cache.remove(this.address1)).thenAnswer(invocation -> this.contents.remove(this.address1));
+
+        this.members.remove(this.address1);
+        TopologyChangedEvent<Address, Map.Entry<String, String>> event = createTopologyChangedEvent(Arrays.asList(this.localAddress, this.address1), Collections.singletonList(this.localAddress));
+        when(event.getWriteConsistentHashAtEnd().locatePrimaryOwnerForSegment(anyInt())).thenReturn(this.localAddress);
+        this.registry.topologyChanged(event);
+
+        // The entry of the member that left is excluded immediately
+        assertEquals(Collections.singletonMap("local", "0"), this.registry.getEntries());
+        verify(listener, timeout(1000L)).removedEntries(Collections.singletonMap("member1", "1"));
+        verify(this.cache, timeout(1000L)).remove(this.address1);
+    }
+
+    private void join(Address address, Map.Entry<String, String> entry) {
+        this.members.put(address, mock(Node.class));
+        this.contents.put(address, entry);
+    }
+
+    private static Address createAddress() {
+        return new JGroupsAddress(UUID.randomUUID());
+    }
+
+    private static CacheEntryEvent<Address, Map.Entry<String, String>> createEntryEvent(Event.Type type, Address key, Map.Entry<String, String> value) {
+        CacheEntryEvent<Address, Map.Entry<String, String>> event = mock(CacheEntryEvent.class);
+        when(event.isPre()).thenReturn(false);
+        when(event.isOriginLocal()).thenReturn(false);
+        when(event.getType()).thenReturn(type);
+        when(event.getKey()).thenReturn(key);
+        when(event.getValue()).thenReturn(value);
+        return event;
+    }
+
+    private TopologyChangedEvent<Address, Map.Entry<String, String>> createTopologyChangedEvent(List<Address> previousMembers, List<Address> members) {
+        TopologyChangedEvent<Address, Map.Entry<String, String>> event = mock(TopologyChangedEvent.class);
+        ConsistentHash previousHash = mock(ConsistentHash.class);
+        ConsistentHash hash = mock(ConsistentHash.class);
+        when(event.isPre()).thenReturn(false);
+        when(event.getCache()).thenReturn(this.cache);
+        when(event.getWriteConsistentHashAtStart()).thenReturn(previousHash);
+        when(event.getWriteConsistentHashAtEnd()).thenReturn(hash);
+        when(previousHash.getMembers()).thenReturn(previousMembers);
+        when(hash.getMembers()).thenReturn(members);
+        return event;
+    }
+
+    private static void awaitEntry(String key, Supplier<Map<String, String>> entries) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (!entries.get().containsKey(key) && (System.nanoTime() < deadline)) {
+            Thread.sleep(10L);
+        }
+        assertTrue(entries.get().containsKey(key));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.registry;
+
+import static org.junit.Assert.*;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RegistrySnapshot}.
+ */
+public class RegistrySnapshotTestCase {
+
+    @Test
+    public void test() {
+        RegistrySnapshot<String, String, Integer> empty = new RegistrySnapshot<>();
+
+        assertEquals(0L, empty.getVersion());
+        assertTrue(empty.getEntries().isEmpty());
+        assertNull(empty.getEntry("node1"));
+
+        RegistrySnapshot<String, String, Integer> snapshot1 = empty.put("node1", new SimpleImmutableEntry<>("a", 1));
+        RegistrySnapshot<String, String, Integer> snapshot2 = snapshot1.put("node2", new SimpleImmutableEntry<>("b", 2));
+
+        // Previous snapshots are unaffected
+        assertTrue(empty.getEntries().isEmpty());
+        assertEquals(Collections.singletonMap("a", 1), snapshot1.getEntries());
+
+        assertEquals(2L, snapshot2.getVersion());
+        Map<String, Integer> entries = snapshot2.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(Integer.valueOf(1), entries.get("a"));
+        assertEquals(Integer.valueOf(2), entries.get("b"));
+        assertEquals("b", snapshot2.getEntry("node2").getKey());
+
+        // Entries are immutable, and can therefore be returned without copying
+        assertThrows(UnsupportedOperationException.class, () -> entries.put("c", 3));
+
+        // Updating the entry of a member replaces its previous entry
+        RegistrySnapshot<String, String, Integer> snapshot3 = snapshot2.put("node2", new SimpleImmutableEntry<>("c", 3));
+
+        assertEquals(3L, snapshot3.getVersion());
+        assertEquals(2, snapshot3.getEntries().size());
+        assertFalse(snapshot3.getEntries().containsKey("b"));
+        assertEquals(Integer.valueOf(3), snapshot3.getEntries().get("c"));
+
+        // Removing the entry of an unknown member does not create a new snapshot
+        assertSame(snapshot3, snapshot3.remove("node3"));
+
+        RegistrySnapshot<String, String, Integer> snapshot4 = snapshot3.remove("node1");
+
+        assertEquals(4L, snapshot4.getVersion());
+        assertEquals(Collections.singletonMap("c", 3), snapshot4.getEntries());
+
+        // Retaining all members does not create a new snapshot
+        assertSame(snapshot3, snapshot3.retain(Arrays.asList("node1", "node2", "node3")));
+
+        RegistrySnapshot<String, String, Integer> snapshot5 = snapshot3.retain(Arrays.asList("node1", "node3"));
+
+        assertEquals(4L, snapshot5.getVersion());
+        assertEquals(Collections.singletonMap("a", 1), snapshot5.getEntries());
+    }
+}
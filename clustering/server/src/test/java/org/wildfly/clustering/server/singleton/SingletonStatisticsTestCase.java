@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.singleton;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.Membership;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.provider.ServiceProviderRegistration;
+import org.wildfly.clustering.provider.ServiceProviderRegistry;
+import org.wildfly.clustering.singleton.SingletonElectionPolicy;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+
+/**
+ * Unit test for the {@link org.wildfly.clustering.singleton.SingletonStatistics} of {@link AbstractDistributedSingletonService}.
+ */
+public class SingletonStatisticsTestCase {
+    private static final long DELAY = 10L;
+
+    private final ServiceName name = ServiceName.JBOSS.append("singleton");
+    private final ServiceProviderRegistry<ServiceName> registry = mock(ServiceProviderRegistry.class);
+    private final CommandDispatcherFactory dispatcherFactory = mock(CommandDispatcherFactory.class);
+    private final CommandDispatcher<SingletonContext> dispatcher = mock(CommandDispatcher.class);
+    private final SingletonElectionPolicy electionPolicy = mock(SingletonElectionPolicy.class);
+    private final Lifecycle primaryLifecycle = mock(Lifecycle.class);
+    private final Membership membership = mock(Membership.class);
+    private final Node localMember = mock(Node.class);
+    private final Node remoteMember = mock(Node.class);
+
+    private AbstractDistributedSingletonService<SingletonContext> service;
+
+    @Before
+    public void init() throws StartException {
+        DistributedSingletonServiceContext context = mock(DistributedSingletonServiceContext.class);
+        Group group = mock(Group.class);
+        StartContext startContext = mock(StartContext.class);
+
+        when(context.getServiceName()).thenReturn(this.name);
+        when(context.getServiceProviderRegistry()).thenReturn(() -> this.registry);
+        when(context.getCommandDispatcherFactory()).thenReturn(() -> this.dispatcherFactory);
+        when(context.getElectionPolicy()).thenReturn(this.electionPolicy);
+        when(context.getQuorum()).thenReturn(1);
+        when(this.registry.getGroup()).thenReturn(group);
+        when(group.getLocalMember()).thenReturn(this.localMember);
+        when(group.getMembership()).thenReturn(this.membership);
+        when(this.registry.register(same(this.name), any())).thenReturn(mock(ServiceProviderRegistration.class));
+
+        this.service = new AbstractDistributedSingletonService<SingletonContext>(context, target -> this.primaryLifecycle) {
+            @Override
+            public SingletonContext get() {
+                return this;
+            }
+        };
+        doReturn(this.dispatcher).when(this.dispatcherFactory).createCommandDispatcher(same(this.name), same(this.service), any());
+
+        // Emulate the time taken to start and stop the primary service
+        doAnswer(invocation -> {
+            Thread.sleep(DELAY);
+            return null;
+        }).when(this.primaryLifecycle).start();
+        doAnswer(invocation -> {
+            Thread.sleep(DELAY);
+            return null;
+        }).when(this.primaryLifecycle).stop();
+
+        // Execute commands targeting the local member against our service
+        doAnswer(invocation -> this.execute(invocation.getArgument(0))).when(this.dispatcher).executeOnMember(any(), same(this.localMember));
+        doReturn(CompletableFuture.completedFuture(null)).when(this.dispatcher).executeOnMember(any(), same(this.remoteMember));
+        doAnswer(invocation -> Collections.singletonMap(this.remoteMember, CompletableFuture.completedFuture(null))).when(this.dispatcher).executeOnGroup(any(), same(this.localMember));
+        doAnswer(invocation -> Collections.singletonMap(this.localMember, this.execute(invocation.getArgument(0)))).when(this.dispatcher).executeOnGroup(any(), same(this.remoteMember));
+
+        this.service.start(startContext);
+    }
+
+    @Test
+    public void electionAndFailover() {
+        assertEquals(0L, this.service.getElectionCount());
+        assertEquals(0L, this.service.getPrimaryTransitionCount());
+        assertEquals(Duration.ZERO, this.service.getLastElectionDuration());
+        assertEquals(Duration.ZERO, this.service.getLastTimeToPrimary());
+
+        // Election of the local member
+        List<Node> members = Arrays.asList(this.localMember, this.remoteMember);
+        when(this.membership.getMembers()).thenReturn(members);
+        when(this.electionPolicy.elect(members)).thenReturn(this.localMember);
+
+        this.service.providersChanged(Set.of(this.localMember, this.remoteMember));
+
+        assertTrue(this.service.isPrimary());
+        verify(this.primaryLifecycle).start();
+        assertEquals(1L, this.service.getElectionCount());
+        assertEquals(1L, this.service.getPrimaryTransitionCount());
+        Duration timeToPrimary = this.service.getLastTimeToPrimary();
+        assertTrue(timeToPrimary.toString(), timeToPrimary.toMillis() >= DELAY);
+        assertTrue(this.service.getLastElectionDuration().compareTo(timeToPrimary) >= 0);
+
+        // Failover to the remote member
+        when(this.electionPolicy.elect(members)).thenReturn(this.remoteMember);
+
+        this.service.providersChanged(Set.of(this.localMember, this.remoteMember));
+
+        assertFalse(this.service.isPrimary());
+        verify(this.primaryLifecycle).stop();
+        assertEquals(2L, this.service.getElectionCount());
+        assertEquals(2L, this.service.getPrimaryTransitionCount());
+        timeToPrimary = this.service.getLastTimeToPrimary();
+        // Includes stopping the previous primary
+        assertTrue(timeToPrimary.toString(), timeToPrimary.toMillis() >= DELAY);
+        assertTrue(this.service.getLastElectionDuration().compareTo(timeToPrimary) >= 0);
+
+        // Elections are only coordinated by the first candidate
+        when(this.membership.getMembers()).thenReturn(Arrays.asList(this.remoteMember, this.localMember));
+
+        this.service.providersChanged(Set.of(this.localMember, this.remoteMember));
+
+        assertEquals(2L, this.service.getElectionCount());
+        assertEquals(2L, this.service.getPrimaryTransitionCount());
+        verify(this.electionPolicy, times(2)).elect(any());
+    }
+
+    private CompletableFuture<Void> execute(Command<Void, Lifecycle> command) throws Exception {
+        return CompletableFuture.completedFuture(command.execute(this.service));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.singleton;
+
+import java.time.Duration;
+
+/**
+ * Exposes statistics of the primary provider elections of a distributed singleton.
+ */
+public interface SingletonStatistics {
+
+    /**
+     * Returns the number of elections coordinated by the local member.
+     * @return a number of elections
+     */
+    long getElectionCount();
+
+    /**
+     * Returns the duration of the most recent election coordinated by the local member,
+     * from the change in providers until the elected primary provider was started and all listeners were notified.
+     * @return a duration
+     */
+    Duration getLastElectionDuration();
+
+    /**
+     * Returns the time it took, during the most recent election coordinated by the local member, from the change in providers until the elected primary provider started the singleton.
+     * @return a duration
+     */
+    Duration getLastTimeToPrimary();
+
+    /**
+     * Returns the number of times the local member started or stopped the singleton as its primary provider.
+     * @return a number of transitions
+     */
+    long getPrimaryTransitionCount();
+}
@@ -27,10 +27,13 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.singleton.Singleton;
+import org.wildfly.clustering.singleton.SingletonStatistics;
 
 /**
  * Metrics for singleton deployments and services.
@@ -60,7 +63,31 @@ public enum SingletonMetric implements Metric<Singleton> {
             }
             return result;
         }
-    }
+    },
+    ELECTIONS("elections", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(Singleton singleton) throws OperationFailedException {
+            return (singleton instanceof SingletonStatistics) ? new ModelNode(((SingletonStatistics) singleton).getElectionCount()) : null;
+        }
+    },
+    LAST_ELECTION_DURATION("last-election-duration", ModelType.LONG, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(Singleton singleton) throws OperationFailedException {
+            return (singleton instanceof SingletonStatistics) ? new ModelNode(((SingletonStatistics) singleton).getLastElectionDuration().toMillis()) : null;
+        }
+    },
+    LAST_TIME_TO_PRIMARY("last-time-to-primary", ModelType.LONG, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(Singleton singleton) throws OperationFailedException {
+            return (singleton instanceof SingletonStatistics) ? new ModelNode(((SingletonStatistics) singleton).getLastTimeToPrimary().toMillis()) : null;
+        }
+    },
+    PRIMARY_TRANSITIONS("primary-transitions", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(Singleton singleton) throws OperationFailedException {
+            return (singleton instanceof SingletonStatistics) ? new ModelNode(((SingletonStatistics) singleton).getPrimaryTransitionCount()) : null;
+        }
+    },
     ;
     private final AttributeDefinition definition;
 
@@ -68,6 +95,14 @@ public enum SingletonMetric implements Metric<Singleton> {
         this.definition = new SimpleAttributeDefinitionBuilder(name, type).setStorageRuntime().build();
     }
 
+    SingletonMetric(String name, ModelType type, AttributeAccess.Flag flag) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type).setFlags(flag).setStorageRuntime().build();
+    }
+
+    SingletonMetric(String name, ModelType type, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type).setMeasurementUnit(unit).setStorageRuntime().build();
+    }
+
     SingletonMetric(String name) {
         this.definition = new StringListAttributeDefinition.Builder(name).setStorageRuntime().build();
     }
@@ -24,6 +24,9 @@ package org.wildfly.extension.clustering.web;
 
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE_CONTAINER;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.LAST_ACCESS_REPLICATION_THRESHOLD;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.OPTIMISTIC_READ;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -42,6 +45,9 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
 
     private volatile String containerName;
     private volatile String cacheName;
+    private volatile double accessReplicationThreshold;
+    private volatile int nearCacheSize;
+    private volatile boolean optimisticRead;
 
     public InfinispanSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +57,9 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.cacheName = CACHE.resolveModelAttribute(context, model).asStringOrNull();
+        this.accessReplicationThreshold = LAST_ACCESS_REPLICATION_THRESHOLD.resolveModelAttribute(context, model).asDouble();
+        this.nearCacheSize = NEAR_CACHE_SIZE.resolveModelAttribute(context, model).asInt();
+        this.optimisticRead = OPTIMISTIC_READ.resolveModelAttribute(context, model).asBoolean();
         return super.configure(context, model);
     }
 
@@ -68,4 +77,19 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public String getCacheName() {
         return this.cacheName;
     }
+
+    @Override
+    public double getAccessReplicationThreshold() {
+        return this.accessReplicationThreshold;
+    }
+
+    @Override
+    public int getNearCacheSize() {
+        return this.nearCacheSize;
+    }
+
+    @Override
+    public boolean isOptimisticRead() {
+        return this.optimisticRead;
+    }
 }
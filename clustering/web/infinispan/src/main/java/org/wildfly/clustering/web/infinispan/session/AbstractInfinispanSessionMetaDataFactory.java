@@ -76,15 +76,21 @@ public abstract class AbstractInfinispanSessionMetaDataFactory<L> implements Ses
     private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final MutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataMutatorFactory;
     private final CacheProperties properties;
+    private final SessionAccessReplicationThrottle throttle;
     private final Object evictListener;
 
     public AbstractInfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration) {
+        this(configuration, new InfinispanMutatorFactory<>(configuration.getCache(), configuration.getCacheProperties()));
+    }
+
+    protected AbstractInfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration, MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataMutatorFactory) {
         this.cache = configuration.getCache();
         this.properties = configuration.getCacheProperties();
         this.creationMetaDataCache = configuration.getCache();
-        this.creationMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.creationMetaDataCache, this.properties);
+        this.creationMetaDataMutatorFactory = creationMetaDataMutatorFactory;
         this.accessMetaDataCache = configuration.getCache();
         this.accessMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.accessMetaDataCache, this.properties);
+        this.throttle = configuration.getAccessReplicationThrottle();
         this.evictListener = new PrePassivateListener<>(this::cascadeEvict, configuration.getExecutor());
         this.cache.addListener(this.evictListener, new PredicateKeyFilter<>(SessionCreationMetaDataKeyFilter.INSTANCE), null);
     }
@@ -124,15 +130,25 @@ public abstract class AbstractInfinispanSessionMetaDataFactory<L> implements Ses
         SessionCreationMetaData creationMetaData = new MutableSessionCreationMetaData(entry.getCreationMetaData(), creationMutator);
 
         SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
-        Mutator accessMutator = this.properties.isTransactional() && newSession ? Mutator.PASSIVE : this.accessMetaDataMutatorFactory.createMutator(accessMetaDataKey, entry.getAccessMetaData());
-        SessionAccessMetaData accessMetaData = new MutableSessionAccessMetaData(entry.getAccessMetaData(), accessMutator);
+        SessionAccessMetaData accessMetaData = entry.getAccessMetaData();
+        Mutator accessMutator = Mutator.PASSIVE;
+        if (!this.properties.isTransactional() || !newSession) {
+            if (this.throttle.isEnabled()) {
+                // Apply updates to a copy, so that the replicated access meta data remains intact if the update is not replicated
+                SessionAccessMetaData replicatedAccessMetaData = accessMetaData;
+                accessMetaData = SessionAccessReplicationThrottle.copy(this.throttle.getAccessMetaData(id, replicatedAccessMetaData));
+                accessMutator = this.throttle.createMutator(id, entry.getCreationMetaData(), replicatedAccessMetaData, accessMetaData, this.accessMetaDataMutatorFactory.createMutator(accessMetaDataKey, accessMetaData));
+            } else {
+                accessMutator = this.accessMetaDataMutatorFactory.createMutator(accessMetaDataKey, accessMetaData);
+            }
+        }
 
-        return new CompositeSessionMetaData(creationMetaData, accessMetaData);
+        return new CompositeSessionMetaData(creationMetaData, new MutableSessionAccessMetaData(accessMetaData, accessMutator));
     }
 
     @Override
     public ImmutableSessionMetaData createImmutableSessionMetaData(String id, CompositeSessionMetaDataEntry<L> entry) {
-        return new CompositeSessionMetaData(entry.getCreationMetaData(), entry.getAccessMetaData());
+        return new CompositeSessionMetaData(entry.getCreationMetaData(), this.throttle.getAccessMetaData(id, entry.getAccessMetaData()));
     }
 
     @Override
@@ -154,12 +170,14 @@ public abstract class AbstractInfinispanSessionMetaDataFactory<L> implements Ses
     }
 
     private boolean delete(String id, Set<Flag> flags) {
+        this.throttle.remove(id);
         this.accessMetaDataCache.getAdvancedCache().withFlags(flags).remove(new SessionAccessMetaDataKey(id));
         this.creationMetaDataCache.getAdvancedCache().withFlags(flags).remove(new SessionCreationMetaDataKey(id));
         return true;
     }
 
     private void cascadeEvict(SessionCreationMetaDataKey key, SessionCreationMetaDataEntry<L> value) {
+        this.throttle.remove(key.getId());
         this.accessMetaDataCache.getAdvancedCache().withFlags(SKIP_LISTENER_NOTIFICATION_FLAGS).evict(new SessionAccessMetaDataKey(key.getId()));
     }
 }
@@ -30,4 +30,29 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface InfinispanSessionManagementConfiguration extends DistributableSessionManagementConfiguration, InfinispanCacheConfiguration {
+
+    /**
+     * Returns the fraction of the max-inactive-interval of a session by which its last access time must advance before it is replicated.
+     * @return a fraction of the max-inactive-interval, where 0 replicates every access
+     */
+    default double getAccessReplicationThreshold() {
+        return 0;
+    }
+
+    /**
+     * Returns the maximum number of locally owned sessions to retain in a local near cache.
+     * @return a number of sessions, where 0 disables the near cache
+     */
+    default int getNearCacheSize() {
+        return 0;
+    }
+
+    /**
+     * Indicates whether sessions of a cache that would otherwise lock on read should be read without locking.
+     * If enabled, locks are only acquired for those entries modified by a request, when its batch is committed.
+     * @return true, if sessions should be read without locking, false otherwise
+     */
+    default boolean isOptimisticRead() {
+        return false;
+    }
 }
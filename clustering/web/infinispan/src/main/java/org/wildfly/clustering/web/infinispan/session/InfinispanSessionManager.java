@@ -85,6 +85,7 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
     private final Runnable startTask;
     private final Consumer<ImmutableSession> closeTask;
     private final Registrar<Map.Entry<SC, SessionManager<LC, TransactionBatch>>> contextRegistrar;
+    private final SessionNearCache<Map.Entry<MV, AV>> nearCache;
 
     private volatile Duration defaultMaxInactiveInterval = Duration.ofMinutes(30L);
     private volatile Registration expirationRegistration;
@@ -103,6 +104,8 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
         this.context = configuration.getServletContext();
         this.contextRegistrar = configuration.getContextRegistrar();
         this.startTask = configuration.getStartTask();
+        int nearCacheSize = configuration.getNearCacheSize();
+        this.nearCache = (nearCacheSize > 0) ? new SessionNearCache<>(this.cache, nearCacheSize) : null;
         this.closeTask = new Consumer<ImmutableSession>() {
             @Override
             public void accept(ImmutableSession session) {
@@ -120,6 +123,9 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
             this.recorder.reset();
             this.cache.addListener(this, new PredicateKeyFilter<>(SessionCreationMetaDataKeyFilter.INSTANCE), null);
         }
+        if (this.nearCache != null) {
+            this.nearCache.start();
+        }
         this.identifierFactory.start();
         this.expirationRegistration = this.expirationRegistrar.register(this.expirationListener);
         this.startTask.run();
@@ -140,6 +146,9 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
         if (this.recorder != null) {
             this.cache.removeListener(this);
         }
+        if (this.nearCache != null) {
+            this.nearCache.stop();
+        }
         this.identifierFactory.stop();
         this.contextRegistration.close();
     }
@@ -171,7 +180,7 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
 
     @Override
     public Session<LC> findSession(String id) {
-        Map.Entry<MV, AV> value = this.factory.findValue(id);
+        Map.Entry<MV, AV> value = this.findValue(id);
         if (value == null) {
             InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s not found", id);
             return null;
@@ -181,6 +190,9 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
             InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s was found, but has expired", id);
             this.expirationListener.sessionExpired(session);
             this.factory.remove(id);
+            if (this.nearCache != null) {
+                this.nearCache.invalidate(id);
+            }
             return null;
         }
         this.expirationScheduler.cancel(id);
@@ -199,10 +211,14 @@ public class InfinispanSessionManager<SC, MV, AV, LC> implements SessionManager<
 
     @Override
     public ImmutableSession readSession(String id) {
-        Map.Entry<MV, AV> value = this.factory.findValue(id);
+        Map.Entry<MV, AV> value = this.findValue(id);
         return (value != null) ? new SimpleImmutableSession(this.factory.createImmutableSession(id, value)) : null;
     }
 
+    private Map.Entry<MV, AV> findValue(String id) {
+        return (this.nearCache != null) ? this.nearCache.computeIfAbsent(id, this.factory::findValue) : this.factory.findValue(id);
+    }
+
     @Override
     public Set<String> getActiveSessions() {
         // Omit remote sessions (i.e. when using DIST mode) as well as passivated sessions
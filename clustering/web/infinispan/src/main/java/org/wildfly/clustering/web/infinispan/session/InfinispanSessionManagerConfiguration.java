@@ -54,4 +54,5 @@ public interface InfinispanSessionManagerConfiguration<SC, LC> {
     Registrar<SessionExpirationListener> getExpirationRegistar();
     Runnable getStartTask();
     Registrar<Map.Entry<SC, SessionManager<LC, TransactionBatch>>> getContextRegistrar();
+    int getNearCacheSize();
 }
@@ -27,7 +27,6 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.infinispan.Cache;
@@ -44,6 +43,7 @@ import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalKeysTask;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTask;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.SchedulerListener;
 import org.wildfly.clustering.ee.infinispan.scheduler.SchedulerTopologyChangeListener;
@@ -51,7 +51,6 @@ import org.wildfly.clustering.ee.infinispan.tx.InfinispanBatcher;
 import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
@@ -97,32 +96,50 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
 
     private final KeyAffinityServiceFactory affinityFactory;
     private final SessionFactory<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> factory;
-    private final BiConsumer<Locality, Locality> scheduleTask;
+    private final ScheduleLocalTask scheduleTask;
+    private final int nearCacheSize;
     private final SchedulerListener listener;
+    private final boolean optimisticRead;
 
     public InfinispanSessionManagerFactory(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
         this.affinityFactory = config.getKeyAffinityServiceFactory();
         this.cache = config.getCache();
         this.batcher = new InfinispanBatcher(this.cache);
-        this.properties = config.getCacheProperties();
+        CacheProperties properties = config.getCacheProperties();
+        // Optimistic reads defer locking of a lock-on-read cache until its modified entries are written on commit
+        this.optimisticRead = config.isOptimisticRead() && properties.isLockOnRead();
+        this.properties = this.optimisticRead ? new OptimisticReadCacheProperties(properties) : properties;
         this.provider = config.getSpecificationProvider();
         this.notifierFactory = new SessionAttributeActivationNotifierFactory<>(this.provider);
+        // Near cache would bypass the locks acquired on read
+        this.nearCacheSize = this.properties.isLockOnRead() ? 0 : config.getNearCacheSize();
+        SessionAccessReplicationThrottle throttle = new SessionAccessReplicationThrottle(config.getAccessReplicationThreshold());
         InfinispanSessionMetaDataFactoryConfiguration metaDataFactoryConfig = new InfinispanSessionMetaDataFactoryConfiguration() {
             @Override
             public <K, V> Cache<K, V> getCache() {
                 return config.getCache();
             }
 
+            @Override
+            public CacheProperties getCacheProperties() {
+                return InfinispanSessionManagerFactory.this.properties;
+            }
+
             @Override
             public Executor getExecutor() {
                 return InfinispanSessionManagerFactory.this.executor;
             }
+
+            @Override
+            public SessionAccessReplicationThrottle getAccessReplicationThrottle() {
+                return throttle;
+            }
         };
-        SessionMetaDataFactory<CompositeSessionMetaDataEntry<LC>> metaDataFactory = this.properties.isLockOnRead() ? new LockOnReadInfinispanSessionMetaDataFactory<>(metaDataFactoryConfig) : new InfinispanSessionMetaDataFactory<>(metaDataFactoryConfig);
+        SessionMetaDataFactory<CompositeSessionMetaDataEntry<LC>> metaDataFactory = this.optimisticRead ? new OptimisticInfinispanSessionMetaDataFactory<>(metaDataFactoryConfig) : this.properties.isLockOnRead() ? new LockOnReadInfinispanSessionMetaDataFactory<>(metaDataFactoryConfig) : new InfinispanSessionMetaDataFactory<>(metaDataFactoryConfig);
         this.factory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
         ExpiredSessionRemover<SC, ?, ?, LC> remover = new ExpiredSessionRemover<>(this.factory);
         this.expirationRegistrar = remover;
-        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()));
+        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()), throttle);
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         Group group = dispatcherFactory.getGroup();
         this.scheduler = group.isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(dispatcherFactory, this.cache.getName(), localScheduler, new PrimaryOwnerLocator<>(this.cache, config.getMemberFactory()), SessionCreationMetaDataKey::new);
@@ -194,17 +211,23 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
             public Registrar<Map.Entry<SC, SessionManager<LC, TransactionBatch>>> getContextRegistrar() {
                 return InfinispanSessionManagerFactory.this.notifierFactory;
             }
+
+            @Override
+            public int getNearCacheSize() {
+                return InfinispanSessionManagerFactory.this.nearCacheSize;
+            }
         };
-        return new ConcurrentSessionManager<>(new InfinispanSessionManager<>(this.factory, config), this.properties.isTransactional() ? SimpleManager::new : ConcurrentManager::new);
+        // Without locks on read, concurrent requests for the same session must share the same session instance
+        return new ConcurrentSessionManager<>(new InfinispanSessionManager<>(this.factory, config), this.properties.isTransactional() && !this.optimisticRead ? SimpleManager::new : ConcurrentManager::new);
     }
 
     private SessionAttributesFactory<SC, ?> createSessionAttributesFactory(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration) {
         switch (configuration.getAttributePersistenceStrategy()) {
             case FINE: {
-                return new FineSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory, this.executor));
+                return new FineSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.properties, this.notifierFactory, this.executor));
             }
             case COARSE: {
-                return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.notifierFactory, this.executor));
+                return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.properties, this.notifierFactory, this.executor));
             }
             default: {
                 // Impossible
@@ -228,12 +251,14 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
 
     private static class InfinispanMarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> extends MarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> implements InfinispanSessionAttributesFactoryConfiguration<S, SC, AL, V, MarshalledValue<V, MC>> {
         private final InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration;
+        private final CacheProperties properties;
         private final Function<String, SessionAttributeActivationNotifier> notifierFactory;
         private final Executor executor;
 
-        InfinispanMarshalledValueSessionAttributesFactoryConfiguration(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration, Function<String, SessionAttributeActivationNotifier> notifierFactory, Executor executor) {
+        InfinispanMarshalledValueSessionAttributesFactoryConfiguration(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration, CacheProperties properties, Function<String, SessionAttributeActivationNotifier> notifierFactory, Executor executor) {
             super(configuration);
             this.configuration = configuration;
+            this.properties = properties;
             this.notifierFactory = notifierFactory;
             this.executor = executor;
         }
@@ -243,6 +268,11 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
             return this.configuration.getCache();
         }
 
+        @Override
+        public CacheProperties getCacheProperties() {
+            return this.properties;
+        }
+
         @Override
         public Executor getExecutor() {
             return this.executor;
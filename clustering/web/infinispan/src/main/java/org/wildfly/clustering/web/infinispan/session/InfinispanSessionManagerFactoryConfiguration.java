@@ -43,4 +43,10 @@ public interface InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC>
     CommandDispatcherFactory getCommandDispatcherFactory();
 
     NodeFactory<Address> getMemberFactory();
+
+    double getAccessReplicationThreshold();
+
+    int getNearCacheSize();
+
+    boolean isOptimisticRead();
 }
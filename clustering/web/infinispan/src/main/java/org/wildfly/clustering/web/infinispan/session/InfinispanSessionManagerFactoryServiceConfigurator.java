@@ -190,6 +190,21 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
         return this.group.get();
     }
 
+    @Override
+    public double getAccessReplicationThreshold() {
+        return this.configuration.getAccessReplicationThreshold();
+    }
+
+    @Override
+    public int getNearCacheSize() {
+        return this.configuration.getNearCacheSize();
+    }
+
+    @Override
+    public boolean isOptimisticRead() {
+        return this.configuration.isOptimisticRead();
+    }
+
     @Override
     public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
         return this.configuration.getAttributePersistenceStrategy();
@@ -29,6 +29,7 @@ import java.util.Set;
 import org.infinispan.Cache;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.Key;
+import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
 import org.wildfly.clustering.web.cache.session.SessionAccessMetaData;
 import org.wildfly.clustering.web.cache.session.SessionCreationMetaDataEntry;
@@ -46,6 +47,11 @@ public class InfinispanSessionMetaDataFactory<L> extends AbstractInfinispanSessi
         this.cache = configuration.getCache();
     }
 
+    protected InfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration, MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataMutatorFactory) {
+        super(configuration, creationMetaDataMutatorFactory);
+        this.cache = configuration.getCache();
+    }
+
     @Override
     public CompositeSessionMetaDataEntry<L> apply(String id, Set<Flag> flags) {
         SessionCreationMetaDataKey creationMetaDataKey = new SessionCreationMetaDataKey(id);
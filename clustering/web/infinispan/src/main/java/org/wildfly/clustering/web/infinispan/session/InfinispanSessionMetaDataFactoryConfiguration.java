@@ -30,4 +30,6 @@ import java.util.concurrent.Executor;
 public interface InfinispanSessionMetaDataFactoryConfiguration extends InfinispanConfiguration {
 
     Executor getExecutor();
+
+    SessionAccessReplicationThrottle getAccessReplicationThrottle();
 }
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import org.infinispan.Cache;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.web.cache.session.SessionCreationMetaDataEntry;
+
+/**
+ * {@link org.wildfly.clustering.web.cache.session.SessionMetaDataFactory} implementation for lock-on-read caches, whose session meta data is read without locking.
+ * Modified creation meta data is written using a version-checked write, such that a concurrent modification by another member fails the batch on commit.
+ * Access meta data is written unconditionally, as concurrent modifications only differ by the time of last access.
+ */
+public class OptimisticInfinispanSessionMetaDataFactory<L> extends InfinispanSessionMetaDataFactory<L> {
+
+    public OptimisticInfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration) {
+        super(configuration, createCreationMetaDataMutatorFactory(configuration));
+    }
+
+    private static <L> MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> createCreationMetaDataMutatorFactory(InfinispanSessionMetaDataFactoryConfiguration configuration) {
+        Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> cache = configuration.getCache();
+        CacheProperties properties = configuration.getCacheProperties();
+        // The max inactive interval is the only mutable state of the creation meta data, which is modified in place
+        return (key, value) -> properties.isPersistent() ? new VersionedCacheEntryMutator<>(cache, key, value, entry -> entry.getMetaData().getMaxInactiveInterval(), SessionCreationMetaDataEntry::getMetaData) : Mutator.PASSIVE;
+    }
+}
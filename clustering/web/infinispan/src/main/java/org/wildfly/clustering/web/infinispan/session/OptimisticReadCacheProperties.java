@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import org.wildfly.clustering.ee.cache.CacheProperties;
+
+/**
+ * Decorates the properties of a lock-on-read cache such that session reads are performed without locking.
+ * Locks are then only acquired for those cache entries actually written when the batch is committed.
+ */
+class OptimisticReadCacheProperties implements CacheProperties {
+
+    private final CacheProperties properties;
+
+    OptimisticReadCacheProperties(CacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean isLockOnRead() {
+        return false;
+    }
+
+    @Override
+    public boolean isLockOnWrite() {
+        return this.properties.isLockOnWrite();
+    }
+
+    @Override
+    public boolean isMarshalling() {
+        return this.properties.isMarshalling();
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return this.properties.isPersistent();
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return this.properties.isTransactional();
+    }
+}
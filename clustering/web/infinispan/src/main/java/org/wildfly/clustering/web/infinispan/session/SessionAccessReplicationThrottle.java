@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.web.cache.session.SessionAccessMetaData;
+import org.wildfly.clustering.web.cache.session.SessionCreationMetaData;
+import org.wildfly.clustering.web.cache.session.SimpleSessionAccessMetaData;
+
+/**
+ * Limits the replication of session access meta data to accesses that advance the last access time of a session
+ * by at least a fraction of its max-inactive-interval, since its last replicated access.
+ * The precise access meta data of a session accessed locally is retained until superseded by more recent replicated access meta data.
+ * Consequently, the replicated last access time of a session may lag behind its precise last access time by up to this fraction of its max-inactive-interval.
+ */
+public class SessionAccessReplicationThrottle {
+
+    private static final int MIN_SWEEP_SIZE = 64;
+
+    private final double threshold;
+    private final Map<String, LocalAccessMetaData> local = new ConcurrentHashMap<>();
+    private final AtomicInteger sweepSize = new AtomicInteger(MIN_SWEEP_SIZE);
+
+    /**
+     * Creates a new throttle.
+     * @param threshold the fraction of the max-inactive-interval by which the last access time of a session must advance before it is replicated
+     */
+    public SessionAccessReplicationThrottle(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Indicates whether replication of session access meta data is throttled.
+     * @return true, if some accesses are not replicated, false if every access is replicated.
+     */
+    public boolean isEnabled() {
+        return this.threshold > 0;
+    }
+
+    /**
+     * Returns the maximum duration by which the replicated last access time of a session with the specified max-inactive-interval may lag behind its precise last access time.
+     * @param maxInactiveInterval the max-inactive-interval of a session
+     * @return a duration
+     */
+    public Duration getMaxLag(Duration maxInactiveInterval) {
+        return Duration.ofMillis((long) (maxInactiveInterval.toMillis() * this.threshold));
+    }
+
+    /**
+     * Returns the most recent access meta data of the specified session.
+     * @param id a session identifier
+     * @param replicated the replicated access meta data of the session
+     * @return the locally retained access meta data of the session, if more recent than the replicated access meta data, the replicated access meta data otherwise.
+     */
+    public SessionAccessMetaData getAccessMetaData(String id, SessionAccessMetaData replicated) {
+        if (!this.local.isEmpty()) {
+            LocalAccessMetaData metaData = this.local.get(id);
+            if (metaData != null) {
+                if (getLastAccessEndOffset(metaData.getMetaData()).compareTo(getLastAccessEndOffset(replicated)) > 0) {
+                    return metaData.getMetaData();
+                }
+                // An access at least as recent was since replicated, possibly by another member
+                this.local.remove(id, metaData);
+            }
+        }
+        return replicated;
+    }
+
+    /**
+     * Creates a mutator for the specified access meta data that only triggers the specified mutator if the last access of the session should be replicated.
+     * @param id a session identifier
+     * @param creationMetaData the creation meta data of the session
+     * @param replicated the replicated access meta data of the session
+     * @param metaData the access meta data of the session to be updated, which must not be the replicated instance
+     * @param mutator the mutator that replicates the specified access meta data
+     * @return a mutator
+     */
+    public Mutator createMutator(String id, SessionCreationMetaData creationMetaData, SessionAccessMetaData replicated, SessionAccessMetaData metaData, Mutator mutator) {
+        Duration replicatedOffset = getLastAccessEndOffset(replicated);
+        return new Mutator() {
+            @Override
+            public void mutate() {
+                Duration maxInactiveInterval = creationMetaData.getMaxInactiveInterval();
+                Duration offset = getLastAccessEndOffset(metaData);
+                // Retain replicated access meta data as well, since the caller may continue to reference the previously replicated instance, e.g. via a near cache
+                SessionAccessReplicationThrottle.this.retain(id, new LocalAccessMetaData(metaData, creationMetaData.getCreationTime().plus(offset).plus(maxInactiveInterval)));
+                if (offset.minus(replicatedOffset).compareTo(SessionAccessReplicationThrottle.this.getMaxLag(maxInactiveInterval)) >= 0) {
+                    mutator.mutate();
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a copy of the specified access meta data, to which updates can be applied without affecting the original.
+     * @param metaData session access meta data
+     * @return a copy of the specified access meta data
+     */
+    public static SessionAccessMetaData copy(SessionAccessMetaData metaData) {
+        SessionAccessMetaData copy = new SimpleSessionAccessMetaData();
+        copy.setLastAccessDuration(metaData.getSinceCreationDuration(), metaData.getLastAccessDuration());
+        return copy;
+    }
+
+    /**
+     * Discards any locally retained access meta data for the specified session.
+     * @param id a session identifier
+     */
+    public void remove(String id) {
+        this.local.remove(id);
+    }
+
+    private void retain(String id, LocalAccessMetaData metaData) {
+        this.local.put(id, metaData);
+        // Sessions expired or removed by other members would otherwise be retained indefinitely
+        // Sweep only once the map doubled in size since the previous sweep, so that the cost of sweeping is amortized
+        int size = this.sweepSize.get();
+        if ((this.local.size() > size) && this.sweepSize.compareAndSet(size, Integer.MAX_VALUE)) {
+            Instant now = Instant.now();
+            this.local.values().removeIf(value -> value.isExpired(now));
+            this.sweepSize.set(Math.max(MIN_SWEEP_SIZE, this.local.size() * 2));
+        }
+    }
+
+    private static Duration getLastAccessEndOffset(SessionAccessMetaData metaData) {
+        return metaData.getSinceCreationDuration().plus(metaData.getLastAccessDuration());
+    }
+
+    private static class LocalAccessMetaData {
+        private final SessionAccessMetaData metaData;
+        private final Instant expirationTime;
+
+        LocalAccessMetaData(SessionAccessMetaData metaData, Instant expirationTime) {
+            this.metaData = metaData;
+            this.expirationTime = expirationTime;
+        }
+
+        SessionAccessMetaData getMetaData() {
+            return this.metaData;
+        }
+
+        boolean isExpired(Instant now) {
+            return this.expirationTime.isBefore(now);
+        }
+    }
+}
@@ -48,12 +48,18 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
     private final Batcher<TransactionBatch> batcher;
     private final Remover<String> remover;
     private final ImmutableSessionMetaDataFactory<MV> metaDataFactory;
+    private final SessionAccessReplicationThrottle throttle;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout) {
+        this(batcher, metaDataFactory, remover, closeTimeout, new SessionAccessReplicationThrottle(0));
+    }
+
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, SessionAccessReplicationThrottle throttle) {
         this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
         this.batcher = batcher;
         this.metaDataFactory = metaDataFactory;
         this.remover = remover;
+        this.throttle = throttle;
     }
 
     @Override
@@ -61,7 +67,12 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
         MV value = this.metaDataFactory.findValue(sessionId);
         if (value != null) {
             ImmutableSessionMetaData metaData = this.metaDataFactory.createImmutableSessionMetaData(sessionId, value);
-            this.schedule(sessionId, metaData);
+            Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
+            if (!maxInactiveInterval.isZero()) {
+                // The replicated last access time may lag behind the precise last access time, which is only known to the member that handled the last request
+                // Defer expiration accordingly, so that a session does not expire prematurely
+                this.scheduler.schedule(sessionId, metaData.getLastAccessEndTime().plus(maxInactiveInterval).plus(this.throttle.getMaxLag(maxInactiveInterval)));
+            }
         }
     }
 
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryInvalidated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryInvalidatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.wildfly.clustering.ee.Key;
+import org.wildfly.clustering.infinispan.spi.PredicateKeyFilter;
+import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
+
+/**
+ * A bounded, local near cache of the cache values of sessions whose primary owner is the local member.
+ * With session affinity, most requests for a session are handled by the same member, so that these requests need not read the session from the cache.
+ * A session is invalidated whenever any of its cache entries is written by another member, removed, invalidated, or evicted.
+ * Since a member is only notified of writes to entries that it owns, the near cache is cleared on topology change.
+ * <p>
+ * To avoid a global lock on every request, the near cache is split into independently locked segments, each evicting its least recently used session.
+ * Consequently, a session evicted from a full near cache is not necessarily the least recently used of all retained sessions.
+ * </p>
+ * @param <V> the cache value type of a session
+ */
+@Listener
+public class SessionNearCache<V> {
+    // Segments smaller than this would evict sessions too eagerly
+    static final int MIN_SEGMENT_SIZE = 16;
+
+    private final Cache<Key<String>, ?> cache;
+    private final Segment[] segments;
+
+    public SessionNearCache(Cache<Key<String>, ?> cache, int size) {
+        this.cache = cache;
+        int segments = Math.max(1, Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_SEGMENT_SIZE)));
+        int segmentSize = (size + segments - 1) / segments;
+        this.segments = new Segment[segments];
+        for (int i = 0; i < segments; ++i) {
+            this.segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    public void start() {
+        this.cache.addListener(this, new PredicateKeyFilter<>(SessionKeyFilter.INSTANCE), null);
+    }
+
+    public void stop() {
+        this.cache.removeListener(this);
+        this.clear();
+    }
+
+    /**
+     * Returns the cache value of the specified session, loading and retaining it via the specified loader if necessary.
+     * @param id a session identifier
+     * @param loader a function that reads the cache value of a session from the cache
+     * @return the cache value of the session, or null, if no such session exists
+     */
+    public V computeIfAbsent(String id, Function<String, V> loader) {
+        Segment segment = this.segment(id);
+        // A load is tracked via a unique placeholder, so that a concurrent invalidation prevents a stale value from being retained
+        Object placeholder = new Placeholder();
+        synchronized (segment) {
+            Object existing = segment.get(id);
+            if ((existing != null) && !(existing instanceof Placeholder)) {
+                @SuppressWarnings("unchecked")
+                V value = (V) existing;
+                return value;
+            }
+            segment.put(id, placeholder);
+        }
+        V value = null;
+        try {
+            value = loader.apply(id);
+            return value;
+        } finally {
+            boolean retain = (value != null) && new CacheLocality(this.cache).isLocal(new SessionCreationMetaDataKey(id));
+            synchronized (segment) {
+                if (retain) {
+                    segment.replace(id, placeholder, value);
+                } else {
+                    segment.remove(id, placeholder);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the cache value of the specified session, if present.
+     * @param id a session identifier
+     */
+    public void invalidate(String id) {
+        Segment segment = this.segment(id);
+        synchronized (segment) {
+            segment.remove(id);
+        }
+    }
+
+    /**
+     * Discards all retained sessions.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of retained sessions.
+     * @return a number of sessions
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @CacheEntryModified
+    public CompletionStage<Void> modified(CacheEntryModifiedEvent<Key<String>, ?> event) {
+        // Local writes modify the retained values directly
+        if (!event.isOriginLocal()) {
+            this.invalidate(event);
+        }
+        return CompletableFutures.completedNull();
+    }
+
+    @CacheEntryRemoved
+    public CompletionStage<Void> removed(CacheEntryRemovedEvent<Key<String>, ?> event) {
+        this.invalidate(event);
+        return CompletableFutures.completedNull();
+    }
+
+    @CacheEntryInvalidated
+    public CompletionStage<Void> invalidated(CacheEntryInvalidatedEvent<Key<String>, ?> event) {
+        this.invalidate(event);
+        return CompletableFutures.completedNull();
+    }
+
+    @CacheEntriesEvicted
+    public CompletionStage<Void> evicted(CacheEntriesEvictedEvent<Key<String>, ?> event) {
+        for (Key<String> key : event.getEntries().keySet()) {
+            this.invalidate(key.getId());
+        }
+        return CompletableFutures.completedNull();
+    }
+
+    @TopologyChanged
+    public CompletionStage<Void> topologyChanged(TopologyChangedEvent<Key<String>, ?> event) {
+        this.clear();
+        return CompletableFutures.completedNull();
+    }
+
+    private void invalidate(CacheEntryEvent<Key<String>, ?> event) {
+        this.invalidate(event.getKey().getId());
+    }
+
+    private Segment segment(String id) {
+        int hash = id.hashCode();
+        // Spread the higher bits, since only the lower bits select a segment
+        return this.segments[(hash ^ (hash >>> 16)) & (this.segments.length - 1)];
+    }
+
+    private static class Placeholder {
+    }
+
+    /**
+     * A bounded, access-ordered map, guarded by itself, since it is structurally modified on read.
+     */
+    private static class Segment extends LinkedHashMap<String, Object> {
+        private static final long serialVersionUID = -5437567938373546958L;
+
+        private final int size;
+
+        Segment(int size) {
+            super(16, 0.75f, true);
+            this.size = size;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return this.size() > this.size;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheException;
+import org.infinispan.context.Flag;
+import org.infinispan.transaction.WriteSkewException;
+import org.wildfly.clustering.ee.Mutator;
+
+/**
+ * Mutates a cache entry of a pessimistic transactional cache that was read without locking.
+ * The entry is only locked upon mutation, after which it is only written if its committed version is still the version that was read.
+ * Otherwise, the mutation fails, causing the enclosing batch to roll back.
+ * The version of an entry is determined by a function of its value, typically a snapshot of its mutable state.
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class VersionedCacheEntryMutator<K, V> implements Mutator {
+
+    private final AdvancedCache<K, V> cache;
+    private final K key;
+    private final V value;
+    private final Function<V, Object> version;
+    private final Function<V, Object> identity;
+    private final Object readVersion;
+    private final AtomicBoolean mutated = new AtomicBoolean(false);
+
+    /**
+     * Creates a mutator for a cache entry, whose value must not yet have been modified since it was read.
+     * @param cache a pessimistic transactional cache
+     * @param key the key of the cache entry
+     * @param value the value of the cache entry, as read
+     * @param version a function returning the version of a cache value
+     */
+    public VersionedCacheEntryMutator(Cache<K, V> cache, K key, V value, Function<V, Object> version) {
+        this(cache, key, value, version, v -> v);
+    }
+
+    /**
+     * Creates a mutator for a cache entry, whose value must not yet have been modified since it was read.
+     * @param cache a pessimistic transactional cache
+     * @param key the key of the cache entry
+     * @param value the value of the cache entry, as read
+     * @param version a function returning the version of a cache value
+     * @param identity a function returning the object modified in place by a mutation of a cache value
+     */
+    public VersionedCacheEntryMutator(Cache<K, V> cache, K key, V value, Function<V, Object> version, Function<V, Object> identity) {
+        this.cache = cache.getAdvancedCache();
+        this.key = key;
+        this.value = value;
+        this.version = version;
+        this.identity = identity;
+        this.readVersion = version.apply(value);
+    }
+
+    @Override
+    public void mutate() {
+        // We only ever have to perform a replace once within a batch
+        if (this.mutated.compareAndSet(false, true)) {
+            this.cache.lock(this.key);
+
+            // Within a repeatable-read transaction, the entry would read as of its first read, so read its committed value outside of the transaction.
+            // As we now hold its lock, the committed value cannot change until our transaction completes.
+            V committedValue = this.readCommitted();
+            if (committedValue == null) {
+                throw new WriteSkewException(String.format("%s was removed concurrently", this.key), this.key);
+            }
+            // A value read from a local data container may share our instance, and thus already include our modifications
+            if ((this.identity.apply(committedValue) != this.identity.apply(this.value)) && !Objects.equals(this.version.apply(committedValue), this.readVersion)) {
+                throw new WriteSkewException(String.format("%s was modified concurrently", this.key), this.key);
+            }
+            // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+            this.cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY).put(this.key, this.value);
+        }
+    }
+
+    private V readCommitted() {
+        TransactionManager tm = this.cache.getTransactionManager();
+        try {
+            Transaction transaction = tm.suspend();
+            try {
+                return this.cache.get(this.key);
+            } finally {
+                tm.resume(transaction);
+            }
+        } catch (SystemException | InvalidTransactionException e) {
+            throw new CacheException(e);
+        }
+    }
+}
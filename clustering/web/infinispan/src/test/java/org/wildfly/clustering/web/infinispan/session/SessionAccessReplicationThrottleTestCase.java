@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.web.cache.session.SessionAccessMetaData;
+import org.wildfly.clustering.web.cache.session.SessionCreationMetaData;
+import org.wildfly.clustering.web.cache.session.SimpleSessionAccessMetaData;
+
+/**
+ * Unit test for {@link SessionAccessReplicationThrottle}.
+ */
+public class SessionAccessReplicationThrottleTestCase {
+
+    @Test
+    public void disabled() {
+        SessionAccessReplicationThrottle throttle = new SessionAccessReplicationThrottle(0);
+
+        assertFalse(throttle.isEnabled());
+        assertEquals(Duration.ZERO, throttle.getMaxLag(Duration.ofMinutes(30)));
+    }
+
+    @Test
+    public void test() {
+        String id = "session";
+        SessionAccessReplicationThrottle throttle = new SessionAccessReplicationThrottle(0.25);
+        SessionCreationMetaData creationMetaData = mock(SessionCreationMetaData.class);
+        Mutator mutator = mock(Mutator.class);
+
+        when(creationMetaData.getCreationTime()).thenReturn(Instant.now());
+        when(creationMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(20));
+
+        assertTrue(throttle.isEnabled());
+        assertEquals(Duration.ofMinutes(5), throttle.getMaxLag(Duration.ofMinutes(20)));
+
+        SessionAccessMetaData replicated = new SimpleSessionAccessMetaData();
+        replicated.setLastAccessDuration(Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+        assertSame(replicated, throttle.getAccessMetaData(id, replicated));
+
+        // Access that advances the last access time by less than the threshold is not replicated
+        SessionAccessMetaData metaData = SessionAccessReplicationThrottle.copy(replicated);
+        Mutator throttledMutator = throttle.createMutator(id, creationMetaData, replicated, metaData, mutator);
+        metaData.setLastAccessDuration(Duration.ofMinutes(4), Duration.ofSeconds(1));
+        throttledMutator.mutate();
+
+        verifyNoInteractions(mutator);
+        SessionAccessMetaData local = throttle.getAccessMetaData(id, replicated);
+        assertEquals(Duration.ofMinutes(4), local.getSinceCreationDuration());
+
+        // Access that advances the last access time by at least the threshold is replicated
+        metaData = SessionAccessReplicationThrottle.copy(local);
+        throttledMutator = throttle.createMutator(id, creationMetaData, replicated, metaData, mutator);
+        metaData.setLastAccessDuration(Duration.ofMinutes(6), Duration.ofSeconds(1));
+        throttledMutator.mutate();
+
+        verify(mutator).mutate();
+        // Replicated access meta data is still retained, in case the caller references the previously replicated instance
+        assertEquals(Duration.ofMinutes(6), throttle.getAccessMetaData(id, replicated).getSinceCreationDuration());
+        assertSame(metaData, throttle.getAccessMetaData(id, metaData));
+    }
+
+    @Test
+    public void replicatedByOtherMember() {
+        String id = "session";
+        SessionAccessReplicationThrottle throttle = new SessionAccessReplicationThrottle(0.5);
+        SessionCreationMetaData creationMetaData = mock(SessionCreationMetaData.class);
+        Mutator mutator = mock(Mutator.class);
+
+        when(creationMetaData.getCreationTime()).thenReturn(Instant.now());
+        when(creationMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(20));
+
+        SessionAccessMetaData replicated = new SimpleSessionAccessMetaData();
+        SessionAccessMetaData metaData = SessionAccessReplicationThrottle.copy(replicated);
+        Mutator throttledMutator = throttle.createMutator(id, creationMetaData, replicated, metaData, mutator);
+        metaData.setLastAccessDuration(Duration.ofMinutes(1), Duration.ofSeconds(1));
+        throttledMutator.mutate();
+
+        verifyNoInteractions(mutator);
+
+        // A more recent access replicated by some other member supersedes the locally retained access meta data
+        SessionAccessMetaData newer = new SimpleSessionAccessMetaData();
+        newer.setLastAccessDuration(Duration.ofMinutes(2), Duration.ofSeconds(1));
+
+        assertSame(newer, throttle.getAccessMetaData(id, newer));
+        assertSame(replicated, throttle.getAccessMetaData(id, replicated));
+    }
+}
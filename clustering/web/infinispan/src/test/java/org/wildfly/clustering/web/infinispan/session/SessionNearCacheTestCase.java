@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.function.Function;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Key;
+
+/**
+ * Unit test for {@link SessionNearCache}.
+ */
+public class SessionNearCacheTestCase {
+
+    private final Cache<Key<String>, Object> cache = mock(Cache.class);
+    private final AdvancedCache<Key<String>, Object> advancedCache = mock(AdvancedCache.class);
+
+    public SessionNearCacheTestCase() {
+        // A cache without a distribution manager is considered local
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+    }
+
+    @Test
+    public void computeIfAbsent() {
+        SessionNearCache<Object> nearCache = new SessionNearCache<>(this.cache, 2);
+        Function<String, Object> loader = mock(Function.class);
+        Object value = new Object();
+        String id = "session";
+
+        when(loader.apply(id)).thenReturn(value);
+
+        assertSame(value, nearCache.computeIfAbsent(id, loader));
+        assertSame(value, nearCache.computeIfAbsent(id, loader));
+
+        verify(loader).apply(id);
+
+        // Missing sessions are not retained
+        assertNull(nearCache.computeIfAbsent("missing", loader));
+        assertEquals(1, nearCache.size());
+    }
+
+    @Test
+    public void bounded() {
+        SessionNearCache<Object> nearCache = new SessionNearCache<>(this.cache, 2);
+
+        nearCache.computeIfAbsent("a", id -> id);
+        nearCache.computeIfAbsent("b", id -> id);
+        // Refresh a, so that b is the least recently used
+        nearCache.computeIfAbsent("a", id -> id);
+        nearCache.computeIfAbsent("c", id -> id);
+
+        assertEquals(2, nearCache.size());
+        Function<String, Object> unexpected = id -> {
+            throw new AssertionError(id);
+        };
+        assertEquals("a", nearCache.computeIfAbsent("a", unexpected));
+        assertEquals("c", nearCache.computeIfAbsent("c", unexpected));
+    }
+
+    @Test
+    public void segmented() {
+        int size = SessionNearCache.MIN_SEGMENT_SIZE * 8;
+        SessionNearCache<Object> nearCache = new SessionNearCache<>(this.cache, size);
+
+        for (int i = 0; i < size * 4; ++i) {
+            nearCache.computeIfAbsent(Integer.toString(i), Function.identity());
+        }
+        // Each segment is bounded, so the near cache as a whole retains at most its size
+        assertTrue(nearCache.size() > 0);
+        assertTrue(nearCache.size() <= size);
+
+        // The most recently loaded session is retained by its segment
+        String last = Integer.toString(size * 4 - 1);
+        assertEquals(last, nearCache.computeIfAbsent(last, id -> {
+            throw new AssertionError(id);
+        }));
+
+        nearCache.clear();
+        assertEquals(0, nearCache.size());
+    }
+
+    @Test
+    public void invalidatedDuringLoad() {
+        SessionNearCache<Object> nearCache = new SessionNearCache<>(this.cache, 2);
+        String id = "session";
+
+        Object stale = nearCache.computeIfAbsent(id, key -> {
+            nearCache.invalidate(key);
+            return new Object();
+        });
+        assertNotNull(stale);
+        assertEquals(0, nearCache.size());
+    }
+
+    @Test
+    public void events() {
+        SessionNearCache<Object> nearCache = new SessionNearCache<>(this.cache, 2);
+        String id = "session";
+        Key<String> key = new SessionAccessMetaDataKey(id);
+
+        nearCache.computeIfAbsent(id, Function.identity());
+
+        CacheEntryModifiedEvent<Key<String>, Object> localEvent = mock(CacheEntryModifiedEvent.class);
+        when(localEvent.isOriginLocal()).thenReturn(true);
+        when(localEvent.getKey()).thenReturn(key);
+
+        nearCache.modified(localEvent);
+
+        assertEquals(1, nearCache.size());
+
+        CacheEntryModifiedEvent<Key<String>, Object> remoteEvent = mock(CacheEntryModifiedEvent.class);
+        when(remoteEvent.isOriginLocal()).thenReturn(false);
+        when(remoteEvent.getKey()).thenReturn(key);
+
+        nearCache.modified(remoteEvent);
+
+        assertEquals(0, nearCache.size());
+
+        nearCache.computeIfAbsent(id, Function.identity());
+
+        CacheEntryRemovedEvent<Key<String>, Object> removedEvent = mock(CacheEntryRemovedEvent.class);
+        when(removedEvent.isOriginLocal()).thenReturn(true);
+        when(removedEvent.getKey()).thenReturn(key);
+
+        nearCache.removed(removedEvent);
+
+        assertEquals(0, nearCache.size());
+    }
+}
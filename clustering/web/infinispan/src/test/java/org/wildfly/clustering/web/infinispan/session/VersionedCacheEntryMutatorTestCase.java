@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.TransactionManager;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.transaction.TransactionMode;
+import org.infinispan.transaction.WriteSkewException;
+import org.infinispan.transaction.lookup.EmbeddedTransactionManagerLookup;
+import org.infinispan.util.concurrent.IsolationLevel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+
+/**
+ * Unit test for {@link VersionedCacheEntryMutator}, using concurrent transactions against a pessimistic transactional cache.
+ */
+public class VersionedCacheEntryMutatorTestCase {
+    private static final String CACHE_NAME = "sessions";
+    private static final String KEY = "session";
+
+    private EmbeddedCacheManager manager;
+    private Cache<String, Counter> cache;
+    private TransactionManager tm;
+
+    @Before
+    public void init() {
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder.transaction().transactionMode(TransactionMode.TRANSACTIONAL).lockingMode(LockingMode.PESSIMISTIC).transactionManagerLookup(new EmbeddedTransactionManagerLookup());
+        builder.locking().isolationLevel(IsolationLevel.REPEATABLE_READ).lockAcquisitionTimeout(1, TimeUnit.MINUTES);
+        this.manager = new DefaultCacheManager();
+        this.manager.defineConfiguration(CACHE_NAME, builder.build());
+        this.cache = this.manager.getCache(CACHE_NAME);
+        this.tm = this.cache.getAdvancedCache().getTransactionManager();
+        this.cache.put(KEY, new Counter(0));
+    }
+
+    @After
+    public void destroy() {
+        this.manager.stop();
+    }
+
+    @Test
+    public void conflict() throws Exception {
+        CyclicBarrier read = new CyclicBarrier(2);
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Both transactions read the same version, the first writes and holds its lock for a while before it commits
+            Future<Boolean> first = executor.submit(() -> this.increment(() -> await(read), () -> {
+                locked.countDown();
+                Thread.sleep(100);
+            }));
+            Future<Boolean> second = executor.submit(() -> this.increment(() -> {
+                await(read);
+                locked.await();
+            }, () -> { }));
+
+            assertTrue(first.get());
+            // The second transaction waits for the lock, then detects the modification by the first transaction
+            assertFalse(second.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, this.cache.get(KEY).get());
+    }
+
+    @Test
+    public void noConflict() throws Exception {
+        // Transactions that do not overlap never conflict
+        for (int i = 0; i < 10; ++i) {
+            assertTrue(this.increment(() -> { }, () -> { }));
+        }
+        assertEquals(10, this.cache.get(KEY).get());
+    }
+
+    @Test
+    public void removed() throws Exception {
+        // Remove the entry outside of the transaction, after it was read
+        assertFalse(this.increment(() -> CompletableFuture.runAsync(() -> this.cache.remove(KEY)).get(), () -> { }));
+        assertNull(this.cache.get(KEY));
+    }
+
+    @Test
+    public void concurrentIncrements() throws Exception {
+        int threads = 8;
+        int attempts = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int successes = 0;
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int j = 0; j < attempts; ++j) {
+                        if (this.increment(() -> { }, () -> { })) {
+                            count += 1;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                successes += future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(successes > 0);
+        // Every successful increment must be retained, i.e. no update was lost to a concurrent write
+        assertEquals(successes, this.cache.get(KEY).get());
+    }
+
+    /**
+     * Increments the counter within a transaction.
+     * @return true, if the transaction committed, false if it rolled back due to a conflicting write
+     */
+    private boolean increment(Task afterRead, Task afterMutate) throws Exception {
+        this.tm.begin();
+        try {
+            // Emulate a value read from another member, i.e. a distinct instance
+            Counter counter = this.cache.get(KEY).copy();
+            Mutator mutator = new VersionedCacheEntryMutator<>(this.cache, KEY, counter, Counter::get);
+            afterRead.run();
+            counter.increment();
+            mutator.mutate();
+            afterMutate.run();
+            this.tm.commit();
+            return true;
+        } catch (WriteSkewException e) {
+            this.tm.rollback();
+            return false;
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) throws Exception {
+        barrier.await(1, TimeUnit.MINUTES);
+    }
+
+    interface Task {
+        void run() throws Exception;
+    }
+
+    static class Counter {
+        private int value;
+
+        Counter(int value) {
+            this.value = value;
+        }
+
+        int get() {
+            return this.value;
+        }
+
+        void increment() {
+            this.value += 1;
+        }
+
+        Counter copy() {
+            return new Counter(this.value);
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 package org.jboss.as.connector.dynamicresource;
 
+import org.jboss.as.connector.services.workmanager.NamedWorkManager;
 import org.jboss.as.connector.subsystems.resourceadapters.Constants;
 import org.jboss.as.connector.subsystems.resourceadapters.ResourceAdaptersExtension;
 import org.jboss.as.controller.OperationContext;
@@ -56,6 +57,10 @@ public class ClearWorkManagerStatisticsHandler implements OperationStepHandler {
             context.addStep(new OperationStepHandler() {
                 public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
                     wm.getStatistics().clear();
+                    if (wm instanceof NamedWorkManager) {
+                        ((NamedWorkManager) wm).getQueueWaitTimeHistogram().clear();
+                        ((NamedWorkManager) wm).getExecutionTimeHistogram().clear();
+                    }
                     context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
                 }
             }, OperationContext.Stage.RUNTIME);
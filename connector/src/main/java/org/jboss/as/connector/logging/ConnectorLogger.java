@@ -29,6 +29,7 @@ import static org.jboss.logging.Logger.Level.WARN;
 
 import java.sql.Driver;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.security.auth.Subject;
 
@@ -953,4 +954,7 @@ public interface ConnectorLogger extends BasicLogger {
 
     @Message(id = 122, value = "Thread pool name %s(type: %s) must match the workmanager name %s.")
     OperationFailedException threadPoolNameMustMatchWorkManagerName(String threadPoolName, String threadPoolType, String workManagerName);
+
+    @Message(id = 123, value = "Work rejected by %s since %d works are already queued or executing")
+    RejectedExecutionException workStealingExecutorFull(String name, int capacity);
 }
@@ -61,15 +61,28 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
 
     private final InjectedValue<CommandDispatcherFactory> dispatcherFactory = new InjectedValue<>();
 
+    private final long statisticsFlushInterval;
+
     /**
      * create an instance
      *
      * @param value the work manager
      */
     public DistributedWorkManagerService(NamedDistributedWorkManager value) {
+        this(value, 0L);
+    }
+
+    /**
+     * create an instance
+     *
+     * @param value the work manager
+     * @param statisticsFlushInterval the interval, in milliseconds, at which coalesced statistics deltas are sent to other members, or 0, to send them immediately
+     */
+    public DistributedWorkManagerService(NamedDistributedWorkManager value, long statisticsFlushInterval) {
         super();
         ROOT_LOGGER.debugf("Building DistributedWorkManager");
         this.value = value;
+        this.statisticsFlushInterval = statisticsFlushInterval;
     }
 
     @Override
@@ -81,7 +94,7 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
     public void start(StartContext context) throws StartException {
         ROOT_LOGGER.debugf("Starting Jakarta Connectors DistributedWorkManager: ", value.getName());
 
-        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.dispatcherFactory.getValue(), this.value.getName());
+        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.dispatcherFactory.getValue(), this.value.getName(), this.statisticsFlushInterval);
 
         this.value.setTransport(transport);
 
@@ -27,6 +27,7 @@ import javax.resource.spi.work.Work;
 import javax.resource.spi.work.WorkListener;
 import java.util.concurrent.CountDownLatch;
 
+import org.jboss.as.ee.utils.WorkTimeHistogram;
 import org.jboss.jca.core.spi.security.SecurityIntegration;
 import org.jboss.jca.core.workmanager.WorkManagerImpl;
 
@@ -42,6 +43,10 @@ public class NamedWorkManager extends WorkManagerImpl {
 
     private final boolean elytronEnabled;
 
+    private final WorkTimeHistogram queueWaitTime = new WorkTimeHistogram();
+
+    private final WorkTimeHistogram executionTime = new WorkTimeHistogram();
+
     /**
      * Constructor
      * @param name The name of the WorkManager
@@ -63,4 +68,18 @@ public class NamedWorkManager extends WorkManagerImpl {
     public boolean isElytronEnabled() {
         return elytronEnabled;
     }
+
+    /**
+     * @return the histogram of the time works spent waiting for a thread
+     */
+    public WorkTimeHistogram getQueueWaitTimeHistogram() {
+        return queueWaitTime;
+    }
+
+    /**
+     * @return the histogram of the time works spent executing
+     */
+    public WorkTimeHistogram getExecutionTimeHistogram() {
+        return executionTime;
+    }
 }
@@ -25,6 +25,7 @@ package org.jboss.as.connector.services.workmanager;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.ee.utils.WorkTimeHistogram;
 import org.jboss.as.threads.ManagedJBossThreadPoolExecutorService;
 import org.jboss.as.threads.ManagedQueueExecutorService;
 import org.jboss.as.threads.ManagedQueuelessExecutorService;
@@ -50,6 +51,8 @@ public class StatisticsExecutorImpl implements StatisticsExecutor {
             org.jboss.jca.core.workmanager.StatisticsExecutorImpl.class.getName());
 
     private final BlockingExecutor realExecutor;
+    private final WorkTimeHistogram queueWaitTime;
+    private final WorkTimeHistogram executionTime;
 
     /**
      * StatisticsExecutorImpl constructor
@@ -57,29 +60,46 @@ public class StatisticsExecutorImpl implements StatisticsExecutor {
      * @param realExecutor the real executor we are delegating
      */
     public StatisticsExecutorImpl(BlockingExecutor realExecutor) {
+        this(realExecutor, null, null);
+    }
+
+    /**
+     * StatisticsExecutorImpl constructor
+     *
+     * @param realExecutor the real executor we are delegating
+     * @param queueWaitTime histogram recording the time works spend waiting for a thread, or null
+     * @param executionTime histogram recording the time works spend executing, or null
+     */
+    public StatisticsExecutorImpl(BlockingExecutor realExecutor, WorkTimeHistogram queueWaitTime, WorkTimeHistogram executionTime) {
         this.realExecutor = realExecutor;
+        this.queueWaitTime = queueWaitTime;
+        this.executionTime = executionTime;
     }
 
 
     @Override
     public void execute(Runnable runnable) {
-        realExecutor.execute(runnable);
+        realExecutor.execute(wrap(runnable));
     }
 
     @Override
     public void executeBlocking(Runnable runnable) throws RejectedExecutionException, InterruptedException {
-        realExecutor.executeBlocking(runnable);
+        realExecutor.executeBlocking(wrap(runnable));
     }
 
     @Override
     public void executeBlocking(Runnable runnable, long l, TimeUnit timeUnit) throws RejectedExecutionException,
             InterruptedException {
-        realExecutor.executeBlocking(runnable, l, timeUnit);
+        realExecutor.executeBlocking(wrap(runnable), l, timeUnit);
     }
 
     @Override
     public void executeNonBlocking(Runnable runnable) throws RejectedExecutionException {
-        realExecutor.executeNonBlocking(runnable);
+        realExecutor.executeNonBlocking(wrap(runnable));
+    }
+
+    private Runnable wrap(Runnable runnable) {
+        return (queueWaitTime != null && executionTime != null) ? new TimedWork(runnable, queueWaitTime, executionTime) : runnable;
     }
 
     @Override
@@ -110,4 +130,32 @@ public class StatisticsExecutorImpl implements StatisticsExecutor {
         }
         return 0L;
     }
+
+    /**
+     * Returns the maximum number of threads of the specified executor.
+     *
+     * @param realExecutor an executor
+     * @return the maximum number of threads, or 0 if unknown
+     */
+    static int getMaxThreads(BlockingExecutor realExecutor) {
+        if (realExecutor instanceof JBossThreadPoolExecutor) {
+            return ((JBossThreadPoolExecutor) realExecutor).getMaximumPoolSize();
+        }
+        if (realExecutor instanceof ThreadPoolExecutorMBean) {
+            return ((ThreadPoolExecutorMBean) realExecutor).getMaxThreads();
+        }
+        if (realExecutor instanceof ManagedQueueExecutorService) {
+            return ((ManagedQueueExecutorService) realExecutor).getMaxThreads();
+        }
+        if (realExecutor instanceof ManagedJBossThreadPoolExecutorService) {
+            return ((ManagedJBossThreadPoolExecutorService) realExecutor).getMaxThreads();
+        }
+        if (realExecutor instanceof ManagedQueuelessExecutorService) {
+            return ((ManagedQueuelessExecutorService) realExecutor).getMaxThreads();
+        }
+        if (realExecutor instanceof ManagedScheduledExecutorService) {
+            return ((ManagedScheduledExecutorService) realExecutor).getLargestPoolSize();
+        }
+        return 0;
+    }
 }
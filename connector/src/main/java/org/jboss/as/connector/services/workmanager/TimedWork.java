@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+
+/**
+ * Decorates a work dispatched to a work manager thread pool, recording the time it spent queued and the time it spent executing.
+ */
+final class TimedWork implements Runnable {
+
+    private final Runnable work;
+    private final WorkTimeHistogram queueWaitTime;
+    private final WorkTimeHistogram executionTime;
+    private final long submitted = System.nanoTime();
+
+    TimedWork(Runnable work, WorkTimeHistogram queueWaitTime, WorkTimeHistogram executionTime) {
+        this.work = work;
+        this.queueWaitTime = queueWaitTime;
+        this.executionTime = executionTime;
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        this.queueWaitTime.record(start - this.submitted);
+        try {
+            this.work.run();
+        } finally {
+            this.executionTime.record(System.nanoTime() - start);
+        }
+    }
+}
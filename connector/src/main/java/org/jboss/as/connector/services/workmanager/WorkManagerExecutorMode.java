@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+import org.jboss.jca.core.api.workmanager.StatisticsExecutor;
+import org.jboss.threads.BlockingExecutor;
+
+/**
+ * Enumerates the strategies with which a work manager executes works.
+ */
+public enum WorkManagerExecutorMode {
+    /**
+     * Works are executed by the blocking bounded queue thread pools configured for the work manager.
+     */
+    THREAD_POOL() {
+        @Override
+        StatisticsExecutor createExecutor(String name, BlockingExecutor threadPool, int queueLength, WorkTimeHistogram queueWaitTime, WorkTimeHistogram executionTime) {
+            return new StatisticsExecutorImpl(threadPool, queueWaitTime, executionTime);
+        }
+    },
+    /**
+     * Works are executed by work-stealing pools, one per short-running and long-running lane,
+     * whose parallelism matches the maximum threads of the thread pools configured for the work manager.
+     * Like the configured thread pools, each lane accepts no more works than its maximum threads plus its queue length.
+     */
+    WORK_STEALING() {
+        @Override
+        StatisticsExecutor createExecutor(String name, BlockingExecutor threadPool, int queueLength, WorkTimeHistogram queueWaitTime, WorkTimeHistogram executionTime) {
+            // Size the pool according to its configured thread pool
+            int maxThreads = StatisticsExecutorImpl.getMaxThreads(threadPool);
+            int parallelism = (maxThreads > 0) ? maxThreads : Runtime.getRuntime().availableProcessors();
+            // Bound the works queued or executing, as would the configured thread pool
+            int capacity = (int) Math.min(Integer.MAX_VALUE, (long) parallelism + Math.max(0, queueLength));
+            return new WorkStealingStatisticsExecutor(name, parallelism, capacity, queueWaitTime, executionTime);
+        }
+    },
+    ;
+
+    /**
+     * Creates the executor of a work manager lane.
+     *
+     * @param name the name of the lane
+     * @param threadPool the thread pool configured for the lane
+     * @param queueLength the queue length of the thread pool configured for the lane
+     * @param queueWaitTime histogram recording the time works spend waiting for a thread
+     * @param executionTime histogram recording the time works spend executing
+     * @return an executor
+     */
+    abstract StatisticsExecutor createExecutor(String name, BlockingExecutor threadPool, int queueLength, WorkTimeHistogram queueWaitTime, WorkTimeHistogram executionTime);
+}
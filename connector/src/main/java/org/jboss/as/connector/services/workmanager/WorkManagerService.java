@@ -29,7 +29,9 @@ import java.util.concurrent.Executor;
 
 import org.jboss.as.connector.security.ElytronSecurityIntegration;
 import org.jboss.as.connector.util.ConnectorServices;
+import org.jboss.as.ee.utils.WorkTimeHistogram;
 import org.jboss.as.txn.integration.JBossContextXATerminator;
+import org.jboss.jca.core.api.workmanager.StatisticsExecutor;
 import org.jboss.jca.core.security.picketbox.PicketBoxSecurityIntegration;
 import org.jboss.jca.core.tx.jbossts.XATerminatorImpl;
 import org.jboss.jca.core.workmanager.WorkManagerCoordinator;
@@ -51,6 +53,16 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
 
     private final NamedWorkManager value;
 
+    private final WorkManagerExecutorMode executorMode;
+
+    private final int shortRunningQueueLength;
+
+    private final int longRunningQueueLength;
+
+    private volatile StatisticsExecutor shortRunningExecutor;
+
+    private volatile StatisticsExecutor longRunningExecutor;
+
     private final InjectedValue<Executor> executorShort = new InjectedValue<Executor>();
 
     private final InjectedValue<Executor> executorLong = new InjectedValue<Executor>();
@@ -63,9 +75,24 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
      * @param value the work manager
      */
     public WorkManagerService(NamedWorkManager value) {
+        this(value, WorkManagerExecutorMode.THREAD_POOL, 0, 0);
+    }
+
+    /**
+     * create an instance
+     *
+     * @param value the work manager
+     * @param executorMode the strategy used to execute works
+     * @param shortRunningQueueLength the queue length of the short-running thread pool
+     * @param longRunningQueueLength the queue length of the long-running thread pool, if any
+     */
+    public WorkManagerService(NamedWorkManager value, WorkManagerExecutorMode executorMode, int shortRunningQueueLength, int longRunningQueueLength) {
         super();
         ROOT_LOGGER.debugf("Building WorkManager");
         this.value = value;
+        this.executorMode = executorMode;
+        this.shortRunningQueueLength = shortRunningQueueLength;
+        this.longRunningQueueLength = longRunningQueueLength;
     }
 
     @Override
@@ -78,14 +105,14 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
         ROOT_LOGGER.debugf("Starting Jakarta Connectors WorkManager: ", value.getName());
 
         BlockingExecutor longRunning = (BlockingExecutor) executorLong.getOptionalValue();
-        if (longRunning != null) {
-            this.value.setLongRunningThreadPool(longRunning);
-            this.value.setShortRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
-        } else {
-            this.value.setLongRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
-            this.value.setShortRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
-
-        }
+        BlockingExecutor shortRunning = (BlockingExecutor) executorShort.getValue();
+        WorkTimeHistogram queueWaitTime = this.value.getQueueWaitTimeHistogram();
+        WorkTimeHistogram executionTime = this.value.getExecutionTimeHistogram();
+        // Both lanes record work times, and share the short-running lane if no long-running thread pool is configured
+        this.shortRunningExecutor = this.executorMode.createExecutor(value.getName() + "-short-running", shortRunning, this.shortRunningQueueLength, queueWaitTime, executionTime);
+        this.longRunningExecutor = (longRunning != null) ? this.executorMode.createExecutor(value.getName() + "-long-running", longRunning, this.longRunningQueueLength, queueWaitTime, executionTime) : this.shortRunningExecutor;
+        this.value.setShortRunningThreadPool(this.shortRunningExecutor);
+        this.value.setLongRunningThreadPool(this.longRunningExecutor);
 
         this.value.setXATerminator(new XATerminatorImpl(xaTerminator.getValue()));
 
@@ -115,6 +142,14 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
         //shutting down immediately (synchronous method) the workmanager and release all works
         value.shutdown();
 
+        for (StatisticsExecutor executor : new StatisticsExecutor[] { this.longRunningExecutor, this.shortRunningExecutor }) {
+            if (executor instanceof WorkStealingStatisticsExecutor) {
+                ((WorkStealingStatisticsExecutor) executor).shutdown();
+            }
+        }
+        this.longRunningExecutor = null;
+        this.shortRunningExecutor = null;
+
         if (value.getName().equals(DEFAULT_NAME)) {
             WorkManagerCoordinator.getInstance().setDefaultWorkManager(null);
         } else {
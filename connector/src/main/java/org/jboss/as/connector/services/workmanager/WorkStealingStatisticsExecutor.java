@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.connector.logging.ConnectorLogger;
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+import org.jboss.jca.core.api.workmanager.StatisticsExecutor;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A StatisticsExecutor backed by a work-stealing {@link ForkJoinPool} operating in FIFO mode.
+ * Idle threads steal queued works from busy threads, which reduces contention on a single shared queue
+ * when many works (e.g. message deliveries) are submitted concurrently.
+ * Since the pool queue itself is unbounded, the number of works queued or executing is bounded by a capacity,
+ * typically the maximum threads plus the queue length of the configured thread pool.
+ * Blocking submissions wait for capacity to become available, while non-blocking submissions are rejected.
+ */
+public class WorkStealingStatisticsExecutor implements StatisticsExecutor {
+
+    private final String name;
+    private final ForkJoinPool pool;
+    private final int capacity;
+    private final Semaphore permits;
+    private final WorkTimeHistogram queueWaitTime;
+    private final WorkTimeHistogram executionTime;
+
+    /**
+     * Creates a work-stealing executor
+     *
+     * @param name the name prefix of the threads of this executor
+     * @param parallelism the target number of threads
+     * @param capacity the maximum number of works that may be queued or executing
+     * @param queueWaitTime histogram recording the time works spend waiting for a thread
+     * @param executionTime histogram recording the time works spend executing
+     */
+    public WorkStealingStatisticsExecutor(String name, int parallelism, int capacity, WorkTimeHistogram queueWaitTime, WorkTimeHistogram executionTime) {
+        this.name = name;
+        this.pool = new ForkJoinPool(parallelism, new WorkerThreadFactory(name), null, true);
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity);
+        this.queueWaitTime = queueWaitTime;
+        this.executionTime = executionTime;
+    }
+
+    @Override
+    public void execute(Runnable runnable) {
+        this.executeNonBlocking(runnable);
+    }
+
+    @Override
+    public void executeBlocking(Runnable runnable) throws RejectedExecutionException, InterruptedException {
+        this.permits.acquire();
+        this.submit(runnable);
+    }
+
+    @Override
+    public void executeBlocking(Runnable runnable, long timeout, TimeUnit unit) throws RejectedExecutionException, InterruptedException {
+        if (!this.permits.tryAcquire(timeout, unit)) {
+            throw ConnectorLogger.ROOT_LOGGER.workStealingExecutorFull(this.name, this.capacity);
+        }
+        this.submit(runnable);
+    }
+
+    @Override
+    public void executeNonBlocking(Runnable runnable) throws RejectedExecutionException {
+        if (!this.permits.tryAcquire()) {
+            throw ConnectorLogger.ROOT_LOGGER.workStealingExecutorFull(this.name, this.capacity);
+        }
+        this.submit(runnable);
+    }
+
+    private void submit(Runnable runnable) {
+        Runnable work = new TimedWork(runnable, this.queueWaitTime, this.executionTime);
+        try {
+            this.pool.execute(() -> {
+                try {
+                    work.run();
+                } finally {
+                    this.permits.release();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public long getNumberOfFreeThreads() {
+        return Math.max(0L, (long) this.pool.getParallelism() - this.pool.getActiveThreadCount());
+    }
+
+    /**
+     * Initiates an orderly shutdown of this executor, in which previously submitted works are executed, but no new works are accepted.
+     */
+    public void shutdown() {
+        this.pool.shutdown();
+    }
+
+    private static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final String name;
+        private final AtomicInteger index = new AtomicInteger();
+
+        WorkerThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            PrivilegedAction<ForkJoinWorkerThread> action = () -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(this.name + "-" + this.index.incrementAndGet());
+                return thread;
+            };
+            return WildFlySecurityManager.isChecking() ? AccessController.doPrivileged(action) : action.run();
+        }
+    }
+}
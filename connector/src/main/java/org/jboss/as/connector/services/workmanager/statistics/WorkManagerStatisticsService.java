@@ -27,10 +27,12 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.jboss.as.connector.dynamicresource.ClearWorkManagerStatisticsHandler;
+import org.jboss.as.connector.services.workmanager.NamedWorkManager;
 import org.jboss.as.connector.subsystems.resourceadapters.CommonAttributes;
 import org.jboss.as.connector.subsystems.resourceadapters.Constants;
 import org.jboss.as.connector.subsystems.resourceadapters.WorkManagerRuntimeAttributeReadHandler;
 import org.jboss.as.connector.subsystems.resourceadapters.WorkManagerRuntimeAttributeWriteHandler;
+import org.jboss.as.connector.subsystems.resourceadapters.WorkTimeHistogramReadHandler;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -111,6 +113,12 @@ public class WorkManagerStatisticsService implements Service<ManagementResourceR
                     wmSubRegistration.registerReadWriteAttribute(attribute, readHandler, writeHandler);
                 }
 
+                if (wm instanceof NamedWorkManager) {
+                    OperationStepHandler histogramHandler = new WorkTimeHistogramReadHandler((NamedWorkManager) wm);
+                    wmSubRegistration.registerMetric(Constants.WORK_QUEUE_WAIT_TIME, histogramHandler);
+                    wmSubRegistration.registerMetric(Constants.WORK_EXECUTION_TIME, histogramHandler);
+                }
+
                 wmSubRegistration.registerOperationHandler(ClearWorkManagerStatisticsHandler.DEFINITION, new ClearWorkManagerStatisticsHandler(wm));
 
             }
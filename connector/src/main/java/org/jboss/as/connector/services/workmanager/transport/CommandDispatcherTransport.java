@@ -23,6 +23,7 @@
 package org.jboss.as.connector.services.workmanager.transport;
 
 import java.io.Serializable;
+import java.security.PrivilegedAction;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -31,6 +32,11 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.resource.spi.work.DistributableWork;
 import javax.resource.spi.work.WorkException;
@@ -40,6 +46,7 @@ import org.jboss.jca.core.api.workmanager.DistributedWorkManager;
 import org.jboss.jca.core.spi.workmanager.Address;
 import org.jboss.jca.core.workmanager.transport.remote.AbstractRemoteTransport;
 import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.clustering.Registration;
 import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
@@ -57,21 +64,41 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 /**
  * {@link DistributedWorkManager}-specific transport based on a {@link CommandDispatcher}.
  * The current implementation is a direct translation of {@link org.jboss.jca.core.workmanager.transport.remote.jgroups.JGroupsTransport}.
+ * If a flush interval is specified, statistics deltas and free thread updates destined for a given member are coalesced
+ * and sent as a single command once the interval elapses or once enough of them are pending,
+ * whichever comes first; otherwise, each is sent immediately.
  * @author Paul Ferraro
  */
 public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> implements GroupListener {
 
+    // Maximum number of coalesced requests pending for a given member before they are flushed, regardless of the flush interval
+    private static final int MAX_PENDING_DELTAS = 256;
+
     private final ServiceExecutor executor = new StampedLockServiceExecutor();
     private final CommandDispatcherFactory dispatcherFactory;
     private final String name;
+    private final long flushInterval;
+    private final Map<Node, PendingDeltas> pendingDeltas = new ConcurrentHashMap<>();
 
     private volatile CommandDispatcher<CommandDispatcherTransport> dispatcher;
     private volatile Registration groupListenerRegistration;
+    private volatile ScheduledExecutorService flushExecutor;
     private volatile boolean initialized = false;
 
     public CommandDispatcherTransport(CommandDispatcherFactory dispatcherFactory, String name) {
+        this(dispatcherFactory, name, 0L);
+    }
+
+    /**
+     * Creates a transport that coalesces statistics deltas and free thread updates.
+     * @param dispatcherFactory a command dispatcher factory
+     * @param name the name of the work manager
+     * @param flushInterval the maximum time, in milliseconds, that coalesced requests are held before being sent. A non-positive value disables coalescing.
+     */
+    public CommandDispatcherTransport(CommandDispatcherFactory dispatcherFactory, String name, long flushInterval) {
         this.dispatcherFactory = dispatcherFactory;
         this.name = name;
+        this.flushInterval = flushInterval;
     }
 
     @Override
@@ -83,11 +110,28 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
     public void startup() throws Exception {
         this.dispatcher = this.dispatcherFactory.createCommandDispatcher(this.name, this, WildFlySecurityManager.getClassLoaderPrivileged(this.getClass()));
         this.groupListenerRegistration = this.dispatcherFactory.getGroup().register(this);
+        if (this.flushInterval > 0) {
+            String threadName = "DistributedWorkManager " + this.name + " statistics flush";
+            ThreadFactory threadFactory = WildFlySecurityManager.doUnchecked(new PrivilegedAction<ThreadFactory>() {
+                @Override
+                public ThreadFactory run() {
+                    return new JBossThreadFactory(null, Boolean.TRUE, null, threadName, null, null);
+                }
+            });
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            this.flushExecutor.scheduleWithFixedDelay(this::flush, this.flushInterval, this.flushInterval, TimeUnit.MILLISECONDS);
+        }
         this.broadcast(new JoinCommand());
     }
 
     @Override
     public void shutdown() {
+        ScheduledExecutorService flushExecutor = this.flushExecutor;
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        // Deliver any remaining deltas before we leave
+        this.flush();
         this.executor.close(() -> {
             try {
                 this.broadcast(new LeaveCommand(this.getOwnAddress()));
@@ -117,7 +161,26 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
 
     @Override
     protected Serializable sendMessage(Node physicalAddress, Request request, Serializable... parameters) throws WorkException {
-        Command<?, CommandDispatcherTransport> command = createCommand(request, parameters);
+        if (this.flushInterval > 0) {
+            if (WorkManagerDeltas.isCoalescable(request)) {
+                Address address = (Address) parameters[0];
+                PendingDeltas pending = this.pendingDeltas.compute(physicalAddress, (member, deltas) -> {
+                    PendingDeltas result = (deltas != null) ? deltas : new PendingDeltas();
+                    result.add(address, request, parameters);
+                    return result;
+                });
+                if (pending.size() >= MAX_PENDING_DELTAS) {
+                    this.flush(physicalAddress);
+                }
+                return null;
+            }
+            // Preserve ordering of pending deltas with respect to other requests, e.g. clear statistics
+            this.flush(physicalAddress);
+        }
+        return this.send(physicalAddress, createCommand(request, parameters));
+    }
+
+    private Serializable send(Node physicalAddress, Command<?, CommandDispatcherTransport> command) throws WorkException {
         CommandDispatcher<CommandDispatcherTransport> dispatcher = this.dispatcher;
         ExceptionSupplier<Optional<Serializable>, WorkException> task = new ExceptionSupplier<Optional<Serializable>, WorkException>() {
             @Override
@@ -135,6 +198,26 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
         return this.executor.execute(task).orElse(null).orElse(null);
     }
 
+    /**
+     * Sends all pending coalesced requests.
+     */
+    private void flush() {
+        for (Node member : this.pendingDeltas.keySet()) {
+            try {
+                this.flush(member);
+            } catch (WorkException e) {
+                ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    private void flush(Node member) throws WorkException {
+        PendingDeltas pending = this.pendingDeltas.remove(member);
+        if (pending != null) {
+            this.send(member, new WorkManagerDeltasCommand(pending.getDeltas()));
+        }
+    }
+
     private void broadcast(Command<Void, CommandDispatcherTransport> command) throws WorkException {
         CommandDispatcher<CommandDispatcherTransport> dispatcher = this.dispatcher;
         ExceptionRunnable<WorkException> task = new ExceptionRunnable<WorkException>() {
@@ -235,6 +318,7 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
             leavers.removeAll(membership.getMembers());
             // Handle abrupt leavers
             for (Node leaver : leavers) {
+                this.pendingDeltas.remove(leaver);
                 this.leave(leaver);
             }
 
@@ -277,4 +361,23 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
             }
         }
     }
+
+    private static class PendingDeltas {
+        private final Map<Address, WorkManagerDeltas> deltas = new HashMap<>();
+        // Only mutated within ConcurrentHashMap.compute(...), but read outside of it
+        private volatile int size = 0;
+
+        void add(Address address, Request request, Serializable... parameters) {
+            this.deltas.computeIfAbsent(address, key -> new WorkManagerDeltas()).add(request, parameters);
+            this.size += 1;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        Map<Address, WorkManagerDeltas> getDeltas() {
+            return this.deltas;
+        }
+    }
 }
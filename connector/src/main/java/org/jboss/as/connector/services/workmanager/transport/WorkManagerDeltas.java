@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+
+/**
+ * Accumulates the statistics deltas and free thread updates of a single work manager, so that they can be sent as a single batch.
+ * Delta requests are counted, while only the latest free thread count of each kind is retained.
+ * Instances are not thread-safe.
+ */
+public class WorkManagerDeltas implements Serializable {
+    private static final long serialVersionUID = -5183452744367466398L;
+
+    private static final List<Request> DELTA_REQUESTS = Arrays.asList(
+            Request.DELTA_DOWORK_ACCEPTED, Request.DELTA_DOWORK_REJECTED,
+            Request.DELTA_SCHEDULEWORK_ACCEPTED, Request.DELTA_SCHEDULEWORK_REJECTED,
+            Request.DELTA_STARTWORK_ACCEPTED, Request.DELTA_STARTWORK_REJECTED,
+            Request.DELTA_WORK_FAILED, Request.DELTA_WORK_SUCCESSFUL);
+
+    private final int[] counts = new int[DELTA_REQUESTS.size()];
+    private Long shortRunningFree = null;
+    private Long longRunningFree = null;
+
+    /**
+     * Indicates whether the specified request can be coalesced.
+     * @param request a transport request
+     * @return true, if the request is a statistics delta or a free thread update, false otherwise.
+     */
+    static boolean isCoalescable(Request request) {
+        return DELTA_REQUESTS.contains(request) || (request == Request.UPDATE_SHORTRUNNING_FREE) || (request == Request.UPDATE_LONGRUNNING_FREE);
+    }
+
+    /**
+     * Records the specified coalescable request.
+     * @param request a coalescable request
+     * @param parameters the request parameters
+     */
+    void add(Request request, Serializable... parameters) {
+        switch (request) {
+            case UPDATE_SHORTRUNNING_FREE: {
+                this.shortRunningFree = (Long) parameters[1];
+                break;
+            }
+            case UPDATE_LONGRUNNING_FREE: {
+                this.longRunningFree = (Long) parameters[1];
+                break;
+            }
+            default: {
+                this.counts[DELTA_REQUESTS.indexOf(request)] += 1;
+            }
+        }
+    }
+
+    /**
+     * Applies the recorded requests to the specified transport.
+     * @param transport the transport of the receiving member
+     * @param address the address of the work manager
+     */
+    void apply(CommandDispatcherTransport transport, Address address) {
+        for (int i = 0; i < this.counts.length; ++i) {
+            for (int j = 0; j < this.counts[i]; ++j) {
+                apply(transport, address, DELTA_REQUESTS.get(i));
+            }
+        }
+        if (this.shortRunningFree != null) {
+            transport.localUpdateShortRunningFree(address, this.shortRunningFree);
+        }
+        if (this.longRunningFree != null) {
+            transport.localUpdateLongRunningFree(address, this.longRunningFree);
+        }
+    }
+
+    private static void apply(CommandDispatcherTransport transport, Address address, Request request) {
+        switch (request) {
+            case DELTA_DOWORK_ACCEPTED: {
+                transport.localDeltaDoWorkAccepted(address);
+                break;
+            }
+            case DELTA_DOWORK_REJECTED: {
+                transport.localDeltaDoWorkRejected(address);
+                break;
+            }
+            case DELTA_SCHEDULEWORK_ACCEPTED: {
+                transport.localDeltaScheduleWorkAccepted(address);
+                break;
+            }
+            case DELTA_SCHEDULEWORK_REJECTED: {
+                transport.localDeltaScheduleWorkRejected(address);
+                break;
+            }
+            case DELTA_STARTWORK_ACCEPTED: {
+                transport.localDeltaStartWorkAccepted(address);
+                break;
+            }
+            case DELTA_STARTWORK_REJECTED: {
+                transport.localDeltaStartWorkRejected(address);
+                break;
+            }
+            case DELTA_WORK_FAILED: {
+                transport.localDeltaWorkFailed(address);
+                break;
+            }
+            case DELTA_WORK_SUCCESSFUL: {
+                transport.localDeltaWorkSuccessful(address);
+                break;
+            }
+            default: {
+                throw new IllegalStateException(request.name());
+            }
+        }
+    }
+}
@@ -54,5 +54,9 @@ public class Constants {
 
     static final String ELYTRON_ENABLED_NAME = "elytron-enabled";
 
+    static final String EXECUTOR_MODE_NAME = "executor-mode";
+
+    static final String STATISTICS_FLUSH_INTERVAL_NAME = "statistics-flush-interval";
+
 
 }
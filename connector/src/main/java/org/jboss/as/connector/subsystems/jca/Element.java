@@ -74,7 +74,13 @@ public enum Element {
     TRACER("tracer"),
 
     /** elytron-enabled element **/
-    ELYTRON_ENABLED("elytron-enabled");
+    ELYTRON_ENABLED("elytron-enabled"),
+
+    /** executor-mode element **/
+    EXECUTOR_MODE("executor-mode"),
+
+    /** statistics-flush-interval element **/
+    STATISTICS_FLUSH_INTERVAL("statistics-flush-interval");
 
 
 
@@ -36,6 +36,7 @@ public class JcaTransformers implements ExtensionTransformerRegistration{
 
     private static final ModelVersion EAP_6_2 = ModelVersion.create(1, 2, 0);
     private static final ModelVersion EAP_7_0 = ModelVersion.create(4, 0, 0);
+    private static final ModelVersion EAP_7_1 = ModelVersion.create(5, 0, 0);
 
     @Override
     public String getSubsystemName() {
@@ -45,7 +46,17 @@ public class JcaTransformers implements ExtensionTransformerRegistration{
     @Override
     public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystemRegistration.getCurrentSubsystemVersion());
-        ResourceTransformationDescriptionBuilder parentBuilder = chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), EAP_7_0);
+        ResourceTransformationDescriptionBuilder parentBuilder = chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), EAP_7_1);
+        parentBuilder.addChildResource(PATH_DISTRIBUTED_WORK_MANAGER).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_INTERVAL.getAttribute())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_INTERVAL.getAttribute())
+                .end();
+        parentBuilder.addChildResource(PATH_WORK_MANAGER).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, JcaWorkManagerDefinition.WmParameters.EXECUTOR_MODE.getAttribute())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, JcaWorkManagerDefinition.WmParameters.EXECUTOR_MODE.getAttribute())
+                .end();
+
+        parentBuilder = chainedBuilder.createBuilder(EAP_7_1, EAP_7_0);
         ResourceTransformationDescriptionBuilder builder = parentBuilder.addChildResource(PATH_DISTRIBUTED_WORK_MANAGER);
         builder.getAttributeBuilder()
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, ModelNode.FALSE),
@@ -66,6 +77,7 @@ public class JcaTransformers implements ExtensionTransformerRegistration{
         chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[]{
                 EAP_6_2,
                 EAP_7_0,
+                EAP_7_1,
         });
     }
 }
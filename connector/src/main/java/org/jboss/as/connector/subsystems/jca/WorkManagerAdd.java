@@ -27,6 +27,7 @@ import static org.jboss.as.connector.subsystems.jca.Constants.WORKMANAGER_SHORT_
 import java.util.concurrent.Executor;
 
 import org.jboss.as.connector.services.workmanager.NamedWorkManager;
+import org.jboss.as.connector.services.workmanager.WorkManagerExecutorMode;
 import org.jboss.as.connector.services.workmanager.WorkManagerService;
 import org.jboss.as.connector.services.workmanager.statistics.WorkManagerStatisticsService;
 import org.jboss.as.connector.subsystems.resourceadapters.IronJacamarResource;
@@ -36,6 +37,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.threads.PoolAttributeDefinitions;
 import org.jboss.as.threads.ThreadsServices;
 import org.jboss.as.txn.integration.JBossContextXATerminator;
 import org.jboss.as.txn.service.TxnServices;
@@ -66,12 +68,13 @@ public class WorkManagerAdd extends AbstractAddStepHandler {
 
         String name = JcaWorkManagerDefinition.WmParameters.NAME.getAttribute().resolveModelAttribute(context, resource.getModel()).asString();
         boolean elytronEnabled = JcaWorkManagerDefinition.WmParameters.ELYTRON_ENABLED.getAttribute().resolveModelAttribute(context, resource.getModel()).asBoolean();
+        WorkManagerExecutorMode executorMode = WorkManagerExecutorMode.valueOf(JcaWorkManagerDefinition.WmParameters.EXECUTOR_MODE.getAttribute().resolveModelAttribute(context, resource.getModel()).asString());
 
         ServiceTarget serviceTarget = context.getServiceTarget();
 
 
         NamedWorkManager wm = new NamedWorkManager(name, elytronEnabled);
-        WorkManagerService wmService = new WorkManagerService(wm);
+        WorkManagerService wmService = new WorkManagerService(wm, executorMode, getQueueLength(context, resource, WORKMANAGER_SHORT_RUNNING), getQueueLength(context, resource, WORKMANAGER_LONG_RUNNING));
         ServiceBuilder builder = serviceTarget
                 .addService(ConnectorServices.WORKMANAGER_SERVICE.append(name), wmService);
 
@@ -98,4 +101,11 @@ public class WorkManagerAdd extends AbstractAddStepHandler {
             resource.registerChild(peLocaldWm, wmResource);
 
     }
+
+    private static int getQueueLength(OperationContext context, Resource resource, String threadPoolType) throws OperationFailedException {
+        for (Resource.ResourceEntry threadPool : resource.getChildren(threadPoolType)) {
+            return PoolAttributeDefinitions.QUEUE_LENGTH.resolveModelAttribute(context, threadPool.getModel()).asInt();
+        }
+        return 0;
+    }
 }
@@ -35,6 +35,7 @@ import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
@@ -678,6 +679,10 @@ public class Constants {
 
     static final String START_WORK_REJECTED_NAME = "startwork-rejected";
 
+    static final String WORK_QUEUE_WAIT_TIME_NAME = "work-queue-wait-time";
+
+    static final String WORK_EXECUTION_TIME_NAME = "work-execution-time";
+
 
     static SimpleAttributeDefinition WORK_ACTIVE = new SimpleAttributeDefinitionBuilder(WORK_ACTIVE_NAME, ModelType.INT)
             .setStorageRuntime()
@@ -725,6 +730,14 @@ public class Constants {
             .build();
 
 
+    public static final SimpleMapAttributeDefinition WORK_QUEUE_WAIT_TIME = new SimpleMapAttributeDefinition.Builder(WORK_QUEUE_WAIT_TIME_NAME, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleMapAttributeDefinition WORK_EXECUTION_TIME = new SimpleMapAttributeDefinition.Builder(WORK_EXECUTION_TIME_NAME, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
     public static final SimpleAttributeDefinition[] WORKMANAGER_METRICS = new SimpleAttributeDefinition[]{WORK_ACTIVE, WORK_SUCCESSFUL, WORK_FAILED, DO_WORK_ACCEPTED,
             DO_WORK_REJECTED, SCHEDULED_WORK_ACCEPTED, SCHEDULED_WORK_REJECTED, START_WORK_ACCEPTED, START_WORK_REJECTED};
 
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.resourceadapters;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.Map;
+
+import org.jboss.as.connector.services.workmanager.NamedWorkManager;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the queue wait time and execution time histograms of a work manager.
+ */
+public class WorkTimeHistogramReadHandler implements OperationStepHandler {
+
+    private final NamedWorkManager wm;
+
+    public WorkTimeHistogramReadHandler(NamedWorkManager wm) {
+        this.wm = wm;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (context.isNormalServer()) {
+            context.addStep(new OperationStepHandler() {
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final String attributeName = operation.require(NAME).asString();
+                    final WorkTimeHistogram histogram = Constants.WORK_QUEUE_WAIT_TIME_NAME.equals(attributeName) ? wm.getQueueWaitTimeHistogram() : wm.getExecutionTimeHistogram();
+                    final ModelNode result = context.getResult();
+                    for (Map.Entry<String, Long> bucket : histogram.getBuckets().entrySet()) {
+                        result.get(bucket.getKey()).set(bucket.getValue());
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+}
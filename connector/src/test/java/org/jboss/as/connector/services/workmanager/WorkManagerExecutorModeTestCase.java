@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+import org.jboss.jca.core.api.workmanager.StatisticsExecutor;
+import org.jboss.threads.JBossThreadPoolExecutor;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WorkManagerExecutorMode}.
+ */
+public class WorkManagerExecutorModeTestCase {
+
+    @Test
+    public void testThreadPool() throws InterruptedException {
+        JBossThreadPoolExecutor threadPool = new JBossThreadPoolExecutor(3, 3, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try {
+            StatisticsExecutor executor = WorkManagerExecutorMode.THREAD_POOL.createExecutor("test", threadPool, 10, new WorkTimeHistogram(), new WorkTimeHistogram());
+            assertTrue(executor instanceof StatisticsExecutorImpl);
+            assertEquals(3L, executor.getNumberOfFreeThreads());
+            verify(executor);
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkStealing() throws InterruptedException {
+        JBossThreadPoolExecutor threadPool = new JBossThreadPoolExecutor(3, 3, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try {
+            StatisticsExecutor executor = WorkManagerExecutorMode.WORK_STEALING.createExecutor("test", threadPool, 10, new WorkTimeHistogram(), new WorkTimeHistogram());
+            assertTrue(executor instanceof WorkStealingStatisticsExecutor);
+            try {
+                // Parallelism matches the maximum threads of the configured pool
+                assertEquals(3L, executor.getNumberOfFreeThreads());
+                verify(executor);
+                // Works must not be dispatched to the configured pool
+                assertEquals(0L, threadPool.getCompletedTaskCount());
+            } finally {
+                ((WorkStealingStatisticsExecutor) executor).shutdown();
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    private static void verify(StatisticsExecutor executor) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; ++i) {
+            executor.executeNonBlocking(latch::countDown);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WorkStealingStatisticsExecutor}.
+ */
+public class WorkStealingStatisticsExecutorTestCase {
+
+    @Test
+    public void testExecute() throws InterruptedException {
+        WorkTimeHistogram queueWaitTime = new WorkTimeHistogram();
+        WorkTimeHistogram executionTime = new WorkTimeHistogram();
+        WorkStealingStatisticsExecutor executor = new WorkStealingStatisticsExecutor("test", 4, 100, queueWaitTime, executionTime);
+        try {
+            int works = 100;
+            CountDownLatch latch = new CountDownLatch(works);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            Runnable work = () -> {
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            };
+            for (int i = 0; i < works; ++i) {
+                switch (i % 3) {
+                    case 0:
+                        executor.execute(work);
+                        break;
+                    case 1:
+                        executor.executeBlocking(work);
+                        break;
+                    default:
+                        executor.executeNonBlocking(work);
+                }
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            for (String thread : threads) {
+                assertTrue(thread, thread.startsWith("test-"));
+            }
+            // Execution time is recorded after each work completes
+            assertTrue(await(executionTime, works));
+            assertEquals(works, sum(queueWaitTime.getBuckets()));
+            assertEquals(works, sum(executionTime.getBuckets()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNumberOfFreeThreads() throws InterruptedException {
+        WorkStealingStatisticsExecutor executor = new WorkStealingStatisticsExecutor("test", 2, 2, new WorkTimeHistogram(), new WorkTimeHistogram());
+        try {
+            assertEquals(2L, executor.getNumberOfFreeThreads());
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertEquals(1L, executor.getNumberOfFreeThreads());
+            release.countDown();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCapacity() throws InterruptedException {
+        WorkStealingStatisticsExecutor executor = new WorkStealingStatisticsExecutor("test", 1, 2, new WorkTimeHistogram(), new WorkTimeHistogram());
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch completed = new CountDownLatch(2);
+            Runnable work = () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    completed.countDown();
+                }
+            };
+            // One work executing and one work queued
+            executor.executeNonBlocking(work);
+            executor.executeNonBlocking(work);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            try {
+                executor.executeNonBlocking(work);
+                fail("Work accepted beyond capacity");
+            } catch (RejectedExecutionException e) {
+                // Expected
+            }
+            try {
+                executor.executeBlocking(work, 10, TimeUnit.MILLISECONDS);
+                fail("Work accepted beyond capacity");
+            } catch (RejectedExecutionException e) {
+                // Expected
+            }
+            release.countDown();
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+            // Capacity is released once works complete
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.executeBlocking(latch::countDown, 10, TimeUnit.SECONDS);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testShutdown() {
+        WorkStealingStatisticsExecutor executor = new WorkStealingStatisticsExecutor("test", 1, 1, new WorkTimeHistogram(), new WorkTimeHistogram());
+        executor.shutdown();
+        executor.execute(() -> { });
+    }
+
+    private static boolean await(WorkTimeHistogram histogram, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sum(histogram.getBuckets()) < count) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static long sum(Map<String, Long> buckets) {
+        long result = 0L;
+        for (Long count : buckets.values()) {
+            result += count;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.wildfly.clustering.Registration;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+
+/**
+ * Unit test for the coalescing of statistics deltas by {@link CommandDispatcherTransport}.
+ */
+public class CommandDispatcherTransportTestCase {
+
+    private final CommandDispatcherFactory factory = mock(CommandDispatcherFactory.class);
+    private final Group group = mock(Group.class);
+    private final CommandDispatcher<CommandDispatcherTransport> dispatcher = mock(CommandDispatcher.class);
+    private final Node localMember = mock(Node.class);
+    private final Node member = mock(Node.class);
+    private final Address address = new Address("id", "name", "transport");
+
+    private CommandDispatcherTransport transport;
+
+    @Before
+    public void init() throws Exception {
+        when(this.factory.getGroup()).thenReturn(this.group);
+        when(this.group.getLocalMember()).thenReturn(this.localMember);
+        when(this.group.register(any())).thenReturn(mock(Registration.class));
+        doReturn(this.dispatcher).when(this.factory).createCommandDispatcher(any(), any(), any());
+        doReturn(CompletableFuture.completedFuture(null)).when(this.dispatcher).executeOnMember(any(), any());
+    }
+
+    @After
+    public void destroy() {
+        if (this.transport != null) {
+            this.transport.shutdown();
+        }
+    }
+
+    @Test
+    public void immediate() throws Exception {
+        this.transport = new CommandDispatcherTransport(this.factory, "test", 0L);
+        this.transport.startup();
+
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+
+        ArgumentCaptor<Command<?, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher, times(2)).executeOnMember(captor.capture(), same(this.member));
+        for (Command<?, CommandDispatcherTransport> command : captor.getAllValues()) {
+            assertTrue(command instanceof DeltaDoWorkAcceptedCommand);
+        }
+    }
+
+    @Test
+    public void flushInterval() throws Exception {
+        long interval = 200L;
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> {
+            flushed.set(System.nanoTime());
+            return CompletableFuture.completedFuture(null);
+        }).when(this.dispatcher).executeOnMember(any(), any());
+
+        this.transport = new CommandDispatcherTransport(this.factory, "test", interval);
+        long start = System.nanoTime();
+        this.transport.startup();
+
+        assertNull(this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address));
+        assertNull(this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address));
+        assertNull(this.transport.sendMessage(this.member, Request.UPDATE_SHORTRUNNING_FREE, this.address, 5L));
+        assertNull(this.transport.sendMessage(this.member, Request.UPDATE_SHORTRUNNING_FREE, this.address, 4L));
+
+        // Nothing is sent until the flush interval elapses
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        ArgumentCaptor<Command<?, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher, timeout(TimeUnit.SECONDS.toMillis(10))).executeOnMember(captor.capture(), same(this.member));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(flushed.get() - start) >= interval);
+
+        // All pending requests are sent as a single command
+        Command<?, CommandDispatcherTransport> command = captor.getValue();
+        assertTrue(command instanceof WorkManagerDeltasCommand);
+        CommandDispatcherTransport receiver = mock(CommandDispatcherTransport.class);
+        command.execute(receiver);
+        verify(receiver, times(2)).localDeltaDoWorkAccepted(this.address);
+        verify(receiver).localUpdateShortRunningFree(this.address, 4L);
+        verify(receiver, never()).localUpdateShortRunningFree(this.address, 5L);
+    }
+
+    @Test
+    public void flushBeforeOtherRequest() throws Exception {
+        this.transport = new CommandDispatcherTransport(this.factory, "test", TimeUnit.HOURS.toMillis(1));
+        this.transport.startup();
+
+        this.transport.sendMessage(this.member, Request.DELTA_WORK_SUCCESSFUL, this.address);
+        this.transport.sendMessage(this.member, Request.CLEAR_DISTRIBUTED_STATISTICS, this.address);
+
+        // Pending deltas are sent ahead of the clear statistics request
+        ArgumentCaptor<Command<?, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        InOrder order = inOrder(this.dispatcher);
+        order.verify(this.dispatcher, times(2)).executeOnMember(captor.capture(), same(this.member));
+        List<Command<?, CommandDispatcherTransport>> commands = captor.getAllValues();
+        assertTrue(commands.get(0) instanceof WorkManagerDeltasCommand);
+        assertTrue(commands.get(1) instanceof ClearDistributedStatisticsCommand);
+    }
+
+    @Test
+    public void flushWhenFull() throws Exception {
+        this.transport = new CommandDispatcherTransport(this.factory, "test", TimeUnit.HOURS.toMillis(1));
+        this.transport.startup();
+
+        for (int i = 0; i < 255; ++i) {
+            this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        }
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        // Pending requests are flushed once the limit is reached, regardless of the flush interval
+        this.transport.sendMessage(this.member, Request.DELTA_DOWORK_ACCEPTED, this.address);
+        ArgumentCaptor<Command<?, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher).executeOnMember(captor.capture(), same(this.member));
+        CommandDispatcherTransport receiver = mock(CommandDispatcherTransport.class);
+        captor.getValue().execute(receiver);
+        verify(receiver, times(256)).localDeltaDoWorkAccepted(this.address);
+    }
+
+    @Test
+    public void flushOnShutdown() throws Exception {
+        this.transport = new CommandDispatcherTransport(this.factory, "test", TimeUnit.HOURS.toMillis(1));
+        this.transport.startup();
+
+        this.transport.sendMessage(this.member, Request.UPDATE_LONGRUNNING_FREE, this.address, 2L);
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        this.transport.shutdown();
+        this.transport = null;
+
+        ArgumentCaptor<Command<?, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher).executeOnMember(captor.capture(), same(this.member));
+        CommandDispatcherTransport receiver = mock(CommandDispatcherTransport.class);
+        captor.getValue().execute(receiver);
+        verify(receiver).localUpdateLongRunningFree(this.address, 2L);
+        verify(receiver, never()).localUpdateShortRunningFree(any(), anyLong());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WorkManagerDeltas}.
+ */
+public class WorkManagerDeltasTestCase {
+
+    private final Address address = new Address("id", "name", "transport");
+
+    @Test
+    public void isCoalescable() {
+        assertTrue(WorkManagerDeltas.isCoalescable(Request.DELTA_DOWORK_ACCEPTED));
+        assertTrue(WorkManagerDeltas.isCoalescable(Request.DELTA_WORK_SUCCESSFUL));
+        assertTrue(WorkManagerDeltas.isCoalescable(Request.UPDATE_SHORTRUNNING_FREE));
+        assertTrue(WorkManagerDeltas.isCoalescable(Request.UPDATE_LONGRUNNING_FREE));
+        assertFalse(WorkManagerDeltas.isCoalescable(Request.CLEAR_DISTRIBUTED_STATISTICS));
+        assertFalse(WorkManagerDeltas.isCoalescable(Request.DO_WORK));
+    }
+
+    @Test
+    public void apply() {
+        WorkManagerDeltas deltas = new WorkManagerDeltas();
+        deltas.add(Request.DELTA_DOWORK_ACCEPTED, this.address);
+        deltas.add(Request.DELTA_DOWORK_ACCEPTED, this.address);
+        deltas.add(Request.DELTA_DOWORK_ACCEPTED, this.address);
+        deltas.add(Request.DELTA_WORK_FAILED, this.address);
+        deltas.add(Request.UPDATE_SHORTRUNNING_FREE, this.address, 5L);
+        deltas.add(Request.UPDATE_SHORTRUNNING_FREE, this.address, 3L);
+
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+        deltas.apply(transport, this.address);
+
+        // Deltas are summed
+        verify(transport, times(3)).localDeltaDoWorkAccepted(this.address);
+        verify(transport).localDeltaWorkFailed(this.address);
+        verify(transport, never()).localDeltaDoWorkRejected(any());
+        verify(transport, never()).localDeltaWorkSuccessful(any());
+        // Only the latest free thread count is kept
+        verify(transport).localUpdateShortRunningFree(this.address, 3L);
+        verify(transport, never()).localUpdateShortRunningFree(this.address, 5L);
+        verify(transport, never()).localUpdateLongRunningFree(any(), anyLong());
+    }
+
+    @Test
+    public void applyEmpty() {
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+        new WorkManagerDeltas().apply(transport, this.address);
+
+        verify(transport, never()).localDeltaDoWorkAccepted(any());
+        verify(transport, never()).localUpdateShortRunningFree(any(), anyLong());
+        verify(transport, never()).localUpdateLongRunningFree(any(), anyLong());
+    }
+}
@@ -67,7 +67,7 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-jca_5_0.xsd";
+        return "schema/wildfly-jca_6_0.xsd";
     }
 
     @Override
@@ -200,8 +200,27 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Test
     public void testTransformerEAP7Elytron() throws Exception {
-        testRejectingTransformerElytronEnabled(ModelTestControllerVersion.EAP_7_0_0, ModelVersion.create(4, 0, 0), "jca-full-elytron.xml");
+        testRejectingTransformer(ModelTestControllerVersion.EAP_7_0_0, ModelVersion.create(4, 0, 0), "jca-full-elytron.xml", new FailedOperationTransformationConfig()
+                .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaDistributedWorkManagerDefinition.PATH_DISTRIBUTED_WORK_MANAGER),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(ELYTRON_ENABLED.getAttribute(), JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_INTERVAL.getAttribute()))
+                .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaWorkManagerDefinition.PATH_WORK_MANAGER),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(ELYTRON_ENABLED.getAttribute(), JcaWorkManagerDefinition.WmParameters.EXECUTOR_MODE.getAttribute())));
     }
+
+    @Test
+    public void testTransformerEAP73() throws Exception {
+        testTransformer7(ModelTestControllerVersion.EAP_7_3_0, ModelVersion.create(5, 0, 0), "jca-full.xml");
+    }
+
+    @Test
+    public void testRejectingTransformerEAP73() throws Exception {
+        testRejectingTransformer(ModelTestControllerVersion.EAP_7_3_0, ModelVersion.create(5, 0, 0), "jca-full-elytron.xml", new FailedOperationTransformationConfig()
+                .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaDistributedWorkManagerDefinition.PATH_DISTRIBUTED_WORK_MANAGER),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(JcaDistributedWorkManagerDefinition.DWmParameters.STATISTICS_FLUSH_INTERVAL.getAttribute()))
+                .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaWorkManagerDefinition.PATH_WORK_MANAGER),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(JcaWorkManagerDefinition.WmParameters.EXECUTOR_MODE.getAttribute())));
+    }
+
     /**
      * Tests transformation of model from 1.2.0 version into 1.1.0 version.
      *
@@ -278,7 +297,7 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
      *
      * @throws Exception
      */
-    private void testRejectingTransformerElytronEnabled(ModelTestControllerVersion controllerVersion, ModelVersion modelVersion, String xmlResourceName) throws Exception {
+    private void testRejectingTransformer(ModelTestControllerVersion controllerVersion, ModelVersion modelVersion, String xmlResourceName, FailedOperationTransformationConfig config) throws Exception {
         // create builder for current subsystem version
         KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
 
@@ -299,12 +318,7 @@ public class JcaSubsystemTestCase extends AbstractSubsystemBaseTest {
         List<ModelNode> xmlOps = builder.parseXmlResource(xmlResourceName);
 
 
-        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, xmlOps,
-                new FailedOperationTransformationConfig()
-                        .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaDistributedWorkManagerDefinition.PATH_DISTRIBUTED_WORK_MANAGER),
-                                new FailedOperationTransformationConfig.NewAttributesConfig(ELYTRON_ENABLED.getAttribute()))
-                        .addFailedAttribute(PathAddress.pathAddress(JcaSubsystemRootDefinition.PATH_SUBSYSTEM, JcaWorkManagerDefinition.PATH_WORK_MANAGER),
-                                new FailedOperationTransformationConfig.NewAttributesConfig(ELYTRON_ENABLED.getAttribute())));
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, xmlOps, config);
     }
 
     @Override
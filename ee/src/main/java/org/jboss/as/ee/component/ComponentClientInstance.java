@@ -26,6 +26,8 @@ public class ComponentClientInstance implements Serializable {
 
     private final Map<Object, Object> contextInformation = new HashMap<Object, Object>();
     private volatile boolean constructionComplete = false;
+    // Alternating keys and values of the instance data, once construction is complete
+    private transient volatile Object[] entries;
 
     public Object getViewInstanceData(final Object key) {
         return contextInformation.get(key);
@@ -39,12 +41,27 @@ public class ComponentClientInstance implements Serializable {
     }
 
     void prepareInterceptorContext(InterceptorContext interceptorContext){
-        for(Map.Entry<Object, Object> entry : contextInformation.entrySet()) {
-            interceptorContext.putPrivateData(entry.getKey(), entry.getValue());
+        final Object[] entries = this.entries;
+        if (entries != null) {
+            for (int i = 0; i < entries.length; i += 2) {
+                interceptorContext.putPrivateData(entries[i], entries[i + 1]);
+            }
+        } else {
+            for(Map.Entry<Object, Object> entry : contextInformation.entrySet()) {
+                interceptorContext.putPrivateData(entry.getKey(), entry.getValue());
+            }
         }
     }
 
     void constructionComplete() {
+        // Instance data can no longer change, so flatten it to avoid iterating the map for every invocation
+        final Object[] entries = new Object[contextInformation.size() * 2];
+        int index = 0;
+        for (Map.Entry<Object, Object> entry : contextInformation.entrySet()) {
+            entries[index++] = entry.getKey();
+            entries[index++] = entry.getValue();
+        }
+        this.entries = entries;
         constructionComplete = true;
     }
 
@@ -41,8 +41,11 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 public final class ProxyInvocationHandler implements InvocationHandler {
 
+    private static final PrivilegedAction<SecurityDomain> GET_CURRENT_SECURITY_DOMAIN = SecurityDomain::getCurrent;
+
     private final Map<Method, Interceptor> interceptors;
     private final ComponentView componentView;
+    private final Component component;
     private final ComponentClientInstance instance;
 
     /**
@@ -56,6 +59,7 @@ public final class ProxyInvocationHandler implements InvocationHandler {
         this.interceptors = interceptors;
         this.instance = instance;
         this.componentView = componentView;
+        this.component = componentView.getComponent();
     }
 
     /** {@inheritDoc} */
@@ -67,10 +71,10 @@ public final class ProxyInvocationHandler implements InvocationHandler {
         final InterceptorContext context = new InterceptorContext();
         // special location for original proxy
         context.putPrivateData(Object.class, proxy);
-        context.putPrivateData(Component.class, componentView.getComponent());
+        context.putPrivateData(Component.class, component);
         context.putPrivateData(ComponentView.class, componentView);
         context.putPrivateData(SecurityDomain.class, WildFlySecurityManager.isChecking() ?
-                AccessController.doPrivileged((PrivilegedAction<SecurityDomain>) SecurityDomain::getCurrent) :
+                AccessController.doPrivileged(GET_CURRENT_SECURITY_DOMAIN) :
                 SecurityDomain.getCurrent());
         instance.prepareInterceptorContext(context);
         context.setParameters(args);
@@ -23,6 +23,7 @@
 package org.jboss.as.ee.component;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -36,6 +37,7 @@ import org.jboss.as.naming.ManagedReference;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
 import org.jboss.invocation.Interceptors;
 import org.jboss.invocation.SimpleInterceptorFactoryContext;
 import org.jboss.invocation.proxy.ProxyFactory;
@@ -86,7 +88,7 @@ public final class ViewService implements Service<ComponentView> {
                 viewInterceptorFactories.put(method, Interceptors.getTerminalInterceptorFactory());
             } else {
                 viewInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
-                clientInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getClientInterceptors(method)));
+                clientInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(bindClientDispatcher(method, viewConfiguration.getClientInterceptors(method))));
             }
         }
         this.viewInterceptorFactories = viewInterceptorFactories;
@@ -104,6 +106,29 @@ public final class ViewService implements Service<ComponentView> {
         }
     }
 
+    /**
+     * Replaces the generic client dispatcher, which resolves the view interceptor on every invocation,
+     * with one that resolves the view interceptor of the specified method once, when the view starts.
+     */
+    private static List<InterceptorFactory> bindClientDispatcher(final Method method, final List<InterceptorFactory> factories) {
+        final int index = factories.indexOf(ViewDescription.CLIENT_DISPATCHER_INTERCEPTOR_FACTORY);
+        if (index < 0) {
+            return factories;
+        }
+        final List<InterceptorFactory> result = new ArrayList<InterceptorFactory>(factories);
+        result.set(index, new InterceptorFactory() {
+            @Override
+            public Interceptor create(final InterceptorFactoryContext context) {
+                final Object view = context.getContextData().get(ComponentView.class);
+                if (view instanceof View) {
+                    return ((View) view).createDispatcher(method);
+                }
+                return ViewDescription.CLIENT_DISPATCHER_INTERCEPTOR_FACTORY.create(context);
+            }
+        });
+        return result;
+    }
+
     public void start(final StartContext context) throws StartException {
         // Construct the view
         View view = new View(privateData);
@@ -198,6 +223,28 @@ public final class ViewService implements Service<ComponentView> {
             return interceptor.processInvocation(interceptorContext);
         }
 
+        /**
+         * Creates a client interceptor that dispatches invocations of the specified method to this view,
+         * using the view interceptor resolved for that method.
+         */
+        Interceptor createDispatcher(final Method method) {
+            final Interceptor viewInterceptor = viewInterceptors.get(method);
+            final BasicComponent basicComponent = (component instanceof BasicComponent) ? (BasicComponent) component : null;
+            return new Interceptor() {
+                @Override
+                public Object processInvocation(final InterceptorContext context) throws Exception {
+                    // A client interceptor may have redirected the invocation to another method
+                    if ((viewInterceptor == null) || (context.getMethod() != method)) {
+                        return invoke(context);
+                    }
+                    if (basicComponent != null) {
+                        basicComponent.waitForComponentStart();
+                    }
+                    return viewInterceptor.processInvocation(context);
+                }
+            };
+        }
+
         public Component getComponent() {
             return component;
         }
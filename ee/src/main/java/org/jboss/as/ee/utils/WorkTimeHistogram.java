@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, e.g. of work executions or of pooled connection usage, using fixed, exponentially sized buckets.
+ * Each bucket counts the durations less than or equal to its upper bound (in milliseconds) and greater than the upper bound of the previous bucket.
+ */
+public class WorkTimeHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS = new long[] { 1, 5, 10, 50, 100, 500, 1000, 5000, 10000, 60000 };
+    static final String OVERFLOW_BUCKET = "+Inf";
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS.length + 1];
+
+    public WorkTimeHistogram() {
+        for (int i = 0; i < this.buckets.length; ++i) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified duration.
+     * @param duration a duration in nanoseconds
+     */
+    public void record(long duration) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(duration);
+        int index = 0;
+        while (index < BUCKET_UPPER_BOUNDS.length && millis > BUCKET_UPPER_BOUNDS[index]) {
+            index += 1;
+        }
+        this.buckets[index].increment();
+    }
+
+    /**
+     * Returns the count of recorded durations per bucket, keyed by the upper bound of the bucket, in milliseconds.
+     * @return an ordered map of bucket counts
+     */
+    public Map<String, Long> getBuckets() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS.length; ++i) {
+            result.put(Long.toString(BUCKET_UPPER_BOUNDS[i]), this.buckets[i].sum());
+        }
+        result.put(OVERFLOW_BUCKET, this.buckets[BUCKET_UPPER_BOUNDS.length].sum());
+        return result;
+    }
+
+    /**
+     * Resets all bucket counts.
+     */
+    public void clear() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+    }
+}
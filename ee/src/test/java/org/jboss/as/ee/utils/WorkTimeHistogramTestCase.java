@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WorkTimeHistogram}.
+ */
+public class WorkTimeHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        WorkTimeHistogram histogram = new WorkTimeHistogram();
+        Map<String, Long> buckets = histogram.getBuckets();
+        assertEquals(Arrays.asList("1", "5", "10", "50", "100", "500", "1000", "5000", "10000", "60000", WorkTimeHistogram.OVERFLOW_BUCKET), Arrays.asList(buckets.keySet().toArray()));
+        for (Long count : buckets.values()) {
+            assertEquals(0L, count.longValue());
+        }
+    }
+
+    @Test
+    public void testRecord() {
+        WorkTimeHistogram histogram = new WorkTimeHistogram();
+        histogram.record(0L);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        // Upper bounds are inclusive
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(6));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(60000));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(60001));
+        histogram.record(TimeUnit.HOURS.toNanos(1));
+
+        Map<String, Long> buckets = histogram.getBuckets();
+        assertEquals(2L, buckets.get("1").longValue());
+        assertEquals(1L, buckets.get("5").longValue());
+        assertEquals(1L, buckets.get("10").longValue());
+        assertEquals(0L, buckets.get("50").longValue());
+        assertEquals(1L, buckets.get("60000").longValue());
+        assertEquals(2L, buckets.get(WorkTimeHistogram.OVERFLOW_BUCKET).longValue());
+    }
+
+    @Test
+    public void testClear() {
+        WorkTimeHistogram histogram = new WorkTimeHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(20));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(200));
+        histogram.clear();
+        for (Long count : histogram.getBuckets().values()) {
+            assertEquals(0L, count.longValue());
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1L, histogram.getBuckets().get("50").longValue());
+    }
+}
@@ -94,6 +94,30 @@ public interface Cache<K, V extends Identifiable<K>> extends AffinitySupport<K>,
 
     int getTotalSize();
 
+    /**
+     * Returns the number of lookups that found the requested object in this cache.
+     * @return a hit count
+     */
+    default long getHitCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of lookups that did not find the requested object in this cache.
+     * @return a miss count
+     */
+    default long getMissCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of objects removed from this cache in order to honor its size constraint.
+     * @return an eviction count
+     */
+    default long getEvictionCount() {
+        return 0;
+    }
+
     /**
      * Checks whether the supplied {@link Throwable} is remotable meaning it can be safely sent to the client over the wire.
      */
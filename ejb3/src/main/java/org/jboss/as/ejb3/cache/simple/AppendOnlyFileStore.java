@@ -0,0 +1,239 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only file storage of serialized bean instances.
+ * Records are appended to the current segment file, which is rolled over once it reaches a given size.
+ * Records are never rewritten: a record is consumed when it is read or discarded, and a segment file is deleted once all of its records were consumed.
+ * The index of records is only kept in memory, since the instances of a simple cache do not survive a restart.
+ *
+ * @param <K> the record key type
+ */
+class AppendOnlyFileStore<K> implements AutoCloseable {
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ConcurrentMap<K, Record> records = new ConcurrentHashMap<>();
+    private final Map<Path, Segment> segments = new ConcurrentHashMap<>();
+    // Guarded by this
+    private Segment current = null;
+    private int nextSegment = 0;
+
+    /**
+     * @param directory an existing directory, to which this store has exclusive access
+     * @param segmentSize the size, in bytes, beyond which a new segment file is started
+     */
+    AppendOnlyFileStore(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Appends the specified record, replacing any existing record with the same key.
+     * @param key a record key
+     * @param buffer the record content
+     * @throws IOException if the record could not be written
+     */
+    void write(K key, ByteBuffer buffer) throws IOException {
+        Record record;
+        synchronized (this) {
+            Segment segment = this.current;
+            if ((segment == null) || ((segment.size > 0) && (segment.size + buffer.remaining() > this.segmentSize))) {
+                if (segment != null) {
+                    segment.seal();
+                }
+                Path path = this.directory.resolve(String.format("%08d.dat", this.nextSegment++));
+                segment = new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                this.segments.put(path, segment);
+                this.current = segment;
+            }
+            record = segment.append(buffer);
+        }
+        Record previous = this.records.put(key, record);
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    /**
+     * Reads and consumes the record with the specified key.
+     * @param key a record key
+     * @return the record content, or null, if no such record exists
+     * @throws IOException if the record could not be read
+     */
+    ByteBuffer read(K key) throws IOException {
+        Record record = this.records.remove(key);
+        if (record == null) {
+            return null;
+        }
+        try {
+            return record.read();
+        } finally {
+            record.release();
+        }
+    }
+
+    /**
+     * Discards the record with the specified key, if it exists.
+     * @param key a record key
+     * @return true, if a record was discarded, false otherwise
+     */
+    boolean discard(K key) {
+        Record record = this.records.remove(key);
+        if (record != null) {
+            record.release();
+        }
+        return record != null;
+    }
+
+    boolean contains(K key) {
+        return this.records.containsKey(key);
+    }
+
+    int size() {
+        return this.records.size();
+    }
+
+    Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Returns the number of segment files of this store.
+     * @return a number of files
+     */
+    int getSegmentCount() {
+        return this.segments.size();
+    }
+
+    /**
+     * Discards all records and deletes the segment files of this store.
+     */
+    @Override
+    public void close() {
+        this.records.clear();
+        synchronized (this) {
+            this.current = null;
+        }
+        for (Segment segment : this.segments.values()) {
+            segment.delete();
+        }
+    }
+
+    private class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicInteger live = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean(false);
+        private volatile boolean sealed = false;
+        // Guarded by the enclosing store
+        long size = 0;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        Record append(ByteBuffer buffer) throws IOException {
+            long position = this.size;
+            int length = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                this.size += this.channel.write(buffer, this.size);
+            }
+            this.live.incrementAndGet();
+            return new Record(this, position, length);
+        }
+
+        ByteBuffer read(long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException(this.path.toString());
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        void release() {
+            if ((this.live.decrementAndGet() == 0) && this.sealed) {
+                this.delete();
+            }
+        }
+
+        /**
+         * Indicates that no more records will be appended to this segment.
+         */
+        void seal() {
+            this.sealed = true;
+            if (this.live.get() == 0) {
+                this.delete();
+            }
+        }
+
+        void delete() {
+            if (this.deleted.compareAndSet(false, true)) {
+                AppendOnlyFileStore.this.segments.remove(this.path);
+                try {
+                    this.channel.close();
+                    Files.deleteIfExists(this.path);
+                } catch (IOException e) {
+                    // Nothing more we can do
+                }
+            }
+        }
+    }
+
+    private class Record {
+        private final Segment segment;
+        private final long position;
+        private final int length;
+
+        Record(Segment segment, long position, int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+
+        ByteBuffer read() throws IOException {
+            return this.segment.read(this.position, this.length);
+        }
+
+        void release() {
+            this.segment.release();
+        }
+    }
+}
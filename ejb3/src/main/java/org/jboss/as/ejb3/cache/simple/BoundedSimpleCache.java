@@ -0,0 +1,508 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.simple;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.ejb.client.Affinity;
+import org.jboss.ejb.client.NodeAffinity;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+
+/**
+ * Bounded {@link Cache} implementation using in-memory storage, eager expiration, and eviction of the least recently used idle instances.
+ * Storage is split into a number of shards, each of which is bounded to its share of the maximum size.
+ * Lookups are lock-free: accesses are recorded in a lossy buffer that is replayed against the access order of a shard
+ * by whichever thread acquires its eviction lock, so that contended threads never wait on one another.
+ * Evicted instances are either destroyed, or, if a {@link FilePassivationStore} is configured, passivated to disk and activated again on demand.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class BoundedSimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, Predicate<K> {
+    private static final int MIN_SHARD_CAPACITY = 16;
+
+    private final Shard<K, V>[] shards;
+    private final StatefulObjectFactory<V> factory;
+    private final IdentifierFactory<K> identifierFactory;
+    private final Duration timeout;
+    private final ServerEnvironment environment;
+    private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), this, Duration.ZERO);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final FilePassivationStore<K, V> passivation;
+    private final Consumer<V> passivator;
+    private final ConcurrentMap<K, CompletableFuture<Void>> activations = new ConcurrentHashMap<>();
+
+    public BoundedSimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, int maxSize) {
+        this(factory, identifierFactory, timeout, environment, maxSize, null);
+    }
+
+    /**
+     * @param passivation the store to which evicted instances are passivated, or null, if evicted instances should be destroyed
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedSimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, int maxSize, FilePassivationStore<K, V> passivation) {
+        this.factory = factory;
+        this.passivation = passivation;
+        this.passivator = (passivation != null) ? passivation::passivate : null;
+        this.identifierFactory = identifierFactory;
+
+        // A value of -1 means the bean will never be removed due to timeout
+        if (timeout == null || timeout.getValue() < 0) {
+            this.timeout = null;
+        } else {
+            this.timeout = Duration.ofMillis(TimeUnit.MILLISECONDS.convert(timeout.getValue(), timeout.getTimeUnit()));
+        }
+
+        this.environment = environment;
+
+        // Use a power of 2 number of shards, such that small caches are not split into shards too small to approximate LRU order
+        int shards = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1, Integer.highestOneBit(Math.max(maxSize / MIN_SHARD_CAPACITY, 1)));
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; ++i) {
+            this.shards[i] = new Shard<>(maxSize / shards + ((i < maxSize % shards) ? 1 : 0));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (this.passivation != null) {
+            this.passivation.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.scheduler.close();
+        if (this.passivation != null) {
+            this.passivation.stop();
+        }
+        for (Shard<K, V> shard : this.shards) {
+            for (Entry<K, V> entry : shard.entries.values()) {
+                this.factory.destroyInstance(entry.getValue());
+            }
+            shard.entries.clear();
+        }
+    }
+
+    @Override
+    public Affinity getStrictAffinity() {
+        return new NodeAffinity(this.environment.getNodeName());
+    }
+
+    @Override
+    public Affinity getWeakAffinity(K key) {
+        return Affinity.NONE;
+    }
+
+    @Override
+    public K createIdentifier() {
+        return this.identifierFactory.createIdentifier();
+    }
+
+    @Override
+    public V create() {
+        if (CURRENT_GROUP.get() != null) {
+            // An SFSB that uses a distributable cache cannot contain an SFSB that uses a simple cache
+            throw EjbLogger.ROOT_LOGGER.incompatibleCaches();
+        }
+        V bean = this.factory.createInstance();
+        K id = bean.getId();
+        Shard<K, V> shard = this.shard(id);
+        Entry<K, V> entry = new Entry<>(id, bean);
+        shard.entries.put(id, entry);
+        shard.writes.add(entry);
+        this.maintain(shard);
+        return bean;
+    }
+
+    @Override
+    public void discard(V value) {
+        K id = value.getId();
+        Shard<K, V> shard = this.shard(id);
+        Entry<K, V> entry = shard.entries.remove(id);
+        if (entry != null) {
+            shard.removed(entry);
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        Shard<K, V> shard = this.shard(key);
+        Entry<K, V> entry = shard.entries.remove(key);
+        if (entry != null) {
+            shard.removed(entry);
+            this.factory.destroyInstance(entry.getValue());
+        } else if (this.passivation != null) {
+            this.passivation.remove(key);
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        Shard<K, V> shard = this.shard(key);
+        Entry<K, V> entry = this.find(shard, key);
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        this.scheduler.cancel(key);
+        shard.read(entry);
+        this.maintain(shard);
+        return entry.getValue();
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return this.shard(key).entries.containsKey(key) || ((this.passivation != null) && this.passivation.contains(key));
+    }
+
+    @Override
+    public void release(V bean) {
+        K id = bean.getId();
+        Entry<K, V> entry = this.shard(id).entries.get(id);
+        if (entry != null
+                && entry.done()
+                && this.timeout != null) {
+            if (!this.timeout.isZero()) {
+                this.scheduler.schedule(id, Instant.now().plus(this.timeout));
+            } else {
+                // The Jakarta Enterprise Beans specification allows a 0 timeout, which means the bean is immediately eligible
+                // for removal.
+                // However, removing it directly is faster than scheduling it for immediate removal.
+                remove(id);
+            }
+        }
+    }
+
+    @Override
+    public int getCacheSize() {
+        int size = 0;
+        for (Shard<K, V> shard : this.shards) {
+            size += shard.entries.size();
+        }
+        return size;
+    }
+
+    @Override
+    public int getPassivatedCount() {
+        return (this.passivation != null) ? this.passivation.size() : 0;
+    }
+
+    @Override
+    public int getTotalSize() {
+        return this.getCacheSize() + this.getPassivatedCount();
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public boolean test(K key) {
+        this.remove(key);
+        return true;
+    }
+
+    private Shard<K, V> shard(K key) {
+        int hash = key.hashCode();
+        // Spread higher bits, as per ConcurrentHashMap
+        return this.shards[(hash ^ (hash >>> 16)) & (this.shards.length - 1)];
+    }
+
+    /**
+     * Finds and uses the entry with the specified key, activating it if it was passivated.
+     * @return the entry in use, or null, if no such entry exists
+     */
+    private Entry<K, V> find(Shard<K, V> shard, K key) {
+        Entry<K, V> entry = shard.entries.get(key);
+        // Entry may have been evicted since we looked it up
+        while (entry == null || !entry.use()) {
+            if (this.passivation == null) {
+                return null;
+            }
+            if (entry != null) {
+                // Entry is being evicted, wait for the maintenance of its shard to hand it off to the passivation store
+                shard.lock.lock();
+                shard.lock.unlock();
+            } else {
+                // Only one thread activates a given bean, any others wait for it, then look it up again
+                CompletableFuture<Void> activation = new CompletableFuture<>();
+                CompletableFuture<Void> existing = this.activations.putIfAbsent(key, activation);
+                if (existing != null) {
+                    existing.join();
+                } else {
+                    try {
+                        if (!shard.entries.containsKey(key)) {
+                            V bean = this.passivation.activate(key);
+                            if (bean == null) {
+                                return null;
+                            }
+                            Entry<K, V> activated = new Entry<>(key, bean);
+                            // Use the entry before it becomes visible, so that it cannot be evicted again before we return it
+                            activated.use();
+                            shard.entries.put(key, activated);
+                            shard.writes.add(activated);
+                            return activated;
+                        }
+                    } finally {
+                        this.activations.remove(key, activation);
+                        activation.complete(null);
+                    }
+                }
+            }
+            entry = shard.entries.get(key);
+        }
+        return entry;
+    }
+
+    private void maintain(Shard<K, V> shard) {
+        // Only one thread at a time maintains a given shard, the others move on.
+        // The maintaining thread retries if writes were recorded in the meantime, since their writers may have failed to acquire the lock.
+        boolean maintain = shard.hasPendingWrites() || shard.isOverCapacity();
+        while (maintain && shard.lock.tryLock()) {
+            List<Entry<K, V>> evicted;
+            try {
+                evicted = shard.maintain(this.passivator);
+            } finally {
+                shard.lock.unlock();
+            }
+            for (Entry<K, V> entry : evicted) {
+                if (this.passivator == null) {
+                    this.scheduler.cancel(entry.getKey());
+                    this.factory.destroyInstance(entry.getValue());
+                }
+                this.evictions.increment();
+            }
+            maintain = shard.hasPendingWrites();
+        }
+        if (shard.hasPendingReads() && shard.lock.tryLock()) {
+            try {
+                shard.drainReads();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private static class Shard<K, V> {
+        // Maximum number of pending accesses per shard, beyond which accesses are no longer recorded
+        private static final int MAX_PENDING_READS = 64;
+
+        final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+        final Queue<Entry<K, V>> writes = new ConcurrentLinkedQueue<>();
+        final Lock lock = new ReentrantLock();
+        private final int capacity;
+        private final Queue<Entry<K, V>> reads = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingReads = new AtomicInteger();
+        // Sentinel of the access ordered list, from least (head.next) to most (head.previous) recently used, guarded by lock
+        private final Entry<K, V> head = new Entry<>(null, null);
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.head.previous = this.head;
+            this.head.next = this.head;
+        }
+
+        void removed(Entry<K, V> entry) {
+            entry.removed = true;
+            this.writes.add(entry);
+        }
+
+        void read(Entry<K, V> entry) {
+            if (this.pendingReads.incrementAndGet() <= MAX_PENDING_READS) {
+                this.reads.add(entry);
+            } else {
+                // Lossy: dropping an access merely makes the access order less precise
+                this.pendingReads.decrementAndGet();
+            }
+        }
+
+        boolean hasPendingWrites() {
+            return !this.writes.isEmpty();
+        }
+
+        boolean isOverCapacity() {
+            return this.entries.size() > this.capacity;
+        }
+
+        boolean hasPendingReads() {
+            return this.pendingReads.get() > 0;
+        }
+
+        /**
+         * Applies pending writes and reads to the access order, then evicts the least recently used idle entries that exceed the capacity of this shard.
+         * Must be called while holding the lock.
+         * @param passivator consumes the instances of evicted entries before they are removed, or null, if evicted instances are not passivated
+         * @return the evicted entries
+         */
+        List<Entry<K, V>> maintain(Consumer<V> passivator) {
+            Entry<K, V> entry = this.writes.poll();
+            while (entry != null) {
+                if (entry.removed) {
+                    this.unlink(entry);
+                } else if (entry.previous == null) {
+                    this.linkLast(entry);
+                }
+                entry = this.writes.poll();
+            }
+            this.drainReads();
+
+            List<Entry<K, V>> evicted = new ArrayList<>(0);
+            Entry<K, V> candidate = this.head.next;
+            // Never evict the most recently used entry, which may have just been created
+            while (this.isOverCapacity() && (candidate != this.head.previous)) {
+                Entry<K, V> next = candidate.next;
+                // Never evict an instance that is in use
+                if (candidate.evict()) {
+                    Entry<K, V> victim = candidate;
+                    this.unlink(victim);
+                    // Hand off the instance atomically with its removal, so that it can always be found, either in memory, or by the passivator
+                    this.entries.computeIfPresent(victim.getKey(), (key, current) -> {
+                        if (current != victim) {
+                            return current;
+                        }
+                        if (passivator != null) {
+                            passivator.accept(victim.getValue());
+                        }
+                        evicted.add(victim);
+                        return null;
+                    });
+                }
+                candidate = next;
+            }
+            return evicted;
+        }
+
+        void drainReads() {
+            Entry<K, V> entry = this.reads.poll();
+            while (entry != null) {
+                this.pendingReads.decrementAndGet();
+                // Ignore entries that were removed, or whose addition has not yet been applied
+                if (!entry.removed && (entry.previous != null)) {
+                    this.unlink(entry);
+                    this.linkLast(entry);
+                }
+                entry = this.reads.poll();
+            }
+        }
+
+        private void linkLast(Entry<K, V> entry) {
+            Entry<K, V> last = this.head.previous;
+            entry.previous = last;
+            entry.next = this.head;
+            last.next = entry;
+            this.head.previous = entry;
+        }
+
+        private void unlink(Entry<K, V> entry) {
+            if (entry.previous != null) {
+                entry.previous.next = entry.next;
+                entry.next.previous = entry.previous;
+                entry.previous = null;
+                entry.next = null;
+            }
+        }
+    }
+
+    private static class Entry<K, V> {
+        private static final int EVICTED = Integer.MIN_VALUE;
+
+        private final K key;
+        private final V value;
+        private final AtomicInteger usage = new AtomicInteger();
+        volatile boolean removed = false;
+        // Guarded by the lock of the shard
+        Entry<K, V> previous;
+        Entry<K, V> next;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        boolean use() {
+            int current = this.usage.get();
+            while (current != EVICTED) {
+                if (this.usage.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                current = this.usage.get();
+            }
+            return false;
+        }
+
+        boolean done() {
+            return this.usage.decrementAndGet() == 0;
+        }
+
+        boolean evict() {
+            return this.usage.compareAndSet(0, EVICTED);
+        }
+
+        K getKey() {
+            return this.key;
+        }
+
+        V getValue() {
+            return this.value;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Passivates bean instances of a {@link BoundedSimpleCache} to an append-only file store.
+ * Instances are written out asynchronously, by a single thread, so that eviction never waits on disk I/O.
+ * An instance whose write-out has not yet started is reclaimed from memory, without passivation, if it is requested in the meantime.
+ * Passivated instances are only read back, i.e. activated, when requested.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+class FilePassivationStore<K, V extends Identifiable<K>> {
+    // Size beyond which a new segment file is started
+    private static final long SEGMENT_SIZE = 16L << 20;
+    // Maximum time to wait for an ongoing write-out when stopping
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private final Path directory;
+    private final String prefix;
+    private final ByteBufferMarshaller marshaller;
+    private final ClassLoader loader;
+    private final PassivationListener<V> listener;
+    private final StatefulObjectFactory<V> factory;
+    private final ConcurrentMap<K, Passivation<V>> pending = new ConcurrentHashMap<>();
+    private volatile AppendOnlyFileStore<K> files;
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * @param directory the directory in which to create the store files of this cache
+     * @param prefix the prefix of the directory created for this cache
+     * @param marshaller the marshaller of bean instances
+     * @param loader the class loader of the bean component, used as the context class loader while writing out an instance
+     * @param listener the listener to notify of passivation and activation events
+     * @param factory the factory used to destroy instances that could not be passivated
+     */
+    FilePassivationStore(Path directory, String prefix, ByteBufferMarshaller marshaller, ClassLoader loader, PassivationListener<V> listener, StatefulObjectFactory<V> factory) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.marshaller = marshaller;
+        this.loader = loader;
+        this.listener = listener;
+        this.factory = factory;
+    }
+
+    void start() {
+        try {
+            this.files = new AppendOnlyFileStore<>(Files.createTempDirectory(Files.createDirectories(this.directory), this.prefix), SEGMENT_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory(this.getClass()));
+        // Do not retain a thread for idle caches
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    void stop() {
+        // Cancel pending write-outs, then wait for any ongoing write-out
+        for (Passivation<V> passivation : this.pending.values()) {
+            if (passivation.cancel()) {
+                this.factory.destroyInstance(passivation.getBean());
+            }
+        }
+        this.pending.clear();
+        ExecutorService executor = this.executor;
+        WildFlySecurityManager.doPrivilegedWithParameter(executor, DefaultExecutorService.SHUTDOWN_ACTION);
+        try {
+            executor.awaitTermination(STOP_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        AppendOnlyFileStore<K> files = this.files;
+        files.close();
+        try {
+            Files.deleteIfExists(files.getDirectory());
+        } catch (IOException e) {
+            // Nothing more we can do
+        }
+    }
+
+    /**
+     * Schedules the write-out of the specified evicted bean instance.
+     * Must be called before the instance is removed from memory, such that it is always found either in memory, or by this store.
+     * @param bean an evicted bean instance
+     */
+    void passivate(V bean) {
+        Passivation<V> passivation = new Passivation<>(bean);
+        this.pending.put(bean.getId(), passivation);
+        try {
+            this.executor.execute(() -> this.write(passivation));
+        } catch (RejectedExecutionException e) {
+            // Store is stopping, leave the instance pending
+        }
+    }
+
+    /**
+     * Activates the bean instance with the specified identifier.
+     * @param id a bean identifier
+     * @return the activated bean instance, or null, if no such bean was passivated
+     */
+    V activate(K id) {
+        Passivation<V> passivation = this.pending.get(id);
+        if (passivation != null) {
+            if (passivation.cancel()) {
+                // Reclaim the instance before it was passivated
+                this.pending.remove(id, passivation);
+                return passivation.getBean();
+            }
+            passivation.await();
+        }
+        try {
+            ByteBuffer buffer = this.files.read(id);
+            if (buffer == null) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            V bean = (V) this.marshaller.read(buffer);
+            this.listener.postActivate(bean);
+            return bean;
+        } catch (IOException | RuntimeException e) {
+            EjbLogger.ROOT_LOGGER.failedToActivateBean(e, id);
+            return null;
+        }
+    }
+
+    /**
+     * Removes the passivated bean instance with the specified identifier, if it exists.
+     * As permitted by the specification, a passivated instance is removed without activating it.
+     * @param id a bean identifier
+     */
+    void remove(K id) {
+        Passivation<V> passivation = this.pending.get(id);
+        if (passivation != null) {
+            if (passivation.cancel()) {
+                this.pending.remove(id, passivation);
+                this.factory.destroyInstance(passivation.getBean());
+                return;
+            }
+            passivation.await();
+        }
+        this.files.discard(id);
+    }
+
+    boolean contains(K id) {
+        return this.pending.containsKey(id) || this.files.contains(id);
+    }
+
+    /**
+     * Returns the number of passivated instances, including those pending write-out.
+     * An instance whose write-out is just completing may be counted twice.
+     * @return the approximate number of passivated instances
+     */
+    int size() {
+        return this.pending.size() + this.files.size();
+    }
+
+    private void write(Passivation<V> passivation) {
+        if (!passivation.start()) {
+            // Already reclaimed
+            return;
+        }
+        V bean = passivation.getBean();
+        K id = bean.getId();
+        // Write-out runs on our own thread, so the @PrePassivate callback and marshalling need the context class loader of the component
+        ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(this.loader);
+        try {
+            this.listener.prePassivate(bean);
+            this.files.write(id, this.marshaller.write(bean));
+        } catch (IOException | RuntimeException e) {
+            EjbLogger.ROOT_LOGGER.failedToPassivateBean(e, id);
+            this.factory.destroyInstance(bean);
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+            // Only remove the pending write-out once the record is visible to readers
+            this.pending.remove(id, passivation);
+            passivation.complete();
+        }
+    }
+
+    private static class Passivation<V> {
+        private static final int PENDING = 0;
+        private static final int WRITING = 1;
+        private static final int CANCELLED = 2;
+
+        private final V bean;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        Passivation(V bean) {
+            this.bean = bean;
+        }
+
+        V getBean() {
+            return this.bean;
+        }
+
+        boolean start() {
+            return this.state.compareAndSet(PENDING, WRITING);
+        }
+
+        boolean cancel() {
+            if (this.state.compareAndSet(PENDING, CANCELLED)) {
+                this.done.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        void complete() {
+            this.done.countDown();
+        }
+
+        /**
+         * Waits, uninterruptibly, for the write-out to complete.
+         */
+        void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import org.jboss.as.ejb3.cache.Cache;
@@ -58,6 +59,8 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     private final Duration timeout;
     private final ServerEnvironment environment;
     private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), this, Duration.ZERO);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment) {
         this.factory = factory;
@@ -129,7 +132,11 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     @Override
     public V get(K key) {
         Entry<V> entry = this.entries.get(key);
-        if (entry == null) return null;
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
         this.scheduler.cancel(key);
         entry.use();
         return entry.getValue();
@@ -173,6 +180,16 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
         return this.getCacheSize();
     }
 
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
     @Override
     public boolean test(K key) {
         this.remove(key);
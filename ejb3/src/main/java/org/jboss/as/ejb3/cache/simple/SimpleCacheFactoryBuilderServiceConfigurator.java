@@ -48,8 +48,26 @@ import org.wildfly.clustering.service.ServiceConfigurator;
  */
 public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifiable<K>> extends CacheFactoryBuilderServiceNameProvider implements ServiceConfigurator, CacheFactoryBuilder<K, V> {
 
+    private final Integer maxSize;
+    private final boolean passivateToDisk;
+
     public SimpleCacheFactoryBuilderServiceConfigurator(String name) {
+        this(name, null);
+    }
+
+    public SimpleCacheFactoryBuilderServiceConfigurator(String name, Integer maxSize) {
+        this(name, maxSize, false);
+    }
+
+    /**
+     * @param name the name of the cache
+     * @param maxSize the maximum number of bean instances per cache, or null, if the caches are unbounded
+     * @param passivateToDisk indicates whether instances evicted from a bounded cache are passivated to disk, rather than destroyed
+     */
+    public SimpleCacheFactoryBuilderServiceConfigurator(String name, Integer maxSize, boolean passivateToDisk) {
         super(name);
+        this.maxSize = maxSize;
+        this.passivateToDisk = passivateToDisk;
     }
 
     @Override
@@ -68,11 +86,12 @@ public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifia
 
     @Override
     public CapabilityServiceConfigurator getServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration) {
-        return new SimpleCacheFactoryServiceConfigurator<>(name, description);
+        boolean passivate = this.passivateToDisk && description.isPassivationApplicable();
+        return new SimpleCacheFactoryServiceConfigurator<>(name, description, this.maxSize, passivate ? configuration.getModuleClassLoader() : null);
     }
 
     @Override
     public boolean supportsPassivation() {
-        return false;
+        return (this.maxSize != null) && this.passivateToDisk;
     }
 }
@@ -21,6 +21,7 @@
  */
 package org.jboss.as.ejb3.cache.simple;
 
+import java.nio.file.Path;
 import java.util.function.Consumer;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
@@ -38,6 +39,9 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.JBossByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.service.CompositeDependency;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
 import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.service.SupplierDependency;
@@ -54,16 +58,34 @@ public class SimpleCacheFactoryServiceConfigurator<K, V extends Identifiable<K>>
     private final StatefulComponentDescription componentDescription;
     private final SupplierDependency<ServerEnvironment> environment = new ServiceSupplierDependency<>(ServerEnvironmentService.SERVICE_NAME);
 
+    private final Integer maxSize;
+    private final SupplierDependency<MarshallingConfigurationRepository> repository;
+    private final ClassLoader loader;
+
     public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description) {
+        this(name, description, null);
+    }
+
+    public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, Integer maxSize) {
+        this(name, description, maxSize, null);
+    }
+
+    /**
+     * @param loader the class loader of the component, if instances evicted from a bounded cache should be passivated to disk, or null, if they should be destroyed
+     */
+    public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, Integer maxSize, ClassLoader loader) {
         super(name);
         this.componentDescription = description;
+        this.maxSize = maxSize;
+        this.loader = loader;
+        this.repository = (maxSize != null) && (loader != null) ? new ServiceSupplierDependency<>(description.getDeploymentUnitServiceName().append("marshalling")) : null;
     }
 
     @Override
     public ServiceBuilder<?> build(ServiceTarget target) {
         ServiceName name = this.getServiceName();
         ServiceBuilder<?> builder = target.addService(name);
-        Consumer<CacheFactory<K, V>> factory = this.environment.register(builder).provides(name);
+        Consumer<CacheFactory<K, V>> factory = new CompositeDependency(this.environment, this.repository).register(builder).provides(name);
         Service service = Service.newInstance(factory, this);
         return builder.setInstance(service);
     }
@@ -71,6 +93,14 @@ public class SimpleCacheFactoryServiceConfigurator<K, V extends Identifiable<K>>
     @Override
     public Cache<K, V> createCache(IdentifierFactory<K> identifierFactory, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
         final StatefulTimeoutInfo timeout = this.componentDescription.getStatefulTimeout();
+        if (this.maxSize != null) {
+            FilePassivationStore<K, V> passivation = null;
+            if (this.repository != null) {
+                Path directory = this.environment.get().getServerDataDir().toPath().resolve("ejb3").resolve("passivation");
+                passivation = new FilePassivationStore<>(directory, this.componentDescription.getComponentName() + "-", new JBossByteBufferMarshaller(this.repository.get(), this.loader), this.loader, passivationListener, factory);
+            }
+            return new BoundedSimpleCache<>(factory, identifierFactory, timeout, this.environment.get(), this.maxSize, passivation);
+        }
         return new SimpleCache<>(factory, identifierFactory, this.componentDescription.getStatefulTimeout(), this.environment.get());
     }
 }
@@ -59,6 +59,7 @@ import org.jboss.as.ee.component.interceptors.InvocationType;
 import org.jboss.as.ejb3.component.allowedmethods.AllowedMethodsInformation;
 import org.jboss.as.ejb3.component.interceptors.ShutDownInterceptorFactory;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.invocationmetrics.RemoteDispatchMetrics;
 import org.jboss.as.ejb3.context.CurrentInvocationContext;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.security.EJBSecurityMetaData;
@@ -118,6 +119,7 @@ public abstract class EJBComponent extends BasicComponent implements ServerActiv
     private final String policyContextID;
 
     private final InvocationMetrics invocationMetrics = new InvocationMetrics();
+    private final RemoteDispatchMetrics remoteDispatchMetrics = new RemoteDispatchMetrics();
     private final EJBSuspendHandlerService ejbSuspendHandlerService;
     private final ShutDownInterceptorFactory shutDownInterceptorFactory;
     private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
@@ -576,6 +578,10 @@ public abstract class EJBComponent extends BasicComponent implements ServerActiv
         return invocationMetrics;
     }
 
+    public RemoteDispatchMetrics getRemoteDispatchMetrics() {
+        return remoteDispatchMetrics;
+    }
+
     public ControlPoint getControlPoint() {
         return this.controlPoint;
     }
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how remote invocations of a component are dispatched, i.e. how many are waiting for a thread
+ * and how long they waited between being received and being executed.
+ */
+public class RemoteDispatchMetrics {
+
+    private final AtomicLong queued = new AtomicLong(0);
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder dispatchTime = new LongAdder();
+
+    /**
+     * Records that a remote invocation was received and is waiting to be executed.
+     */
+    public void queued() {
+        this.queued.incrementAndGet();
+    }
+
+    /**
+     * Records that a previously queued remote invocation started to execute.
+     * @param latency the time, in nanoseconds, the invocation spent waiting for dispatch
+     */
+    public void dispatched(long latency) {
+        this.queued.decrementAndGet();
+        this.dispatches.increment();
+        this.dispatchTime.add(latency);
+    }
+
+    /**
+     * Records that a previously queued remote invocation could not be dispatched.
+     */
+    public void rejected() {
+        this.queued.decrementAndGet();
+    }
+
+    /**
+     * @return the number of remote invocations currently waiting to be executed
+     */
+    public long getQueueDepth() {
+        return this.queued.get();
+    }
+
+    /**
+     * @return the number of remote invocations that were dispatched
+     */
+    public long getDispatches() {
+        return this.dispatches.sum();
+    }
+
+    /**
+     * @return the accumulated time, in milliseconds, remote invocations spent waiting for dispatch
+     */
+    public long getDispatchTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.dispatchTime.sum());
+    }
+}
@@ -3244,4 +3244,16 @@ public interface EjbLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 527, value = "Remoting connector (address %s, port %s) is not correctly configured for EJB client invocations, the connector must be listed in <remote/> 'connectors' attribute to receive EJB client invocations")
     void connectorNotConfiguredForEJBClientInvocations(String address, int port);
+
+    @LogMessage(level = WARN)
+    @Message(id = 528, value = "Failed to passivate stateful session bean %s to disk, it will be removed")
+    void failedToPassivateBean(@Cause Throwable cause, Object id);
+
+    @LogMessage(level = WARN)
+    @Message(id = 529, value = "Failed to activate stateful session bean %s from disk")
+    void failedToActivateBean(@Cause Throwable cause, Object id);
+
+    @LogMessage(level = WARN)
+    @Message(id = 530, value = "Failed to dispatch queued remote invocation, returning a failure response to the client")
+    void failedToDispatchQueuedInvocation(@Cause Throwable cause);
 }
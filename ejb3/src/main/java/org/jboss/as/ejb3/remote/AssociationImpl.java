@@ -26,8 +26,10 @@ import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentIsStoppedException;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ee.component.interceptors.InvocationType;
+import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.EJBComponentUnavailableException;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
+import org.jboss.as.ejb3.component.invocationmetrics.RemoteDispatchMetrics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.component.stateless.StatelessSessionComponent;
@@ -89,6 +91,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * @author <a href="mailto:tadamski@redhat.com">Tomasz Adamski</a>
@@ -105,6 +108,28 @@ final class AssociationImpl implements Association, AutoCloseable {
     private final DeploymentRepository deploymentRepository;
     private final Map<Integer, ClusterTopologyRegistrar> clusterTopologyRegistrars;
     private volatile Executor executor;
+    private volatile int maxConcurrentInvocationsPerApplication;
+    private final Map<String, RemoteInvocationBulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final DeploymentRepositoryListener bulkheadListener = new DeploymentRepositoryListener() {
+        @Override
+        public void listenerAdded(final DeploymentRepository repository) {
+        }
+
+        @Override
+        public void deploymentAvailable(final DeploymentModuleIdentifier deployment, final ModuleDeployment moduleDeployment) {
+        }
+
+        @Override
+        public void deploymentStarted(final DeploymentModuleIdentifier deployment, final ModuleDeployment moduleDeployment) {
+        }
+
+        @Override
+        public void deploymentRemoved(final DeploymentModuleIdentifier deployment) {
+            // Discard the bulkhead of an undeployed application
+            final String applicationName = deployment.getApplicationName();
+            bulkheads.remove((applicationName != null && !applicationName.isEmpty()) ? applicationName : deployment.getModuleName());
+        }
+    };
 
     AssociationImpl(final DeploymentRepository deploymentRepository, final List<Map.Entry<ProtocolSocketBinding, Registry<String, List<ClientMapping>>>> clientMappingRegistries) {
         this.deploymentRepository = deploymentRepository;
@@ -112,10 +137,13 @@ final class AssociationImpl implements Association, AutoCloseable {
         for (Map.Entry<ProtocolSocketBinding, Registry<String, List<ClientMapping>>> entry : clientMappingRegistries) {
             this.clusterTopologyRegistrars.put(entry.getKey().getSocketBinding().getSocketAddress().getPort(), new ClusterTopologyRegistrar(entry.getValue()));
         }
+        deploymentRepository.addListener(this.bulkheadListener);
     }
 
     @Override
     public void close() {
+        this.deploymentRepository.removeListener(this.bulkheadListener);
+        this.bulkheads.clear();
         for (ClusterTopologyRegistrar registrar : this.clusterTopologyRegistrars.values()) {
             registrar.close();
         }
@@ -294,7 +322,9 @@ final class AssociationImpl implements Association, AutoCloseable {
             }
         };
         // invoke the method and write out the response, possibly on a separate thread
-        execute(invocationRequest, runnable, isAsync, false);
+        execute(invocationRequest, ejbDeploymentInformation.getEjbComponent(), runnable, e -> {
+            if (! oneWay) invocationRequest.writeException(new EJBException(e));
+        }, isAsync, false);
         return cancellationFlag::cancel;
     }
 
@@ -332,20 +362,50 @@ final class AssociationImpl implements Association, AutoCloseable {
 
     }
 
-    private void execute(Request request, Runnable task, final boolean isAsync, boolean alwaysDispatch) {
+    private void execute(Request request, EJBComponent component, Runnable task, Consumer<RuntimeException> rejectionHandler, final boolean isAsync, boolean alwaysDispatch) {
         if (request.getProtocol().equals("local") && ! isAsync) {
             task.run();
-        } else {
-            if(executor != null) {
-                executor.execute(task);
-            } else if(isAsync || alwaysDispatch){
-                request.getRequestExecutor().execute(task);
+            return;
+        }
+        final Executor executor = this.executor;
+        final Executor target = (executor != null) ? executor : (isAsync || alwaysDispatch) ? request.getRequestExecutor() : null;
+        final RemoteInvocationBulkhead bulkhead = this.getBulkhead(component);
+        if (target == null && bulkhead == null) {
+            task.run();
+            return;
+        }
+        final RemoteDispatchMetrics metrics = component.getRemoteDispatchMetrics();
+        final long queued = System.nanoTime();
+        metrics.queued();
+        final Runnable dispatchedTask = () -> {
+            metrics.dispatched(System.nanoTime() - queued);
+            task.run();
+        };
+        try {
+            if (bulkhead != null) {
+                bulkhead.execute(target, (target != null) ? target : request.getRequestExecutor(), dispatchedTask, e -> {
+                    metrics.rejected();
+                    rejectionHandler.accept(e);
+                });
             } else {
-                task.run();
+                target.execute(dispatchedTask);
             }
+        } catch (RuntimeException | Error e) {
+            metrics.rejected();
+            throw e;
         }
     }
 
+    private RemoteInvocationBulkhead getBulkhead(EJBComponent component) {
+        final int maxConcurrentInvocations = this.maxConcurrentInvocationsPerApplication;
+        if (maxConcurrentInvocations <= 0) {
+            return null;
+        }
+        final String earApplicationName = component.getEarApplicationName();
+        final String applicationName = (earApplicationName != null) ? earApplicationName : component.getModuleName();
+        return this.bulkheads.computeIfAbsent(applicationName, name -> new RemoteInvocationBulkhead(maxConcurrentInvocations));
+    }
+
     @Override
     @NotNull
     public CancelHandle receiveSessionOpenRequest(@NotNull final SessionOpenRequest sessionOpenRequest) {
@@ -411,7 +471,7 @@ final class AssociationImpl implements Association, AutoCloseable {
 
             sessionOpenRequest.convertToStateful(sessionID);
         };
-        execute(sessionOpenRequest, runnable, false, true);
+        execute(sessionOpenRequest, statefulSessionComponent, runnable, e -> sessionOpenRequest.writeException(new EJBException(e)), false, true);
         return ignored -> cancelled.set(true);
     }
 
@@ -729,6 +789,11 @@ final class AssociationImpl implements Association, AutoCloseable {
         this.executor = executor;
     }
 
+    void setMaxConcurrentInvocationsPerApplication(int maxConcurrentInvocations) {
+        this.maxConcurrentInvocationsPerApplication = maxConcurrentInvocations;
+        this.bulkheads.clear();
+    }
+
     /**
      * Checks if this node is the last node in the cluster and sends a topology update to all connected clients if this is so
      * This should only be called when the node is known to be shutting down (and not just suspending)
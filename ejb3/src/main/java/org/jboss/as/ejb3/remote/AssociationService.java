@@ -208,6 +208,10 @@ public final class AssociationService implements Service<AssociationService> {
         this.value.setExecutor(executor);
     }
 
+    void setMaxConcurrentInvocationsPerApplication(int maxConcurrentInvocations) {
+        this.value.setMaxConcurrentInvocationsPerApplication(maxConcurrentInvocations);
+    }
+
     void sendTopologyUpdateIfLastNodeToLeave() {
         this.value.sendTopologyUpdateIfLastNodeToLeave();
     }
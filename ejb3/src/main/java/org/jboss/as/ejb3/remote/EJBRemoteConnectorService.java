@@ -56,11 +56,19 @@ public class EJBRemoteConnectorService implements Service<Void> {
     private volatile Registration registration;
     private final OptionMap channelCreationOptions;
     private final Function<String, Boolean> classResolverFilter;
+    private final int maxConcurrentInvocationsPerApplication;
 
     public EJBRemoteConnectorService(final OptionMap channelCreationOptions,
                                      final Function<String, Boolean> classResolverFilter) {
+        this(channelCreationOptions, classResolverFilter, 0);
+    }
+
+    public EJBRemoteConnectorService(final OptionMap channelCreationOptions,
+                                     final Function<String, Boolean> classResolverFilter,
+                                     final int maxConcurrentInvocationsPerApplication) {
         this.channelCreationOptions = channelCreationOptions;
         this.classResolverFilter = classResolverFilter;
+        this.maxConcurrentInvocationsPerApplication = maxConcurrentInvocationsPerApplication;
     }
 
     @Override
@@ -71,6 +79,7 @@ public class EJBRemoteConnectorService implements Service<Void> {
         if (executor != null) {
             associationService.setExecutor(executor);
         }
+        associationService.setMaxConcurrentInvocationsPerApplication(this.maxConcurrentInvocationsPerApplication);
         RemoteEJBService remoteEJBService = RemoteEJBService.create(
             associationService.getAssociation(),
             remotingTransactionServiceInjectedValue.getValue(),
@@ -92,6 +101,7 @@ public class EJBRemoteConnectorService implements Service<Void> {
         final AssociationService associationService = associationServiceInjectedValue.getValue();
         associationService.sendTopologyUpdateIfLastNodeToLeave();
         associationService.setExecutor(null);
+        associationService.setMaxConcurrentInvocationsPerApplication(0);
         registration.close();
     }
 
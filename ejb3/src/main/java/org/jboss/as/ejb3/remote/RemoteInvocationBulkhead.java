@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * Limits the number of remote invocations of a single application that may execute concurrently.
+ * Invocations exceeding the limit are queued and dispatched, in arrival order, to the executor with which they were submitted
+ * as soon as a running invocation of the same application completes.
+ * This prevents a burst of slow invocations against one application from monopolizing the threads shared by all applications.
+ */
+final class RemoteInvocationBulkhead {
+
+    private final int maxConcurrency;
+    private final AtomicInteger active = new AtomicInteger(0);
+    private final Queue<Dispatch> queue = new ConcurrentLinkedQueue<>();
+
+    RemoteInvocationBulkhead(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Executes the specified task, subject to the concurrency limit of this bulkhead.
+     * @param executor the executor used to run the task, or null, if the task should run in the calling thread when a permit is immediately available.
+     * @param deferredExecutor the executor used to run the task, if it must be queued
+     * @param task a task
+     * @param rejectionHandler completes the task, if it was queued and could not be dispatched to its executor
+     */
+    void execute(Executor executor, Executor deferredExecutor, Runnable task, Consumer<RuntimeException> rejectionHandler) {
+        if (this.queue.isEmpty() && this.tryAcquire()) {
+            Runnable releasingTask = new ReleasingTask(task);
+            if (executor != null) {
+                this.dispatch(executor, releasingTask);
+            } else {
+                releasingTask.run();
+            }
+        } else {
+            this.queue.add(new Dispatch(deferredExecutor, task, rejectionHandler));
+            this.drain();
+        }
+    }
+
+    int getActiveCount() {
+        return this.active.get();
+    }
+
+    int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    private boolean tryAcquire() {
+        int current = this.active.get();
+        while (current < this.maxConcurrency) {
+            if (this.active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = this.active.get();
+        }
+        return false;
+    }
+
+    private void release() {
+        this.active.decrementAndGet();
+        this.drain();
+    }
+
+    private void drain() {
+        // Any thread that queues a task or releases a permit drains, so a queued task cannot be stranded
+        while (!this.queue.isEmpty() && this.tryAcquire()) {
+            Dispatch dispatch = this.queue.poll();
+            if (dispatch == null) {
+                this.active.decrementAndGet();
+            } else {
+                try {
+                    dispatch.executor.execute(new ReleasingTask(dispatch.task));
+                } catch (RuntimeException e) {
+                    // The caller that queued the invocation has already returned, e.g. if its executor was since shutdown
+                    this.active.decrementAndGet();
+                    EjbLogger.REMOTE_LOGGER.failedToDispatchQueuedInvocation(e);
+                    dispatch.reject(e);
+                }
+            }
+        }
+    }
+
+    private void dispatch(Executor executor, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException | Error e) {
+            this.release();
+            throw e;
+        }
+    }
+
+    private class ReleasingTask implements Runnable {
+        private final Runnable task;
+
+        ReleasingTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.task.run();
+            } finally {
+                // Releasing never throws, so it cannot mask an exception thrown by the task
+                RemoteInvocationBulkhead.this.release();
+            }
+        }
+    }
+
+    private static class Dispatch {
+        final Executor executor;
+        final Runnable task;
+        private final Consumer<RuntimeException> rejectionHandler;
+
+        Dispatch(Executor executor, Runnable task, Consumer<RuntimeException> rejectionHandler) {
+            this.executor = executor;
+            this.task = task;
+            this.rejectionHandler = rejectionHandler;
+        }
+
+        void reject(RuntimeException exception) {
+            try {
+                this.rejectionHandler.accept(exception);
+            } catch (RuntimeException e) {
+                // Continue draining the queue
+                EjbLogger.REMOTE_LOGGER.failedToDispatchQueuedInvocation(e);
+            }
+        }
+    }
+}
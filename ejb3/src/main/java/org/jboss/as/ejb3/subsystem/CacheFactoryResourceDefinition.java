@@ -28,9 +28,11 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -39,6 +41,8 @@ import org.jboss.dmr.ModelType;
  * - distributed and have passivation-enabled
  * - non distributed and do not have passivation-enabled
  * For passivation enabled CacheFactoryBuilders, the PassivationStoreResourceDefinition must define a supporting passivation store.
+ * Non distributed bean caches may instead be bounded via max-size, an alternative to passivation-store, in which case the least recently used idle beans are evicted,
+ * and, if passivate-to-disk is enabled, passivated to a local file store.
  *
  * @author Paul Ferraro
  */
@@ -55,10 +59,29 @@ public class CacheFactoryResourceDefinition extends SimpleResourceDefinition {
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.PASSIVATION_STORE, ModelType.STRING, true)
                     .setXmlName(EJB3SubsystemXMLAttribute.PASSIVATION_STORE_REF.getLocalName())
                     .setAllowExpression(true)
+                    .setAlternatives(EJB3SubsystemModel.MAX_SIZE)
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = { ALIASES, PASSIVATION_STORE };
+    public static final SimpleAttributeDefinition MAX_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_SIZE, ModelType.INT, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.MAX_SIZE.getLocalName())
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, true, true))
+                    .setAlternatives(EJB3SubsystemModel.PASSIVATION_STORE)
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+
+    public static final SimpleAttributeDefinition PASSIVATE_TO_DISK =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.PASSIVATE_TO_DISK, ModelType.BOOLEAN, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.PASSIVATE_TO_DISK.getLocalName())
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setRequires(EJB3SubsystemModel.MAX_SIZE)
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = { ALIASES, PASSIVATION_STORE, MAX_SIZE, PASSIVATE_TO_DISK };
     private static final CacheFactoryAdd ADD_HANDLER = new CacheFactoryAdd(ATTRIBUTES);
     private static final CacheFactoryRemove REMOVE_HANDLER = new CacheFactoryRemove(ADD_HANDLER);
 
@@ -100,6 +100,7 @@ public class EJB3RemoteServiceAdd extends AbstractBoottimeAddStepHandler {
         final List<ModelNode> connectorNameNodes = EJB3RemoteResourceDefinition.CONNECTORS.resolveModelAttribute(context, model).asList();
         final String threadPoolName = EJB3RemoteResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
         final boolean executeInWorker = EJB3RemoteResourceDefinition.EXECUTE_IN_WORKER.resolveModelAttribute(context, model).asBoolean();
+        final int maxConcurrentInvocationsPerApplication = EJB3RemoteResourceDefinition.MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION.resolveModelAttribute(context, model).asInt(0);
 
         final ServiceTarget target = context.getServiceTarget();
 
@@ -124,7 +125,7 @@ public class EJB3RemoteServiceAdd extends AbstractBoottimeAddStepHandler {
         // Install the Jakarta Enterprise Beans remoting connector service which will listen for client connections on the remoting channel
         // TODO: Externalize (expose via management API if needed) the version and the marshalling strategy
         final EJBRemoteConnectorService ejbRemoteConnectorService = new EJBRemoteConnectorService(channelCreationOptions,
-                FilterSpecClassResolverFilter.getFilterForOperationContext(context));
+                FilterSpecClassResolverFilter.getFilterForOperationContext(context), maxConcurrentInvocationsPerApplication);
         CapabilityServiceBuilder<?> builder = (CapabilityServiceBuilder<?>) context.getCapabilityServiceTarget()
                 .addCapability(EJB3RemoteResourceDefinition.EJB_REMOTE_CAPABILITY)
                 .setInstance(ejbRemoteConnectorService)
@@ -487,22 +487,11 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         for (int i = 0; i < reader.getAttributeCount(); i++) {
             requireNoNamespaceAttribute(reader, i);
             final String value = reader.getAttributeValue(i);
-            switch (EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i))) {
-                case NAME: {
-                    name = value;
-                    break;
-                }
-                case PASSIVATION_STORE_REF: {
-                    CacheFactoryResourceDefinition.PASSIVATION_STORE.parseAndSetParameter(value, operation, reader);
-                    break;
-                }
-                case ALIASES: {
-                    CacheFactoryResourceDefinition.ALIASES.getParser().parseAndSetParameter(CacheFactoryResourceDefinition.ALIASES, value, operation, reader);
-                    break;
-                }
-                default: {
-                    throw unexpectedAttribute(reader, i);
-                }
+            final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
+            if (attribute == EJB3SubsystemXMLAttribute.NAME) {
+                name = value;
+            } else {
+                this.parseCacheAttribute(reader, i, attribute, value, operation);
             }
         }
         requireNoContent(reader);
@@ -514,6 +503,22 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         operations.add(operation);
     }
 
+    protected void parseCacheAttribute(final XMLExtendedStreamReader reader, final int index, final EJB3SubsystemXMLAttribute attribute, final String value, final ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case PASSIVATION_STORE_REF: {
+                CacheFactoryResourceDefinition.PASSIVATION_STORE.parseAndSetParameter(value, operation, reader);
+                break;
+            }
+            case ALIASES: {
+                CacheFactoryResourceDefinition.ALIASES.getParser().parseAndSetParameter(CacheFactoryResourceDefinition.ALIASES, value, operation, reader);
+                break;
+            }
+            default: {
+                throw unexpectedAttribute(reader, index);
+            }
+        }
+    }
+
     @SuppressWarnings("deprecation")
     protected void parsePassivationStores(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
         // no attributes expected
@@ -52,6 +52,31 @@ public class EJB3Subsystem90Parser extends EJB3Subsystem80Parser {
         return EJB3SubsystemNamespace.EJB3_9_0;
     }
 
+    @Override
+    protected void parseRemoteAttribute(final XMLExtendedStreamReader reader, final int index, final EJB3SubsystemXMLAttribute attribute, final String value, final ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION:
+                EJB3RemoteResourceDefinition.MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION.parseAndSetParameter(value, operation, reader);
+                break;
+            default:
+                super.parseRemoteAttribute(reader, index, attribute, value, operation);
+        }
+    }
+
+    @Override
+    protected void parseCacheAttribute(final XMLExtendedStreamReader reader, final int index, final EJB3SubsystemXMLAttribute attribute, final String value, final ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case MAX_SIZE:
+                CacheFactoryResourceDefinition.MAX_SIZE.parseAndSetParameter(value, operation, reader);
+                break;
+            case PASSIVATE_TO_DISK:
+                CacheFactoryResourceDefinition.PASSIVATE_TO_DISK.parseAndSetParameter(value, operation, reader);
+                break;
+            default:
+                super.parseCacheAttribute(reader, index, attribute, value, operation);
+        }
+    }
+
     @Override
     protected void parseApplicationSecurityDomain(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
         String applicationSecurityDomain = null;
@@ -119,6 +119,7 @@ public interface EJB3SubsystemModel {
     @Deprecated String IDLE_TIMEOUT = "idle-timeout";
     @Deprecated String IDLE_TIMEOUT_UNIT = "idle-timeout-unit";
     String MAX_SIZE = "max-size";
+    String PASSIVATE_TO_DISK = "passivate-to-disk";
     @Deprecated String GROUPS_PATH = "groups-path";
     @Deprecated String SESSIONS_PATH = "sessions-path";
     @Deprecated String SUBDIRECTORY_COUNT = "subdirectory-count";
@@ -156,6 +157,7 @@ public interface EJB3SubsystemModel {
     String BASE_EJB_THREAD_POOL_NAME = "ejb3";
     ServiceName BASE_THREAD_POOL_SERVICE_NAME = ThreadsServices.EXECUTOR.append(BASE_EJB_THREAD_POOL_NAME);
     String EXECUTE_IN_WORKER = "execute-in-worker";
+    String MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION = "max-concurrent-invocations-per-application";
 
     // Elytron integration
     String APPLICATION_SECURITY_DOMAIN = "application-security-domain";
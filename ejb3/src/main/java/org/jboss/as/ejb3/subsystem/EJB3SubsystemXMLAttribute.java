@@ -80,6 +80,7 @@ public enum EJB3SubsystemXMLAttribute {
     PARTITION("partition"),
     REFRESH_INTERVAL("refresh-interval"),
     PASS_BY_VALUE("pass-by-value"),
+    PASSIVATE_TO_DISK("passivate-to-disk"),
     @Deprecated PASSIVATE_EVENTS_ON_REPLICATE("passivate-events-on-replicate"),
     PASSIVATION_DISABLED_CACHE_REF("passivation-disabled-cache-ref"),
     PASSIVATION_STORE_REF("passivation-store-ref"),
@@ -103,6 +104,7 @@ public enum EJB3SubsystemXMLAttribute {
     ACTIVE("active"),
 
     EXECUTE_IN_WORKER("execute-in-worker"),
+    MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION("max-concurrent-invocations-per-application"),
 
     // Elytron integration
     OUTFLOW_SECURITY_DOMAINS("outflow-security-domains"),
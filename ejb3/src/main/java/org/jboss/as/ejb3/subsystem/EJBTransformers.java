@@ -316,6 +316,8 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
                 .setDiscard(DiscardSingletonListAttributeChecker.INSTANCE, EJB3RemoteResourceDefinition.CONNECTORS)
                 .addRejectCheck(RejectNonSingletonListAttributeChecker.INSTANCE, EJB3RemoteResourceDefinition.CONNECTORS)
                 .setValueConverter(new SingletonListAttributeConverter(EJB3RemoteResourceDefinition.CONNECTORS), EJB3RemoteResourceDefinition.CONNECTOR_REF)
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, EJB3RemoteResourceDefinition.MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, EJB3RemoteResourceDefinition.MAX_CONCURRENT_INVOCATIONS_PER_APPLICATION)
                 .end();
 
         // Reject ejb3/remoting-profile=xxx/remote-http-connection
@@ -327,6 +329,14 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
                 .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION)
                 .end();
+        // Reject attributes max-size and passivate-to-disk of a cache
+        subsystemBuilder.addChildResource(PathElement.pathElement(EJB3SubsystemModel.CACHE))
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, CacheFactoryResourceDefinition.MAX_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, CacheFactoryResourceDefinition.MAX_SIZE)
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, CacheFactoryResourceDefinition.PASSIVATE_TO_DISK)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, CacheFactoryResourceDefinition.PASSIVATE_TO_DISK)
+                .end();
     }
     /*
      * This transformer is used with the datastores in /subsystem=ejb3/service=timer
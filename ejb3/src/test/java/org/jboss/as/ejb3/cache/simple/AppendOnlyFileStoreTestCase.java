@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link AppendOnlyFileStore}.
+ */
+public class AppendOnlyFileStoreTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadWrite() throws IOException {
+        try (AppendOnlyFileStore<String> store = new AppendOnlyFileStore<>(this.folder.getRoot().toPath(), 1024)) {
+            store.write("foo", encode("foo-value"));
+            store.write("bar", encode("bar-value"));
+            store.write("baz", encode("baz-value"));
+            Assert.assertEquals(3, store.size());
+            Assert.assertTrue(store.contains("bar"));
+
+            Assert.assertEquals("bar-value", decode(store.read("bar")));
+            // Reading a record consumes it
+            Assert.assertFalse(store.contains("bar"));
+            Assert.assertNull(store.read("bar"));
+
+            Assert.assertTrue(store.discard("foo"));
+            Assert.assertFalse(store.discard("foo"));
+            Assert.assertNull(store.read("foo"));
+
+            // Replacing a record
+            store.write("baz", encode("new-value"));
+            Assert.assertEquals(1, store.size());
+            Assert.assertEquals("new-value", decode(store.read("baz")));
+            Assert.assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        Path directory = this.folder.getRoot().toPath();
+        try (AppendOnlyFileStore<String> store = new AppendOnlyFileStore<>(directory, 8)) {
+            // Each record fills a segment
+            store.write("foo", encode("01234567"));
+            store.write("bar", encode("12345678"));
+            store.write("baz", encode("23456789"));
+            Assert.assertEquals(3, store.getSegmentCount());
+            Assert.assertEquals(3, count(directory));
+
+            // Consuming the only record of a sealed segment deletes it
+            Assert.assertEquals("12345678", decode(store.read("bar")));
+            Assert.assertEquals(2, store.getSegmentCount());
+            Assert.assertEquals(2, count(directory));
+
+            // The current segment is retained, even if empty
+            store.discard("baz");
+            Assert.assertEquals(2, store.getSegmentCount());
+
+            Assert.assertEquals("01234567", decode(store.read("foo")));
+            Assert.assertEquals(1, store.getSegmentCount());
+        }
+        Assert.assertEquals(0, count(directory));
+    }
+
+    private static ByteBuffer encode(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private static long count(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.cache.simple;
+
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Unit test for {@link BoundedSimpleCache}.
+ */
+public class BoundedSimpleCacheTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEviction() {
+        StatefulObjectFactory<Bean> factory = mock(StatefulObjectFactory.class);
+        Bean bean1 = new Bean();
+        Bean bean2 = new Bean();
+        Bean bean3 = new Bean();
+        when(factory.createInstance()).thenReturn(bean1, bean2, bean3);
+
+        Cache<UUID, Bean> cache = new BoundedSimpleCache<>(factory, null, null, null, 2);
+        try {
+            Assert.assertSame(bean1, cache.create());
+            Assert.assertSame(bean2, cache.create());
+
+            // Access bean1, making bean2 the least recently used
+            Assert.assertSame(bean1, cache.get(bean1.getId()));
+            cache.release(bean1);
+
+            Assert.assertSame(bean3, cache.create());
+
+            Assert.assertEquals(2, cache.getCacheSize());
+            Assert.assertEquals(1, cache.getEvictionCount());
+            Assert.assertTrue(cache.contains(bean1.getId()));
+            Assert.assertFalse(cache.contains(bean2.getId()));
+            Assert.assertTrue(cache.contains(bean3.getId()));
+            verify(factory).destroyInstance(bean2);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void testInUseNotEvicted() {
+        StatefulObjectFactory<Bean> factory = mock(StatefulObjectFactory.class);
+        Bean bean1 = new Bean();
+        Bean bean2 = new Bean();
+        when(factory.createInstance()).thenReturn(bean1, bean2);
+
+        Cache<UUID, Bean> cache = new BoundedSimpleCache<>(factory, null, null, null, 1);
+        try {
+            cache.create();
+            Assert.assertSame(bean1, cache.get(bean1.getId()));
+
+            // bean1 is in use, and bean2 was just created, so neither may be evicted
+            cache.create();
+            Assert.assertTrue(cache.contains(bean1.getId()));
+            Assert.assertTrue(cache.contains(bean2.getId()));
+            Assert.assertEquals(0, cache.getEvictionCount());
+
+            cache.release(bean1);
+            // Next maintenance evicts the idle bean1
+            Assert.assertSame(bean2, cache.get(bean2.getId()));
+            Assert.assertFalse(cache.contains(bean1.getId()));
+            Assert.assertEquals(1, cache.getEvictionCount());
+            verify(factory).destroyInstance(bean1);
+            cache.release(bean2);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void testStatistics() {
+        StatefulObjectFactory<Bean> factory = mock(StatefulObjectFactory.class);
+        Bean bean = new Bean();
+        when(factory.createInstance()).thenReturn(bean);
+
+        Cache<UUID, Bean> cache = new BoundedSimpleCache<>(factory, null, null, null, 10);
+        try {
+            cache.create();
+            Assert.assertSame(bean, cache.get(bean.getId()));
+            cache.release(bean);
+            Assert.assertNull(cache.get(UUID.randomUUID()));
+            Assert.assertEquals(1, cache.getHitCount());
+            Assert.assertEquals(1, cache.getMissCount());
+
+            cache.remove(bean.getId());
+            Assert.assertFalse(cache.contains(bean.getId()));
+            Assert.assertNull(cache.get(bean.getId()));
+            Assert.assertEquals(2, cache.getMissCount());
+            Assert.assertEquals(0, cache.getEvictionCount());
+            verify(factory).destroyInstance(bean);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void testPassivation() {
+        StatefulObjectFactory<Bean> factory = mock(StatefulObjectFactory.class);
+        PassivationListener<Bean> listener = mock(PassivationListener.class);
+        Bean bean1 = new Bean();
+        Bean bean2 = new Bean();
+        when(factory.createInstance()).thenReturn(bean1, bean2);
+        ClassLoader loader = new URLClassLoader(new URL[0], this.getClass().getClassLoader());
+        AtomicReference<ClassLoader> passivationLoader = new AtomicReference<>();
+        doAnswer(invocation -> {
+            passivationLoader.set(Thread.currentThread().getContextClassLoader());
+            return null;
+        }).when(listener).prePassivate(bean1);
+
+        FilePassivationStore<UUID, Bean> store = new FilePassivationStore<>(this.folder.getRoot().toPath(), "test", new SerializationMarshaller(), loader, listener, factory);
+        Cache<UUID, Bean> cache = new BoundedSimpleCache<>(factory, null, null, null, 1, store);
+        cache.start();
+        try {
+            cache.create();
+            // Evicts the idle bean1, which is passivated rather than destroyed
+            cache.create();
+            verify(listener, timeout(10000)).prePassivate(bean1);
+            // @PrePassivate callbacks run with the class loader of the component
+            Assert.assertSame(loader, passivationLoader.get());
+            Assert.assertEquals(1, cache.getEvictionCount());
+            Assert.assertEquals(1, cache.getCacheSize());
+            Assert.assertTrue(cache.contains(bean1.getId()));
+
+            // Activates bean1, which evicts the idle bean2
+            Bean activated = cache.get(bean1.getId());
+            Assert.assertNotNull(activated);
+            Assert.assertNotSame(bean1, activated);
+            Assert.assertEquals(bean1.getId(), activated.getId());
+            verify(listener).postActivate(activated);
+            Assert.assertEquals(1, cache.getHitCount());
+            Assert.assertEquals(2, cache.getEvictionCount());
+            Assert.assertTrue(cache.contains(bean2.getId()));
+            cache.release(activated);
+
+            // A passivated bean may be removed without being activated
+            cache.remove(bean2.getId());
+            Assert.assertFalse(cache.contains(bean2.getId()));
+            Assert.assertNull(cache.get(bean2.getId()));
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(0, cache.getPassivatedCount());
+            verify(factory, never()).destroyInstance(bean1);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    static class Bean implements Identifiable<UUID>, Serializable {
+        private static final long serialVersionUID = -3372125553574036716L;
+
+        private final UUID id = UUID.randomUUID();
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+    }
+
+    static class SerializationMarshaller implements ByteBufferMarshaller {
+
+        @Override
+        public Object readFrom(InputStream input) throws IOException {
+            try (ObjectInputStream objectInput = new ObjectInputStream(input)) {
+                return objectInput.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void writeTo(OutputStream output, Object object) throws IOException {
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+                objectOutput.writeObject(object);
+            }
+        }
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return object instanceof Serializable;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RemoteInvocationBulkhead}.
+ */
+public class RemoteInvocationBulkheadTestCase {
+    private static final Consumer<RuntimeException> UNEXPECTED_REJECTION = e -> {
+        throw new AssertionError(e);
+    };
+
+    @Test
+    public void testConcurrencyLimit() throws InterruptedException {
+        int limit = 2;
+        int tasks = 10;
+        RemoteInvocationBulkhead bulkhead = new RemoteInvocationBulkhead(limit);
+        ExecutorService executor = Executors.newFixedThreadPool(tasks);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch completed = new CountDownLatch(tasks);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            for (int i = 0; i < tasks; ++i) {
+                bulkhead.execute(executor, executor, () -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        completed.countDown();
+                    }
+                }, UNEXPECTED_REJECTION);
+            }
+            Assert.assertEquals(limit, bulkhead.getActiveCount());
+            Assert.assertEquals(tasks - limit, bulkhead.getQueueDepth());
+
+            release.countDown();
+            Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(peak.get() <= limit);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInlineExecution() {
+        RemoteInvocationBulkhead bulkhead = new RemoteInvocationBulkhead(1);
+        Thread caller = Thread.currentThread();
+        AtomicInteger inline = new AtomicInteger();
+        bulkhead.execute(null, Runnable::run, () -> {
+            if (Thread.currentThread() == caller) {
+                inline.incrementAndGet();
+            }
+        }, UNEXPECTED_REJECTION);
+        Assert.assertEquals(1, inline.get());
+        Assert.assertEquals(0, bulkhead.getActiveCount());
+        Assert.assertEquals(0, bulkhead.getQueueDepth());
+    }
+
+    @Test
+    public void testTaskExceptionPropagates() {
+        RemoteInvocationBulkhead bulkhead = new RemoteInvocationBulkhead(1);
+        IllegalStateException exception = new IllegalStateException();
+        try {
+            bulkhead.execute(null, Runnable::run, () -> {
+                throw exception;
+            }, UNEXPECTED_REJECTION);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertSame(exception, e);
+        }
+        Assert.assertEquals(0, bulkhead.getActiveCount());
+    }
+
+    @Test
+    public void testQueuedDispatchFailure() {
+        RemoteInvocationBulkhead bulkhead = new RemoteInvocationBulkhead(1);
+        IllegalStateException exception = new IllegalStateException();
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException();
+        };
+        AtomicInteger executed = new AtomicInteger();
+        AtomicReference<RuntimeException> rejection = new AtomicReference<>();
+        try {
+            bulkhead.execute(null, Runnable::run, () -> {
+                // Queue an invocation whose dispatch will fail once this invocation completes
+                bulkhead.execute(rejectingExecutor, rejectingExecutor, executed::incrementAndGet, rejection::set);
+                Assert.assertEquals(1, bulkhead.getQueueDepth());
+                throw exception;
+            }, UNEXPECTED_REJECTION);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // The failure to dispatch the queued invocation must not mask the exception of the completed invocation
+            Assert.assertSame(exception, e);
+        }
+        Assert.assertEquals(0, executed.get());
+        // The queued invocation must be completed with a failure
+        Assert.assertTrue(rejection.get() instanceof RejectedExecutionException);
+        Assert.assertEquals(0, bulkhead.getActiveCount());
+        Assert.assertEquals(0, bulkhead.getQueueDepth());
+    }
+}
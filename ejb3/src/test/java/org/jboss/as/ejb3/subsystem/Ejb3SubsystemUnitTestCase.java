@@ -127,6 +127,28 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
     }
 
+    @Test
+    public void testCacheMaxSizeAlternatives() throws Exception {
+        final String subsystemXml = getSubsystemXml();
+        final KernelServices ks = createKernelServicesBuilder(AdditionalInitialization.MANAGEMENT).setSubsystemXml(subsystemXml).build();
+        assertTrue("Subsystem boot failed!", ks.isSuccessfulBoot());
+
+        PathAddress ejb3Address = PathAddress.pathAddress("subsystem", "ejb3");
+
+        // max-size cannot be combined with a passivation store
+        ModelNode add = Util.createAddOperation(ejb3Address.append("cache", "invalid"));
+        add.get("passivation-store").set("infinispan");
+        add.get("max-size").set(100);
+        ks.executeForFailure(add);
+
+        ks.executeForFailure(Util.getWriteAttributeOperation(ejb3Address.append("cache", "distributable"), "max-size", 100));
+        ks.executeForFailure(Util.getWriteAttributeOperation(ejb3Address.append("cache", "bounded"), "passivation-store", "infinispan"));
+
+        ModelNode response = ks.executeOperation(Util.getReadAttributeOperation(ejb3Address.append("cache", "distributable"), "max-size"));
+        assertEquals(response.toString(), "success", response.get("outcome").asString());
+        assertFalse(response.get("result").isDefined());
+    }
+
     @Test
     public void testDefaultPools() throws Exception {
         final String subsystemXml = readResource("subsystem-pools.xml");
@@ -27,9 +27,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.wildfly.iiop.openjdk.logging.IIOPLogger;
 
@@ -49,6 +48,10 @@ import org.wildfly.iiop.openjdk.logging.IIOPLogger;
  * When a thread re-enters the <code>getAnalysis()</code> method, an
  * unfinished analysis will be returned if the same thread is already
  * working on this analysis.
+ * <p/>
+ * Completed analyses are associated with their class, so lookups do not
+ * require any locking, and an analysis becomes unreachable along with the
+ * class loader of its class.
  *
  * @author <a href="mailto:osh@sparre.dk">Ole Husgaard</a>
  */
@@ -70,15 +73,18 @@ class WorkCacheManager {
      * This maps the classes of completely done analyses to soft
      * references of their analysis.
      */
-    private final Map<Class, SoftReference<ContainerAnalysis>> workDone;
+    private final ClassValue<AtomicReference<SoftReference<ContainerAnalysis>>> workDone = new ClassValue<AtomicReference<SoftReference<ContainerAnalysis>>>() {
+        @Override
+        protected AtomicReference<SoftReference<ContainerAnalysis>> computeValue(Class<?> cls) {
+            return new AtomicReference<>();
+        }
+    };
 
     /**
-     * This maps the classes of analyses in progress to their
-     * analysis.
+     * This maps the classes of analyses in progress by the current thread
+     * to their analysis.
      */
-    private final Map<InProgressKey, ContainerAnalysis> workInProgress;
-
-    private final Map<ClassLoader, Set<Class<?>>> classesByLoader;
+    private final ThreadLocal<Map<Class<?>, ContainerAnalysis>> workInProgress = new ThreadLocal<>();
 
     /**
      * Create a new work cache manager.
@@ -93,18 +99,19 @@ class WorkCacheManager {
         } catch (NoSuchMethodException ex) {
             throw IIOPLogger.ROOT_LOGGER.unexpectedException(ex);
         }
-        workDone = new HashMap<Class, SoftReference<ContainerAnalysis>>();
-        workInProgress = new HashMap<InProgressKey, ContainerAnalysis>();
-        classesByLoader = new HashMap<ClassLoader, Set<Class<?>>>();
     }
 
+    /**
+     * Discards the analyses of the classes of the specified class loader.
+     * <p/>
+     * This is a no-op: completed analyses are held by a <code>ClassValue</code>
+     * of their class, so they become unreachable along with the class loader,
+     * and analyses in progress never outlive the analyzing call.
+     * It is retained for the callers that discard the caches on undeploy.
+     *
+     * @param cl The class loader of an undeployed deployment.
+     */
     public void clearClassLoader(final ClassLoader cl) {
-        Set<Class<?>> classes = classesByLoader.remove(cl);
-        if(classes != null) {
-            for(Class<?> clazz : classes) {
-                workDone.remove(clazz);
-            }
-        }
     }
 
     /**
@@ -113,70 +120,50 @@ class WorkCacheManager {
      * class, an unfinished analysis is returned.
      */
     ContainerAnalysis getAnalysis(final Class cls) throws RMIIIOPViolationException {
-        ContainerAnalysis ret = null;
-        boolean created = false;
-        try {
-            synchronized (this) {
-                ret = lookupDone(cls);
-                if (ret != null) {
-                    return ret;
-                }
-
-                // is it work-in-progress?
-                final ContainerAnalysis inProgress = workInProgress.get(new InProgressKey(cls, Thread.currentThread()));
-                if (inProgress != null) {
-                        return inProgress; // return unfinished
-
-                    // Do not wait for the other thread: We may deadlock
-                    // Double work is better that deadlock...
-                }
-
-                ret = createWorkInProgress(cls);
+        AtomicReference<SoftReference<ContainerAnalysis>> done = workDone.get(cls);
+        SoftReference<ContainerAnalysis> ref = done.get();
+        ContainerAnalysis ret = (ref != null) ? ref.get() : null;
+        if (ret != null) {
+            return ret;
+        }
+
+        // is it work-in-progress?
+        Map<Class<?>, ContainerAnalysis> inProgress = workInProgress.get();
+        if (inProgress == null) {
+            inProgress = new HashMap<Class<?>, ContainerAnalysis>();
+            workInProgress.set(inProgress);
+        } else {
+            ret = inProgress.get(cls);
+            if (ret != null) {
+                return ret; // return unfinished
             }
-            created = true;
+        }
+
+        // Another thread may concurrently analyze the same class
+        // Do not wait for the other thread: We may deadlock
+        // Double work is better that deadlock...
+        ret = createWorkInProgress(cls);
+        inProgress.put(cls, ret);
+        try {
             // Do the work
-            doTheWork(cls, ret);
-        } finally {
+            doTheWork(ret);
             // We did it
-            synchronized (this) {
-                if(created) {
-                    workInProgress.remove(new InProgressKey(cls, Thread.currentThread()));
-                    workDone.put(cls, new SoftReference<ContainerAnalysis>(ret));
-                    ClassLoader classLoader = cls.getClassLoader();
-                    if (classLoader != null) {
-                        Set<Class<?>> classes = classesByLoader.get(classLoader);
-                        if (classes == null) {
-                            classesByLoader.put(classLoader, classes = new HashSet<Class<?>>());
-                        }
-                        classes.add(cls);
-                    }
-                }
-                notifyAll();
+            done.set(new SoftReference<ContainerAnalysis>(ret));
+        } finally {
+            inProgress.remove(cls);
+            if (inProgress.isEmpty()) {
+                workInProgress.remove();
             }
         }
         return ret;
     }
 
-    /**
-     * Lookup an analysis in the fully done map.
-     */
-    private ContainerAnalysis lookupDone(Class cls) {
-        SoftReference ref = (SoftReference) workDone.get(cls);
-        if (ref == null)
-            return null;
-        ContainerAnalysis ret = (ContainerAnalysis) ref.get();
-        if (ret == null)
-            workDone.remove(cls); // clear map entry if soft ref. was cleared.
-        return ret;
-    }
-
     /**
      * Create new work-in-progress.
      */
     private ContainerAnalysis createWorkInProgress(final Class cls) {
-        final ContainerAnalysis analysis;
         try {
-            analysis = (ContainerAnalysis) constructor.newInstance(cls);
+            return (ContainerAnalysis) constructor.newInstance(cls);
         } catch (InstantiationException ex) {
             throw new RuntimeException(ex.toString());
         } catch (IllegalAccessException ex) {
@@ -184,20 +171,13 @@ class WorkCacheManager {
         } catch (InvocationTargetException ex) {
             throw new RuntimeException(ex.toString());
         }
-
-        workInProgress.put(new InProgressKey(cls, Thread.currentThread()), analysis);
-
-        return analysis;
     }
 
-    private void doTheWork(final Class cls, final ContainerAnalysis ret)
+    private void doTheWork(final ContainerAnalysis ret)
             throws RMIIIOPViolationException {
         try {
             initializer.invoke(ret);
         } catch (Throwable t) {
-            synchronized (this) {
-                workInProgress.remove(new InProgressKey(cls, Thread.currentThread()));
-            }
             if (t instanceof InvocationTargetException) // unwrap
                 t = ((InvocationTargetException) t).getTargetException();
 
@@ -210,35 +190,4 @@ class WorkCacheManager {
             throw new RuntimeException(t.toString());
         }
     }
-
-    private static class InProgressKey {
-        final Class<?> clazz;
-        final Thread thread;
-
-        private InProgressKey(Class<?> clazz, Thread thread) {
-            this.clazz = clazz;
-            this.thread = thread;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-
-            InProgressKey that = (InProgressKey) o;
-
-            if (clazz != null ? !clazz.equals(that.clazz) : that.clazz != null) return false;
-            if (thread != null ? !thread.equals(that.thread) : that.thread != null) return false;
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = clazz != null ? clazz.hashCode() : 0;
-            result = 31 * result + (thread != null ? thread.hashCode() : 0);
-            return result;
-        }
-    }
 }
-
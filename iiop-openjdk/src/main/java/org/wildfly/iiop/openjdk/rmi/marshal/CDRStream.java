@@ -23,8 +23,13 @@ package org.wildfly.iiop.openjdk.rmi.marshal;
 
 import java.io.Externalizable;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.rmi.CORBA.Util;
 import javax.rmi.PortableRemoteObject;
@@ -49,6 +54,57 @@ import org.wildfly.iiop.openjdk.rmi.RmiIdlUtil;
  * @author <a href="mailto:reverbel@ime.usp.br">Francisco Reverbel</a>
  */
 public class CDRStream {
+
+    // Readers and writers specific to a given class are cached per class, so that they are discarded along with their class
+    private static final ClassValue<CDRStreamReader> VALUETYPE_READERS = new ClassValue<CDRStreamReader>() {
+        @Override
+        protected CDRStreamReader computeValue(Class<?> clz) {
+            return new ValuetypeReader(clz);
+        }
+    };
+    private static final ClassValue<CDRStreamReader> IDL_INTERFACE_READERS = new ClassValue<CDRStreamReader>() {
+        @Override
+        protected CDRStreamReader computeValue(Class<?> clz) {
+            return new IdlInterfaceReader(clz);
+        }
+    };
+    private static final ClassValue<CDRStreamReader> REMOTE_READERS = new ClassValue<CDRStreamReader>() {
+        @Override
+        protected CDRStreamReader computeValue(Class<?> clz) {
+            return new RemoteReader(clz);
+        }
+    };
+    private static final ClassValue<CDRStreamWriter> VALUETYPE_WRITERS = new ClassValue<CDRStreamWriter>() {
+        @Override
+        protected CDRStreamWriter computeValue(Class<?> clz) {
+            return new ValuetypeWriter(clz);
+        }
+    };
+    private static final ClassValue<CDRStreamWriter> IDL_INTERFACE_WRITERS = new ClassValue<CDRStreamWriter>() {
+        @Override
+        protected CDRStreamWriter computeValue(Class<?> clz) {
+            return new IdlInterfaceWriter(clz);
+        }
+    };
+
+    /**
+     * The classes resolved from abbreviated names, per class loader and
+     * abbreviated name. Class loaders and classes are only weakly referenced,
+     * so that they can be unloaded. Lookups take no lock.
+     */
+    private static final Map<ClassLoaderReference, Map<String, WeakReference<Class<?>>>> RESOLVED_CLASSES = new ConcurrentHashMap<>();
+
+    /**
+     * The class loader references of {@link #RESOLVED_CLASSES} whose class
+     * loader was collected.
+     */
+    private static final ReferenceQueue<ClassLoader> COLLECTED_CLASS_LOADERS = new ReferenceQueue<>();
+
+    /**
+     * The classes resolved from abbreviated names by the bootstrap class loader.
+     */
+    private static final Map<String, WeakReference<Class<?>>> BOOTSTRAP_RESOLVED_CLASSES = new ConcurrentHashMap<>();
+
     /**
      * Returns the abbreviated name of the marshaller for given
      * <code>Class</code>.
@@ -156,31 +212,15 @@ public class CDRStream {
             case 'J':
                 return LongReader.instance;
             case 'L':
-                try {
-                    // Use Class.forName() (rather than cl.loadClass()), because
-                    // Class.forName() loads Java array types (which are valuetypes).
-                    return new ValuetypeReader(Class.forName(s.substring(1),
-                            true,
-                            cl));
-                } catch (ClassNotFoundException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(s.substring(1), e);
-                }
+                return VALUETYPE_READERS.get(resolveClass(s, cl));
             case 'M':
                 return CorbaObjectReader.instance;
             case 'N':
-                try {
-                    return new IdlInterfaceReader(cl.loadClass(s.substring(1)));
-                } catch (ClassNotFoundException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(s.substring(1), e);
-                }
+                return IDL_INTERFACE_READERS.get(resolveClass(s, cl));
             case 'O':
                 return ObjectReader.instance;
             case 'R':
-                try {
-                    return new RemoteReader(cl.loadClass(s.substring(1)));
-                } catch (ClassNotFoundException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(s.substring(1), e);
-                }
+                return REMOTE_READERS.get(resolveClass(s, cl));
             case 'S':
                 return ShortReader.instance;
             case 'V':
@@ -220,23 +260,11 @@ public class CDRStream {
             case 'J':
                 return LongWriter.instance;
             case 'L':
-                try {
-                    // Use Class.forName() (rather than cl.loadClass()), because
-                    // Class.forName() loads Java array types (which are valuetypes).
-                    return new ValuetypeWriter(Class.forName(s.substring(1),
-                            true,
-                            cl));
-                } catch (ClassNotFoundException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(s.substring(1), e);
-                }
+                return VALUETYPE_WRITERS.get(resolveClass(s, cl));
             case 'M':
                 return CorbaObjectWriter.instance;
             case 'N':
-                try {
-                    return new IdlInterfaceWriter(cl.loadClass(s.substring(1)));
-                } catch (ClassNotFoundException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(s.substring(1), e);
-                }
+                return IDL_INTERFACE_WRITERS.get(resolveClass(s, cl));
             case 'O':
                 return ObjectWriter.instance;
             case 'R':
@@ -254,6 +282,71 @@ public class CDRStream {
         }
     }
 
+    /**
+     * Returns the class named by an abbreviated name of type 'L', 'N' or 'R',
+     * resolving it with the given <code>ClassLoader</code> only upon its
+     * first use.
+     */
+    private static Class<?> resolveClass(String s, ClassLoader cl) {
+        Map<String, WeakReference<Class<?>>> classes = (cl != null) ? RESOLVED_CLASSES.get(new ClassLoaderReference(cl, null)) : BOOTSTRAP_RESOLVED_CLASSES;
+        if (classes == null) {
+            purgeCollectedClassLoaders();
+            classes = RESOLVED_CLASSES.computeIfAbsent(new ClassLoaderReference(cl, COLLECTED_CLASS_LOADERS), key -> new ConcurrentHashMap<>());
+        }
+        WeakReference<Class<?>> ref = classes.get(s);
+        Class<?> clz = (ref != null) ? ref.get() : null;
+        if (clz == null) {
+            String name = s.substring(1);
+            try {
+                // Use Class.forName() (rather than cl.loadClass()) for valuetypes, because
+                // Class.forName() loads Java array types (which are valuetypes).
+                clz = (s.charAt(0) == 'L') ? Class.forName(name, true, cl) : cl.loadClass(name);
+            } catch (ClassNotFoundException e) {
+                throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(name, e);
+            }
+            classes.put(s, new WeakReference<>(clz));
+        }
+        return clz;
+    }
+
+    private static void purgeCollectedClassLoaders() {
+        Reference<? extends ClassLoader> ref = COLLECTED_CLASS_LOADERS.poll();
+        while (ref != null) {
+            RESOLVED_CLASSES.remove(ref);
+            ref = COLLECTED_CLASS_LOADERS.poll();
+        }
+    }
+
+    /**
+     * A weak reference to a class loader, compared by the identity of the
+     * class loader.
+     */
+    private static class ClassLoaderReference extends WeakReference<ClassLoader> {
+        private final int hashCode;
+
+        ClassLoaderReference(ClassLoader cl, ReferenceQueue<ClassLoader> queue) {
+            super(cl, queue);
+            this.hashCode = System.identityHashCode(cl);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClassLoaderReference)) {
+                return false;
+            }
+            ClassLoader cl = get();
+            return (cl != null) && (cl == ((ClassLoaderReference) obj).get());
+        }
+    }
+
     /**
      * Returns the <code>CDRStreamReader</code> for a given <code>Class</code>.
      */
@@ -279,25 +372,25 @@ public class CDRStream {
         } else if (clz == String.class) {
             return StringReader.instance;
         } else if (RmiIdlUtil.isRMIIDLRemoteInterface(clz)) {
-            return new RemoteReader(clz);
+            return REMOTE_READERS.get(clz);
         } else if (clz == org.omg.CORBA.Object.class) {
             return CorbaObjectReader.instance;
         } else if (org.omg.CORBA.Object.class.isAssignableFrom(clz)) {
-            return new IdlInterfaceReader(clz);
+            return IDL_INTERFACE_READERS.get(clz);
         } else if (IDLEntity.class.isAssignableFrom(clz)) {
-            return new ValuetypeReader(clz);
+            return VALUETYPE_READERS.get(clz);
         } else if (clz == Serializable.class) {
             return SerializableReader.instance;
         } else if (RmiIdlUtil.isAbstractInterface(clz)) {
             return AbstractInterfaceReader.instance;
         } else if (Serializable.class.isAssignableFrom(clz)) {
-            return new ValuetypeReader(clz);
+            return VALUETYPE_READERS.get(clz);
         } else if (Externalizable.class.isAssignableFrom(clz)) {
             return ExternalizableReader.instance;
         } else if (clz == Object.class) {
             return ObjectReader.instance;
         } else {
-            return new ValuetypeReader(clz);
+            return VALUETYPE_READERS.get(clz);
         }
     }
 
@@ -330,21 +423,21 @@ public class CDRStream {
         } else if (clz == org.omg.CORBA.Object.class) {
             return CorbaObjectWriter.instance;
         } else if (org.omg.CORBA.Object.class.isAssignableFrom(clz)) {
-            return new IdlInterfaceWriter(clz);
+            return IDL_INTERFACE_WRITERS.get(clz);
         } else if (IDLEntity.class.isAssignableFrom(clz)) {
-            return new ValuetypeWriter(clz);
+            return VALUETYPE_WRITERS.get(clz);
         } else if (clz == Serializable.class) {
             return SerializableWriter.instance;
         } else if (RmiIdlUtil.isAbstractInterface(clz)) {
             return AbstractInterfaceWriter.instance;
         } else if (Serializable.class.isAssignableFrom(clz)) {
-            return new ValuetypeWriter(clz);
+            return VALUETYPE_WRITERS.get(clz);
         } else if (Externalizable.class.isAssignableFrom(clz)) {
             return ExternalizableWriter.instance;
         } else if (clz == Object.class) {
             return ObjectWriter.instance;
         } else {
-            return new ValuetypeWriter(clz);
+            return VALUETYPE_WRITERS.get(clz);
         }
     }
 
@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.iiop.openjdk.rmi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WorkCacheManager}.
+ */
+public class WorkCacheManagerTestCase {
+
+    @Test
+    public void failedAnalysisIsNotCached() throws RMIIIOPViolationException {
+        WorkCacheManager manager = new WorkCacheManager(TestAnalysis.class);
+        TestAnalysis.attempts = 0;
+        TestAnalysis.failing = true;
+
+        for (int i = 1; i <= 2; ++i) {
+            try {
+                manager.getAnalysis(Analyzed.class);
+                fail("Analysis should have failed");
+            } catch (RMIIIOPViolationException e) {
+                // The failed analysis must be repeated on each request
+                assertEquals(i, TestAnalysis.attempts);
+            }
+        }
+
+        TestAnalysis.failing = false;
+        ContainerAnalysis analysis = manager.getAnalysis(Analyzed.class);
+        assertEquals(3, TestAnalysis.attempts);
+
+        // The successful analysis is cached
+        assertSame(analysis, manager.getAnalysis(Analyzed.class));
+        assertEquals(3, TestAnalysis.attempts);
+    }
+
+    interface Analyzed {
+    }
+
+    static class TestAnalysis extends ContainerAnalysis {
+        static volatile int attempts;
+        static volatile boolean failing;
+
+        TestAnalysis(Class cls) {
+            super(cls);
+        }
+
+        @Override
+        protected void doAnalyze() throws RMIIIOPViolationException {
+            attempts += 1;
+            if (failing) {
+                throw new RMIIIOPViolationException("failed");
+            }
+        }
+
+        @Override
+        protected ArrayList getContainedEntries() {
+            return new ArrayList();
+        }
+    }
+}
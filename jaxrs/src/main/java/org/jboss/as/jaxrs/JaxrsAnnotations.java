@@ -42,6 +42,8 @@ public enum JaxrsAnnotations {
     HEADER_PARAM("HeaderParam"),
     HTTP_METHOD("HttpMethod"),
     MATRIX_PARAM("MatrixParam"),
+    OPTIONS("OPTIONS"),
+    PATCH("PATCH"),
     PATH("Path"),
     PATH_PARAM("PathParam"),
     POST("POST"),
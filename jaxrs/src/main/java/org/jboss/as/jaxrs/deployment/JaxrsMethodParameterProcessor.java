@@ -72,8 +72,10 @@ public class JaxrsMethodParameterProcessor implements DeploymentUnitProcessor {
         final Module module = deploymentUnit.getAttachment(Attachments.MODULE);
         final CompositeIndex index = deploymentUnit.getAttachment(
                 Attachments.COMPOSITE_ANNOTATION_INDEX);
+        // Identifies the resource methods without DefaultValue parameters from the index, so they need not be introspected
+        final ResourceMethodTable resourceMethods = (index != null) ? ResourceMethodTable.build(index, resteasy.getScannedResourceClasses()) : null;
 
-        processData(index, module.getClassLoader(), resteasy, false);
+        processData(index, module.getClassLoader(), resteasy, resourceMethods, false);
     }
 
     /**
@@ -81,15 +83,17 @@ public class JaxrsMethodParameterProcessor implements DeploymentUnitProcessor {
      * @param index
      * @param classLoader
      * @param resteasy
+     * @param resourceMethods
      * @param isFromUnitTest
      * @throws DeploymentUnitProcessingException
      */
     private void processData(final CompositeIndex index, final ClassLoader classLoader,
-                             ResteasyDeploymentData resteasy, boolean isFromUnitTest)
+                             ResteasyDeploymentData resteasy, ResourceMethodTable resourceMethods,
+                             boolean isFromUnitTest)
             throws DeploymentUnitProcessingException {
 
         List<ParamDetail> detailList = getResouceClasses(index, classLoader,
-                resteasy.getScannedResourceClasses(), isFromUnitTest);
+                resteasy.getScannedResourceClasses(), resourceMethods, isFromUnitTest);
 
         if (!detailList.isEmpty()) {
             HashMap<String, List<Validator>> paramConverterMap =
@@ -326,15 +330,18 @@ public class JaxrsMethodParameterProcessor implements DeploymentUnitProcessor {
      * DefaultValue annontation assigned to it.
      *
      * When running unitTest the classes must be indexed.  In normal deployment
-     * the indexing is already done.
+     * the indexing is already done, and the resource method table, if present,
+     * identifies the resource methods that need not be introspected.
      *
      * @param index
      * @param classLoader
+     * @param resourceMethods
      * @return
      */
     private ArrayList<ParamDetail> getResouceClasses(final CompositeIndex index,
                                    final ClassLoader classLoader,
                                    Set<String> knownResourceClasses,
+                                   ResourceMethodTable resourceMethods,
                                    boolean isFromUnitTest) {
 
         ArrayList<ParamDetail> detailList = new ArrayList<>();
@@ -392,7 +399,10 @@ public class JaxrsMethodParameterProcessor implements DeploymentUnitProcessor {
             try {
                 clazz = classLoader.loadClass(className);
                 for (Method method : clazz.getMethods()) {
-                    if (clazz == method.getDeclaringClass()) {
+                    // skip the parameter introspection of methods the resource method table rules out
+                    if (clazz == method.getDeclaringClass() && (resourceMethods == null
+                            || resourceMethods.mayHaveDefaultValueParameters(className,
+                                    method.getName(), method.getParameterCount()))) {
                         Type[] genParamTypeArr = method.getGenericParameterTypes();
                         Annotation[][] annotationMatrix = method.getParameterAnnotations();
 
@@ -605,7 +615,7 @@ public class JaxrsMethodParameterProcessor implements DeploymentUnitProcessor {
     public void testProcessor(final ClassLoader classLoader,
                               final ResteasyDeploymentData resteasyDeploymentData)
             throws DeploymentUnitProcessingException {
-        processData(null, classLoader, resteasyDeploymentData, true);
+        processData(null, classLoader, resteasyDeploymentData, null, true);
     }
 
     @Override
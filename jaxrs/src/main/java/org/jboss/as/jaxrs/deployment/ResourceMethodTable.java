@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jaxrs.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.jaxrs.JaxrsAnnotations;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.MethodInfo;
+
+/**
+ * The resource methods and sub-resource locators of the scanned resource classes of a deployment, along with their
+ * parameters with a {@code DefaultValue}, computed from the annotation index at deployment time.
+ * Only resource classes that declare a {@code Path} annotation themselves are included.
+ */
+public final class ResourceMethodTable {
+
+    private static final Set<DotName> HTTP_METHODS = new HashSet<>();
+
+    static {
+        for (JaxrsAnnotations annotation : new JaxrsAnnotations[] { JaxrsAnnotations.DELETE, JaxrsAnnotations.GET, JaxrsAnnotations.HEAD, JaxrsAnnotations.OPTIONS, JaxrsAnnotations.PATCH, JaxrsAnnotations.POST, JaxrsAnnotations.PUT }) {
+            HTTP_METHODS.add(annotation.getDotName());
+        }
+    }
+
+    private final Map<String, List<ResourceMethod>> resourceMethods;
+
+    private ResourceMethodTable(Map<String, List<ResourceMethod>> resourceMethods) {
+        this.resourceMethods = resourceMethods;
+    }
+
+    /**
+     * Builds the resource method table of the specified resource classes.
+     * @param index the annotation index of the deployment
+     * @param resourceClasses the names of the scanned resource classes
+     * @return a resource method table
+     */
+    public static ResourceMethodTable build(CompositeIndex index, Collection<String> resourceClasses) {
+        Map<String, List<ResourceMethod>> resourceMethods = new LinkedHashMap<>();
+        for (String className : resourceClasses) {
+            ClassInfo classInfo = index.getClassByName(DotName.createSimple(className));
+            if (classInfo == null || !classInfo.annotations().containsKey(JaxrsAnnotations.PATH.getDotName())) {
+                continue;
+            }
+            List<ResourceMethod> methods = new ArrayList<>();
+            for (MethodInfo method : classInfo.methods()) {
+                if (!Modifier.isPublic(method.flags()) || Modifier.isStatic(method.flags())) {
+                    continue;
+                }
+                boolean httpMethod = false;
+                boolean path = false;
+                List<Integer> defaultValueParameters = new ArrayList<>();
+                for (AnnotationInstance annotation : method.annotations()) {
+                    AnnotationTarget.Kind kind = annotation.target().kind();
+                    if (kind == AnnotationTarget.Kind.METHOD) {
+                        if (annotation.name().equals(JaxrsAnnotations.PATH.getDotName())) {
+                            path = true;
+                        } else if (!httpMethod) {
+                            httpMethod = isHttpMethod(index, annotation.name());
+                        }
+                    } else if (kind == AnnotationTarget.Kind.METHOD_PARAMETER && annotation.name().equals(JaxrsAnnotations.DEFAULT_VALUE.getDotName())) {
+                        defaultValueParameters.add((int) annotation.target().asMethodParameter().position());
+                    }
+                }
+                // Neither a resource method nor a sub-resource locator
+                if (!httpMethod && !path) {
+                    continue;
+                }
+                Collections.sort(defaultValueParameters);
+                methods.add(new ResourceMethod(className, method.name(), method.parameters().size(), defaultValueParameters));
+            }
+            resourceMethods.put(className, Collections.unmodifiableList(methods));
+        }
+        return new ResourceMethodTable(Collections.unmodifiableMap(resourceMethods));
+    }
+
+    private static boolean isHttpMethod(CompositeIndex index, DotName annotationName) {
+        if (HTTP_METHODS.contains(annotationName)) {
+            return true;
+        }
+        // Custom HTTP method annotations packaged with the deployment
+        ClassInfo annotationInfo = index.getClassByName(annotationName);
+        return (annotationInfo != null) && (annotationInfo.classAnnotation(JaxrsAnnotations.HTTP_METHOD.getDotName()) != null);
+    }
+
+    /**
+     * @return the names of the resource classes in this table
+     */
+    public Collection<String> getResourceClasses() {
+        return this.resourceMethods.keySet();
+    }
+
+    /**
+     * @param className a resource class name
+     * @return the resource methods and sub-resource locators declared by the specified resource class
+     */
+    public List<ResourceMethod> getResourceMethods(String className) {
+        return this.resourceMethods.getOrDefault(className, Collections.emptyList());
+    }
+
+    /**
+     * Indicates whether the parameters of the specified method of a resource class may be annotated with {@code DefaultValue}.
+     * This is only ruled out for the resource methods and sub-resource locators of this table without such parameters;
+     * any other method may still declare them.
+     * @param className a resource class name
+     * @param methodName a method name
+     * @param parameterCount a number of parameters
+     * @return false, if all resource methods of this table with the specified name and number of parameters lack a {@code DefaultValue} parameter, true otherwise
+     */
+    public boolean mayHaveDefaultValueParameters(String className, String methodName, int parameterCount) {
+        boolean found = false;
+        for (ResourceMethod method : this.getResourceMethods(className)) {
+            if (method.getMethodName().equals(methodName) && (method.getParameterCount() == parameterCount)) {
+                if (!method.getDefaultValueParameters().isEmpty()) {
+                    return true;
+                }
+                found = true;
+            }
+        }
+        return !found;
+    }
+
+    /**
+     * @return the total number of resource methods and sub-resource locators in this table
+     */
+    public int size() {
+        int size = 0;
+        for (List<ResourceMethod> methods : this.resourceMethods.values()) {
+            size += methods.size();
+        }
+        return size;
+    }
+
+    /**
+     * A resource method or sub-resource locator.
+     */
+    public static final class ResourceMethod {
+        private final String className;
+        private final String methodName;
+        private final int parameterCount;
+        private final List<Integer> defaultValueParameters;
+
+        ResourceMethod(String className, String methodName, int parameterCount, List<Integer> defaultValueParameters) {
+            this.className = className;
+            this.methodName = methodName;
+            this.parameterCount = parameterCount;
+            this.defaultValueParameters = Collections.unmodifiableList(defaultValueParameters);
+        }
+
+        public String getClassName() {
+            return this.className;
+        }
+
+        public String getMethodName() {
+            return this.methodName;
+        }
+
+        public int getParameterCount() {
+            return this.parameterCount;
+        }
+
+        /**
+         * @return the positions of the parameters annotated with {@code DefaultValue}, in ascending order
+         */
+        public List<Integer> getDefaultValueParameters() {
+            return this.defaultValueParameters;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s.%s(%d)", this.className, this.methodName, this.parameterCount);
+        }
+    }
+}
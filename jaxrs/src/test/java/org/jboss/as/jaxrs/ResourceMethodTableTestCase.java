@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jaxrs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+
+import org.jboss.as.jaxrs.deployment.ResourceMethodTable;
+import org.jboss.as.jaxrs.rsources.PrimitiveParamResource;
+import org.jboss.as.jaxrs.rsources.SimpleValueOfResource;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.jandex.Indexer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ResourceMethodTable}.
+ */
+public class ResourceMethodTableTestCase {
+
+    @Test
+    public void testResourceMethods() throws IOException {
+        ResourceMethodTable table = build(SimpleValueOfResource.class, PrimitiveParamResource.class, RoutedResource.class);
+
+        Assert.assertEquals(3, table.getResourceClasses().size());
+        Assert.assertEquals(1 + 8 + 3, table.size());
+
+        List<ResourceMethodTable.ResourceMethod> methods = table.getResourceMethods(SimpleValueOfResource.class.getName());
+        Assert.assertEquals(1, methods.size());
+        ResourceMethodTable.ResourceMethod method = methods.get(0);
+        Assert.assertEquals("get", method.getMethodName());
+        Assert.assertEquals(1, method.getParameterCount());
+        Assert.assertEquals(Collections.singletonList(0), method.getDefaultValueParameters());
+
+        for (ResourceMethodTable.ResourceMethod routed : table.getResourceMethods(RoutedResource.class.getName())) {
+            switch (routed.getMethodName()) {
+                case "find":
+                    Assert.assertEquals(Collections.singletonList(1), routed.getDefaultValueParameters());
+                    break;
+                case "create":
+                    Assert.assertTrue(routed.getDefaultValueParameters().isEmpty());
+                    break;
+                case "locate":
+                    Assert.assertTrue(routed.getDefaultValueParameters().isEmpty());
+                    break;
+                default:
+                    Assert.fail(routed.toString());
+            }
+        }
+
+        Assert.assertTrue(table.mayHaveDefaultValueParameters(RoutedResource.class.getName(), "find", 2));
+        Assert.assertFalse(table.mayHaveDefaultValueParameters(RoutedResource.class.getName(), "create", 1));
+        Assert.assertFalse(table.mayHaveDefaultValueParameters(RoutedResource.class.getName(), "locate", 0));
+        // Methods that are neither resource methods nor sub-resource locators are still validated
+        Assert.assertTrue(table.mayHaveDefaultValueParameters(RoutedResource.class.getName(), "notAResourceMethod", 1));
+        Assert.assertTrue(table.mayHaveDefaultValueParameters(RoutedResource.class.getName(), "find", 1));
+        // As are the methods of resource classes that are not in the table
+        Assert.assertTrue(table.mayHaveDefaultValueParameters("org.acme.Missing", "get", 0));
+    }
+
+    @Test
+    public void testUnknownResourceClass() throws IOException {
+        CompositeIndex index = index(SimpleValueOfResource.class);
+        ResourceMethodTable table = ResourceMethodTable.build(index, Arrays.asList(SimpleValueOfResource.class.getName(), "org.acme.Missing"));
+
+        Assert.assertEquals(Collections.singleton(SimpleValueOfResource.class.getName()), table.getResourceClasses());
+        Assert.assertTrue(table.getResourceMethods("org.acme.Missing").isEmpty());
+    }
+
+    private static ResourceMethodTable build(Class<?>... classes) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            names.add(clazz.getName());
+        }
+        return ResourceMethodTable.build(index(classes), names);
+    }
+
+    private static CompositeIndex index(Class<?>... classes) throws IOException {
+        Indexer indexer = new Indexer();
+        for (Class<?> clazz : classes) {
+            try (InputStream input = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+                indexer.index(input);
+            }
+        }
+        return new CompositeIndex(Collections.singleton(indexer.complete()));
+    }
+
+    @Path("/routed/")
+    public static class RoutedResource {
+        @GET
+        @Path("items/{id}")
+        public String find(@PathParam("id") String id, @QueryParam("format") @DefaultValue("json") String format) {
+            return id;
+        }
+
+        @POST
+        public void create(String item) {
+        }
+
+        @Path("/sub")
+        public Object locate() {
+            return this;
+        }
+
+        public void notAResourceMethod(@DefaultValue("x") String value) {
+        }
+    }
+}
@@ -876,4 +876,14 @@ public interface MessagingLogger extends BasicLogger {
     @Message(id = 103, value = "Broker is not started. It cannot be managed yet.")
     IllegalStateException brokerNotStarted();
 
+    @Message(id = 104, value = "The %s operation can not be performed: a journal %s is already in progress")
+    OperationFailedException journalTransferInProgress(String operationName, String transfer);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 105, value = "Journal %s of %s failed")
+    void journalTransferFailed(@Cause Throwable cause, String transfer, String file);
+
+    @Message(id = 106, value = "Message %d, the cursor of the requested page, is no longer in the queue")
+    OperationFailedException messageCursorNotFound(long cursor);
+
 }
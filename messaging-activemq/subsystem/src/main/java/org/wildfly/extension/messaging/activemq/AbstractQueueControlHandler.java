@@ -23,6 +23,7 @@
 package org.wildfly.extension.messaging.activemq;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UUID;
 import static org.jboss.dmr.ModelType.BOOLEAN;
 import static org.jboss.dmr.ModelType.INT;
 import static org.jboss.dmr.ModelType.LIST;
@@ -37,8 +38,15 @@ import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.runtimeReadOnlyOperation;
 import static org.wildfly.extension.messaging.activemq.logging.MessagingLogger.ROOT_LOGGER;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
-import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ObjectListAttributeDefinition;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
@@ -65,12 +73,13 @@ import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  * @author <a href="http://jmesnil.net">Jeff Mesnil</a> (c) 2014 Red Hat Inc.
  */
-public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnlyHandler {
+public abstract class AbstractQueueControlHandler<T> extends AbstractArtemisActionHandler {
 
     private static ResourceDescriptionResolver RESOLVER = MessagingExtension.getResourceDescriptionResolver(QUEUE);
 
     public static final String LIST_MESSAGES = "list-messages";
     public static final String LIST_MESSAGES_AS_JSON = "list-messages-as-json";
+    public static final String LIST_MESSAGES_AS_STREAM = "list-messages-as-stream";
     public static final String COUNT_MESSAGES = "count-messages";
     public static final String REMOVE_MESSAGE = "remove-message";
     public static final String REMOVE_MESSAGES = "remove-messages";
@@ -104,6 +113,19 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     private static final AttributeDefinition REJECT_DUPLICATES = SimpleAttributeDefinitionBuilder.create("reject-duplicates", BOOLEAN)
             .setRequired(false)
             .build();
+    private static final AttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+    private static final AttributeDefinition LIMIT = SimpleAttributeDefinitionBuilder.create("limit", INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+    private static final AttributeDefinition CURSOR = SimpleAttributeDefinitionBuilder.create("cursor", LONG)
+            .setRequired(false)
+            .build();
+    private static final AttributeDefinition REPLY_UUID = SimpleAttributeDefinitionBuilder.create(UUID, STRING)
+            .build();
     private static final AttributeDefinition NEW_PRIORITY = SimpleAttributeDefinitionBuilder.create("new-priority", INT)
             .setValidator(PRIORITY_VALIDATOR)
             .build();
@@ -115,16 +137,21 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     public void registerOperations(final ManagementResourceRegistration registry, ResourceDescriptionResolver resolver) {
 
         registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES, resolver)
-                .setParameters(FILTER)
+                .setParameters(FILTER, OFFSET, LIMIT, CURSOR)
                 .setReplyType(LIST)
                 .setReplyParameters(getReplyMessageParameterDefinitions())
                 .build(),
                 this);
         registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES_AS_JSON, RESOLVER)
-                .setParameters(FILTER)
+                .setParameters(FILTER, OFFSET, LIMIT, CURSOR)
                 .setReplyType(STRING)
                 .build(),
                 this);
+        registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES_AS_STREAM, RESOLVER)
+                .setParameters(FILTER, OFFSET, LIMIT, CURSOR)
+                .setReplyParameters(REPLY_UUID)
+                .build(),
+                this);
         registry.registerOperationHandler(runtimeReadOnlyOperation(COUNT_MESSAGES, RESOLVER)
                 .setParameters(FILTER)
                 .setReplyType(LONG)
@@ -264,11 +291,55 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         try {
             if (LIST_MESSAGES.equals(operationName)) {
                 String filter = resolveFilter(context, operation);
-                String json = control.listMessagesAsJSON(filter);
-                context.getResult().set(ModelNode.fromJSONString(json));
+                if (isPaged(operation)) {
+                    ModelNode result = context.getResult().setEmptyList();
+                    browseMessages(context, operation, control, filter, json -> result.add(ModelNode.fromJSONString(json)));
+                } else {
+                    String json = control.listMessagesAsJSON(filter);
+                    context.getResult().set(ModelNode.fromJSONString(json));
+                }
             } else if (LIST_MESSAGES_AS_JSON.equals(operationName)) {
                 String filter = resolveFilter(context, operation);
-                context.getResult().set(control.listMessagesAsJSON(filter));
+                if (isPaged(operation)) {
+                    StringBuilder builder = new StringBuilder().append('[');
+                    browseMessages(context, operation, control, filter, json -> {
+                        if (builder.length() > 1) {
+                            builder.append(',');
+                        }
+                        builder.append(json);
+                    });
+                    context.getResult().set(builder.append(']').toString());
+                } else {
+                    context.getResult().set(control.listMessagesAsJSON(filter));
+                }
+            } else if (LIST_MESSAGES_AS_STREAM.equals(operationName)) {
+                String filter = resolveFilter(context, operation);
+                Path file = Files.createTempFile(getServerTempDir(context), "list-messages", ".json");
+                try {
+                    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        writer.write('[');
+                        boolean[] first = new boolean[] { true };
+                        browseMessages(context, operation, control, filter, json -> {
+                            try {
+                                if (!first[0]) {
+                                    writer.write(',');
+                                }
+                                first[0] = false;
+                                writer.write(json);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                        writer.write(']');
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                    String uuid = context.attachResultStream("application/json", new TemporaryFileInputStream(file));
+                    context.getResult().get(UUID).set(uuid);
+                } catch (Exception e) {
+                    Files.deleteIfExists(file);
+                    throw e;
+                }
             } else if (LIST_DELIVERING_MESSAGES.equals(operationName)) {
                 String json = control.listDeliveringMessagesAsJSON();
                 context.getResult().set(ModelNode.fromJSONString(json));
@@ -386,6 +457,20 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         context.completeStep(rh);
     }
 
+    private static boolean isPaged(ModelNode operation) {
+        return operation.hasDefined(OFFSET.getName()) || operation.hasDefined(LIMIT.getName()) || operation.hasDefined(CURSOR.getName());
+    }
+
+    private static void browseMessages(OperationContext context, ModelNode operation, DelegatingQueueControl<?> control, String filter, Consumer<String> consumer) throws Exception {
+        int offset = OFFSET.resolveModelAttribute(context, operation).asInt(0);
+        int limit = LIMIT.resolveModelAttribute(context, operation).asInt(-1);
+        ModelNode cursor = CURSOR.resolveModelAttribute(context, operation);
+        if (control.browseMessagesAsJSON(filter, offset, limit, cursor.isDefined() ? cursor.asLong() : null, consumer) == QueueMessageBrowser.CURSOR_LOST) {
+            // Do not silently restart from the head of the queue, which would return messages of earlier pages again
+            throw MessagingLogger.ROOT_LOGGER.messageCursorNotFound(cursor.asLong());
+        }
+    }
+
     protected AttributeDefinition[] getReplyMapConsumerMessageParameterDefinition() {
         return new AttributeDefinition[]{
                 createNonEmptyStringAttribute("consumerName"),
@@ -418,6 +503,17 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
         String listMessagesAsJSON(String filter) throws Exception;
 
+        /**
+         * Passes the JSON representation of a page of the messages matching the filter to the specified consumer, one message at a time.
+         * @param filter a message filter
+         * @param offset the number of matching messages to skip
+         * @param limit the maximum number of messages, or a negative value for no limit
+         * @param cursor the ID of the message after which the page starts, or null
+         * @param consumer the consumer of each message of the page
+         * @return the number of messages of the page, or {@link QueueMessageBrowser#CURSOR_LOST} if the message identified by the cursor is no longer in the queue
+         */
+        int browseMessagesAsJSON(String filter, int offset, int limit, Long cursor, Consumer<String> consumer) throws Exception;
+
         long countMessages(String filter) throws Exception;
 
         boolean removeMessage(ModelNode id) throws Exception;
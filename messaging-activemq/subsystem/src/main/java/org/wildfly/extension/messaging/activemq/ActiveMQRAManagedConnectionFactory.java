@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ConnectionEventListener;
+import javax.resource.spi.ConnectionManager;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
+import javax.resource.spi.ManagedConnectionFactory;
+import javax.security.auth.Subject;
+
+import org.wildfly.extension.messaging.activemq.jms.PooledConnectionMetrics;
+
+/**
+ * Custom managed connection factory that records the time spent waiting for, and using, the connections of a pooled connection factory.
+ */
+public class ActiveMQRAManagedConnectionFactory extends org.apache.activemq.artemis.ra.ActiveMQRAManagedConnectionFactory {
+
+    private static final long serialVersionUID = -2876392416254386409L;
+
+    @Override
+    public Object createConnectionFactory(ConnectionManager cxManager) throws ResourceException {
+        PooledConnectionMetrics metrics = this.getConnectionMetrics();
+        return super.createConnectionFactory((metrics != null) ? new TimedConnectionManager(cxManager, metrics) : cxManager);
+    }
+
+    @Override
+    public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cxRequestInfo) throws ResourceException {
+        ManagedConnection connection = super.createManagedConnection(subject, cxRequestInfo);
+        PooledConnectionMetrics metrics = this.getConnectionMetrics();
+        if (metrics != null) {
+            connection.addConnectionEventListener(new ReleaseListener(metrics));
+        }
+        return connection;
+    }
+
+    private PooledConnectionMetrics getConnectionMetrics() {
+        Object adapter = this.getResourceAdapter();
+        return (adapter instanceof ActiveMQResourceAdapter) ? ((ActiveMQResourceAdapter) adapter).getConnectionMetrics() : null;
+    }
+
+    private static class TimedConnectionManager implements ConnectionManager {
+        private static final long serialVersionUID = 6312879424718455094L;
+
+        private final ConnectionManager manager;
+        private final transient PooledConnectionMetrics metrics;
+
+        TimedConnectionManager(ConnectionManager manager, PooledConnectionMetrics metrics) {
+            this.manager = manager;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object allocateConnection(ManagedConnectionFactory mcf, ConnectionRequestInfo cxRequestInfo) throws ResourceException {
+            if ((this.metrics == null) || !this.metrics.isEnabled()) {
+                return this.manager.allocateConnection(mcf, cxRequestInfo);
+            }
+            long start = System.nanoTime();
+            Object connection = this.manager.allocateConnection(mcf, cxRequestInfo);
+            this.metrics.allocated(connection, System.nanoTime() - start);
+            return connection;
+        }
+    }
+
+    private static class ReleaseListener implements ConnectionEventListener {
+        private final PooledConnectionMetrics metrics;
+
+        ReleaseListener(PooledConnectionMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            Object handle = event.getConnectionHandle();
+            if (handle != null) {
+                this.metrics.released(handle);
+            }
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            this.connectionClosed(event);
+        }
+
+        @Override
+        public void localTransactionStarted(ConnectionEvent event) {
+        }
+
+        @Override
+        public void localTransactionCommitted(ConnectionEvent event) {
+        }
+
+        @Override
+        public void localTransactionRolledback(ConnectionEvent event) {
+        }
+    }
+}
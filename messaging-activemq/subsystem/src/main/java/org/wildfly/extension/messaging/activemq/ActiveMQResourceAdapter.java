@@ -24,6 +24,8 @@ package org.wildfly.extension.messaging.activemq;
 import static org.wildfly.extension.messaging.activemq.MessagingServices.JBOSS_MESSAGING_ACTIVEMQ;
 
 import java.security.AccessController;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.resource.spi.work.ExecutionContext;
 import javax.resource.spi.work.Work;
 import javax.resource.spi.work.WorkException;
@@ -31,17 +33,21 @@ import javax.resource.spi.work.WorkListener;
 import javax.resource.spi.work.WorkManager;
 
 import org.apache.activemq.artemis.api.core.BroadcastEndpointFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
 import org.apache.activemq.artemis.ra.ConnectionFactoryProperties;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.as.server.CurrentServiceContainer;
 import org.jboss.msc.service.ServiceContainer;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastManager;
 import org.wildfly.extension.messaging.activemq.broadcast.CommandDispatcherBroadcastEndpointFactory;
 import org.wildfly.extension.messaging.activemq.jms.ExternalPooledConnectionFactoryService;
 import org.wildfly.extension.messaging.activemq.jms.JMSServices;
+import org.wildfly.extension.messaging.activemq.jms.PooledConnectionMetrics;
 
 /**
  * Custom resource adapter that returns an appropriate BroadcastEndpointFactory if discovery is configured using
- * JGroups.
+ * JGroups, and that records the connection metrics of its pooled connection factory.
  *
  * @author Paul Ferraro
  */
@@ -49,6 +55,9 @@ public class ActiveMQResourceAdapter extends org.apache.activemq.artemis.ra.Acti
 
     private static final long serialVersionUID = 170278234232275756L;
 
+    private final transient PooledConnectionMetrics connectionMetrics = new PooledConnectionMetrics();
+    private final transient List<SendTimeInterceptors> sendTimeInterceptors = new CopyOnWriteArrayList<>();
+
     public ActiveMQResourceAdapter() {
         super();
         this.setEnable1xPrefixes(true);
@@ -73,7 +82,9 @@ public class ActiveMQResourceAdapter extends org.apache.activemq.artemis.ra.Acti
 
             if (serverName != null && !serverName.isEmpty()) {
                 ActiveMQServerService service = (ActiveMQServerService) currentServiceContainer().getService(MessagingServices.getActiveMQServiceName(serverName)).getService();
-                return new CommandDispatcherBroadcastEndpointFactory(service.getCommandDispatcherFactory(key), clusterName);
+                // share the broadcasts received by the groups of the server on the same cluster
+                BroadcastManager manager = service.getBroadcastManager(clusterName);
+                return (manager != null) ? new CommandDispatcherBroadcastEndpointFactory(service.getCommandDispatcherFactory(key), clusterName, manager) : new CommandDispatcherBroadcastEndpointFactory(service.getCommandDispatcherFactory(key), clusterName);
             }
             assert pcf != null;
             ExternalPooledConnectionFactoryService service = (ExternalPooledConnectionFactoryService) currentServiceContainer().getService(JMSServices.getPooledConnectionFactoryBaseServiceName(JBOSS_MESSAGING_ACTIVEMQ).append(pcf)).getService();
@@ -82,6 +93,30 @@ public class ActiveMQResourceAdapter extends org.apache.activemq.artemis.ra.Acti
         return super.createBroadcastEndpointFactory(overrideProperties);
     }
 
+    @Override
+    public ActiveMQConnectionFactory newConnectionFactory(ConnectionFactoryProperties overrideProperties) {
+        ActiveMQConnectionFactory factory = super.newConnectionFactory(overrideProperties);
+        SendTimeInterceptors interceptors = new SendTimeInterceptors(this.connectionMetrics);
+        this.sendTimeInterceptors.add(interceptors);
+        ServerLocator locator = factory.getServerLocator();
+        locator.addOutgoingInterceptor(interceptors.getOutgoingInterceptor());
+        locator.addIncomingInterceptor(interceptors.getIncomingInterceptor());
+        return factory;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        for (SendTimeInterceptors interceptors : this.sendTimeInterceptors) {
+            interceptors.clear();
+        }
+        this.sendTimeInterceptors.clear();
+    }
+
+    public PooledConnectionMetrics getConnectionMetrics() {
+        return this.connectionMetrics;
+    }
+
     private static ServiceContainer currentServiceContainer() {
         return (System.getSecurityManager() == null) ? CurrentServiceContainer.getServiceContainer() : AccessController.doPrivileged(CurrentServiceContainer.GET_ACTION);
     }
@@ -64,6 +64,9 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.common.function.ExceptionSupplier;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastManager;
+import org.wildfly.extension.messaging.activemq.broadcast.QueueBroadcastManager;
+import org.wildfly.extension.messaging.activemq.broadcast.RingBroadcastManager;
 import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.credential.PasswordCredential;
@@ -106,6 +109,10 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
     private final Optional<Supplier<DataSource>> dataSource;
     // mapping between the {broadcast|discovery}-groups and the cluster names they use
     private final Map<String, String> clusterNames;
+    // mapping between the {broadcast|discovery}-groups and the size of the buffer of the broadcasts they receive (0 if unbounded)
+    private final Map<String, Integer> broadcastBufferSizes;
+    // mapping between the cluster names and the manager of the broadcasts received on them, created on start and released on stop
+    private final Map<String, BroadcastManager> broadcastManagers = new HashMap<>();
     // mapping between the {broadcast|discovery}-groups and the command dispatcher factory they use
     private final Map<String, Supplier<CommandDispatcherFactory>> commandDispatcherFactories;
     // Supplier for Elytron SecurityDomain
@@ -127,6 +134,7 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
                                  Map<String, Supplier<SocketBinding>> groupBindings,
                                  Map<String, Supplier<CommandDispatcherFactory>> commandDispatcherFactories,
                                  Map<String, String> clusterNames,
+                                 Map<String, Integer> broadcastBufferSizes,
                                  Optional<Supplier<SecurityDomain>> elytronSecurityDomain,
                                  Optional<Supplier<SecurityDomainContext>> securityDomainContext,
                                  Optional<Supplier<MBeanServer>> mbeanServer,
@@ -145,6 +153,7 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
         this.groupBindings = groupBindings;
         this.commandDispatcherFactories = commandDispatcherFactories;
         this.clusterNames = clusterNames;
+        this.broadcastBufferSizes = broadcastBufferSizes;
         if (configuration != null) {
             for (BridgeConfiguration bridgeConfiguration : configuration.getBridgeConfigurations()) {
                 bridgeCredentialSource.put(bridgeConfiguration.getName(), new InjectedValue<>());
@@ -203,6 +212,17 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
                 }
             }
 
+            // the broadcasts received on a cluster are shared by all groups of this server using it,
+            // so the buffer is sized by the largest buffer size of these groups
+            final Map<String, Integer> clusterBufferSizes = new HashMap<>();
+            for (Map.Entry<String, String> entry : clusterNames.entrySet()) {
+                clusterBufferSizes.merge(entry.getValue(), broadcastBufferSizes.getOrDefault(entry.getKey(), 0), Math::max);
+            }
+            for (Map.Entry<String, Integer> entry : clusterBufferSizes.entrySet()) {
+                final int bufferSize = entry.getValue();
+                broadcastManagers.put(entry.getKey(), (bufferSize > 0) ? new RingBroadcastManager(bufferSize) : new QueueBroadcastManager());
+            }
+
             if(broadcastGroups != null) {
                 final List<BroadcastGroupConfiguration> newConfigs = new ArrayList<>();
                 for(final BroadcastGroupConfiguration config : broadcastGroups) {
@@ -211,7 +231,7 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
                     if (commandDispatcherFactories.containsKey(key)) {
                         CommandDispatcherFactory commandDispatcherFactory = commandDispatcherFactories.get(key).get();
                         String clusterName = clusterNames.get(key);
-                        newConfigs.add(JGroupsBroadcastGroupAdd.createBroadcastGroupConfiguration(name, config, commandDispatcherFactory, clusterName));
+                        newConfigs.add(JGroupsBroadcastGroupAdd.createBroadcastGroupConfiguration(name, config, commandDispatcherFactory, clusterName, broadcastManagers.get(clusterName)));
                     } else {
                         final Supplier<SocketBinding> bindingSupplier = groupBindings.get(key);
                         if (bindingSupplier == null) {
@@ -234,7 +254,7 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
                     if (commandDispatcherFactories.containsKey(key)) {
                         CommandDispatcherFactory commandDispatcherFactory = commandDispatcherFactories.get(key).get();
                         String clusterName = clusterNames.get(key);
-                        config = JGroupsDiscoveryGroupAdd.createDiscoveryGroupConfiguration(name, entry.getValue(), commandDispatcherFactory, clusterName);
+                        config = JGroupsDiscoveryGroupAdd.createDiscoveryGroupConfiguration(name, entry.getValue(), commandDispatcherFactory, clusterName, broadcastManagers.get(clusterName));
                     } else {
                         final Supplier<SocketBinding> binding = groupBindings.get(key);
                         if (binding == null) {
@@ -314,6 +334,10 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
 
                 // the server is actually stopped by the Jakarta Messaging Service
             }
+            for (BroadcastManager manager : broadcastManagers.values()) {
+                manager.clear();
+            }
+            broadcastManagers.clear();
             pathConfig.closeCallbacks(pathManager.get());
         } catch (Exception e) {
             throw MessagingLogger.ROOT_LOGGER.failedToShutdownServer(e, "Artemis");
@@ -333,6 +357,15 @@ class ActiveMQServerService implements Service<ActiveMQServer> {
         return commandDispatcherFactories.get(key).get();
     }
 
+    /**
+     * Returns the manager of the broadcasts received by the groups of this server on the specified JGroups cluster.
+     * @param clusterName a JGroups cluster name
+     * @return a broadcast manager, or null, if no group of this server uses that cluster or the service is stopped
+     */
+    synchronized BroadcastManager getBroadcastManager(String clusterName) {
+        return broadcastManagers.get(clusterName);
+    }
+
     static class PathConfig {
         private final String bindingsPath;
         private final String bindingsRelativeToPath;
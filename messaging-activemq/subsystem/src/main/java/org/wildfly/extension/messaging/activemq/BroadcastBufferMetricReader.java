@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.jboss.as.controller.SimpleAttributeDefinitionBuilder.create;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.dmr.ModelType.LONG;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastManager;
+import org.wildfly.extension.messaging.activemq.broadcast.RingBroadcastManager;
+
+/**
+ * Reads the metrics of the bounded buffer of the broadcasts received on the JGroups cluster of a broadcast or discovery group.
+ * The metrics are 0 if the server is not started or if the broadcasts of the cluster are not buffered by a {@link RingBroadcastManager}.
+ */
+final class BroadcastBufferMetricReader implements OperationStepHandler {
+
+    static final AttributeDefinition DROPPED_BROADCASTS = create("dropped-broadcasts", LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition DUPLICATE_BROADCASTS = create("duplicate-broadcasts", LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition[] METRICS = { DROPPED_BROADCASTS, DUPLICATE_BROADCASTS };
+
+    static final BroadcastBufferMetricReader INSTANCE = new BroadcastBufferMetricReader();
+
+    private BroadcastBufferMetricReader() {
+    }
+
+    void registerMetrics(ManagementResourceRegistration registry) {
+        for (AttributeDefinition metric : METRICS) {
+            registry.registerMetric(metric, this);
+        }
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+        final String clusterName = CommonAttributes.JGROUPS_CLUSTER.resolveModelAttribute(context, model).asStringOrNull();
+        final BroadcastManager manager = (clusterName != null) ? getBroadcastManager(context, clusterName) : null;
+        if (!(manager instanceof RingBroadcastManager)) {
+            context.getResult().set(0L);
+            return;
+        }
+        final RingBroadcastManager ringManager = (RingBroadcastManager) manager;
+        if (DROPPED_BROADCASTS.getName().equals(attributeName)) {
+            context.getResult().set(ringManager.getDroppedCount());
+        } else if (DUPLICATE_BROADCASTS.getName().equals(attributeName)) {
+            context.getResult().set(ringManager.getDuplicateCount());
+        } else {
+            // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+            throw new IllegalArgumentException(attributeName);
+        }
+    }
+
+    private static BroadcastManager getBroadcastManager(OperationContext context, String clusterName) {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(MessagingServices.getActiveMQServiceName(context.getCurrentAddress()));
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        return ((ActiveMQServerService) controller.getService()).getBroadcastManager(clusterName);
+    }
+}
@@ -44,6 +44,7 @@ import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -222,6 +223,13 @@ public interface CommonAttributes {
             .setRestartAllServices()
             .build();
 
+    SimpleAttributeDefinition BROADCAST_BUFFER_SIZE = create("broadcast-buffer-size", INT)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setRestartAllServices()
+            .build();
+
     /**
      * @see ActiveMQClient.DEFAULT_MAX_RETRY_INTERVAL
      */
@@ -29,13 +29,15 @@ import static org.wildfly.extension.messaging.activemq.MessagingExtension.LARGE_
 import static org.wildfly.extension.messaging.activemq.MessagingExtension.PAGING_DIRECTORY_PATH;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Date;
 
 import org.apache.activemq.artemis.cli.commands.tools.xml.XmlDataExporter;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -47,6 +49,8 @@ import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
  * Export a dump of Artemis journal. WildFly must be running in ADMIN-ONLY mode to perform this operation.
  *
  * The dump is stored on WildFly host and is not sent to the client invoking the operation.
+ * It can be gzip compressed, and the export can run in the background, in which case its progress is reported by
+ * the {@code journal-transfer} attribute of the server.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2015 Red Hat inc.
  */
@@ -57,6 +61,13 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
 
     // name file of the dump follows the format journal-yyyyMMdd-HHmmssSSSTZ-dump.xml
     private static final String FILE_NAME_FORMAT = "journal-%1$tY%<tm%<td-%<tH%<tM%<tS%<TL%<tz-dump.xml";
+    private static final String COMPRESSED_FILE_SUFFIX = ".gz";
+
+    private static final AttributeDefinition COMPRESS = SimpleAttributeDefinitionBuilder.create("compress", ModelType.BOOLEAN)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(false)
+            .setRequired(false)
+            .build();
 
     private ExportJournalOperation() {
 
@@ -64,6 +75,8 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
 
     static void registerOperation(final ManagementResourceRegistration registry, final ResourceDescriptionResolver resourceDescriptionResolver) {
         registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(OPERATION_NAME, resourceDescriptionResolver)
+                        .addParameter(COMPRESS)
+                        .addParameter(JournalTransfer.ASYNC)
                         .setRuntimeOnly()
                         .setReplyValueType(ModelType.STRING)
                         .build(),
@@ -81,26 +94,20 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
         final String bindings = resolvePath(context, BINDINGS_DIRECTORY_PATH);
         final String paging = resolvePath(context,  PAGING_DIRECTORY_PATH);
         final String largeMessages = resolvePath(context, LARGE_MESSAGES_DIRECTORY_PATH);
-
-        final XmlDataExporter exporter = new XmlDataExporter();
+        final boolean compress = COMPRESS.resolveModelAttribute(context, operation).asBoolean();
+        final boolean async = JournalTransfer.ASYNC.resolveModelAttribute(context, operation).asBoolean();
 
         String name = String.format(FILE_NAME_FORMAT, new Date());
+        if (compress) {
+            name += COMPRESSED_FILE_SUFFIX;
+        }
         // write the exported dump at the same level than the journal directory
-        File dump = new File(new File(journal).getParent(), name);
-        FileOutputStream fos = null;
-        try {
-            fos = new FileOutputStream(dump);
-            exporter.process(fos, bindings, journal, paging, largeMessages);
-            context.getResult().set(dump.getAbsolutePath());
-        } catch (Exception e) {
-            throw new OperationFailedException(e);
-        } finally {
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {
-                }
+        Path dump = new File(new File(journal).getParent(), name).toPath().toAbsolutePath();
+        JournalTransfer.startExport(context, OPERATION_NAME, dump, compress, async, transfer -> {
+            try (OutputStream output = transfer.openOutputStream()) {
+                new XmlDataExporter().process(output, bindings, journal, paging, largeMessages);
             }
-        }
+        });
+        context.getResult().set(dump.toString());
     }
 }
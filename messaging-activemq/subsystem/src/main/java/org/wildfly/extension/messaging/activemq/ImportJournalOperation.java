@@ -25,9 +25,8 @@ package org.wildfly.extension.messaging.activemq;
 import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
 import static org.jboss.as.controller.RunningMode.NORMAL;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -59,6 +58,8 @@ import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
  * WildFly must be running in NORMAL mode to perform this operation.
  *
  * The dump file MUST be on WildFly host. It is not attached to the operation stream.
+ * It can be gzip compressed, and the import can run in the background, in which case its progress is reported by
+ * the {@code journal-transfer} attribute of the server.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2015 Red Hat inc.
  */
@@ -88,6 +89,7 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
         registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(OPERATION_NAME, resourceDescriptionResolver)
                         .addParameter(FILE)
                         .addParameter(LEGACY_PREFIXES)
+                        .addParameter(JournalTransfer.ASYNC)
                         .setRuntimeOnly()
                         .setReplyValueType(ModelType.BOOLEAN)
                         .build(),
@@ -103,21 +105,22 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
 
         String file = FILE.resolveModelAttribute(context, operation).asString();
         boolean legacyPrefixes = LEGACY_PREFIXES.resolveModelAttribute(context, operation).asBoolean();
+        boolean async = JournalTransfer.ASYNC.resolveModelAttribute(context, operation).asBoolean();
 
         final XmlDataImporter importer = new XmlDataImporter();
         importer.legacyPrefixes = legacyPrefixes;
 
         TransportConfiguration transportConfiguration = createInVMTransportConfiguration(context);
-        try (
-                InputStream is = new FileInputStream(new File(file));
-                ServerLocator serverLocator = ActiveMQClient.createServerLocator(false, transportConfiguration);
-                ClientSessionFactory sf = serverLocator.createSessionFactory()
-        ) {
-            ClientSession session = sf.createSession();
-            importer.process(is, session);
-        } catch (Exception e) {
-            throw new OperationFailedException(e);
-        }
+        JournalTransfer.startImport(context, OPERATION_NAME, Paths.get(file), async, transfer -> {
+            try (
+                    InputStream is = transfer.openInputStream();
+                    ServerLocator serverLocator = ActiveMQClient.createServerLocator(false, transportConfiguration);
+                    ClientSessionFactory sf = serverLocator.createSessionFactory()
+            ) {
+                ClientSession session = sf.createSession();
+                importer.process(is, session);
+            }
+        });
     }
 
     /**
@@ -97,7 +97,7 @@ public class JGroupsBroadcastGroupDefinition extends PersistentResourceDefinitio
             .build();
 
     public static final AttributeDefinition[] ATTRIBUTES = {JGROUPS_CHANNEL_FACTORY, JGROUPS_CHANNEL, JGROUPS_CLUSTER,
-        BROADCAST_PERIOD, CONNECTOR_REFS};
+        BROADCAST_PERIOD, CONNECTOR_REFS, CommonAttributes.BROADCAST_BUFFER_SIZE};
 
     public static final String GET_CONNECTOR_PAIRS_AS_JSON = "get-connector-pairs-as-json";
 
@@ -127,6 +127,9 @@ public class JGroupsBroadcastGroupDefinition extends PersistentResourceDefinitio
         }
 
         BroadcastGroupControlHandler.INSTANCE.registerAttributes(registry);
+        if (registerRuntimeOnly) {
+            BroadcastBufferMetricReader.INSTANCE.registerMetrics(registry);
+        }
     }
 
     @Override
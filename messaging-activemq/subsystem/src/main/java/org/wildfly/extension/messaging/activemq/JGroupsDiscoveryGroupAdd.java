@@ -38,12 +38,14 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceRegistry;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastManager;
 import org.wildfly.extension.messaging.activemq.broadcast.CommandDispatcherBroadcastEndpointFactory;
 
 /**
@@ -94,6 +96,13 @@ public class JGroupsDiscoveryGroupAdd extends AbstractAddStepHandler {
         }
     }
 
+    @Override
+    protected void populateModel(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+        super.populateModel(context, operation, resource);
+        if (!isSubsystemResource(context)) {
+            CommonAttributes.BROADCAST_BUFFER_SIZE.validateAndSet(operation, resource.getModel());
+        }
+    }
 
     @Override
     protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
@@ -128,11 +137,17 @@ public class JGroupsDiscoveryGroupAdd extends AbstractAddStepHandler {
     }
 
    public static DiscoveryGroupConfiguration createDiscoveryGroupConfiguration(final String name, final DiscoveryGroupConfiguration config, final CommandDispatcherFactory commandDispatcherFactory, final String channelName) throws Exception {
+        return createDiscoveryGroupConfiguration(name, config, new CommandDispatcherBroadcastEndpointFactory(commandDispatcherFactory, channelName));
+    }
+
+   static DiscoveryGroupConfiguration createDiscoveryGroupConfiguration(final String name, final DiscoveryGroupConfiguration config, final CommandDispatcherFactory commandDispatcherFactory, final String channelName, final BroadcastManager manager) throws Exception {
+        return createDiscoveryGroupConfiguration(name, config, new CommandDispatcherBroadcastEndpointFactory(commandDispatcherFactory, channelName, manager));
+    }
+
+   private static DiscoveryGroupConfiguration createDiscoveryGroupConfiguration(final String name, final DiscoveryGroupConfiguration config, final BroadcastEndpointFactory endpointFactory) {
         final long refreshTimeout = config.getRefreshTimeout();
         final long initialWaitTimeout = config.getDiscoveryInitialWaitTimeout();
 
-        final BroadcastEndpointFactory endpointFactory = new CommandDispatcherBroadcastEndpointFactory(commandDispatcherFactory, channelName);
-
         return new DiscoveryGroupConfiguration()
                 .setName(name)
                 .setRefreshTimeout(refreshTimeout)
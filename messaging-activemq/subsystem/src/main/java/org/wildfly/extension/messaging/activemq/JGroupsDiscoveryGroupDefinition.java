@@ -100,7 +100,13 @@ public class JGroupsDiscoveryGroupDefinition extends PersistentResourceDefinitio
         JGROUPS_CHANNEL_FACTORY, JGROUPS_CHANNEL, JGROUPS_CLUSTER, REFRESH_TIMEOUT, INITIAL_WAIT_TIMEOUT
     };
 
+    // the broadcasts received by a discovery group can only be buffered when it is defined by a server
+    static final AttributeDefinition[] SERVER_ATTRIBUTES = {
+        JGROUPS_CHANNEL_FACTORY, JGROUPS_CHANNEL, JGROUPS_CLUSTER, REFRESH_TIMEOUT, INITIAL_WAIT_TIMEOUT, CommonAttributes.BROADCAST_BUFFER_SIZE
+    };
+
     private final boolean registerRuntimeOnly;
+    private final boolean subsystemResource;
 
     protected JGroupsDiscoveryGroupDefinition(final boolean registerRuntimeOnly, final boolean subsystemResource) {
         super(new SimpleResourceDefinition.Parameters(PATH, MessagingExtension.getResourceDescriptionResolver(CommonAttributes.DISCOVERY_GROUP))
@@ -108,20 +114,25 @@ public class JGroupsDiscoveryGroupDefinition extends PersistentResourceDefinitio
                 .setRemoveHandler(JGroupsDiscoveryGroupRemove.INSTANCE)
                 .addCapabilities(CAPABILITY));
         this.registerRuntimeOnly = registerRuntimeOnly;
+        this.subsystemResource = subsystemResource;
     }
 
     @Override
     public Collection<AttributeDefinition> getAttributes() {
-        return Arrays.asList(ATTRIBUTES);
+        return Arrays.asList(subsystemResource ? ATTRIBUTES : SERVER_ATTRIBUTES);
     }
 
     @Override
     public void registerAttributes(ManagementResourceRegistration registry) {
-        ReloadRequiredWriteAttributeHandler reloadRequiredWriteAttributeHandler = new ReloadRequiredWriteAttributeHandler(ATTRIBUTES);
-        for (AttributeDefinition attr : ATTRIBUTES) {
+        AttributeDefinition[] attributes = subsystemResource ? ATTRIBUTES : SERVER_ATTRIBUTES;
+        ReloadRequiredWriteAttributeHandler reloadRequiredWriteAttributeHandler = new ReloadRequiredWriteAttributeHandler(attributes);
+        for (AttributeDefinition attr : attributes) {
             if (registerRuntimeOnly || !attr.getFlags().contains(AttributeAccess.Flag.STORAGE_RUNTIME)) {
                 registry.registerReadWriteAttribute(attr, null, reloadRequiredWriteAttributeHandler);
             }
         }
+        if (registerRuntimeOnly && !subsystemResource) {
+            BroadcastBufferMetricReader.INSTANCE.registerMetrics(registry);
+        }
     }
 }
@@ -0,0 +1,434 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.jboss.as.controller.SimpleAttributeDefinitionBuilder.create;
+import static org.jboss.dmr.ModelType.BOOLEAN;
+import static org.jboss.dmr.ModelType.LONG;
+import static org.jboss.dmr.ModelType.STRING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.Services;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
+
+/**
+ * An export or import of the journal of a server.
+ *
+ * The dump is streamed through a {@link FileChannel}, optionally gzip compressed, and the number of bytes read from or written to the dump file
+ * is exposed by the {@code journal-transfer} runtime attribute of the server, so that the progress of an asynchronous transfer can be followed.
+ * A transfer is cancelled by interrupting the thread performing it, which closes the channel of the dump file.
+ * An asynchronous transfer runs on the server executor, and is retained once complete to report its outcome, until the next transfer or until the server is removed.
+ */
+final class JournalTransfer implements Runnable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final String CANCEL_OPERATION_NAME = "cancel-journal-transfer";
+
+    // At most one transfer per server, the last asynchronous one is retained to report its outcome
+    private static final ConcurrentMap<String, JournalTransfer> TRANSFERS = new ConcurrentHashMap<>();
+
+    static final AttributeDefinition ASYNC = create("async", BOOLEAN)
+            .setDefaultValue(ModelNode.FALSE)
+            .setRequired(false)
+            .setAllowExpression(false)
+            .build();
+
+    private static final AttributeDefinition OPERATION = create("operation", STRING).build();
+    private static final AttributeDefinition FILE = create("file", STRING).build();
+    private static final AttributeDefinition COMPRESSED = create("compressed", BOOLEAN).build();
+    private static final AttributeDefinition STATE = create("state", STRING).build();
+    private static final AttributeDefinition BYTES = create("bytes", LONG).build();
+    private static final AttributeDefinition SIZE = create("size", LONG).setRequired(false).build();
+    private static final AttributeDefinition START_TIME = create("start-time", LONG).build();
+    private static final AttributeDefinition END_TIME = create("end-time", LONG).setRequired(false).build();
+    private static final AttributeDefinition FAILURE = create("failure-description", STRING).setRequired(false).build();
+
+    static final AttributeDefinition JOURNAL_TRANSFER = ObjectTypeAttributeDefinition.Builder.of("journal-transfer", OPERATION, FILE, COMPRESSED, STATE, BYTES, SIZE, START_TIME, END_TIME, FAILURE)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    enum Type {
+        EXPORT,
+        IMPORT,
+        ;
+        @Override
+        public String toString() {
+            return this.name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED,
+    }
+
+    interface Task {
+        void execute(JournalTransfer transfer) throws Exception;
+    }
+
+    private final String server;
+    private final Type type;
+    private final Path file;
+    private final boolean compressed;
+    private final long size;
+    private final Task task;
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile long endTime;
+    private volatile State state = State.RUNNING;
+    private boolean async;
+    private Thread thread;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    JournalTransfer(String server, Type type, Path file, boolean compressed, long size, Task task) {
+        this.server = server;
+        this.type = type;
+        this.file = file;
+        this.compressed = compressed;
+        this.size = size;
+        this.task = task;
+    }
+
+    static void registerAttribute(ManagementResourceRegistration registry) {
+        registry.registerReadOnlyAttribute(JOURNAL_TRANSFER, (context, operation) -> {
+            JournalTransfer transfer = get(context.getCurrentAddressValue());
+            if (transfer != null) {
+                context.getResult().set(transfer.toModelNode());
+            }
+        });
+    }
+
+    static void registerOperation(ManagementResourceRegistration registry, ResourceDescriptionResolver resolver) {
+        registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(CANCEL_OPERATION_NAME, resolver)
+                        .setRuntimeOnly()
+                        .setReplyType(BOOLEAN)
+                        .build(),
+                (context, operation) -> {
+                    JournalTransfer transfer = get(context.getCurrentAddressValue());
+                    context.getResult().set(transfer != null && transfer.cancel());
+                });
+    }
+
+    /**
+     * Starts an export of the journal of the current server to the specified file.
+     * @param context the context of the export operation
+     * @param operationName the name of the export operation
+     * @param file the dump file, which must not exist
+     * @param compress whether the dump is gzip compressed
+     * @param async whether the export runs in the background, or completes before this method returns
+     * @param task the export, which writes to {@link #openOutputStream()}
+     */
+    static void startExport(OperationContext context, String operationName, Path file, boolean compress, boolean async, Task task) throws OperationFailedException {
+        start(new JournalTransfer(context.getCurrentAddressValue(), Type.EXPORT, file, compress, -1L, task), operationName, getExecutor(context, async));
+    }
+
+    /**
+     * Starts an import of the specified file in the journal of the current server.
+     * Whether the dump is gzip compressed is detected from its content.
+     * @param context the context of the import operation
+     * @param operationName the name of the import operation
+     * @param file the dump file
+     * @param async whether the import runs in the background, or completes before this method returns
+     * @param task the import, which reads from {@link #openInputStream()}
+     */
+    static void startImport(OperationContext context, String operationName, Path file, boolean async, Task task) throws OperationFailedException {
+        start(createImport(context.getCurrentAddressValue(), file, task), operationName, getExecutor(context, async));
+    }
+
+    /**
+     * Creates an import of the specified file, detecting whether it is gzip compressed.
+     * @param server the name of the server
+     * @param file the dump file
+     * @param task the import, which reads from {@link #openInputStream()}
+     * @return a new import
+     */
+    static JournalTransfer createImport(String server, Path file, Task task) throws OperationFailedException {
+        boolean compressed;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            ByteBuffer header = ByteBuffer.allocate(2);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read the first bytes of the dump, without compression
+            }
+            compressed = !header.hasRemaining() && ((header.get(0) & 0xff) | ((header.get(1) & 0xff) << 8)) == GZIP_MAGIC;
+            size = channel.size();
+        } catch (IOException e) {
+            throw new OperationFailedException(e);
+        }
+        return new JournalTransfer(server, Type.IMPORT, file, compressed, size, task);
+    }
+
+    private static Executor getExecutor(OperationContext context, boolean async) {
+        return async ? (Executor) context.getServiceRegistry(false).getRequiredService(Services.JBOSS_SERVER_EXECUTOR).getValue() : null;
+    }
+
+    /**
+     * Starts the specified transfer.
+     * @param transfer a transfer
+     * @param operationName the name of the operation starting the transfer
+     * @param executor the executor of an asynchronous transfer, or null to complete the transfer before this method returns
+     */
+    static void start(JournalTransfer transfer, String operationName, Executor executor) throws OperationFailedException {
+        JournalTransfer current = TRANSFERS.merge(transfer.server, transfer, (existing, candidate) -> (existing.state == State.RUNNING) ? existing : candidate);
+        if (current != transfer) {
+            throw MessagingLogger.ROOT_LOGGER.journalTransferInProgress(operationName, current.type.toString());
+        }
+        transfer.async = (executor != null);
+        if (executor != null) {
+            try {
+                executor.execute(transfer);
+            } catch (RejectedExecutionException e) {
+                TRANSFERS.remove(transfer.server, transfer);
+                throw new OperationFailedException(e);
+            }
+        } else {
+            try {
+                transfer.run();
+            } finally {
+                // The outcome of a synchronous transfer is reported by its operation
+                TRANSFERS.remove(transfer.server, transfer);
+            }
+            if (transfer.state != State.COMPLETED) {
+                throw (transfer.failure != null) ? new OperationFailedException(transfer.failure) : new OperationFailedException(transfer.state.toString());
+            }
+        }
+    }
+
+    /**
+     * Returns the running or last asynchronous transfer of the specified server.
+     * @param server the name of a server
+     * @return a transfer, or null if there is none
+     */
+    static JournalTransfer get(String server) {
+        return TRANSFERS.get(server);
+    }
+
+    /**
+     * Forgets the transfer of the specified server, cancelling it if it is still running.
+     * @param server the name of a server that is being removed
+     */
+    static void remove(String server) {
+        JournalTransfer transfer = TRANSFERS.remove(server);
+        if (transfer != null) {
+            transfer.cancel();
+        }
+    }
+
+    State getState() {
+        return this.state;
+    }
+
+    long getBytes() {
+        return this.bytes.get();
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (this.cancelled) {
+                // Cancelled while waiting for a thread of the executor
+                this.complete(State.CANCELLED);
+                return;
+            }
+            this.thread = Thread.currentThread();
+        }
+        try {
+            this.task.execute(this);
+            this.complete(State.COMPLETED);
+        } catch (Throwable e) {
+            if (this.cancelled) {
+                this.complete(State.CANCELLED);
+            } else {
+                this.failure = e;
+                if (this.async) {
+                    MessagingLogger.ROOT_LOGGER.journalTransferFailed(e, this.type.toString(), this.file.toString());
+                }
+                this.complete(State.FAILED);
+            }
+        } finally {
+            // Clear any interrupt raised by a cancellation that the task did not observe
+            if (this.cancelled) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private synchronized void complete(State state) {
+        this.thread = null;
+        if ((state != State.COMPLETED) && (this.type == Type.EXPORT)) {
+            try {
+                Files.deleteIfExists(this.file);
+            } catch (IOException e) {
+                // best effort removal of an incomplete dump
+            }
+        }
+        this.endTime = System.currentTimeMillis();
+        this.state = state;
+    }
+
+    synchronized boolean cancel() {
+        if (this.state != State.RUNNING) {
+            return false;
+        }
+        this.cancelled = true;
+        Thread thread = this.thread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Opens the dump file of an export.
+     * @return a buffered stream writing to the channel of the dump file
+     */
+    OutputStream openOutputStream() throws IOException {
+        OutputStream output = new ProgressOutputStream(Channels.newOutputStream(FileChannel.open(this.file, CREATE_NEW, WRITE)));
+        return new BufferedOutputStream(this.compressed ? new GZIPOutputStream(output, BUFFER_SIZE) : output, BUFFER_SIZE);
+    }
+
+    /**
+     * Opens the dump file of an import.
+     * @return a buffered stream reading from the channel of the dump file
+     */
+    InputStream openInputStream() throws IOException {
+        InputStream input = new ProgressInputStream(Channels.newInputStream(FileChannel.open(this.file, READ)));
+        return new BufferedInputStream(this.compressed ? new GZIPInputStream(input, BUFFER_SIZE) : input, BUFFER_SIZE);
+    }
+
+    ModelNode toModelNode() {
+        ModelNode result = new ModelNode();
+        result.get(OPERATION.getName()).set(this.type.toString());
+        result.get(FILE.getName()).set(this.file.toString());
+        result.get(COMPRESSED.getName()).set(this.compressed);
+        result.get(STATE.getName()).set(this.state.toString());
+        result.get(BYTES.getName()).set(this.bytes.get());
+        if (this.size >= 0) {
+            result.get(SIZE.getName()).set(this.size);
+        }
+        result.get(START_TIME.getName()).set(this.startTime);
+        if (this.state != State.RUNNING) {
+            result.get(END_TIME.getName()).set(this.endTime);
+        }
+        Throwable failure = this.failure;
+        if (failure != null) {
+            result.get(FAILURE.getName()).set(failure.toString());
+        }
+        return result;
+    }
+
+    private void progress(long count) throws InterruptedIOException {
+        if (this.cancelled) {
+            throw new InterruptedIOException();
+        }
+        this.bytes.addAndGet(count);
+    }
+
+    private class ProgressOutputStream extends FilterOutputStream {
+
+        ProgressOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            JournalTransfer.this.progress(1);
+            this.out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            JournalTransfer.this.progress(len);
+            this.out.write(b, off, len);
+        }
+    }
+
+    private class ProgressInputStream extends FilterInputStream {
+
+        ProgressInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = this.in.read();
+            if (result >= 0) {
+                JournalTransfer.this.progress(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = this.in.read(b, off, len);
+            if (result > 0) {
+                JournalTransfer.this.progress(result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long result = this.in.skip(n);
+            JournalTransfer.this.progress(result);
+            return result;
+        }
+    }
+}
@@ -60,6 +60,15 @@ public class MessagingSubsystemParser_13_0 extends PersistentResourceXMLParser {
                         DiscoveryGroupDefinition.REFRESH_TIMEOUT,
                         DiscoveryGroupDefinition.INITIAL_WAIT_TIMEOUT);
 
+        final PersistentResourceXMLBuilder serverJGroupDiscoveryGroup = builder(JGroupsDiscoveryGroupDefinition.PATH)
+                .addAttributes(
+                        DiscoveryGroupDefinition.JGROUPS_CHANNEL_FACTORY,
+                        DiscoveryGroupDefinition.JGROUPS_CHANNEL,
+                        CommonAttributes.JGROUPS_CLUSTER,
+                        DiscoveryGroupDefinition.REFRESH_TIMEOUT,
+                        DiscoveryGroupDefinition.INITIAL_WAIT_TIMEOUT,
+                        CommonAttributes.BROADCAST_BUFFER_SIZE);
+
         final PersistentResourceXMLBuilder socketDiscoveryGroup = builder(SocketDiscoveryGroupDefinition.PATH)
                 .addAttributes(
                         CommonAttributes.SOCKET_BINDING,
@@ -437,14 +446,15 @@ public class MessagingSubsystemParser_13_0 extends PersistentResourceXMLParser {
                                                         BroadcastGroupDefinition.JGROUPS_CHANNEL,
                                                         CommonAttributes.JGROUPS_CLUSTER,
                                                         BroadcastGroupDefinition.BROADCAST_PERIOD,
-                                                        BroadcastGroupDefinition.CONNECTOR_REFS))
+                                                        BroadcastGroupDefinition.CONNECTOR_REFS,
+                                                        CommonAttributes.BROADCAST_BUFFER_SIZE))
                                 .addChild(
                                         builder(MessagingExtension.SOCKET_BROADCAST_GROUP_PATH)
                                                 .addAttributes(
                                                         CommonAttributes.SOCKET_BINDING,
                                                         BroadcastGroupDefinition.BROADCAST_PERIOD,
                                                         BroadcastGroupDefinition.CONNECTOR_REFS))
-                                .addChild(jgroupDiscoveryGroup)
+                                .addChild(serverJGroupDiscoveryGroup)
                                 .addChild(socketDiscoveryGroup)
                                 .addChild(
                                         builder(MessagingExtension.CLUSTER_CONNECTION_PATH)
@@ -119,6 +119,9 @@ public class MessagingTransformerRegistration implements ExtensionTransformerReg
         clusterConnection.getAttributeBuilder()
                 .setValueConverter(AttributeConverter.DEFAULT_VALUE, CommonAttributes.BRIDGE_CONFIRMATION_WINDOW_SIZE)
                 .end();
+
+        rejectDefinedAttributeWithDefaultValue(server.addChildResource(MessagingExtension.JGROUPS_BROADCAST_GROUP_PATH), CommonAttributes.BROADCAST_BUFFER_SIZE);
+        rejectDefinedAttributeWithDefaultValue(server.addChildResource(JGroupsDiscoveryGroupDefinition.PATH), CommonAttributes.BROADCAST_BUFFER_SIZE);
     }
 
     private static void registerTransformers_WF_22(ResourceTransformationDescriptionBuilder subsystem) {
@@ -31,6 +31,7 @@ import static org.jboss.dmr.ModelType.LONG;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
@@ -149,6 +150,11 @@ public class QueueControlHandler extends AbstractQueueControlHandler<QueueContro
                 return control.listMessagesAsJSON(filter);
             }
 
+            @Override
+            public int browseMessagesAsJSON(String filter, int offset, int limit, Long cursor, Consumer<String> consumer) throws Exception {
+                return new QueueMessageBrowser(server, queueName, filter).browse(offset, limit, cursor, consumer);
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(filter);
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.util.function.Consumer;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+
+/**
+ * Browses the messages of an ActiveMQ queue one at a time, so that only the requested page of a deep queue is ever converted to JSON.
+ * A page is selected either by an offset into the messages matching the filter, or by a cursor, i.e. the ID of the last message of the previous page.
+ */
+public final class QueueMessageBrowser {
+
+    private final Queue queue;
+    private final Filter filter;
+
+    /**
+     * Creates a browser of the specified queue.
+     * @param server an ActiveMQ server
+     * @param queueName the name of a queue of that server
+     * @param filter a message filter, or null to browse all messages
+     * @throws ActiveMQException if the filter is not valid
+     */
+    public QueueMessageBrowser(ActiveMQServer server, String queueName, String filter) throws ActiveMQException {
+        this.queue = server.locateQueue(SimpleString.toSimpleString(queueName));
+        this.filter = FilterImpl.createFilter(filter);
+    }
+
+    /**
+     * Returned by {@link #browse(int, int, Long, Consumer)} if the message identified by the cursor is no longer in the queue.
+     */
+    public static final int CURSOR_LOST = -1;
+
+    /**
+     * Passes the messages of the requested page, in delivery order, to the specified consumer, as JSON objects.
+     * If the message identified by the cursor is no longer in the queue (e.g. it was consumed in the meantime), no message is passed to the consumer,
+     * and {@link #CURSOR_LOST} is returned, so that the caller can decide how to continue, rather than silently returning messages of an earlier page.
+     * @param offset the number of matching messages to skip
+     * @param limit the maximum number of messages to return, or a negative value to return all remaining messages
+     * @param cursor the ID of the message after which browsing starts, or null to start from the head of the queue
+     * @param consumer the consumer of each message of the page
+     * @return the number of messages passed to the consumer, or {@link #CURSOR_LOST} if the cursor was not found
+     */
+    public int browse(int offset, int limit, Long cursor, Consumer<String> consumer) {
+        if (this.queue == null) {
+            return (cursor != null) ? CURSOR_LOST : 0;
+        }
+        boolean resumed = (cursor == null);
+        int skipped = 0;
+        int count = 0;
+        try (LinkedListIterator<MessageReference> references = this.queue.browserIterator()) {
+            while ((limit < 0 || count < limit) && references.hasNext()) {
+                Message message = references.next().getMessage();
+                if (!resumed) {
+                    resumed = message.getMessageID() == cursor.longValue();
+                } else if (this.filter == null || this.filter.match(message)) {
+                    if (skipped < offset) {
+                        skipped += 1;
+                    } else {
+                        consumer.accept(JsonUtil.toJsonObject(message.toMap()).toString());
+                        count += 1;
+                    }
+                }
+            }
+        }
+        return resumed ? count : CURSOR_LOST;
+    }
+}
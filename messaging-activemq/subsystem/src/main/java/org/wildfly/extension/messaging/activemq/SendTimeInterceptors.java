@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Interceptor;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
+import org.apache.activemq.artemis.core.remoting.CloseListener;
+import org.apache.activemq.artemis.core.remoting.FailureListener;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.wildfly.extension.messaging.activemq.jms.PooledConnectionMetrics;
+
+/**
+ * Measures the time between a blocking send and its response, per destination.
+ * A blocking send is not followed by another packet on the same channel until its response is received,
+ * so at most one send per channel is pending at any time.
+ * Sends that do not require a response are not measured.
+ * The pending sends of a connection are discarded when the connection is closed or fails.
+ */
+class SendTimeInterceptors {
+
+    private final PooledConnectionMetrics metrics;
+    private final ConcurrentMap<ChannelKey, PendingSend> pendingSends = new ConcurrentHashMap<>();
+    // Identifiers of the connections to which a listener discarding their pending sends was added
+    private final Set<Object> connections = ConcurrentHashMap.newKeySet();
+
+    SendTimeInterceptors(PooledConnectionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return an interceptor of outgoing packets, recording the start of blocking sends
+     */
+    Interceptor getOutgoingInterceptor() {
+        return this::sending;
+    }
+
+    /**
+     * @return an interceptor of incoming packets, recording the responses to blocking sends
+     */
+    Interceptor getIncomingInterceptor() {
+        return this::received;
+    }
+
+    private boolean sending(Packet packet, RemotingConnection connection) {
+        if (this.metrics.isEnabled() && (packet instanceof SessionSendMessage) && packet.isRequiresResponse()) {
+            String destination = Objects.toString(((SessionSendMessage) packet).getMessage().getAddress(), PooledConnectionMetrics.OTHER_DESTINATIONS);
+            Object id = connection.getID();
+            if (this.connections.add(id)) {
+                ConnectionListener listener = new ConnectionListener(id);
+                connection.addCloseListener(listener);
+                connection.addFailureListener(listener);
+            }
+            this.pendingSends.put(new ChannelKey(id, packet.getChannelID()), new PendingSend(destination, System.nanoTime()));
+        }
+        return true;
+    }
+
+    private boolean received(Packet packet, RemotingConnection connection) {
+        if (packet.isResponse() && !this.pendingSends.isEmpty()) {
+            PendingSend send = this.pendingSends.remove(new ChannelKey(connection.getID(), packet.getChannelID()));
+            if (send != null) {
+                this.metrics.sent(send.destination, System.nanoTime() - send.start);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards all pending sends.
+     */
+    void clear() {
+        this.pendingSends.clear();
+    }
+
+    void closed(Object connectionId) {
+        this.connections.remove(connectionId);
+        this.pendingSends.keySet().removeIf(key -> key.connectionId.equals(connectionId));
+    }
+
+    private class ConnectionListener implements CloseListener, FailureListener {
+        private final Object connectionId;
+
+        ConnectionListener(Object connectionId) {
+            this.connectionId = connectionId;
+        }
+
+        @Override
+        public void connectionClosed() {
+            SendTimeInterceptors.this.closed(this.connectionId);
+        }
+
+        @Override
+        public void connectionFailed(ActiveMQException exception, boolean failedOver) {
+            SendTimeInterceptors.this.closed(this.connectionId);
+        }
+
+        @Override
+        public void connectionFailed(ActiveMQException exception, boolean failedOver, String scaleDownTargetNodeID) {
+            SendTimeInterceptors.this.closed(this.connectionId);
+        }
+    }
+
+    private static class PendingSend {
+        final String destination;
+        final long start;
+
+        PendingSend(String destination, long start) {
+            this.destination = destination;
+            this.start = start;
+        }
+    }
+
+    private static class ChannelKey {
+        private final Object connectionId;
+        private final long channelId;
+
+        ChannelKey(Object connectionId, long channelId) {
+            this.connectionId = connectionId;
+            this.channelId = channelId;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof ChannelKey)) return false;
+            ChannelKey key = (ChannelKey) object;
+            return (this.channelId == key.channelId) && this.connectionId.equals(key.connectionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.connectionId.hashCode() + Long.hashCode(this.channelId);
+        }
+    }
+}
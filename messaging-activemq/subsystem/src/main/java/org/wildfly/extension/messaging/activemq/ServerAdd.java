@@ -33,6 +33,7 @@ import static org.wildfly.extension.messaging.activemq.Capabilities.JMX_CAPABILI
 import static org.wildfly.extension.messaging.activemq.Capabilities.PATH_MANAGER_CAPABILITY;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.ADDRESS_SETTING;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.BINDINGS_DIRECTORY;
+import static org.wildfly.extension.messaging.activemq.CommonAttributes.BROADCAST_BUFFER_SIZE;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.HTTP_ACCEPTOR;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.INCOMING_INTERCEPTORS;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.JGROUPS_CLUSTER;
@@ -396,6 +397,7 @@ class ServerAdd extends AbstractAddStepHandler {
             final Map<String, DiscoveryGroupConfiguration> discoveryGroupConfigurations = configuration.getDiscoveryGroupConfigurations();
 
             final Map<String, String> clusterNames = new HashMap<>();
+            final Map<String, Integer> broadcastBufferSizes = new HashMap<>();
             final Map<String, Supplier<CommandDispatcherFactory>> commandDispatcherFactories = new HashMap<>();
             final Map<ServiceName, Supplier<CommandDispatcherFactory>> commandDispatcherFactoryServices = new HashMap<>();
             final Map<String, Supplier<SocketBinding>> groupBindings = new HashMap<>();
@@ -416,6 +418,7 @@ class ServerAdd extends AbstractAddStepHandler {
                         }
                         commandDispatcherFactories.put(key, commandDispatcherFactoryServices.get(commandDispatcherFactoryServiceName));
                         clusterNames.put(key, clusterName);
+                        broadcastBufferSizes.put(key, BROADCAST_BUFFER_SIZE.resolveModelAttribute(context, broadcastGroupModel).asInt(0));
                     } else {
                         final ServiceName groupBindingServiceName = GroupBindingService.getBroadcastBaseServiceName(activeMQServiceName).append(name);
                         if (!groupBindingServices.containsKey(groupBindingServiceName)) {
@@ -441,6 +444,7 @@ class ServerAdd extends AbstractAddStepHandler {
                         }
                         commandDispatcherFactories.put(key, commandDispatcherFactoryServices.get(commandDispatcherFactoryServiceName));
                         clusterNames.put(key, clusterName);
+                        broadcastBufferSizes.put(key, BROADCAST_BUFFER_SIZE.resolveModelAttribute(context, discoveryGroupModel).asInt(0));
                     } else {
                         final ServiceName groupBindingServiceName = GroupBindingService.getDiscoveryBaseServiceName(activeMQServiceName).append(name);
                         if (!groupBindingServices.containsKey(groupBindingServiceName)) {
@@ -464,6 +468,7 @@ class ServerAdd extends AbstractAddStepHandler {
                     groupBindings,
                     commandDispatcherFactories,
                     clusterNames,
+                    broadcastBufferSizes,
                     elytronSecurityDomain,
                     securityDomainContext,
                     mbeanServer,
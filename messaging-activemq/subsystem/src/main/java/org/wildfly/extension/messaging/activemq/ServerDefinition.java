@@ -946,6 +946,7 @@ public class ServerDefinition extends PersistentResourceDefinition {
         if (registerRuntimeOnly) {
             ExportJournalOperation.registerOperation(resourceRegistration, getResourceDescriptionResolver());
             ImportJournalOperation.registerOperation(resourceRegistration, getResourceDescriptionResolver());
+            JournalTransfer.registerOperation(resourceRegistration, getResourceDescriptionResolver());
             PrintDataOperation.INSTANCE.registerOperation(resourceRegistration, getResourceDescriptionResolver());
 
             ActiveMQServerControlHandler.INSTANCE.registerOperations(resourceRegistration, getResourceDescriptionResolver());
@@ -960,6 +961,7 @@ public class ServerDefinition extends PersistentResourceDefinition {
         ActiveMQServerControlWriteHandler.INSTANCE.registerAttributes(resourceRegistration, registerRuntimeOnly);
         if (registerRuntimeOnly) {
             ActiveMQServerControlHandler.INSTANCE.registerAttributes(resourceRegistration);
+            JournalTransfer.registerAttribute(resourceRegistration);
         }
     }
 
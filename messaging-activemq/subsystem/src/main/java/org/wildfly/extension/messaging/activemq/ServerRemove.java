@@ -53,6 +53,8 @@ class ServerRemove extends AbstractRemoveStepHandler {
         final ServiceName serviceName = MessagingServices.getActiveMQServiceName(serverName);
         context.removeService(JMSServices.getJmsManagerBaseServiceName(serviceName));
         context.removeService(MessagingServices.getActiveMQServiceName(serverName));
+        // forget the journal export/import of the server, cancelling it if still running
+        JournalTransfer.remove(serverName);
         // remove services related to broadcast-group/discovery-group that are started
         // when the server is added
         if (model.hasDefined(CommonAttributes.BROADCAST_GROUP)) {
@@ -43,9 +43,19 @@ public class CommandDispatcherBroadcastEndpointFactory implements BroadcastEndpo
     private final BroadcastManager manager;
 
     public CommandDispatcherBroadcastEndpointFactory(CommandDispatcherFactory factory, String name) {
+        this(factory, name, BROADCAST_MANAGERS.computeIfAbsent(name, key -> new QueueBroadcastManager()));
+    }
+
+    /**
+     * Creates a broadcast endpoint factory for the specified channel name whose received broadcasts are buffered by the specified manager.
+     * @param factory a command dispatcher factory
+     * @param name a channel name
+     * @param manager the manager of the broadcasts received on the channel
+     */
+    public CommandDispatcherBroadcastEndpointFactory(CommandDispatcherFactory factory, String name, BroadcastManager manager) {
         this.factory = factory;
         this.name = name;
-        this.manager = BROADCAST_MANAGERS.computeIfAbsent(name, key -> new QueueBroadcastManager());
+        this.manager = manager;
     }
 
     @Override
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+
+/**
+ * A {@link BroadcastManager} that buffers received broadcasts in a bounded ring buffer.
+ * Once the buffer is full, each received broadcast overwrites the oldest buffered broadcast, so that a slow consumer cannot cause memory to grow without bound.
+ * A broadcast identical to the last broadcast of the same sender is discarded while the latter is still buffered, since consuming it would convey no additional information.
+ */
+public class RingBroadcastManager implements BroadcastManager {
+
+    private final byte[][] broadcasts;
+    private final String[] senders;
+    // The last buffered broadcast of each sender
+    private final Map<String, byte[]> lastBroadcasts = new HashMap<>();
+    private final Lock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    private int head = 0;
+    private int size = 0;
+
+    public RingBroadcastManager(int capacity) {
+        this.broadcasts = new byte[capacity][];
+        this.senders = new String[capacity];
+    }
+
+    @Override
+    public void receive(byte[] broadcast) {
+        String sender = getSender(broadcast);
+        this.lock.lock();
+        try {
+            if (sender != null) {
+                byte[] lastBroadcast = this.lastBroadcasts.get(sender);
+                if ((lastBroadcast != null) && Arrays.equals(lastBroadcast, broadcast)) {
+                    this.duplicates.increment();
+                    return;
+                }
+            }
+            if (this.size == this.broadcasts.length) {
+                this.remove();
+                this.dropped.increment();
+            }
+            int tail = (this.head + this.size) % this.broadcasts.length;
+            this.broadcasts[tail] = broadcast;
+            this.senders[tail] = sender;
+            this.size += 1;
+            if (sender != null) {
+                this.lastBroadcasts.put(sender, broadcast);
+            }
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.size == 0) {
+                this.notEmpty.await();
+            }
+            return this.remove();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.size == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = this.notEmpty.awaitNanos(nanos);
+            }
+            return this.remove();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.lock();
+        try {
+            Arrays.fill(this.broadcasts, null);
+            Arrays.fill(this.senders, null);
+            this.lastBroadcasts.clear();
+            this.head = 0;
+            this.size = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of buffered broadcasts that were overwritten before being consumed
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return the number of received broadcasts that were discarded as duplicates of a buffered broadcast
+     */
+    public long getDuplicateCount() {
+        return this.duplicates.sum();
+    }
+
+    // Must be called while holding the lock, with a non-empty buffer
+    private byte[] remove() {
+        byte[] broadcast = this.broadcasts[this.head];
+        String sender = this.senders[this.head];
+        if (sender != null) {
+            // Once consumed or dropped, a subsequent identical broadcast is no longer a duplicate
+            this.lastBroadcasts.remove(sender, broadcast);
+        }
+        this.broadcasts[this.head] = null;
+        this.senders[this.head] = null;
+        this.head = (this.head + 1) % this.broadcasts.length;
+        this.size -= 1;
+        return broadcast;
+    }
+
+    /**
+     * Returns the sender of the specified broadcast, i.e. the ID of the node that broadcast it, which prefixes each ActiveMQ broadcast.
+     * @param broadcast a broadcast
+     * @return the ID of the broadcasting node, or null, if the broadcast could not be decoded
+     */
+    private static String getSender(byte[] broadcast) {
+        try {
+            return ActiveMQBuffers.wrappedBuffer(broadcast).readString();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
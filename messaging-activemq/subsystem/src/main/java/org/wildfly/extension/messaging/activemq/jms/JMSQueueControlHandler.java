@@ -26,6 +26,8 @@ import static org.apache.activemq.artemis.utils.SelectorTranslator.convertToActi
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.createNonEmptyStringAttribute;
 import static org.wildfly.extension.messaging.activemq.jms.JMSQueueService.JMS_QUEUE_PREFIX;
 
+import java.util.function.Consumer;
+
 import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
@@ -34,6 +36,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.extension.messaging.activemq.AbstractQueueControlHandler;
+import org.wildfly.extension.messaging.activemq.QueueMessageBrowser;
 
 /**
  * Handler for runtime operations that invoke on a ActiveMQ {@link QueueControl}.
@@ -77,6 +80,11 @@ public class JMSQueueControlHandler extends AbstractQueueControlHandler<QueueCon
                 return convertToJMSProperties(result);
             }
 
+            @Override
+            public int browseMessagesAsJSON(String filter, int offset, int limit, Long cursor, Consumer<String> consumer) throws Exception {
+                return new QueueMessageBrowser(server, JMS_QUEUE_PREFIX + queueName, convertToActiveMQFilterString(filter)).browse(offset, limit, cursor, json -> consumer.accept(convertToJMSProperties(json)));
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(convertToActiveMQFilterString(filter));
@@ -40,9 +40,10 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.wildfly.extension.messaging.activemq.ActiveMQResourceAdapter;
 
 /**
- * Service providing statistics for the pooled-connection-factory's pool.
+ * Service providing statistics for the pooled-connection-factory's pool and connections.
  *
  * copied from {@link org.jboss.as.connector.services.datasources.statistics.DataSourceStatisticsService}
  */
@@ -89,14 +90,26 @@ public class PooledConnectionFactoryStatisticsService implements Service<Managem
                                 DataSourcesSubsystemProviders.RESOURCE_NAME, poolStats));
                 poolRegistration.setRuntimeOnly(true);
             }
+
+            if (deployment.getResourceAdapter() instanceof ActiveMQResourceAdapter) {
+                ((ActiveMQResourceAdapter) deployment.getResourceAdapter()).getConnectionMetrics().setEnabled(statsEnabled);
+                if (registration != null && registration.getSubModel(PathAddress.pathAddress(PooledConnectionStatisticsDefinition.PATH)) == null) {
+                    registration.registerSubModel(new PooledConnectionStatisticsDefinition()).setRuntimeOnly(true);
+                }
+            }
         }
     }
 
     @Override
     public void stop(StopContext context) {
         synchronized (POOL_STATISTICS) {
+            CommonDeployment deployment = injectedRADeployment.getValue().getDeployment();
+            if (deployment.getResourceAdapter() instanceof ActiveMQResourceAdapter) {
+                ((ActiveMQResourceAdapter) deployment.getResourceAdapter()).getConnectionMetrics().setEnabled(false);
+            }
             if (registration != null) {
                 registration.unregisterSubModel(POOL_STATISTICS);
+                registration.unregisterSubModel(PooledConnectionStatisticsDefinition.PATH);
             }
         }
     }
@@ -117,6 +130,9 @@ public class PooledConnectionFactoryStatisticsService implements Service<Managem
             if (!resource.hasChild(POOL_STATISTICS)) {
                 resource.registerChild(POOL_STATISTICS, new PlaceholderResource.PlaceholderResourceEntry(POOL_STATISTICS));
             }
+            if (!resource.hasChild(PooledConnectionStatisticsDefinition.PATH)) {
+                resource.registerChild(PooledConnectionStatisticsDefinition.PATH, new PlaceholderResource.PlaceholderResourceEntry(PooledConnectionStatisticsDefinition.PATH));
+            }
         }
     }
 
@@ -125,6 +141,9 @@ public class PooledConnectionFactoryStatisticsService implements Service<Managem
             if (resource.hasChild(POOL_STATISTICS)) {
                 resource.removeChild(POOL_STATISTICS);
             }
+            if (resource.hasChild(PooledConnectionStatisticsDefinition.PATH)) {
+                resource.removeChild(PooledConnectionStatisticsDefinition.PATH);
+            }
         }
     }
 
@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq.jms;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ee.utils.WorkTimeHistogram;
+
+/**
+ * Records, for the connections of a pooled connection factory, how long callers waited for a JMS session from the pool,
+ * how long the session was used before being returned, and how long blocking sends took per destination.
+ * Durations are only recorded while enabled.
+ */
+public class PooledConnectionMetrics {
+
+    // Caps the number of destinations tracked individually, e.g. when sending to many temporary queues
+    static final int MAX_DESTINATIONS = 256;
+    public static final String OTHER_DESTINATIONS = "*";
+
+    private final Latency waitTime = new Latency();
+    private final Latency inUseTime = new Latency();
+    private final Latency sendTime = new Latency();
+    private final ConcurrentMap<String, Latency> destinationSendTimes = new ConcurrentHashMap<>();
+    // Allocation time of the connection handles currently in use.
+    // The handles and managed connections are those of the Artemis resource adapter, and the connection manager is not told which managed connection
+    // served an allocation, so the allocation time cannot be stored on either of them.
+    // Handles are weakly referenced, so that handles of connections destroyed without a close event, e.g. after a connection error, are not retained.
+    private final Map<HandleReference, Long> allocations = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedHandles = new ReferenceQueue<>();
+    private volatile boolean enabled = false;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.allocations.clear();
+        }
+    }
+
+    /**
+     * Records that the specified connection handle was allocated from the pool.
+     * @param handle a connection handle
+     * @param waitTime the time, in nanoseconds, spent waiting for the connection handle
+     */
+    public void allocated(Object handle, long waitTime) {
+        if (this.enabled) {
+            this.waitTime.record(waitTime);
+            this.purgeCollectedHandles();
+            this.allocations.put(new HandleReference(handle, this.collectedHandles), System.nanoTime());
+        }
+    }
+
+    /**
+     * Records that the specified connection handle was returned to the pool.
+     * @param handle a connection handle
+     */
+    public void released(Object handle) {
+        Long allocated = this.allocations.remove(new HandleReference(handle, null));
+        if (allocated != null) {
+            this.inUseTime.record(System.nanoTime() - allocated);
+        }
+    }
+
+    /**
+     * Records the duration of a blocking send to the specified destination.
+     * @param destination the address to which a message was sent
+     * @param duration the time, in nanoseconds, until the send was acknowledged
+     */
+    public void sent(String destination, long duration) {
+        if (this.enabled) {
+            this.sendTime.record(duration);
+            this.getDestinationSendTime(destination).record(duration);
+        }
+    }
+
+    public Latency getWaitTime() {
+        return this.waitTime;
+    }
+
+    public Latency getInUseTime() {
+        return this.inUseTime;
+    }
+
+    public Latency getSendTime() {
+        return this.sendTime;
+    }
+
+    /**
+     * @return the send time of each destination, keyed by address
+     */
+    public Map<String, Latency> getDestinationSendTimes() {
+        return Collections.unmodifiableMap(this.destinationSendTimes);
+    }
+
+    public void clear() {
+        this.waitTime.clear();
+        this.inUseTime.clear();
+        this.sendTime.clear();
+        this.destinationSendTimes.clear();
+    }
+
+    private void purgeCollectedHandles() {
+        Reference<?> reference = this.collectedHandles.poll();
+        while (reference != null) {
+            this.allocations.remove(reference);
+            reference = this.collectedHandles.poll();
+        }
+    }
+
+    private Latency getDestinationSendTime(String destination) {
+        Latency latency = this.destinationSendTimes.get(destination);
+        if (latency != null) {
+            return latency;
+        }
+        String key = (this.destinationSendTimes.size() < MAX_DESTINATIONS) ? destination : OTHER_DESTINATIONS;
+        return this.destinationSendTimes.computeIfAbsent(key, k -> new Latency());
+    }
+
+    /**
+     * A weak reference to a connection handle, compared by the identity of the handle.
+     */
+    private static class HandleReference extends WeakReference<Object> {
+        private final int hashCode;
+
+        HandleReference(Object handle, ReferenceQueue<Object> queue) {
+            super(handle, queue);
+            this.hashCode = System.identityHashCode(handle);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof HandleReference)) {
+                return false;
+            }
+            Object handle = this.get();
+            return (handle != null) && (handle == ((HandleReference) object).get());
+        }
+    }
+
+    /**
+     * A histogram of durations, along with their count and total.
+     */
+    public static class Latency {
+        private final WorkTimeHistogram histogram = new WorkTimeHistogram();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        void record(long duration) {
+            this.histogram.record(duration);
+            this.count.increment();
+            this.total.add(duration);
+        }
+
+        /**
+         * @return the count of recorded durations per bucket, keyed by the upper bound of the bucket, in milliseconds
+         */
+        public Map<String, Long> getBuckets() {
+            return this.histogram.getBuckets();
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * @return the sum of the recorded durations, in milliseconds
+         */
+        public long getTotalTime() {
+            return TimeUnit.NANOSECONDS.toMillis(this.total.sum());
+        }
+
+        void clear() {
+            this.histogram.clear();
+            this.count.reset();
+            this.total.reset();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq.jms;
+
+import static org.jboss.as.controller.SimpleAttributeDefinitionBuilder.create;
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.MILLISECONDS;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.dmr.ModelType.LONG;
+import static org.jboss.dmr.ModelType.OBJECT;
+import static org.jboss.dmr.ModelType.STRING;
+
+import java.util.Map;
+
+import javax.resource.spi.ResourceAdapter;
+
+import org.jboss.as.connector.metadata.deployment.ResourceAdapterDeployment;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.messaging.activemq.ActiveMQResourceAdapter;
+import org.wildfly.extension.messaging.activemq.CommonAttributes;
+import org.wildfly.extension.messaging.activemq.MessagingExtension;
+
+/**
+ * Runtime resource exposing the time spent waiting for, and using, the connections of a pooled connection factory,
+ * and the time spent by blocking sends, per destination.
+ */
+public class PooledConnectionStatisticsDefinition extends SimpleResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement("statistics", "connection");
+
+    static final SimpleMapAttributeDefinition WAIT_TIME = createHistogram("wait-time");
+    static final SimpleAttributeDefinition WAIT_COUNT = createCount("wait-count");
+    static final SimpleAttributeDefinition WAIT_TOTAL_TIME = createTotalTime("wait-total-time");
+    static final SimpleMapAttributeDefinition IN_USE_TIME = createHistogram("in-use-time");
+    static final SimpleAttributeDefinition IN_USE_COUNT = createCount("in-use-count");
+    static final SimpleAttributeDefinition IN_USE_TOTAL_TIME = createTotalTime("in-use-total-time");
+    static final SimpleMapAttributeDefinition SEND_TIME = createHistogram("send-time");
+    static final SimpleAttributeDefinition SEND_COUNT = createCount("send-count");
+    static final SimpleAttributeDefinition SEND_TOTAL_TIME = createTotalTime("send-total-time");
+
+    static final AttributeDefinition[] METRICS = {
+        WAIT_TIME, WAIT_COUNT, WAIT_TOTAL_TIME, IN_USE_TIME, IN_USE_COUNT, IN_USE_TOTAL_TIME, SEND_TIME, SEND_COUNT, SEND_TOTAL_TIME
+    };
+
+    static final SimpleAttributeDefinition DESTINATION = create("destination", STRING)
+            .setRequired(false)
+            .build();
+
+    static final String READ_DESTINATION_SEND_TIME = "read-destination-send-time";
+    static final String CLEAR_STATISTICS = "clear-statistics";
+
+    PooledConnectionStatisticsDefinition() {
+        super(new SimpleResourceDefinition.Parameters(PATH,
+                MessagingExtension.getResourceDescriptionResolver(CommonAttributes.POOLED_CONNECTION_FACTORY, "statistics", "connection"))
+                .setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registry) {
+        for (AttributeDefinition metric : METRICS) {
+            registry.registerMetric(metric, MetricHandler.INSTANCE);
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration registry) {
+        super.registerOperations(registry);
+
+        registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(READ_DESTINATION_SEND_TIME, getResourceDescriptionResolver())
+                .setParameters(DESTINATION)
+                .setReadOnly()
+                .setRuntimeOnly()
+                .setReplyType(OBJECT)
+                .build(), ReadDestinationSendTimeHandler.INSTANCE);
+        SimpleOperationDefinition clear = new SimpleOperationDefinitionBuilder(CLEAR_STATISTICS, getResourceDescriptionResolver())
+                .setRuntimeOnly()
+                .build();
+        registry.registerOperationHandler(clear, ClearStatisticsHandler.INSTANCE);
+    }
+
+    private static SimpleMapAttributeDefinition createHistogram(String name) {
+        return new SimpleMapAttributeDefinition.Builder(name, LONG, true)
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static SimpleAttributeDefinition createCount(String name) {
+        return create(name, LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .addFlag(COUNTER_METRIC)
+                .build();
+    }
+
+    private static SimpleAttributeDefinition createTotalTime(String name) {
+        return create(name, LONG)
+                .setMeasurementUnit(MILLISECONDS)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .addFlag(COUNTER_METRIC)
+                .build();
+    }
+
+    /**
+     * Returns the connection metrics of the pooled connection factory owning the current statistics resource.
+     * @return the connection metrics, or null if the resource adapter of the pooled connection factory is not deployed
+     */
+    static PooledConnectionMetrics getMetrics(OperationContext context) {
+        String name = context.getCurrentAddress().getParent().getLastElement().getValue();
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(PooledConnectionFactoryService.getResourceAdapterActivatorsServiceName(name));
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        ResourceAdapter adapter = ((ResourceAdapterDeployment) controller.getValue()).getDeployment().getResourceAdapter();
+        return (adapter instanceof ActiveMQResourceAdapter) ? ((ActiveMQResourceAdapter) adapter).getConnectionMetrics() : null;
+    }
+
+    private static void setHistogram(ModelNode result, PooledConnectionMetrics.Latency latency) {
+        for (Map.Entry<String, Long> bucket : latency.getBuckets().entrySet()) {
+            result.get(bucket.getKey()).set(bucket.getValue());
+        }
+    }
+
+    private static class MetricHandler extends AbstractRuntimeOnlyHandler {
+        static final MetricHandler INSTANCE = new MetricHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+            final PooledConnectionMetrics metrics = getMetrics(context);
+            if (metrics == null) {
+                return;
+            }
+            final PooledConnectionMetrics.Latency latency;
+            if (attributeName.startsWith("wait-")) {
+                latency = metrics.getWaitTime();
+            } else if (attributeName.startsWith("in-use-")) {
+                latency = metrics.getInUseTime();
+            } else {
+                latency = metrics.getSendTime();
+            }
+            if (attributeName.endsWith("-count")) {
+                context.getResult().set(latency.getCount());
+            } else if (attributeName.endsWith("-total-time")) {
+                context.getResult().set(latency.getTotalTime());
+            } else {
+                setHistogram(context.getResult(), latency);
+            }
+        }
+    }
+
+    private static class ReadDestinationSendTimeHandler extends AbstractRuntimeOnlyHandler {
+        static final ReadDestinationSendTimeHandler INSTANCE = new ReadDestinationSendTimeHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String destination = DESTINATION.resolveModelAttribute(context, operation).asStringOrNull();
+            final PooledConnectionMetrics metrics = getMetrics(context);
+            final ModelNode result = context.getResult().setEmptyObject();
+            if (metrics == null) {
+                return;
+            }
+            for (Map.Entry<String, PooledConnectionMetrics.Latency> entry : metrics.getDestinationSendTimes().entrySet()) {
+                if (destination == null || destination.equals(entry.getKey())) {
+                    ModelNode node = result.get(entry.getKey());
+                    node.get(SEND_COUNT.getName()).set(entry.getValue().getCount());
+                    node.get(SEND_TOTAL_TIME.getName()).set(entry.getValue().getTotalTime());
+                    setHistogram(node.get(SEND_TIME.getName()), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static class ClearStatisticsHandler extends AbstractRuntimeOnlyHandler {
+        static final ClearStatisticsHandler INSTANCE = new ClearStatisticsHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final PooledConnectionMetrics metrics = getMetrics(context);
+            if (metrics != null) {
+                metrics.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link JournalTransfer}.
+ */
+public class JournalTransferTestCase {
+
+    private static final String SERVER = "default";
+    private static final byte[] DUMP = "<activemq-journal/>".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void destroy() throws InterruptedException {
+        JournalTransfer.remove(SERVER);
+        this.executor.shutdownNow();
+        this.executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testExportImport() throws Exception {
+        this.testExportImport(false);
+    }
+
+    @Test
+    public void testCompressedExportImport() throws Exception {
+        this.testExportImport(true);
+    }
+
+    private void testExportImport(boolean compress) throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("dump.xml");
+        JournalTransfer export = new JournalTransfer(SERVER, JournalTransfer.Type.EXPORT, file, compress, -1L, transfer -> {
+            try (OutputStream output = transfer.openOutputStream()) {
+                output.write(DUMP);
+            }
+        });
+        JournalTransfer.start(export, "export-journal", null);
+        Assert.assertEquals(JournalTransfer.State.COMPLETED, export.getState());
+        Assert.assertTrue(Files.exists(file));
+        // The outcome of a synchronous transfer is not retained
+        Assert.assertNull(JournalTransfer.get(SERVER));
+
+        byte[][] imported = new byte[1][];
+        JournalTransfer load = JournalTransfer.createImport(SERVER, file, transfer -> {
+            try (InputStream input = transfer.openInputStream()) {
+                imported[0] = input.readAllBytes();
+            }
+        });
+        Assert.assertEquals(compress, load.toModelNode().get("compressed").asBoolean());
+        Assert.assertEquals(Files.size(file), load.toModelNode().get("size").asLong());
+        JournalTransfer.start(load, "import-journal", null);
+        Assert.assertEquals(JournalTransfer.State.COMPLETED, load.getState());
+        Assert.assertArrayEquals(DUMP, imported[0]);
+        Assert.assertEquals(Files.size(file), load.getBytes());
+        Assert.assertNull(JournalTransfer.get(SERVER));
+    }
+
+    @Test
+    public void testFailedExport() {
+        Path file = this.folder.getRoot().toPath().resolve("dump.xml");
+        JournalTransfer export = new JournalTransfer(SERVER, JournalTransfer.Type.EXPORT, file, false, -1L, transfer -> {
+            try (OutputStream output = transfer.openOutputStream()) {
+                output.write(DUMP);
+                throw new IOException();
+            }
+        });
+        try {
+            JournalTransfer.start(export, "export-journal", null);
+            Assert.fail();
+        } catch (OperationFailedException e) {
+            // expected
+        }
+        Assert.assertEquals(JournalTransfer.State.FAILED, export.getState());
+        // An incomplete dump is removed
+        Assert.assertFalse(Files.exists(file));
+        Assert.assertNull(JournalTransfer.get(SERVER));
+    }
+
+    @Test
+    public void testAsyncExport() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("dump.xml");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        JournalTransfer export = new JournalTransfer(SERVER, JournalTransfer.Type.EXPORT, file, false, -1L, transfer -> {
+            try (OutputStream output = transfer.openOutputStream()) {
+                started.countDown();
+                proceed.await();
+                output.write(DUMP);
+            }
+        });
+        JournalTransfer.start(export, "export-journal", this.executor);
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        Assert.assertSame(export, JournalTransfer.get(SERVER));
+        Assert.assertEquals(JournalTransfer.State.RUNNING, export.getState());
+
+        // Only one transfer per server at a time
+        JournalTransfer other = new JournalTransfer(SERVER, JournalTransfer.Type.EXPORT, this.folder.getRoot().toPath().resolve("other.xml"), false, -1L, transfer -> {
+        });
+        try {
+            JournalTransfer.start(other, "export-journal", null);
+            Assert.fail();
+        } catch (OperationFailedException e) {
+            // expected
+        }
+        Assert.assertSame(export, JournalTransfer.get(SERVER));
+
+        proceed.countDown();
+        awaitCompletion(export);
+        Assert.assertEquals(JournalTransfer.State.COMPLETED, export.getState());
+        Assert.assertEquals(DUMP.length, export.getBytes());
+        // The outcome of an asynchronous transfer is retained until the server is removed
+        Assert.assertSame(export, JournalTransfer.get(SERVER));
+        Assert.assertTrue(export.toModelNode().hasDefined("end-time"));
+
+        JournalTransfer.remove(SERVER);
+        Assert.assertNull(JournalTransfer.get(SERVER));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("dump.xml");
+        CountDownLatch started = new CountDownLatch(1);
+        JournalTransfer export = new JournalTransfer(SERVER, JournalTransfer.Type.EXPORT, file, false, -1L, transfer -> {
+            try (OutputStream output = transfer.openOutputStream()) {
+                started.countDown();
+                while (true) {
+                    output.write(DUMP);
+                    output.flush();
+                }
+            }
+        });
+        JournalTransfer.start(export, "export-journal", this.executor);
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        Assert.assertTrue(export.cancel());
+        awaitCompletion(export);
+        Assert.assertEquals(JournalTransfer.State.CANCELLED, export.getState());
+        Assert.assertFalse(Files.exists(file));
+        Assert.assertFalse(export.cancel());
+    }
+
+    @Test
+    public void testRemoveCancelsTransfer() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("dump.xml");
+        CountDownLatch started = new CountDownLatch(1);
+        JournalTransfer export = new JournalTransfer(SERVER, JournalTransfer.Type.EXPORT, file, false, -1L, transfer -> {
+            try (OutputStream output = transfer.openOutputStream()) {
+                started.countDown();
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            }
+        });
+        JournalTransfer.start(export, "export-journal", this.executor);
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        JournalTransfer.remove(SERVER);
+        Assert.assertNull(JournalTransfer.get(SERVER));
+        awaitCompletion(export);
+        Assert.assertEquals(JournalTransfer.State.CANCELLED, export.getState());
+        Assert.assertFalse(Files.exists(file));
+    }
+
+    private static void awaitCompletion(JournalTransfer transfer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (transfer.getState() == JournalTransfer.State.RUNNING) {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link QueueMessageBrowser}.
+ */
+public class QueueMessageBrowserTestCase {
+
+    private final ActiveMQServer server = mock(ActiveMQServer.class);
+    private final Queue queue = mock(Queue.class);
+    private final List<MessageReference> references = new ArrayList<>();
+
+    public QueueMessageBrowserTestCase() {
+        when(this.server.locateQueue(any())).thenReturn(this.queue);
+        when(this.queue.browserIterator()).thenAnswer(invocation -> iterator(this.references.iterator()));
+        for (long id = 1; id <= 10; ++id) {
+            this.references.add(reference(id));
+        }
+    }
+
+    @Test
+    public void testAll() throws ActiveMQException {
+        List<Long> result = new ArrayList<>();
+        Assert.assertEquals(10, this.browse(0, -1, null, result));
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), result);
+    }
+
+    @Test
+    public void testOffset() throws ActiveMQException {
+        List<Long> result = new ArrayList<>();
+        Assert.assertEquals(3, this.browse(4, 3, null, result));
+        Assert.assertEquals(Arrays.asList(5L, 6L, 7L), result);
+
+        result.clear();
+        Assert.assertEquals(0, this.browse(10, 3, null, result));
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testCursor() throws ActiveMQException {
+        List<Long> result = new ArrayList<>();
+        Assert.assertEquals(4, this.browse(0, 4, null, result));
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), result);
+
+        // Consuming messages of the previous page does not affect the next page
+        this.references.remove(0);
+        this.references.remove(0);
+
+        result.clear();
+        Assert.assertEquals(4, this.browse(0, 4, 4L, result));
+        Assert.assertEquals(Arrays.asList(5L, 6L, 7L, 8L), result);
+
+        result.clear();
+        Assert.assertEquals(2, this.browse(0, 4, 8L, result));
+        Assert.assertEquals(Arrays.asList(9L, 10L), result);
+
+        // Last page
+        result.clear();
+        Assert.assertEquals(0, this.browse(0, 4, 10L, result));
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testCursorWithOffset() throws ActiveMQException {
+        List<Long> result = new ArrayList<>();
+        Assert.assertEquals(2, this.browse(3, 2, 2L, result));
+        Assert.assertEquals(Arrays.asList(6L, 7L), result);
+    }
+
+    @Test
+    public void testLostCursor() throws ActiveMQException {
+        List<Long> result = new ArrayList<>();
+        Assert.assertEquals(4, this.browse(0, 4, null, result));
+
+        // The last message of the previous page was consumed in the meantime
+        this.references.remove(3);
+
+        result.clear();
+        Assert.assertEquals(QueueMessageBrowser.CURSOR_LOST, this.browse(0, 4, 4L, result));
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testMissingQueue() throws ActiveMQException {
+        when(this.server.locateQueue(any())).thenReturn(null);
+        List<Long> result = new ArrayList<>();
+        Assert.assertEquals(0, this.browse(0, 4, null, result));
+        Assert.assertEquals(QueueMessageBrowser.CURSOR_LOST, this.browse(0, 4, 4L, result));
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    private int browse(int offset, int limit, Long cursor, List<Long> result) throws ActiveMQException {
+        return new QueueMessageBrowser(this.server, "queue", null).browse(offset, limit, cursor, json -> result.add(JsonUtil.readJsonObject(json).getJsonNumber("messageID").longValue()));
+    }
+
+    private static MessageReference reference(long id) {
+        Message message = mock(Message.class);
+        when(message.getMessageID()).thenReturn(id);
+        when(message.toMap()).thenReturn(Collections.<String, Object>singletonMap("messageID", id));
+        MessageReference reference = mock(MessageReference.class);
+        when(reference.getMessage()).thenReturn(message);
+        return reference;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LinkedListIterator<MessageReference> iterator(Iterator<MessageReference> references) {
+        LinkedListIterator<MessageReference> iterator = mock(LinkedListIterator.class);
+        when(iterator.hasNext()).thenAnswer(invocation -> references.hasNext());
+        when(iterator.next()).thenAnswer(invocation -> references.next());
+        return iterator;
+    }
+}
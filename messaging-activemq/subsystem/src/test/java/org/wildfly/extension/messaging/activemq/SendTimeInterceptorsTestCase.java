@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
+import org.apache.activemq.artemis.core.remoting.CloseListener;
+import org.apache.activemq.artemis.core.remoting.FailureListener;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.extension.messaging.activemq.jms.PooledConnectionMetrics;
+
+/**
+ * Unit test for {@link SendTimeInterceptors}.
+ */
+public class SendTimeInterceptorsTestCase {
+
+    private static final long CHANNEL_ID = 5L;
+
+    private final PooledConnectionMetrics metrics = new PooledConnectionMetrics();
+    private final SendTimeInterceptors interceptors = new SendTimeInterceptors(this.metrics);
+    private final RemotingConnection connection = mock(RemotingConnection.class);
+
+    public SendTimeInterceptorsTestCase() {
+        this.metrics.setEnabled(true);
+        when(this.connection.getID()).thenReturn("connection");
+    }
+
+    @Test
+    public void testSendTime() throws ActiveMQException {
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+        this.interceptors.getIncomingInterceptor().intercept(response(), this.connection);
+
+        Assert.assertEquals(1, this.metrics.getSendTime().getCount());
+        Assert.assertEquals(1, this.metrics.getDestinationSendTimes().get("queue").getCount());
+
+        // A response without a pending send is not measured
+        this.interceptors.getIncomingInterceptor().intercept(response(), this.connection);
+        Assert.assertEquals(1, this.metrics.getSendTime().getCount());
+    }
+
+    @Test
+    public void testListenersAddedOnce() throws ActiveMQException {
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+
+        verify(this.connection, times(1)).addCloseListener(any());
+        verify(this.connection, times(1)).addFailureListener(any());
+    }
+
+    @Test
+    public void testConnectionClosed() throws ActiveMQException {
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+
+        ArgumentCaptor<CloseListener> listener = ArgumentCaptor.forClass(CloseListener.class);
+        verify(this.connection).addCloseListener(listener.capture());
+        listener.getValue().connectionClosed();
+
+        this.interceptors.getIncomingInterceptor().intercept(response(), this.connection);
+        Assert.assertEquals(0, this.metrics.getSendTime().getCount());
+
+        // A new send on the same connection adds new listeners
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+        verify(this.connection, times(2)).addCloseListener(any());
+    }
+
+    @Test
+    public void testConnectionFailed() throws ActiveMQException {
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+
+        ArgumentCaptor<FailureListener> listener = ArgumentCaptor.forClass(FailureListener.class);
+        verify(this.connection).addFailureListener(listener.capture());
+        listener.getValue().connectionFailed(new ActiveMQException(), false);
+
+        this.interceptors.getIncomingInterceptor().intercept(response(), this.connection);
+        Assert.assertEquals(0, this.metrics.getSendTime().getCount());
+    }
+
+    @Test
+    public void testClear() throws ActiveMQException {
+        this.interceptors.getOutgoingInterceptor().intercept(send(), this.connection);
+        this.interceptors.clear();
+
+        this.interceptors.getIncomingInterceptor().intercept(response(), this.connection);
+        Assert.assertEquals(0, this.metrics.getSendTime().getCount());
+    }
+
+    private static Packet send() {
+        Message message = mock(Message.class);
+        when(message.getAddress()).thenReturn("queue");
+        SessionSendMessage packet = mock(SessionSendMessage.class);
+        when(packet.getMessage()).thenReturn(message);
+        when(packet.isRequiresResponse()).thenReturn(true);
+        when(packet.getChannelID()).thenReturn(CHANNEL_ID);
+        return packet;
+    }
+
+    private static Packet response() {
+        Packet packet = mock(Packet.class);
+        when(packet.isResponse()).thenReturn(true);
+        when(packet.getChannelID()).thenReturn(CHANNEL_ID);
+        return packet;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RingBroadcastManager}.
+ */
+public class RingBroadcastManagerTestCase {
+
+    @Test
+    public void testOverwriteOldest() throws InterruptedException {
+        RingBroadcastManager manager = new RingBroadcastManager(2);
+        byte[] first = createBroadcast("node1", 1);
+        byte[] second = createBroadcast("node1", 2);
+        byte[] third = createBroadcast("node1", 3);
+        manager.receive(first);
+        manager.receive(second);
+        manager.receive(third);
+
+        Assert.assertEquals(1, manager.getDroppedCount());
+        Assert.assertSame(second, manager.getBroadcast());
+        Assert.assertSame(third, manager.getBroadcast());
+        Assert.assertNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDuplicates() throws InterruptedException {
+        RingBroadcastManager manager = new RingBroadcastManager(4);
+        manager.receive(createBroadcast("node1", 1));
+        manager.receive(createBroadcast("node1", 1));
+        manager.receive(createBroadcast("node2", 1));
+
+        Assert.assertEquals(1, manager.getDuplicateCount());
+        Assert.assertNotNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+        Assert.assertNotNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+        Assert.assertNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+
+        // Once consumed, an identical broadcast is no longer a duplicate
+        manager.receive(createBroadcast("node1", 1));
+        Assert.assertEquals(1, manager.getDuplicateCount());
+        Assert.assertNotNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testClear() {
+        RingBroadcastManager manager = new RingBroadcastManager(2);
+        manager.receive(createBroadcast("node1", 1));
+        manager.clear();
+        manager.receive(createBroadcast("node1", 1));
+
+        Assert.assertEquals(0, manager.getDuplicateCount());
+        Assert.assertEquals(0, manager.getDroppedCount());
+    }
+
+    private static byte[] createBroadcast(String nodeId, int sequence) {
+        ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(64);
+        buffer.writeString(nodeId);
+        buffer.writeInt(sequence);
+        byte[] broadcast = new byte[buffer.writerIndex()];
+        buffer.readBytes(broadcast);
+        return broadcast;
+    }
+}
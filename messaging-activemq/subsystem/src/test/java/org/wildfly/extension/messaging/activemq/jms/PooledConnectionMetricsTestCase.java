@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq.jms;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PooledConnectionMetrics}.
+ */
+public class PooledConnectionMetricsTestCase {
+
+    @Test
+    public void testDisabled() {
+        PooledConnectionMetrics metrics = new PooledConnectionMetrics();
+        Object handle = new Object();
+        metrics.allocated(handle, TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.released(handle);
+        metrics.sent("queue", TimeUnit.MILLISECONDS.toNanos(2));
+
+        Assert.assertEquals(0, metrics.getWaitTime().getCount());
+        Assert.assertEquals(0, metrics.getInUseTime().getCount());
+        Assert.assertEquals(0, metrics.getSendTime().getCount());
+        Assert.assertTrue(metrics.getDestinationSendTimes().isEmpty());
+    }
+
+    @Test
+    public void testAllocation() {
+        PooledConnectionMetrics metrics = new PooledConnectionMetrics();
+        metrics.setEnabled(true);
+        Object handle = new Object();
+        metrics.allocated(handle, TimeUnit.MILLISECONDS.toNanos(3));
+        Assert.assertEquals(1, metrics.getWaitTime().getCount());
+        Assert.assertEquals(3, metrics.getWaitTime().getTotalTime());
+        Assert.assertEquals(Long.valueOf(1), metrics.getWaitTime().getBuckets().get("5"));
+        Assert.assertEquals(0, metrics.getInUseTime().getCount());
+
+        metrics.released(handle);
+        Assert.assertEquals(1, metrics.getInUseTime().getCount());
+
+        // Releasing a handle twice, or a handle that was not allocated, is not recorded
+        metrics.released(handle);
+        metrics.released(new Object());
+        Assert.assertEquals(1, metrics.getInUseTime().getCount());
+    }
+
+    @Test
+    public void testHandleIdentity() {
+        PooledConnectionMetrics metrics = new PooledConnectionMetrics();
+        metrics.setEnabled(true);
+        // Handles are tracked by identity, not equality
+        String handle = new String("handle");
+        metrics.allocated(handle, 0);
+        metrics.released(new String("handle"));
+        Assert.assertEquals(0, metrics.getInUseTime().getCount());
+
+        metrics.released(handle);
+        Assert.assertEquals(1, metrics.getInUseTime().getCount());
+    }
+
+    @Test
+    public void testSend() {
+        PooledConnectionMetrics metrics = new PooledConnectionMetrics();
+        metrics.setEnabled(true);
+        for (int i = 0; i < PooledConnectionMetrics.MAX_DESTINATIONS + 10; ++i) {
+            metrics.sent("queue" + i, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        metrics.sent("queue0", TimeUnit.SECONDS.toNanos(120));
+
+        Assert.assertEquals(PooledConnectionMetrics.MAX_DESTINATIONS + 11, metrics.getSendTime().getCount());
+        Map<String, PooledConnectionMetrics.Latency> sendTimes = metrics.getDestinationSendTimes();
+        Assert.assertEquals(PooledConnectionMetrics.MAX_DESTINATIONS + 1, sendTimes.size());
+        Assert.assertEquals(2, sendTimes.get("queue0").getCount());
+        Assert.assertEquals(Long.valueOf(1), sendTimes.get("queue0").getBuckets().get("+Inf"));
+        Assert.assertEquals(10, sendTimes.get(PooledConnectionMetrics.OTHER_DESTINATIONS).getCount());
+
+        metrics.clear();
+        Assert.assertEquals(0, metrics.getSendTime().getCount());
+        Assert.assertTrue(metrics.getDestinationSendTimes().isEmpty());
+    }
+}
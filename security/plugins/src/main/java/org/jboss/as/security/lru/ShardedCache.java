@@ -0,0 +1,461 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache whose entries may expire after a fixed lifespan and/or a period of inactivity.
+ * <p>
+ * Keys are distributed across a number of independently locked shards, so that concurrent lookups of different keys
+ * rarely contend. Each shard evicts using a segmented LRU policy: new entries are admitted into a probationary segment
+ * and are promoted into a protected segment upon their next hit. Entries are evicted from the probationary segment first,
+ * so that a burst of one-off entries cannot displace entries that are accessed frequently.
+ * </p>
+ * <p>
+ * Expired entries are removed lazily, upon access or when selected for eviction.
+ * The remove callback, if any, is invoked, outside of any lock, for every entry that is removed, evicted or expires.
+ * </p>
+ */
+public class ShardedCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final int MAX_SHARDS = 64;
+    // Fraction of the capacity of a shard reserved for entries that were hit at least once since insertion
+    private static final float PROTECTED_RATIO = 0.8f;
+
+    private final Shard<K, V>[] shards;
+    private final int mask;
+    private final RemoveCallback<K, V> removeCallback;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     * @param maxEntries the maximum number of entries held by this cache
+     * @param lifespan the duration, in milliseconds, after which an entry expires, or a non-positive value, if entries should not expire
+     * @param maxIdle the duration of inactivity, in milliseconds, after which an entry expires, or a non-positive value, if entries should not expire
+     * @param removeCallback an optional callback for removed entries
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedCache(int maxEntries, long lifespan, long maxIdle, RemoveCallback<K, V> removeCallback) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(Integer.toString(maxEntries));
+        }
+        int concurrency = Math.min(MAX_SHARDS, Runtime.getRuntime().availableProcessors() * 2);
+        // Use a power of 2 number of shards, each able to hold at least a handful of entries
+        int shardCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxEntries / 8)));
+        long lifespanNanos = (lifespan > 0) ? TimeUnit.MILLISECONDS.toNanos(lifespan) : 0;
+        long maxIdleNanos = (maxIdle > 0) ? TimeUnit.MILLISECONDS.toNanos(maxIdle) : 0;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; ++i) {
+            // Distribute any remainder among the first shards
+            this.shards[i] = new Shard<>(maxEntries / shardCount + ((i < maxEntries % shardCount) ? 1 : 0), lifespanNanos, maxIdleNanos);
+        }
+        this.mask = shardCount - 1;
+        this.removeCallback = removeCallback;
+    }
+
+    /**
+     * @return the number of lookups that found an unexpired entry
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find an unexpired entry
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed by this cache, either to make room for other entries or because they expired
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public V get(Object key) {
+        List<CacheEntry<K, V>> removed = new ArrayList<>(1);
+        V value = this.shardFor(key).get(key, System.nanoTime(), removed);
+        if (value != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        this.evicted(removed);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        List<CacheEntry<K, V>> removed = new ArrayList<>(1);
+        boolean result = this.shardFor(key).containsKey(key, System.nanoTime(), removed);
+        this.evicted(removed);
+        return result;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean ifAbsent) {
+        Objects.requireNonNull(value);
+        List<CacheEntry<K, V>> removed = new ArrayList<>(1);
+        V old = this.shardFor(key).put(key, value, ifAbsent, System.nanoTime(), removed);
+        this.evicted(removed);
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        CacheEntry<K, V> entry = this.shardFor(key).remove(key, null);
+        if (entry == null) {
+            return null;
+        }
+        this.removed(entry);
+        return entry.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        CacheEntry<K, V> entry = this.shardFor(key).remove(key, value);
+        return entry != null;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        V old = this.shardFor(key).replace(key, null, value, System.nanoTime());
+        if ((old != null) && (this.removeCallback != null)) {
+            this.removeCallback.afterRemove(key, old);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        V old = this.shardFor(key).replace(key, oldValue, newValue, System.nanoTime());
+        if ((old != null) && (this.removeCallback != null)) {
+            this.removeCallback.afterRemove(key, old);
+        }
+        return old != null;
+    }
+
+    @Override
+    public void clear() {
+        for (Shard<K, V> shard : this.shards) {
+            for (CacheEntry<K, V> entry : shard.clear()) {
+                this.removed(entry);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Shard<K, V> shard : this.shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private Shard<K, V> shardFor(Object key) {
+        int hash = key.hashCode();
+        // Spread higher bits downward, since only the lower bits are used to select a shard
+        return this.shards[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    private void evicted(List<CacheEntry<K, V>> entries) {
+        for (CacheEntry<K, V> entry : entries) {
+            this.evictions.increment();
+            this.removed(entry);
+        }
+    }
+
+    private void removed(CacheEntry<K, V> entry) {
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(entry.key, entry.value);
+        }
+    }
+
+    private static class CacheEntry<K, V> {
+        final K key;
+        final V value;
+        final long created;
+        volatile long accessed;
+
+        CacheEntry(K key, V value, long created, long accessed) {
+            this.key = key;
+            this.value = value;
+            this.created = created;
+            this.accessed = accessed;
+        }
+    }
+
+    private static class Shard<K, V> {
+        // Both segments are access ordered, i.e. the eldest entry is the least recently used
+        private final Map<Object, CacheEntry<K, V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<Object, CacheEntry<K, V>> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+        // Always less than the capacity, so that a new entry is never evicted upon insertion
+        private final int protectedCapacity;
+        private final long lifespan;
+        private final long maxIdle;
+
+        Shard(int capacity, long lifespan, long maxIdle) {
+            this.capacity = capacity;
+            this.protectedCapacity = (int) (capacity * PROTECTED_RATIO);
+            this.lifespan = lifespan;
+            this.maxIdle = maxIdle;
+        }
+
+        boolean isExpired(CacheEntry<K, V> entry, long now) {
+            return ((this.lifespan > 0) && (now - entry.created >= this.lifespan)) || ((this.maxIdle > 0) && (now - entry.accessed >= this.maxIdle));
+        }
+
+        synchronized V get(Object key, long now, List<CacheEntry<K, V>> removed) {
+            CacheEntry<K, V> entry = this.protectedEntries.get(key);
+            if (entry == null) {
+                entry = this.probation.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (this.isExpired(entry, now)) {
+                    this.probation.remove(key);
+                    removed.add(entry);
+                    return null;
+                }
+                // Promote entry upon its second hit
+                this.probation.remove(key);
+                this.protectedEntries.put(key, entry);
+                if (this.protectedEntries.size() > this.protectedCapacity) {
+                    // Demote least recently used protected entry, giving it another chance to be promoted
+                    Iterator<CacheEntry<K, V>> entries = this.protectedEntries.values().iterator();
+                    CacheEntry<K, V> demoted = entries.next();
+                    entries.remove();
+                    this.probation.put(demoted.key, demoted);
+                }
+            } else if (this.isExpired(entry, now)) {
+                this.protectedEntries.remove(key);
+                removed.add(entry);
+                return null;
+            }
+            entry.accessed = now;
+            return entry.value;
+        }
+
+        synchronized boolean containsKey(Object key, long now, List<CacheEntry<K, V>> removed) {
+            CacheEntry<K, V> entry = this.find(key);
+            if ((entry != null) && this.isExpired(entry, now)) {
+                this.unlink(key);
+                removed.add(entry);
+                return false;
+            }
+            return entry != null;
+        }
+
+        synchronized V put(K key, V value, boolean ifAbsent, long now, List<CacheEntry<K, V>> removed) {
+            CacheEntry<K, V> existing = this.find(key);
+            if (existing != null) {
+                if (this.isExpired(existing, now)) {
+                    this.unlink(key);
+                    removed.add(existing);
+                } else {
+                    if (ifAbsent) {
+                        return existing.value;
+                    }
+                    // Replacing a value preserves the segment of its entry
+                    CacheEntry<K, V> entry = new CacheEntry<>(key, value, now, now);
+                    if (this.protectedEntries.containsKey(key)) {
+                        this.protectedEntries.put(key, entry);
+                    } else {
+                        this.probation.put(key, entry);
+                    }
+                    return existing.value;
+                }
+            }
+            this.probation.put(key, new CacheEntry<>(key, value, now, now));
+            while (this.probation.size() + this.protectedEntries.size() > this.capacity) {
+                Map<Object, CacheEntry<K, V>> segment = !this.probation.isEmpty() ? this.probation : this.protectedEntries;
+                Iterator<CacheEntry<K, V>> entries = segment.values().iterator();
+                removed.add(entries.next());
+                entries.remove();
+            }
+            return null;
+        }
+
+        synchronized CacheEntry<K, V> remove(Object key, Object value) {
+            CacheEntry<K, V> entry = this.find(key);
+            if ((entry == null) || ((value != null) && (entry.value != value))) {
+                return null;
+            }
+            this.unlink(key);
+            return entry;
+        }
+
+        synchronized V replace(K key, V oldValue, V newValue, long now) {
+            CacheEntry<K, V> entry = this.find(key);
+            if ((entry == null) || this.isExpired(entry, now) || ((oldValue != null) && (entry.value != oldValue))) {
+                return null;
+            }
+            CacheEntry<K, V> replacement = new CacheEntry<>(key, newValue, now, now);
+            if (this.protectedEntries.containsKey(key)) {
+                this.protectedEntries.put(key, replacement);
+            } else {
+                this.probation.put(key, replacement);
+            }
+            return entry.value;
+        }
+
+        synchronized List<CacheEntry<K, V>> clear() {
+            List<CacheEntry<K, V>> entries = this.entries();
+            this.probation.clear();
+            this.protectedEntries.clear();
+            return entries;
+        }
+
+        synchronized int size() {
+            return this.probation.size() + this.protectedEntries.size();
+        }
+
+        synchronized List<CacheEntry<K, V>> entries() {
+            List<CacheEntry<K, V>> entries = new ArrayList<>(this.size());
+            entries.addAll(this.protectedEntries.values());
+            entries.addAll(this.probation.values());
+            return entries;
+        }
+
+        // Looks up an entry without affecting its access order
+        private CacheEntry<K, V> find(Object key) {
+            CacheEntry<K, V> entry = this.protectedEntries.containsKey(key) ? this.protectedEntries.get(key) : null;
+            if (entry == null) {
+                entry = this.probation.containsKey(key) ? this.probation.get(key) : null;
+            }
+            return entry;
+        }
+
+        private void unlink(Object key) {
+            if (this.protectedEntries.remove(key) == null) {
+                this.probation.remove(key);
+            }
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            // Iterate over a snapshot of the unexpired entries of each shard
+            long now = System.nanoTime();
+            List<Entry<K, V>> snapshot = new ArrayList<>();
+            for (Shard<K, V> shard : ShardedCache.this.shards) {
+                for (CacheEntry<K, V> entry : shard.entries()) {
+                    if (!shard.isExpired(entry, now)) {
+                        snapshot.add(new SimpleImmutableEntry<>(entry.key, entry.value));
+                    }
+                }
+            }
+            Iterator<Entry<K, V>> iterator = snapshot.iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Entry<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    this.last = iterator.next();
+                    return this.last;
+                }
+
+                @Override
+                public void remove() {
+                    if (this.last == null) {
+                        throw new IllegalStateException();
+                    }
+                    ShardedCache.this.remove(this.last.getKey());
+                    this.last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ShardedCache.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            V value = ShardedCache.this.get(e.getKey());
+            return (value != null) && value.equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return ShardedCache.this.remove(e.getKey()) != null;
+        }
+
+        @Override
+        public void clear() {
+            ShardedCache.this.clear();
+        }
+    }
+}
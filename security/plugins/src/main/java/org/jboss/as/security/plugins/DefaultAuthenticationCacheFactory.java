@@ -23,9 +23,8 @@
 package org.jboss.as.security.plugins;
 
 import java.security.Principal;
-import java.util.concurrent.ConcurrentMap;
 
-import org.jboss.as.security.lru.LRUCache;
+import org.jboss.as.security.lru.ShardedCache;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 
 /**
@@ -35,13 +34,39 @@ import org.jboss.security.authentication.JBossCachedAuthenticationManager.Domain
  */
 public class DefaultAuthenticationCacheFactory implements AuthenticationCacheFactory {
 
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+    private final long lifespan;
+    private final long maxIdle;
+
+    /**
+     * Creates a factory of caches holding at most {@value #DEFAULT_MAX_ENTRIES} entries that never expire.
+     */
+    public DefaultAuthenticationCacheFactory() {
+        this(DEFAULT_MAX_ENTRIES, 0, 0);
+    }
+
+    /**
+     * Creates a factory of caches using the specified bounds.
+     *
+     * @param maxEntries the maximum number of cached authentications
+     * @param lifespan the number of milliseconds after which a cached authentication expires, or a non-positive value, if it should never expire
+     * @param maxIdle the number of milliseconds after its last use after which a cached authentication expires, or a non-positive value, if it should never expire
+     */
+    public DefaultAuthenticationCacheFactory(int maxEntries, long lifespan, long maxIdle) {
+        this.maxEntries = maxEntries;
+        this.lifespan = lifespan;
+        this.maxIdle = maxIdle;
+    }
+
     /**
      * Returns a default cache implementation
      *
      * @return cache implementation
      */
-    public ConcurrentMap<Principal, DomainInfo> getCache() {
-        return new LRUCache<>(1000, (key, value) -> {
+    public ShardedCache<Principal, DomainInfo> getCache() {
+        return new ShardedCache<>(this.maxEntries, this.lifespan, this.maxIdle, (key, value) -> {
             if (value != null) {
                 value.logout();
             }
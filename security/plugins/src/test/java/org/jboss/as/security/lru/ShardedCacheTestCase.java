@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ShardedCache}.
+ */
+public class ShardedCacheTestCase {
+
+    @Test
+    public void sizeBound() {
+        List<Integer> removed = new ArrayList<>();
+        // Too few entries for more than a single shard
+        ShardedCache<Integer, String> cache = new ShardedCache<>(10, 0, 0, (key, value) -> removed.add(key));
+        for (int i = 0; i < 10; ++i) {
+            assertNull(cache.put(i, Integer.toString(i)));
+        }
+        assertEquals(10, cache.size());
+        assertEquals(0, cache.getEvictions());
+        assertTrue(removed.isEmpty());
+
+        for (int i = 10; i < 25; ++i) {
+            cache.put(i, Integer.toString(i));
+            assertEquals(10, cache.size());
+        }
+        assertEquals(15, cache.getEvictions());
+        assertEquals(15, removed.size());
+        // Entries never hit since insertion are evicted in insertion order
+        for (int i = 0; i < 15; ++i) {
+            assertEquals(Integer.valueOf(i), removed.get(i));
+            assertFalse(cache.containsKey(i));
+        }
+        for (int i = 15; i < 25; ++i) {
+            assertEquals(Integer.toString(i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void protectedEntries() {
+        ShardedCache<Integer, String> cache = new ShardedCache<>(10, 0, 0, null);
+        cache.put(0, "0");
+        // Hit the entry again, protecting it from one-off entries
+        assertEquals("0", cache.get(0));
+
+        for (int i = 1; i < 100; ++i) {
+            cache.put(i, Integer.toString(i));
+        }
+        assertEquals(10, cache.size());
+        assertEquals("0", cache.get(0));
+        assertFalse(cache.containsKey(1));
+        assertEquals(90, cache.getEvictions());
+    }
+
+    @Test
+    public void perShardEviction() {
+        // 16 entries are spread over 2 shards of 8 entries, selected by the lowest bit of the hash code of a key
+        ShardedCache<Integer, String> cache = new ShardedCache<>(16, 0, 0, null);
+        for (int i = 1; i < 16; i += 2) {
+            cache.put(i, Integer.toString(i));
+        }
+        // Overfill the shard of the even keys
+        for (int i = 0; i < 32; i += 2) {
+            cache.put(i, Integer.toString(i));
+        }
+        assertEquals(8, cache.getEvictions());
+        assertEquals(16, cache.size());
+        // Entries of the other shard are not evicted
+        for (int i = 1; i < 16; i += 2) {
+            assertEquals(Integer.toString(i), cache.get(i));
+        }
+        for (int i = 0; i < 16; i += 2) {
+            assertFalse(cache.containsKey(i));
+        }
+        for (int i = 16; i < 32; i += 2) {
+            assertEquals(Integer.toString(i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void lifespan() throws InterruptedException {
+        List<Integer> removed = new ArrayList<>();
+        ShardedCache<Integer, String> cache = new ShardedCache<>(10, 100, 0, (key, value) -> removed.add(key));
+        cache.put(1, "1");
+        assertEquals("1", cache.get(1));
+        assertEquals(1, cache.getHits());
+
+        Thread.sleep(200);
+
+        // Expired entries are not visible, even before their removal
+        assertFalse(cache.entrySet().iterator().hasNext());
+        assertNull(cache.get(1));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, removed.size());
+        assertEquals(0, cache.size());
+
+        // An expired entry does not prevent putIfAbsent
+        cache.put(2, "2");
+        Thread.sleep(200);
+        assertNull(cache.putIfAbsent(2, "two"));
+        assertEquals("two", cache.get(2));
+    }
+
+    @Test
+    public void maxIdle() throws InterruptedException {
+        ShardedCache<Integer, String> cache = new ShardedCache<>(10, 0, 300, null);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        for (int i = 0; i < 4; ++i) {
+            Thread.sleep(100);
+            // Each access postpones the expiration of the entry
+            assertEquals("1", cache.get(1));
+        }
+        assertEquals("1", cache.get(1));
+        assertNull(cache.get(2));
+
+        Thread.sleep(400);
+        assertNull(cache.get(1));
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void concurrency() throws Exception {
+        int maxEntries = 100;
+        int threads = 8;
+        int operations = 10000;
+        AtomicInteger removed = new AtomicInteger();
+        ConcurrentHashMap<Integer, Integer> leaked = new ConcurrentHashMap<>();
+        ShardedCache<Integer, String> cache = new ShardedCache<>(maxEntries, 0, 0, (key, value) -> {
+            removed.incrementAndGet();
+            if (!value.equals(Integer.toString(key))) {
+                leaked.put(key, key);
+            }
+        });
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    int gets = 0;
+                    for (int j = 0; j < operations; ++j) {
+                        int key = ThreadLocalRandom.current().nextInt(maxEntries * 4);
+                        String value = cache.get(key);
+                        gets += 1;
+                        if (value == null) {
+                            cache.putIfAbsent(key, Integer.toString(key));
+                        } else {
+                            assertEquals(Integer.toString(key), value);
+                        }
+                    }
+                    return gets;
+                }));
+            }
+            int gets = 0;
+            for (Future<Integer> result : results) {
+                gets += result.get();
+            }
+            assertTrue(cache.size() <= maxEntries);
+            assertEquals(gets, cache.getHits() + cache.getMisses());
+            // Only evictions trigger the remove callback here
+            assertEquals(cache.getEvictions(), removed.get());
+            assertTrue(leaked.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
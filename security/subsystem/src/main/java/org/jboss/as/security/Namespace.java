@@ -37,12 +37,13 @@ public enum Namespace {
     SECURITY_1_0("urn:jboss:domain:security:1.0"),
     SECURITY_1_1("urn:jboss:domain:security:1.1"),
     SECURITY_1_2("urn:jboss:domain:security:1.2"),
-    SECURITY_2_0("urn:jboss:domain:security:2.0");
+    SECURITY_2_0("urn:jboss:domain:security:2.0"),
+    SECURITY_3_0("urn:jboss:domain:security:3.0");
 
     /**
      * The current namespace version.
      */
-    public static final Namespace CURRENT = SECURITY_2_0;
+    public static final Namespace CURRENT = SECURITY_3_0;
 
     private final String name;
 
@@ -59,6 +60,16 @@ public enum Namespace {
         return name;
     }
 
+    /**
+     * Indicates whether this namespace version is the same as, or more recent than, the specified version.
+     *
+     * @param namespace a namespace version
+     * @return true, if this namespace version is at least the specified version, false otherwise
+     */
+    public boolean since(Namespace namespace) {
+        return (this != UNKNOWN) && (this.ordinal() >= namespace.ordinal());
+    }
+
     private static final Map<String, Namespace> MAP;
 
     static {
@@ -81,6 +81,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.JaasConfigurationService;
 import org.jboss.as.security.service.SecurityDomainService;
@@ -135,7 +136,8 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
      * Private to ensure a singleton.
      */
     private SecurityDomainAdd() {
-        super(SecurityDomainResourceDefinition.CACHE_TYPE);
+        super(SecurityDomainResourceDefinition.CACHE_TYPE, SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES,
+                SecurityDomainResourceDefinition.CACHE_LIFESPAN, SecurityDomainResourceDefinition.CACHE_MAX_IDLE);
     }
 
     @Override
@@ -170,9 +172,13 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
         final ApplicationPolicy applicationPolicy = createApplicationPolicy(context, securityDomain, model);
         final JSSESecurityDomain jsseSecurityDomain = createJSSESecurityDomain(context, securityDomain, model);
         final String cacheType = getAuthenticationCacheType(model);
+        final DefaultAuthenticationCacheFactory defaultCacheFactory = new DefaultAuthenticationCacheFactory(
+                SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES.resolveModelAttribute(context, model).asInt(),
+                SecurityDomainResourceDefinition.CACHE_LIFESPAN.resolveModelAttribute(context, model).asLong(),
+                SecurityDomainResourceDefinition.CACHE_MAX_IDLE.resolveModelAttribute(context, model).asLong());
 
         final SecurityDomainService securityDomainService = new SecurityDomainService(securityDomain,
-                applicationPolicy, jsseSecurityDomain, cacheType);
+                applicationPolicy, jsseSecurityDomain, cacheType, defaultCacheFactory);
         final ServiceTarget target = context.getServiceTarget();
         ServiceBuilder<SecurityDomainContext> builder = target
                 .addService(SecurityDomainService.SERVICE_NAME.append(securityDomain), securityDomainService)
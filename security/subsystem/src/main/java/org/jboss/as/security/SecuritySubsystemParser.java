@@ -229,6 +229,27 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
                     SecurityDomainResourceDefinition.CACHE_TYPE.parseAndSetParameter(value, op, reader);
                     break;
                 }
+                case CACHE_MAX_ENTRIES: {
+                    if (Namespace.forUri(reader.getNamespaceURI()).since(Namespace.SECURITY_3_0)) {
+                        SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES.parseAndSetParameter(value, op, reader);
+                        break;
+                    }
+                    throw unexpectedAttribute(reader, i);
+                }
+                case CACHE_LIFESPAN: {
+                    if (Namespace.forUri(reader.getNamespaceURI()).since(Namespace.SECURITY_3_0)) {
+                        SecurityDomainResourceDefinition.CACHE_LIFESPAN.parseAndSetParameter(value, op, reader);
+                        break;
+                    }
+                    throw unexpectedAttribute(reader, i);
+                }
+                case CACHE_MAX_IDLE: {
+                    if (Namespace.forUri(reader.getNamespaceURI()).since(Namespace.SECURITY_3_0)) {
+                        SecurityDomainResourceDefinition.CACHE_MAX_IDLE.parseAndSetParameter(value, op, reader);
+                        break;
+                    }
+                    throw unexpectedAttribute(reader, i);
+                }
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -44,7 +44,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
 
 /**
- * This class implements a parser for the 2.0 version of legacy security subsystem. It extends the {@link SecuritySubsystemParser}
+ * This class implements a parser for the 2.0 and 3.0 versions of legacy security subsystem. It extends the {@link SecuritySubsystemParser}
  * and adds support for the {@code elytron-integration} section of the schema.
  *
  * @author <a href="mailto:sguilhen@redhat.com">Stefan Guilhen</a>
@@ -69,6 +69,9 @@ public class SecuritySubsystemPersister implements XMLElementWriter<SubsystemMar
                 writer.writeAttribute(Attribute.NAME.getLocalName(), policy);
                 ModelNode policyDetails = securityDomains.get(policy);
                 SecurityDomainResourceDefinition.CACHE_TYPE.marshallAsAttribute(policyDetails, writer);
+                SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES.marshallAsAttribute(policyDetails, writer);
+                SecurityDomainResourceDefinition.CACHE_LIFESPAN.marshallAsAttribute(policyDetails, writer);
+                SecurityDomainResourceDefinition.CACHE_MAX_IDLE.marshallAsAttribute(policyDetails, writer);
                 writeSecurityDomainContent(writer, policyDetails);
                 writer.writeEndElement();
             }
@@ -99,6 +102,9 @@ public class SecuritySubsystemPersister implements XMLElementWriter<SubsystemMar
         Set<String> keys = policyDetails.keys();
         keys.remove(NAME);
         keys.remove(CACHE_TYPE);
+        keys.remove(CACHE_MAX_ENTRIES);
+        keys.remove(CACHE_LIFESPAN);
+        keys.remove(CACHE_MAX_IDLE);
 
         for (String key : keys) {
             Element element = Element.forName(key);
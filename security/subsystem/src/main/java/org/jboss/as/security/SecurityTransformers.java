@@ -24,6 +24,9 @@ package org.jboss.as.security;
 
 import static org.jboss.as.security.Constants.MODULE;
 import static org.jboss.as.security.MappingProviderModuleDefinition.PATH_PROVIDER_MODULE;
+import static org.jboss.as.security.SecurityDomainResourceDefinition.CACHE_LIFESPAN;
+import static org.jboss.as.security.SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES;
+import static org.jboss.as.security.SecurityDomainResourceDefinition.CACHE_MAX_IDLE;
 import static org.jboss.as.security.SecuritySubsystemRootResourceDefinition.INITIALIZE_JACC;
 
 import org.jboss.as.controller.ModelVersion;
@@ -47,8 +50,23 @@ public class SecurityTransformers implements ExtensionTransformerRegistration {
 
     @Override
     public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
-        // only register transformers for model version 1.3.0 (EAP 6.2+).
+        // only register transformers for model versions 1.3.0 (EAP 6.2+) and 2.0.0.
         registerTransformers_1_3_0(subsystemRegistration);
+        registerTransformers_2_0_0(subsystemRegistration);
+    }
+
+    private void registerTransformers_2_0_0(SubsystemTransformerRegistration subsystemRegistration) {
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        rejectAuthenticationCacheAttributes(builder.addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH));
+
+        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, ModelVersion.create(2, 0, 0));
+    }
+
+    private static void rejectAuthenticationCacheAttributes(ResourceTransformationDescriptionBuilder securityDomain) {
+        securityDomain.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, CACHE_MAX_ENTRIES, CACHE_LIFESPAN, CACHE_MAX_IDLE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, CACHE_MAX_ENTRIES, CACHE_LIFESPAN, CACHE_MAX_IDLE)
+                .end();
     }
 
     private void registerTransformers_1_3_0(SubsystemTransformerRegistration subsystemRegistration) {
@@ -63,8 +81,9 @@ public class SecurityTransformers implements ExtensionTransformerRegistration {
                 .addRejectCheck(RejectAttributeChecker.DEFINED, INITIALIZE_JACC);
 
 
-        builder
-                .addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH)
+        ResourceTransformationDescriptionBuilder securityDomain = builder.addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH);
+        rejectAuthenticationCacheAttributes(securityDomain);
+        securityDomain
                 .addChildResource(SecurityExtension.PATH_AUDIT_CLASSIC)
                 .addChildResource(PATH_PROVIDER_MODULE)
                 .getAttributeBuilder()
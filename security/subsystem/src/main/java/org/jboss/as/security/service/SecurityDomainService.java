@@ -22,12 +22,14 @@
 
 package org.jboss.as.security.service;
 
+import java.security.Principal;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.security.auth.login.Configuration;
 
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.ShardedCache;
 import org.jboss.as.security.plugins.AuthenticationCacheFactory;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
@@ -41,6 +43,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.security.ISecurityManagement;
 import org.jboss.security.JSSESecurityDomain;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 import org.jboss.security.config.ApplicationPolicy;
 import org.jboss.security.config.ApplicationPolicyRegistration;
 
@@ -69,12 +72,17 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private final String cacheType;
 
+    private final DefaultAuthenticationCacheFactory defaultCacheFactory;
+
+    private volatile ShardedCache<Principal, DomainInfo> authenticationCache;
+
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
-            String cacheType) {
+            String cacheType, DefaultAuthenticationCacheFactory defaultCacheFactory) {
         this.name = name;
         this.applicationPolicy = applicationPolicy;
         this.jsseSecurityDomain = jsseSecurityDomain;
         this.cacheType = cacheType;
+        this.defaultCacheFactory = defaultCacheFactory;
     }
 
     /** {@inheritDoc} */
@@ -91,7 +99,9 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         if ("infinispan".equals(cacheType)) {
             cacheFactory = () -> this.cacheValue.getValue();
         } else if ("default".equals(cacheType)) {
-            cacheFactory = new DefaultAuthenticationCacheFactory();
+            ShardedCache<Principal, DomainInfo> cache = this.defaultCacheFactory.getCache();
+            this.authenticationCache = cache;
+            cacheFactory = () -> cache;
         }
         SecurityDomainContext sdc;
         try {
@@ -116,6 +126,7 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         SecurityLogger.ROOT_LOGGER.debugf("Stopping security domain service %s", name);
         final JNDIBasedSecurityManagement securityManagement = (JNDIBasedSecurityManagement) securityManagementValue.getValue();
         securityManagement.removeSecurityDomain(name);
+        this.authenticationCache = null;
         // TODO clear auth cache?
         final ApplicationPolicyRegistration applicationPolicyRegistration = (ApplicationPolicyRegistration) configurationValue
                 .getValue();
@@ -128,6 +139,15 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         return securityDomainContext;
     }
 
+    /**
+     * Returns the authentication cache of this security domain, if it uses the default cache type.
+     *
+     * @return the authentication cache, or null if this security domain is not started, or does not use the default cache type
+     */
+    public ShardedCache<Principal, DomainInfo> getAuthenticationCache() {
+        return authenticationCache;
+    }
+
     /**
      * Target {@code Injector}
      *
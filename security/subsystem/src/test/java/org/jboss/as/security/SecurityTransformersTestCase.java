@@ -51,7 +51,7 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("securitysubsystemv20.xml");
+        return readResource("securitysubsystemv30.xml");
     }
 
 
@@ -129,6 +129,13 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
                                 new FailedOperationTransformationConfig.NewAttributesConfig(Constants.MODULE))
                         .addFailedAttribute(PathAddress.pathAddress(subsystemAddress),
                                 new FailedOperationTransformationConfig.NewAttributesConfig(Constants.INITIALIZE_JACC)));
+
+        // authentication cache attributes are not supported in model version 1.3.0 either, unless they have their default values.
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, targetVersion,
+                builder.parseXmlResource("security-transformers-reject_3.0.xml"),
+                new FailedOperationTransformationConfig()
+                        .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.SECURITY_DOMAIN, "bounded-cache")),
+                                new FailedOperationTransformationConfig.NewAttributesConfig(Constants.CACHE_MAX_ENTRIES, Constants.CACHE_LIFESPAN, Constants.CACHE_MAX_IDLE)));
         legacyServices.shutdown();
         mainServices.shutdown();
     }
@@ -261,4 +261,16 @@ public interface WeldLogger extends BasicLogger {
     @Message(id = 56, value = "Weld is not initialized yet")
     IllegalStateException weldNotInitialized();
 
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 57, value = "Could not read bean discovery cache %s")
+    void cannotReadBeanDiscoveryCache(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 58, value = "Could not update bean discovery cache %s")
+    void cannotUpdateBeanDiscoveryCache(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 59, value = "Could not list module path %s, bean discovery caches will not be reused")
+    void cannotListModulePath(Object path, @Cause Throwable cause);
+
 }
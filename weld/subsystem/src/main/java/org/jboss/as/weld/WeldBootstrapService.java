@@ -111,6 +111,9 @@ public class WeldBootstrapService implements Service {
     private final ServiceName weldBootstrapServiceName;
     private volatile boolean started;
     private volatile ServiceController<?> controller;
+    private volatile long typeDiscoveryTime;
+    private volatile long beanDeploymentTime;
+    private volatile long validationTime;
     private final AtomicBoolean runOnce = new AtomicBoolean();
 
     public WeldBootstrapService(final WeldDeployment deployment, final Environment environment, final String deploymentName,
@@ -191,7 +194,9 @@ public class WeldBootstrapService implements Service {
         ClassLoader oldTccl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
         try {
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(deployment.getModule().getClassLoader());
+            long start = System.nanoTime();
             bootstrap.startContainer(deploymentName, environment, deployment);
+            typeDiscoveryTime = System.nanoTime() - start;
             WeldProvider.containerInitialized(Container.instance(deploymentName), getBeanManager(), deployment);
         } finally {
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
@@ -274,6 +279,45 @@ public class WeldBootstrapService implements Service {
         return bootstrap.getManager(beanDeploymentArchive);
     }
 
+    /**
+     * @return the time, in nanoseconds, spent discovering the types of the deployment, i.e. starting the container and initializing it
+     */
+    public long getTypeDiscoveryTime() {
+        return typeDiscoveryTime;
+    }
+
+    /**
+     * @return the time, in nanoseconds, spent deploying the beans of the deployment
+     */
+    public long getBeanDeploymentTime() {
+        return beanDeploymentTime;
+    }
+
+    /**
+     * @return the time, in nanoseconds, spent validating the beans of the deployment
+     */
+    public long getValidationTime() {
+        return validationTime;
+    }
+
+    void startInitialization() {
+        long start = System.nanoTime();
+        bootstrap.startInitialization();
+        typeDiscoveryTime += System.nanoTime() - start;
+    }
+
+    void deployBeans() {
+        long start = System.nanoTime();
+        bootstrap.deployBeans();
+        beanDeploymentTime = System.nanoTime() - start;
+    }
+
+    void validateBeans() {
+        long start = System.nanoTime();
+        bootstrap.validateBeans();
+        validationTime = System.nanoTime() - start;
+    }
+
     /**
      * Adds a {@link Service} to the deployment. This method must not be called after the container has started
      */
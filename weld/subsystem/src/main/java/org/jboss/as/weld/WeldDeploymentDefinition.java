@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.Services;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Runtime resource of a Jakarta Contexts and Dependency Injection enabled deployment, exposing how long the phases of the Weld bootstrap took.
+ */
+class WeldDeploymentDefinition extends SimpleResourceDefinition {
+
+    static final WeldDeploymentDefinition INSTANCE = new WeldDeploymentDefinition();
+
+    enum BootstrapPhase {
+        TYPE_DISCOVERY("type-discovery-time", WeldBootstrapService::getTypeDiscoveryTime),
+        BEAN_DEPLOYMENT("bean-deployment-time", WeldBootstrapService::getBeanDeploymentTime),
+        VALIDATION("validation-time", WeldBootstrapService::getValidationTime),
+        ;
+        private final AttributeDefinition definition;
+        private final ToLongFunction<WeldBootstrapService> time;
+
+        BootstrapPhase(String name, ToLongFunction<WeldBootstrapService> time) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setStorageRuntime()
+                    .build();
+            this.time = time;
+        }
+    }
+
+    private WeldDeploymentDefinition() {
+        super(new Parameters(WeldExtension.PATH_SUBSYSTEM, WeldExtension.getResourceDescriptionResolver("deployment")).setFeature(false));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        // The Weld container is only bootstrapped for top-level deployments, so sub-deployments have no bootstrap metrics
+        if (!resourceRegistration.getPathAddress().getParent().getLastElement().getKey().equals(DEPLOYMENT)) {
+            return;
+        }
+        for (BootstrapPhase phase : BootstrapPhase.values()) {
+            resourceRegistration.registerMetric(phase.definition, new BootstrapPhaseMetricHandler(phase));
+        }
+    }
+
+    private static class BootstrapPhaseMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final BootstrapPhase phase;
+
+        BootstrapPhaseMetricHandler(BootstrapPhase phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            PathElement deployment = context.getCurrentAddress().getParent().getLastElement();
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(deployment.getValue()).append(WeldBootstrapService.INTERNAL_SERVICE_NAME));
+            if (controller != null && controller.getState() == ServiceController.State.UP) {
+                WeldBootstrapService service = (WeldBootstrapService) controller.getValue();
+                context.getResult().set(TimeUnit.NANOSECONDS.toMillis(this.phase.time.applyAsLong(service)));
+            }
+        }
+    }
+}
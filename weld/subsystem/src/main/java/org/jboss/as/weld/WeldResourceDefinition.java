@@ -54,6 +54,8 @@ class WeldResourceDefinition extends PersistentResourceDefinition {
     static final String NON_PORTABLE_MODE_ATTRIBUTE_NAME = "non-portable-mode";
     static final String DEVELOPMENT_MODE_ATTRIBUTE_NAME = "development-mode";
     static final String THREAD_POOL_SIZE = "thread-pool-size";
+    static final String BEAN_DISCOVERY_CACHE_ATTRIBUTE_NAME = "bean-discovery-cache";
+    static final String WORK_STEALING_EXECUTOR_ATTRIBUTE_NAME = "work-stealing-executor";
 
     static final SimpleAttributeDefinition REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE =
             new SimpleAttributeDefinitionBuilder(REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE_NAME, ModelType.BOOLEAN, true)
@@ -83,7 +85,21 @@ class WeldResourceDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE, NON_PORTABLE_MODE_ATTRIBUTE, DEVELOPMENT_MODE_ATTRIBUTE, THREAD_POOL_SIZE_ATTRIBUTE };
+    static final SimpleAttributeDefinition BEAN_DISCOVERY_CACHE_ATTRIBUTE =
+            new SimpleAttributeDefinitionBuilder(BEAN_DISCOVERY_CACHE_ATTRIBUTE_NAME, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition WORK_STEALING_EXECUTOR_ATTRIBUTE =
+            new SimpleAttributeDefinitionBuilder(WORK_STEALING_EXECUTOR_ATTRIBUTE_NAME, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setRestartAllServices()
+            .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE, NON_PORTABLE_MODE_ATTRIBUTE, DEVELOPMENT_MODE_ATTRIBUTE, THREAD_POOL_SIZE_ATTRIBUTE, BEAN_DISCOVERY_CACHE_ATTRIBUTE, WORK_STEALING_EXECUTOR_ATTRIBUTE };
 
     static final WeldResourceDefinition INSTANCE = new WeldResourceDefinition();
 
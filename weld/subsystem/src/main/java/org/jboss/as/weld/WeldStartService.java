@@ -93,9 +93,9 @@ public class WeldStartService implements Service {
                 action.setup(null);
             }
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
-            bootstrapSupplier.get().getBootstrap().startInitialization();
-            bootstrapSupplier.get().getBootstrap().deployBeans();
-            bootstrapSupplier.get().getBootstrap().validateBeans();
+            bootstrapSupplier.get().startInitialization();
+            bootstrapSupplier.get().deployBeans();
+            bootstrapSupplier.get().validateBeans();
         } finally {
 
             for (SetupAction action : setupActions) {
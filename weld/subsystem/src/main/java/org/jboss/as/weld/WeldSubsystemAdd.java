@@ -22,9 +22,12 @@
 
 package org.jboss.as.weld;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.as.weld.WeldResourceDefinition.REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE;
 
+import java.util.Collections;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
@@ -36,6 +39,8 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.registry.Resource.NoSuchResourceException;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.ServerEnvironmentService;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.deployment.jbossallxml.JBossAllXmlParserRegisteringProcessor;
 import org.jboss.as.weld.deployment.CdiAnnotationProcessor;
@@ -54,6 +59,7 @@ import org.jboss.as.weld.deployment.processors.WeldDeploymentCleanupProcessor;
 import org.jboss.as.weld.deployment.processors.WeldDeploymentProcessor;
 import org.jboss.as.weld.deployment.processors.WeldImplicitDeploymentProcessor;
 import org.jboss.as.weld.deployment.processors.WeldPortableExtensionProcessor;
+import org.jboss.as.weld.discovery.BeanDiscoveryCache;
 import org.jboss.as.weld.services.TCCLSingletonService;
 import org.jboss.as.weld.services.bootstrap.WeldExecutorServices;
 import org.jboss.as.weld.spi.DeploymentUnitProcessorProvider;
@@ -83,8 +89,11 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
         final boolean requireBeanDescriptor = REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
         final boolean nonPortableMode = WeldResourceDefinition.NON_PORTABLE_MODE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
         final boolean developmentMode = WeldResourceDefinition.DEVELOPMENT_MODE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
+        final boolean workStealingExecutor = WeldResourceDefinition.WORK_STEALING_EXECUTOR_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
+        // a work-stealing executor is sized to the available processors by default
         final int threadPoolSize = WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE.resolveModelAttribute(context, model)
-                .asInt(WeldExecutorServices.DEFAULT_BOUND);
+                .asInt(workStealingExecutor ? Runtime.getRuntime().availableProcessors() : WeldExecutorServices.DEFAULT_BOUND);
+        final boolean beanDiscoveryCache = WeldResourceDefinition.BEAN_DISCOVERY_CACHE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
 
         context.addStep(new AbstractDeploymentChainStep() {
             @Override
@@ -94,7 +103,7 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
                     .addParser(WeldJBossAll11Parser.ROOT_ELEMENT, WeldJBossAllConfiguration.ATTACHMENT_KEY, WeldJBossAll11Parser.INSTANCE)
                     .build();
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.STRUCTURE, Phase.STRUCTURE_REGISTER_JBOSS_ALL_WELD, jbossAllParsers);
-                processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_WELD_CONFIGURATION, new WeldConfigurationProcessor(requireBeanDescriptor, nonPortableMode, developmentMode));
+                processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_WELD_CONFIGURATION, new WeldConfigurationProcessor(requireBeanDescriptor, nonPortableMode, developmentMode, beanDiscoveryCache));
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_CDI_ANNOTATIONS, new CdiAnnotationProcessor());
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_CDI_BEAN_DEFINING_ANNOTATIONS, new BeanDefiningAnnotationProcessor());
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_WELD_DEPLOYMENT, new BeansXmlProcessor());
@@ -122,11 +131,18 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
             }
         }, OperationContext.Stage.RUNTIME);
 
+        // Deployments are only added to the model after the subsystems, so the deployments are known at the runtime stage
+        context.addStep((ctx, op) -> {
+            ServerEnvironment environment = (ServerEnvironment) ctx.getServiceRegistry(false).getRequiredService(ServerEnvironmentService.SERVICE_NAME).getValue();
+            Set<String> deploymentNames = beanDiscoveryCache ? ctx.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, false).getChildrenNames(DEPLOYMENT) : Collections.emptySet();
+            BeanDiscoveryCache.removeUndeployed(environment.getServerDataDir().toPath(), deploymentNames);
+        }, OperationContext.Stage.RUNTIME);
+
         context.getServiceTarget().addService(TCCLSingletonService.SERVICE_NAME).setInstance(new TCCLSingletonService()).setInitialMode(Mode.ON_DEMAND).install();
 
         ServiceBuilder<?> builder = context.getServiceTarget().addService(WeldExecutorServices.SERVICE_NAME);
         final Consumer<ExecutorServices> executorServicesConsumer = builder.provides(WeldExecutorServices.SERVICE_NAME);
-        builder.setInstance(new WeldExecutorServices(executorServicesConsumer, threadPoolSize));
+        builder.setInstance(new WeldExecutorServices(executorServicesConsumer, threadPoolSize, workStealingExecutor));
         builder.setInitialMode(Mode.ON_DEMAND);
         builder.install();
     }
@@ -32,11 +32,14 @@ import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.annotation.CompositeIndex;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.weld.discovery.BeanDiscoveryCache;
+import org.jboss.as.weld.discovery.CachingClassFileServices;
 import org.jboss.as.weld.discovery.WeldClassFileServices;
 import org.jboss.as.weld.services.bootstrap.WeldResourceInjectionServices;
 import org.jboss.as.weld.spi.ModuleServicesProvider;
 import org.jboss.modules.Module;
 import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.resources.spi.ClassFileServices;
 
 /**
  *
@@ -58,7 +61,12 @@ public class DefaultModuleServiceProvider implements ModuleServicesProvider {
         // ClassFileServices
         final CompositeIndex index = deploymentUnit.getAttachment(Attachments.COMPOSITE_ANNOTATION_INDEX);
         if (index != null) {
-            services.add(new WeldClassFileServices(index, module.getClassLoader()));
+            ClassFileServices classFileServices = new WeldClassFileServices(index, module.getClassLoader());
+            WeldConfiguration configuration = rootDeploymentUnit.getAttachment(WeldConfiguration.ATTACHMENT_KEY);
+            if (configuration != null && configuration.getBeanDiscoveryCacheDirectory() != null) {
+                classFileServices = new CachingClassFileServices(classFileServices, BeanDiscoveryCache.load(configuration.getBeanDiscoveryCacheDirectory(), deploymentUnit.getName()));
+            }
+            services.add(classFileServices);
         }
         return services;
     }
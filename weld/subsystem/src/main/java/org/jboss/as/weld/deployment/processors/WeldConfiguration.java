@@ -21,6 +21,8 @@
  */
 package org.jboss.as.weld.deployment.processors;
 
+import java.nio.file.Path;
+
 import org.jboss.as.server.deployment.AttachmentKey;
 
 /**
@@ -37,11 +39,13 @@ class WeldConfiguration {
     private final boolean requireBeanDescriptor;
     private final boolean nonPortableMode;
     private final boolean developmentMode;
+    private final Path beanDiscoveryCacheDirectory;
 
-    public WeldConfiguration(boolean requireBeanDescriptor, boolean nonPortableMode, boolean developmentMode) {
+    public WeldConfiguration(boolean requireBeanDescriptor, boolean nonPortableMode, boolean developmentMode, Path beanDiscoveryCacheDirectory) {
         this.requireBeanDescriptor = requireBeanDescriptor;
         this.nonPortableMode = nonPortableMode;
         this.developmentMode = developmentMode;
+        this.beanDiscoveryCacheDirectory = beanDiscoveryCacheDirectory;
     }
 
     public boolean isNonPortableMode() {
@@ -56,10 +60,17 @@ class WeldConfiguration {
         return developmentMode;
     }
 
+    /**
+     * @return the directory of the bean discovery caches of the deployment, or null, if bean discovery results are not cached
+     */
+    public Path getBeanDiscoveryCacheDirectory() {
+        return beanDiscoveryCacheDirectory;
+    }
+
     @Override
     public String toString() {
         return "WeldConfiguration [requireBeanDescriptor=" + requireBeanDescriptor + ", nonPortableMode=" + nonPortableMode + ", developmentMode="
-                + developmentMode + "]";
+                + developmentMode + ", beanDiscoveryCacheDirectory=" + beanDiscoveryCacheDirectory + "]";
     }
 
 }
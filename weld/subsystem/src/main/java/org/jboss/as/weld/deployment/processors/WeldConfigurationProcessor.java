@@ -22,11 +22,28 @@
 
 package org.jboss.as.weld.deployment.processors;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.ServerEnvironmentService;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentModelUtils;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.weld.WeldJBossAllConfiguration;
+import org.jboss.as.weld.discovery.BeanDiscoveryCache;
+import org.jboss.dmr.ModelNode;
+import org.jboss.vfs.VirtualFile;
 
 /**
  * Merges the per-deployment configuration defined in <code>jboss-all.xml</code> with the global configuration and attaches the result under
@@ -40,11 +57,13 @@ public class WeldConfigurationProcessor implements DeploymentUnitProcessor {
     private final boolean requireBeanDescriptorGlobal;
     private final boolean nonPortableModeGlobal;
     private final boolean developmentModeGlobal;
+    private final boolean beanDiscoveryCache;
 
-    public WeldConfigurationProcessor(boolean requireBeanDescriptorGlobal, boolean nonPortableModeGlobal, boolean developmentModeGlobal) {
+    public WeldConfigurationProcessor(boolean requireBeanDescriptorGlobal, boolean nonPortableModeGlobal, boolean developmentModeGlobal, boolean beanDiscoveryCache) {
         this.requireBeanDescriptorGlobal = requireBeanDescriptorGlobal;
         this.nonPortableModeGlobal = nonPortableModeGlobal;
         this.developmentModeGlobal = developmentModeGlobal;
+        this.beanDiscoveryCache = beanDiscoveryCache;
     }
 
     @Override
@@ -65,10 +84,39 @@ public class WeldConfigurationProcessor implements DeploymentUnitProcessor {
             nonPortableMode = getValue(configuration.getNonPortableMode(), nonPortableModeGlobal);
             developmentMode = getValue(configuration.getDevelopmentMode(), developmentModeGlobal);
         }
-        WeldConfiguration mergedConfiguration = new WeldConfiguration(requireBeanDescriptor, nonPortableMode, developmentMode);
+        Path beanDiscoveryCacheDirectory = null;
+        if (beanDiscoveryCache) {
+            ServerEnvironment environment = (ServerEnvironment) phaseContext.getServiceRegistry().getRequiredService(ServerEnvironmentService.SERVICE_NAME).getValue();
+            VirtualFile content = deploymentUnit.hasAttachment(Attachments.DEPLOYMENT_CONTENTS) ? deploymentUnit.getAttachment(Attachments.DEPLOYMENT_CONTENTS)
+                    : deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT).getRoot();
+            DeploymentOverlayIndex overlayIndex = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+            Map<String, byte[]> overlays = (overlayIndex != null) ? overlayIndex.getOverlays(deploymentUnit.getName()) : Collections.emptyMap();
+            String fingerprint = BeanDiscoveryCache.fingerprint(getManagedContentHash(deploymentUnit), content, overlays, environment.getProductConfig().getPrettyVersionString());
+            beanDiscoveryCacheDirectory = BeanDiscoveryCache.getDirectory(environment.getServerDataDir().toPath(), deploymentUnit.getName(), fingerprint);
+        }
+        WeldConfiguration mergedConfiguration = new WeldConfiguration(requireBeanDescriptor, nonPortableMode, developmentMode, beanDiscoveryCacheDirectory);
         deploymentUnit.putAttachment(WeldConfiguration.ATTACHMENT_KEY, mergedConfiguration);
     }
 
+    /**
+     * Returns the hash of the managed content of the specified deployment.
+     * @param deploymentUnit a top-level deployment unit
+     * @return the hash of the content, or null, if the content of the deployment is unmanaged
+     */
+    private static byte[] getManagedContentHash(DeploymentUnit deploymentUnit) {
+        Resource resource = deploymentUnit.getAttachment(DeploymentModelUtils.DEPLOYMENT_RESOURCE);
+        if (resource != null) {
+            ModelNode contents = resource.getModel().get(CONTENT);
+            if (contents.isDefined()) {
+                List<ModelNode> items = contents.asList();
+                if (items.size() == 1 && items.get(0).hasDefined(HASH)) {
+                    return items.get(0).get(HASH).asBytes();
+                }
+            }
+        }
+        return null;
+    }
+
     private static boolean getValue(Boolean value, boolean globalValue) {
         if (value != null) {
             return value;
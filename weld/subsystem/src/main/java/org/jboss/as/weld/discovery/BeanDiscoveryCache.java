@@ -0,0 +1,334 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.discovery;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.as.weld.logging.WeldLogger;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A persistent store of the {@link ClassFileInfo} results computed for the classes of a bean deployment module.
+ * Each store lives in a directory that is specific to the content of its deployment, so the results recorded while booting a deployment
+ * are reused the next time the same content is deployed, e.g. after a server restart, and are discarded as soon as the content changes.
+ */
+public class BeanDiscoveryCache {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".cache";
+    private static final String MODULE_PATH = "module.path";
+
+    private static volatile String modulesFingerprint;
+
+    private final Path file;
+    private final Map<String, ClassFileInfoRecord> records;
+    private final AtomicBoolean modified = new AtomicBoolean(false);
+
+    private BeanDiscoveryCache(Path file, Map<String, ClassFileInfoRecord> records) {
+        this.file = file;
+        this.records = records;
+    }
+
+    /**
+     * Returns the directory containing the bean discovery caches of the specified content of a deployment.
+     * Caches of any other content previously deployed under the same name are removed.
+     * @param dataDirectory the server data directory
+     * @param deploymentName the name of a top-level deployment
+     * @param fingerprint the fingerprint of the deployment content, as computed by {@link #fingerprint(byte[], VirtualFile, Map, String)}
+     * @return a directory path, which may not exist yet
+     */
+    public static Path getDirectory(Path dataDirectory, String deploymentName, String fingerprint) {
+        Path deploymentDirectory = getRootDirectory(dataDirectory).resolve(toFileName(deploymentName));
+        if (Files.isDirectory(deploymentDirectory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(deploymentDirectory)) {
+                for (Path directory : stream) {
+                    if (!directory.getFileName().toString().equals(fingerprint)) {
+                        delete(directory);
+                    }
+                }
+            } catch (IOException e) {
+                WeldLogger.DEPLOYMENT_LOGGER.cannotUpdateBeanDiscoveryCache(deploymentDirectory, e);
+            }
+        }
+        return deploymentDirectory.resolve(fingerprint);
+    }
+
+    /**
+     * Removes the bean discovery caches of the deployments that are no longer deployed.
+     * @param dataDirectory the server data directory
+     * @param deploymentNames the names of the top-level deployments whose caches are retained
+     */
+    public static void removeUndeployed(Path dataDirectory, Set<String> deploymentNames) {
+        Path rootDirectory = getRootDirectory(dataDirectory);
+        if (!Files.isDirectory(rootDirectory)) {
+            return;
+        }
+        Set<String> fileNames = new HashSet<>();
+        for (String deploymentName : deploymentNames) {
+            fileNames.add(toFileName(deploymentName));
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(rootDirectory)) {
+            for (Path directory : stream) {
+                if (!fileNames.contains(directory.getFileName().toString())) {
+                    delete(directory);
+                }
+            }
+        } catch (IOException e) {
+            WeldLogger.DEPLOYMENT_LOGGER.cannotUpdateBeanDiscoveryCache(rootDirectory, e);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the content of a deployment, combined with the server classes on which bean discovery results also depend.
+     * Managed content is identified by its hash, whereas the files of unmanaged content are listed along with their size and modification time.
+     * The server classes are identified by the server version and by the files of the module path, which change when modules are patched or replaced.
+     * @param contentHash the hash of the managed content of the deployment, or null, if the deployment content is unmanaged
+     * @param content the content of the deployment, only inspected if the content is unmanaged
+     * @param overlays the hashes of the deployment overlay contents of the deployment, keyed by path
+     * @param version the version of the server
+     * @return a fingerprint suitable for a file name
+     */
+    public static String fingerprint(byte[] contentHash, VirtualFile content, Map<String, byte[]> overlays, String version) {
+        MessageDigest digest = createDigest();
+        update(digest, version);
+        update(digest, getModulesFingerprint());
+        if (contentHash != null) {
+            update(digest, toHexString(contentHash));
+        } else {
+            List<VirtualFile> files = content.isFile() ? Collections.singletonList(content) : content.getChildrenRecursively(VirtualFile::isFile);
+            List<String> entries = new ArrayList<>(files.size());
+            for (VirtualFile file : files) {
+                String path = (file == content) ? file.getName() : file.getPathNameRelativeTo(content);
+                entries.add(path + ':' + file.getSize() + ':' + file.getLastModified());
+            }
+            update(digest, entries);
+        }
+        List<String> overlayEntries = new ArrayList<>(overlays.size());
+        for (Map.Entry<String, byte[]> overlay : overlays.entrySet()) {
+            overlayEntries.add(overlay.getKey() + ':' + toHexString(overlay.getValue()));
+        }
+        update(digest, overlayEntries);
+        return toHexString(digest.digest());
+    }
+
+    /**
+     * Loads the bean discovery cache of the specified module. If no cache exists yet, or it cannot be read, the returned cache is empty.
+     * @param directory the directory returned by {@link #getDirectory(Path, String, String)}
+     * @param moduleName the name of the deployment unit of the module
+     * @return a bean discovery cache
+     */
+    public static BeanDiscoveryCache load(Path directory, String moduleName) {
+        Path file = directory.resolve(toFileName(moduleName) + FILE_SUFFIX);
+        Map<String, ClassFileInfoRecord> records = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (input.readInt() == FORMAT_VERSION) {
+                    int size = input.readInt();
+                    for (int i = 0; i < size; ++i) {
+                        ClassFileInfoRecord record = ClassFileInfoRecord.read(input);
+                        records.put(record.getClassName(), record);
+                    }
+                }
+            } catch (IOException e) {
+                WeldLogger.DEPLOYMENT_LOGGER.cannotReadBeanDiscoveryCache(file, e);
+                records.clear();
+            }
+        }
+        return new BeanDiscoveryCache(file, records);
+    }
+
+    ClassFileInfoRecord getRecord(String className) {
+        return this.records.get(className);
+    }
+
+    ClassFileInfoRecord addRecord(ClassFileInfoRecord record) {
+        ClassFileInfoRecord existing = this.records.putIfAbsent(record.getClassName(), record);
+        if (existing != null) {
+            return existing;
+        }
+        this.modified.set(true);
+        return record;
+    }
+
+    void recordModified() {
+        this.modified.set(true);
+    }
+
+    /**
+     * Writes this cache to disk, if any results were added since it was loaded or last stored.
+     */
+    void store() {
+        if (!this.modified.compareAndSet(true, false)) {
+            return;
+        }
+        Path directory = this.file.getParent();
+        try {
+            Files.createDirectories(directory);
+            // Write to a temporary file first, so that a concurrent or interrupted boot never sees a partially written cache
+            Path temp = Files.createTempFile(directory, this.file.getFileName().toString(), null);
+            try {
+                List<ClassFileInfoRecord> records = new ArrayList<>(this.records.values());
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeInt(records.size());
+                    for (ClassFileInfoRecord record : records) {
+                        record.write(output);
+                    }
+                }
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            WeldLogger.DEPLOYMENT_LOGGER.cannotUpdateBeanDiscoveryCache(this.file, e);
+        }
+    }
+
+    private static String getModulesFingerprint() {
+        String fingerprint = modulesFingerprint;
+        if (fingerprint == null) {
+            // Modules cannot change without restarting the server, so their files are only listed once
+            synchronized (BeanDiscoveryCache.class) {
+                fingerprint = modulesFingerprint;
+                if (fingerprint == null) {
+                    fingerprint = fingerprintModules(WildFlySecurityManager.getPropertyPrivileged(MODULE_PATH, null));
+                    modulesFingerprint = fingerprint;
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    static String fingerprintModules(String modulePath) {
+        MessageDigest digest = createDigest();
+        if (modulePath != null) {
+            for (String root : modulePath.split(File.pathSeparator)) {
+                Path rootPath = Paths.get(root);
+                if (!Files.isDirectory(rootPath)) {
+                    continue;
+                }
+                List<String> entries = new ArrayList<>();
+                try {
+                    // Includes the overlays of the patched modules
+                    Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                            entries.add(rootPath.relativize(file).toString() + ':' + attributes.size() + ':' + attributes.lastModifiedTime().toMillis());
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+                } catch (IOException e) {
+                    // Never reuse the caches of a module path that cannot be listed
+                    WeldLogger.DEPLOYMENT_LOGGER.cannotListModulePath(rootPath, e);
+                    entries.add(UUID.randomUUID().toString());
+                }
+                update(digest, root);
+                update(digest, entries);
+            }
+        }
+        return toHexString(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, List<String> entries) {
+        // Order entries independently of the order in which the file system lists them
+        Collections.sort(entries);
+        for (String entry : entries) {
+            update(digest, entry);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte value : bytes) {
+            result.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    private static Path getRootDirectory(Path dataDirectory) {
+        return dataDirectory.resolve("weld").resolve("discovery");
+    }
+
+    private static String toFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static void delete(Path path) throws IOException {
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) throws IOException {
+                if (exception != null) {
+                    throw exception;
+                }
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.discovery;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.jboss.weld.resources.spi.ClassFileInfo;
+
+/**
+ * A {@link ClassFileInfo} answered from a {@link ClassFileInfoRecord}.
+ * Queries that were not answered before are delegated to a lazily created {@link ClassFileInfo}, and their results are added to the record.
+ */
+class CachedClassFileInfo implements ClassFileInfo {
+
+    private final ClassFileInfoRecord record;
+    private final BeanDiscoveryCache cache;
+    private final Supplier<ClassFileInfo> factory;
+    private volatile ClassFileInfo info;
+
+    CachedClassFileInfo(ClassFileInfoRecord record, BeanDiscoveryCache cache, Supplier<ClassFileInfo> factory) {
+        this.record = record;
+        this.cache = cache;
+        this.factory = factory;
+    }
+
+    CachedClassFileInfo(ClassFileInfoRecord record, BeanDiscoveryCache cache, ClassFileInfo info) {
+        this(record, cache, () -> info);
+        this.info = info;
+    }
+
+    @Override
+    public String getClassName() {
+        return this.record.getClassName();
+    }
+
+    @Override
+    public String getSuperclassName() {
+        return this.record.getSuperclassName();
+    }
+
+    @Override
+    public boolean isAnnotationDeclared(Class<? extends Annotation> annotation) {
+        return this.resolve(this.record.declaredAnnotations, annotation, info -> info.isAnnotationDeclared(annotation));
+    }
+
+    @Override
+    public boolean containsAnnotation(Class<? extends Annotation> annotation) {
+        return this.resolve(this.record.containedAnnotations, annotation, info -> info.containsAnnotation(annotation));
+    }
+
+    @Override
+    public int getModifiers() {
+        return this.record.getModifiers();
+    }
+
+    @Override
+    public boolean hasCdiConstructor() {
+        return this.record.hasCdiConstructor();
+    }
+
+    @Override
+    public boolean isAssignableFrom(Class<?> javaClass) {
+        return this.resolve(this.record.assignableFrom, javaClass, info -> info.isAssignableFrom(javaClass));
+    }
+
+    @Override
+    public boolean isAssignableTo(Class<?> javaClass) {
+        return this.resolve(this.record.assignableTo, javaClass, info -> info.isAssignableTo(javaClass));
+    }
+
+    @Override
+    public boolean isVetoed() {
+        return this.record.isVetoed();
+    }
+
+    @Override
+    public boolean isTopLevelClass() {
+        return this.record.isTopLevelClass();
+    }
+
+    @Override
+    public NestingType getNestingType() {
+        return this.record.getNestingType();
+    }
+
+    private boolean resolve(Map<String, Boolean> results, Class<?> javaClass, Predicate<ClassFileInfo> query) {
+        Boolean result = results.get(javaClass.getName());
+        if (result == null) {
+            result = query.test(this.getInfo());
+            results.put(javaClass.getName(), result);
+            this.cache.recordModified();
+        }
+        return result;
+    }
+
+    private ClassFileInfo getInfo() {
+        ClassFileInfo info = this.info;
+        if (info == null) {
+            info = this.factory.get();
+            this.info = info;
+        }
+        return info;
+    }
+
+    @Override
+    public String toString() {
+        return this.record.getClassName();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.discovery;
+
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileServices;
+
+/**
+ * {@link ClassFileServices} that answer from a {@link BeanDiscoveryCache}, if possible, and otherwise delegate to other {@link ClassFileServices}.
+ * The cache is written back to disk once the bootstrap completes.
+ */
+public class CachingClassFileServices implements ClassFileServices {
+
+    private final ClassFileServices delegate;
+    private final BeanDiscoveryCache cache;
+
+    public CachingClassFileServices(ClassFileServices delegate, BeanDiscoveryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ClassFileInfo getClassFileInfo(String className) {
+        ClassFileInfoRecord record = this.cache.getRecord(className);
+        if (record != null) {
+            return new CachedClassFileInfo(record, this.cache, () -> this.delegate.getClassFileInfo(className));
+        }
+        ClassFileInfo info = this.delegate.getClassFileInfo(className);
+        return new CachedClassFileInfo(this.cache.addRecord(new ClassFileInfoRecord(info)), this.cache, info);
+    }
+
+    @Override
+    public void cleanupAfterBoot() {
+        this.cache.store();
+        this.delegate.cleanupAfterBoot();
+    }
+
+    @Override
+    public void cleanup() {
+        this.cache.store();
+        this.delegate.cleanup();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.discovery;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileInfo.NestingType;
+
+/**
+ * The persistable state of a {@link ClassFileInfo}, i.e. the fixed properties of a class together with the results of the queries
+ * that were already answered for it, keyed by the name of the queried class.
+ */
+class ClassFileInfoRecord {
+
+    private final String className;
+    private final int modifiers;
+    private final boolean hasCdiConstructor;
+    private final boolean vetoed;
+    private final boolean topLevelClass;
+    private final NestingType nestingType;
+    private final String superclassName;
+
+    final Map<String, Boolean> declaredAnnotations;
+    final Map<String, Boolean> containedAnnotations;
+    final Map<String, Boolean> assignableFrom;
+    final Map<String, Boolean> assignableTo;
+
+    ClassFileInfoRecord(ClassFileInfo info) {
+        this(info.getClassName(), info.getModifiers(), info.hasCdiConstructor(), info.isVetoed(), info.isTopLevelClass(), info.getNestingType(), info.getSuperclassName());
+    }
+
+    private ClassFileInfoRecord(String className, int modifiers, boolean hasCdiConstructor, boolean vetoed, boolean topLevelClass, NestingType nestingType, String superclassName) {
+        this.className = className;
+        this.modifiers = modifiers;
+        this.hasCdiConstructor = hasCdiConstructor;
+        this.vetoed = vetoed;
+        this.topLevelClass = topLevelClass;
+        this.nestingType = nestingType;
+        this.superclassName = superclassName;
+        this.declaredAnnotations = new ConcurrentHashMap<>();
+        this.containedAnnotations = new ConcurrentHashMap<>();
+        this.assignableFrom = new ConcurrentHashMap<>();
+        this.assignableTo = new ConcurrentHashMap<>();
+    }
+
+    String getClassName() {
+        return this.className;
+    }
+
+    int getModifiers() {
+        return this.modifiers;
+    }
+
+    boolean hasCdiConstructor() {
+        return this.hasCdiConstructor;
+    }
+
+    boolean isVetoed() {
+        return this.vetoed;
+    }
+
+    boolean isTopLevelClass() {
+        return this.topLevelClass;
+    }
+
+    NestingType getNestingType() {
+        return this.nestingType;
+    }
+
+    String getSuperclassName() {
+        return this.superclassName;
+    }
+
+    void write(DataOutput output) throws IOException {
+        output.writeUTF(this.className);
+        output.writeInt(this.modifiers);
+        output.writeBoolean(this.hasCdiConstructor);
+        output.writeBoolean(this.vetoed);
+        output.writeBoolean(this.topLevelClass);
+        output.writeByte((this.nestingType != null) ? this.nestingType.ordinal() : -1);
+        writeNullableString(output, this.superclassName);
+        writeResults(output, this.declaredAnnotations);
+        writeResults(output, this.containedAnnotations);
+        writeResults(output, this.assignableFrom);
+        writeResults(output, this.assignableTo);
+    }
+
+    static ClassFileInfoRecord read(DataInput input) throws IOException {
+        String className = input.readUTF();
+        int modifiers = input.readInt();
+        boolean hasCdiConstructor = input.readBoolean();
+        boolean vetoed = input.readBoolean();
+        boolean topLevelClass = input.readBoolean();
+        int nestingType = input.readByte();
+        String superclassName = readNullableString(input);
+        ClassFileInfoRecord record = new ClassFileInfoRecord(className, modifiers, hasCdiConstructor, vetoed, topLevelClass, (nestingType >= 0) ? NestingType.values()[nestingType] : null, superclassName);
+        readResults(input, record.declaredAnnotations);
+        readResults(input, record.containedAnnotations);
+        readResults(input, record.assignableFrom);
+        readResults(input, record.assignableTo);
+        return record;
+    }
+
+    private static void writeNullableString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeResults(DataOutput output, Map<String, Boolean> results) throws IOException {
+        // Take a snapshot, as results may still be added concurrently
+        Map<String, Boolean> snapshot = new HashMap<>(results);
+        output.writeInt(snapshot.size());
+        for (Map.Entry<String, Boolean> entry : snapshot.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeBoolean(entry.getValue());
+        }
+    }
+
+    private static void readResults(DataInput input, Map<String, Boolean> results) throws IOException {
+        int size = input.readInt();
+        for (int i = 0; i < size; ++i) {
+            results.put(input.readUTF(), input.readBoolean());
+        }
+    }
+}
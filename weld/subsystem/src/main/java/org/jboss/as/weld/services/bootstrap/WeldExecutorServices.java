@@ -23,11 +23,16 @@ package org.jboss.as.weld.services.bootstrap;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.jboss.as.naming.context.NamespaceContextSelector;
@@ -46,6 +51,8 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Weld's ExecutorServices implementation. The executor is shared across all Jakarta Contexts and Dependency Injection enabled deployments and used primarily for parallel Weld bootstrap.
+ * The executor is either a fixed thread pool with a single shared queue or, to reduce contention when many deployments bootstrap concurrently,
+ * a work-stealing pool.
  *
  * @author Jozef Hartinger
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
@@ -57,6 +64,7 @@ public class WeldExecutorServices extends AbstractExecutorServices implements Se
     private static final String THREAD_NAME_PATTERN = "Weld Thread Pool -- %t";
 
     private final int bound;
+    private final boolean workStealing;
     private final Consumer<ExecutorServices> executorServicesConsumer;
     private ExecutorService executor;
 
@@ -65,34 +73,56 @@ public class WeldExecutorServices extends AbstractExecutorServices implements Se
     }
 
     public WeldExecutorServices(final Consumer<ExecutorServices> executorServicesConsumer, int bound) {
+        this(executorServicesConsumer, bound, false);
+    }
+
+    public WeldExecutorServices(final Consumer<ExecutorServices> executorServicesConsumer, int bound, boolean workStealing) {
         this.executorServicesConsumer = executorServicesConsumer;
         this.bound = bound;
+        this.workStealing = workStealing;
     }
 
     @Override
     public void start(final StartContext context) throws StartException {
-        final ThreadGroup threadGroup = new ThreadGroup("Weld ThreadGroup");
-        final ThreadFactory factory = new JBossThreadFactory(threadGroup, Boolean.FALSE, null, THREAD_NAME_PATTERN, null, null);
         // set TCCL to null for new threads to make sure no deployment classloader leaks through this executor's TCCL
         // Weld does not mind having null TCCL in this executor
-        this.executor = new WeldExecutor(bound, runnable -> {
-            Thread thread = factory.newThread(runnable);
-            if (WildFlySecurityManager.isChecking()) {
-                AccessController.doPrivileged(new PrivilegedAction<Void>() {
-                    public Void run() {
-                        thread.setContextClassLoader(null);
-                        return null;
-                    }
+        if (workStealing) {
+            final AtomicInteger threadIndex = new AtomicInteger();
+            this.executor = new WorkStealingWeldExecutor(bound, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                String name = THREAD_NAME_PATTERN.replace("%t", Integer.toString(threadIndex.incrementAndGet()));
+                runPrivileged(() -> {
+                    thread.setName(name);
+                    thread.setContextClassLoader(null);
                 });
-            } else {
-                thread.setContextClassLoader(null);
+                return thread;
+            });
+        } else {
+            final ThreadGroup threadGroup = new ThreadGroup("Weld ThreadGroup");
+            final ThreadFactory factory = new JBossThreadFactory(threadGroup, Boolean.FALSE, null, THREAD_NAME_PATTERN, null, null);
+            this.executor = new WeldExecutor(bound, runnable -> {
+                Thread thread = factory.newThread(runnable);
+                runPrivileged(() -> thread.setContextClassLoader(null));
+                return thread;
             }
-            return thread;
+            );
         }
-        );
         if (executorServicesConsumer != null) executorServicesConsumer.accept(this);
     }
 
+    private static void runPrivileged(Runnable action) {
+        if (WildFlySecurityManager.isChecking()) {
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    action.run();
+                    return null;
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     @Override
     public void stop(final StopContext context) {
         if (executorServicesConsumer != null) executorServicesConsumer.accept(null);
@@ -155,6 +185,63 @@ public class WeldExecutorServices extends AbstractExecutorServices implements Se
         }
     }
 
+    /**
+     * An executor backed by a {@link ForkJoinPool}, whose per-thread queues let concurrently bootstrapping deployments submit and take tasks
+     * without contending on a single shared queue.
+     */
+    static class WorkStealingWeldExecutor extends AbstractExecutorService {
+
+        private final ForkJoinPool pool;
+
+        WorkStealingWeldExecutor(int parallelism, ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory) {
+            // Bootstrap tasks are never joined, so use FIFO scheduling
+            this.pool = new ForkJoinPool(parallelism, threadFactory, null, true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (Container.available() && Container.instance().getState() == ContainerState.INITIALIZED) {
+                // ForkJoinPool offers no execution hooks, so the task itself needs to propagate the naming context
+                NamespaceContextSelector currentSelector = NamespaceContextSelector.getCurrentSelector();
+                this.pool.execute(() -> {
+                    NamespaceContextSelector.pushCurrentSelector(currentSelector);
+                    try {
+                        command.run();
+                    } finally {
+                        NamespaceContextSelector.popCurrentSelector();
+                    }
+                });
+            } else {
+                this.pool.execute(command);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            this.pool.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return this.pool.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return this.pool.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return this.pool.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return this.pool.awaitTermination(timeout, unit);
+        }
+    }
+
     static class WeldTaskWrapper implements Runnable {
 
         private final Runnable runnable;
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.discovery;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BeanDiscoveryCacheTest {
+
+    private static final String VERSION = "WildFly Full 25.0.0.Final";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testManagedContentFingerprint() {
+        Map<String, byte[]> overlays = Collections.emptyMap();
+        // The content of a managed deployment is not inspected
+        String fingerprint = BeanDiscoveryCache.fingerprint(new byte[] { 1, 2, 3 }, null, overlays, VERSION);
+        Assert.assertEquals(fingerprint, BeanDiscoveryCache.fingerprint(new byte[] { 1, 2, 3 }, null, overlays, VERSION));
+        Assert.assertNotEquals(fingerprint, BeanDiscoveryCache.fingerprint(new byte[] { 1, 2, 4 }, null, overlays, VERSION));
+        Assert.assertNotEquals(fingerprint, BeanDiscoveryCache.fingerprint(new byte[] { 1, 2, 3 }, null, overlays, VERSION + "-patched"));
+        Assert.assertNotEquals(fingerprint, BeanDiscoveryCache.fingerprint(new byte[] { 1, 2, 3 }, null, Collections.singletonMap("WEB-INF/classes/Foo.class", new byte[] { 4 }), VERSION));
+    }
+
+    @Test
+    public void testModulesFingerprint() throws IOException {
+        File root = this.folder.newFolder("modules");
+        Path module = root.toPath().resolve("system/layers/base/org/foo/main");
+        Files.createDirectories(module);
+        Path jar = Files.write(module.resolve("foo.jar"), "foo".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(1000L));
+
+        String fingerprint = BeanDiscoveryCache.fingerprintModules(root.getPath());
+        Assert.assertEquals(fingerprint, BeanDiscoveryCache.fingerprintModules(root.getPath()));
+
+        // A module replaced with the same version string
+        Files.write(jar, "bar".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(2000L));
+        String replaced = BeanDiscoveryCache.fingerprintModules(root.getPath());
+        Assert.assertNotEquals(fingerprint, replaced);
+
+        // A patch overlay
+        Path overlay = root.toPath().resolve("system/layers/base/.overlays/patch-1/org/foo/main");
+        Files.createDirectories(overlay);
+        Files.write(overlay.resolve("foo.jar"), "baz".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNotEquals(replaced, BeanDiscoveryCache.fingerprintModules(root.getPath()));
+    }
+
+    @Test
+    public void testRemoveUndeployed() throws IOException {
+        Path dataDirectory = this.folder.getRoot().toPath();
+        Path deployed = BeanDiscoveryCache.getDirectory(dataDirectory, "deployed.war", "a");
+        Path undeployed = BeanDiscoveryCache.getDirectory(dataDirectory, "undeployed.war", "b");
+        Files.createDirectories(deployed);
+        Files.createDirectories(undeployed);
+        Files.write(undeployed.resolve("undeployed.war.cache"), new byte[] { 0 });
+
+        BeanDiscoveryCache.removeUndeployed(dataDirectory, Collections.singleton("deployed.war"));
+
+        Assert.assertTrue(Files.isDirectory(deployed));
+        Assert.assertFalse(Files.exists(undeployed.getParent()));
+    }
+
+    @Test
+    public void testRemoveStaleContent() throws IOException {
+        Path dataDirectory = this.folder.getRoot().toPath();
+        Path stale = BeanDiscoveryCache.getDirectory(dataDirectory, "test.war", "a");
+        Files.createDirectories(stale);
+
+        Path current = BeanDiscoveryCache.getDirectory(dataDirectory, "test.war", "b");
+
+        Assert.assertFalse(Files.exists(stale));
+        Assert.assertEquals(stale.getParent(), current.getParent());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.discovery;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.enterprise.inject.Vetoed;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileServices;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingClassFileServicesTest {
+
+    private static final String MODULE_NAME = "test.war";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCachedResults() throws IOException {
+        Path directory = this.folder.getRoot().toPath();
+        ClassFileServices services = new CachingClassFileServices(new WeldClassFileServices(IndexUtils.createIndex(Alpha.class, AlphaImpl.class, AbstractAlpha.class,
+                Inject.class, Named.class), Thread.currentThread().getContextClassLoader()), BeanDiscoveryCache.load(directory, MODULE_NAME));
+        ClassFileInfo alphaImpl = services.getClassFileInfo(AlphaImpl.class.getName());
+        Assert.assertTrue(alphaImpl.isAssignableTo(Alpha.class));
+        Assert.assertFalse(alphaImpl.isAnnotationDeclared(Vetoed.class));
+        services.cleanupAfterBoot();
+
+        // The next boot must answer the same queries without consulting the index
+        ClassFileServices cachedServices = new CachingClassFileServices(new UnavailableClassFileServices(), BeanDiscoveryCache.load(directory, MODULE_NAME));
+        ClassFileInfo cachedAlphaImpl = cachedServices.getClassFileInfo(AlphaImpl.class.getName());
+        Assert.assertEquals(AlphaImpl.class.getName(), cachedAlphaImpl.getClassName());
+        Assert.assertEquals(AbstractAlpha.class.getName(), cachedAlphaImpl.getSuperclassName());
+        Assert.assertFalse(Modifier.isAbstract(cachedAlphaImpl.getModifiers()));
+        Assert.assertFalse(cachedAlphaImpl.isVetoed());
+        Assert.assertTrue(cachedAlphaImpl.hasCdiConstructor());
+        Assert.assertTrue(cachedAlphaImpl.isTopLevelClass());
+        Assert.assertEquals(ClassFileInfo.NestingType.TOP_LEVEL, cachedAlphaImpl.getNestingType());
+        Assert.assertTrue(cachedAlphaImpl.isAssignableTo(Alpha.class));
+        Assert.assertFalse(cachedAlphaImpl.isAnnotationDeclared(Vetoed.class));
+        cachedServices.cleanupAfterBoot();
+    }
+
+    @Test
+    public void testCorruptCache() throws IOException {
+        Path directory = this.folder.getRoot().toPath();
+        Files.write(directory.resolve(MODULE_NAME + ".cache"), "corrupt".getBytes(StandardCharsets.UTF_8));
+
+        ClassFileServices services = new CachingClassFileServices(new WeldClassFileServices(IndexUtils.createIndex(Alpha.class, AlphaImpl.class, AbstractAlpha.class,
+                Inject.class, Named.class), Thread.currentThread().getContextClassLoader()), BeanDiscoveryCache.load(directory, MODULE_NAME));
+        ClassFileInfo alphaImpl = services.getClassFileInfo(AlphaImpl.class.getName());
+        Assert.assertTrue(alphaImpl.isAssignableTo(Alpha.class));
+        services.cleanupAfterBoot();
+
+        ClassFileServices cachedServices = new CachingClassFileServices(new UnavailableClassFileServices(), BeanDiscoveryCache.load(directory, MODULE_NAME));
+        Assert.assertTrue(cachedServices.getClassFileInfo(AlphaImpl.class.getName()).isAssignableTo(Alpha.class));
+    }
+
+    private static class UnavailableClassFileServices implements ClassFileServices {
+        @Override
+        public ClassFileInfo getClassFileInfo(String className) {
+            throw new AssertionError(className);
+        }
+
+        @Override
+        public void cleanupAfterBoot() {
+        }
+
+        @Override
+        public void cleanup() {
+        }
+    }
+}
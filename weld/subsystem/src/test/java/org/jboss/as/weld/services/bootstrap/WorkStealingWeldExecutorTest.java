@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.services.bootstrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorkStealingWeldExecutorTest {
+
+    private static final String THREAD_NAME_PREFIX = "Weld Thread Pool -- ";
+
+    private static ExecutorService createExecutor(int parallelism) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new WeldExecutorServices.WorkStealingWeldExecutor(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(THREAD_NAME_PREFIX + threadIndex.incrementAndGet());
+            return thread;
+        });
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        ExecutorService executor = createExecutor(2);
+        try {
+            int tasks = 100;
+            CountDownLatch latch = new CountDownLatch(tasks);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < tasks; ++i) {
+                executor.execute(() -> {
+                    threads.add(Thread.currentThread().getName());
+                    latch.countDown();
+                });
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            // Tasks only run on threads of the given factory
+            for (String thread : threads) {
+                Assert.assertTrue(thread, thread.startsWith(THREAD_NAME_PREFIX));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvokeAll() throws Exception {
+        ExecutorService executor = createExecutor(4);
+        try {
+            List<Integer> values = new ArrayList<>();
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 50; ++i) {
+                int value = i;
+                values.add(value);
+                tasks.add(() -> value);
+            }
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : executor.invokeAll(tasks, 10, TimeUnit.SECONDS)) {
+                results.add(future.get());
+            }
+            Assert.assertEquals(values, results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelism() throws Exception {
+        int parallelism = 3;
+        ExecutorService executor = createExecutor(parallelism);
+        try {
+            // Only completes if the given number of tasks run concurrently
+            CyclicBarrier barrier = new CyclicBarrier(parallelism);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < parallelism; ++i) {
+                futures.add(executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        ExecutorService executor = createExecutor(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.shutdown();
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertFalse(executor.isTerminated());
+        try {
+            executor.execute(() -> { });
+            Assert.fail("Executor accepted a task after shutdown");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+        // Running tasks complete after shutdown
+        Assert.assertFalse(executor.awaitTermination(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.isTerminated());
+    }
+}